@@ -1,40 +1,42 @@
 package org.simplegraph;
 
-import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 /**
  Interface for directed graphs.
  */
-public interface DirectedGraph<V> extends Graph<V> {
+public interface DirectedGraph<V> extends Graph<V>, DirectedGraphVertices<V> {
     /**
-     * Get the number of incident vertices of a vertex.
-     * @param  vertex the specified vertex
-     * @return        the number of incident vertices of vertex, -1 if vertex
-     *                is not contained in the graph
+     * Get a view of the subgraph induced by the vertices that satisfy a
+     * predicate. The view does not copy the graph and reflects its changes.
+     * @param  filter predicate of the vertices to keep
+     * @return        a read-only view of the subgraph
      */
-    int getInDegree(V vertex);
+    @Override
+    DirectedGraph<V> inducedBy(Predicate<? super V> filter);
 
     /**
-     * Get the number of outer vertices of a vertex.
-     * @param  vertex the specified vertex
-     * @return        the number of outer vertices of vertex, -1 if vertex
-     *                is not contained in the graph
+     * Get a view of the graph keeping only the edges that satisfy a
+     * predicate. The view does not copy the graph and reflects its changes.
+     * @param  filter predicate of the edges to keep, called with the
+     *                source and the destination of the edge
+     * @return        a read-only view of the graph
      */
-    int getOutDegree(V vertex);
+    @Override
+    DirectedGraph<V> edgeFiltered(BiPredicate<? super V, ? super V> filter);
 
     /**
-     * Get the incident vertices of a vertex.
-     * @param  vertex the specified vertex
-     * @return        a list containing the incident vertices of vertex,
-     *                null if vertex is not contained in the graph
+     * Get a view of the graph with every edge going the other way.
+     * The view does not copy the graph and reflects its changes.
+     * @return a read-only view of the transposed graph
      */
-    List<V> getInVertices(V vertex);
+    DirectedGraph<V> reversed();
 
     /**
-     * Get the outer vertices of a vertex.
-     * @param  vertex the specified vertex
-     * @return        a list containing the outer vertices of vertex,
-     *                null if vertex is not contained in the graph
+     * Get a view of the graph ignoring the direction of the edges.
+     * The view does not copy the graph and reflects its changes.
+     * @return a read-only undirected view of the graph
      */
-    List<V> getOutVertices(V vertex);
+    Graph<V> asUndirected();
 }
@@ -0,0 +1,72 @@
+package org.simplegraph;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+interface DirectedGraphVertices<V> {
+    /**
+     * Get the number of incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of incident vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    int getInDegree(V vertex);
+
+    /**
+     * Get the number of outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of outer vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    int getOutDegree(V vertex);
+
+    /**
+     * Get the incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a list containing the incident vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    List<V> getInVertices(V vertex);
+
+    /**
+     * Get the outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a list containing the outer vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    List<V> getOutVertices(V vertex);
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    default boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        List<V> vertices = getInVertices(vertex);
+        if (vertices == null) {
+            return false;
+        }
+
+        vertices.forEach(action);
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building a
+     * list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    default boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        List<V> vertices = getOutVertices(vertex);
+        if (vertices == null) {
+            return false;
+        }
+
+        vertices.forEach(action);
+        return true;
+    }
+}
@@ -1,5 +1,8 @@
 package org.simplegraph;
 
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
 /**
  Interface for graphs.
  */
@@ -20,5 +23,22 @@ public interface Graph<V> extends GraphVertices<V> {
     int countEdges();
 
     Graph<V> getSpanningTree();
+
+    /**
+     * Get a view of the subgraph induced by the vertices that satisfy a
+     * predicate. The view does not copy the graph and reflects its changes.
+     * @param  filter predicate of the vertices to keep
+     * @return        a read-only view of the subgraph
+     */
+    Graph<V> inducedBy(Predicate<? super V> filter);
+
+    /**
+     * Get a view of the graph keeping only the edges that satisfy a
+     * predicate. The view does not copy the graph and reflects its changes.
+     * @param  filter predicate of the edges to keep, called with the
+     *                two vertices of the edge, in any order
+     * @return        a read-only view of the graph
+     */
+    Graph<V> edgeFiltered(BiPredicate<? super V, ? super V> filter);
 }
 
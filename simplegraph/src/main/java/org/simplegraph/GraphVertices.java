@@ -1,6 +1,7 @@
 package org.simplegraph;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 interface GraphVertices<V> {
     /**
@@ -67,6 +68,22 @@ interface GraphVertices<V> {
      */
     int countNeighbors(V vertex);
 
+    /**
+     * Call an action on each neighbor of a vertex, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    default boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        List<V> neighbors = getNeighbors(vertex);
+        if (neighbors == null) {
+            return false;
+        }
+
+        neighbors.forEach(action);
+        return true;
+    }
+
     /**
      * Get a path between a source and a destination
      * @param source      source vertex
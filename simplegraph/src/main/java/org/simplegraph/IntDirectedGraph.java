@@ -0,0 +1,80 @@
+package org.simplegraph;
+
+import java.util.function.IntConsumer;
+
+/**
+ Interface for directed graphs whose vertices are ints.
+ */
+public interface IntDirectedGraph extends IntGraph {
+    /**
+     * Get the number of incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of incident vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    int getInDegree(int vertex);
+
+    /**
+     * Get the number of outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of outer vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    int getOutDegree(int vertex);
+
+    /**
+     * Get the incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        an array containing the incident vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    int[] getInVertices(int vertex);
+
+    /**
+     * Get the outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        an array containing the outer vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    int[] getOutVertices(int vertex);
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * an array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    default boolean forEachInVertex(int vertex, IntConsumer action) {
+        int[] vertices = getInVertices(vertex);
+        if (vertices == null) {
+            return false;
+        }
+
+        for (int v : vertices) {
+            action.accept(v);
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building an
+     * array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    default boolean forEachOutVertex(int vertex, IntConsumer action) {
+        int[] vertices = getOutVertices(vertex);
+        if (vertices == null) {
+            return false;
+        }
+
+        for (int v : vertices) {
+            action.accept(v);
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,15 @@
+package org.simplegraph;
+
+/**
+ Operation accepting an int vertex and a double weight, the primitive
+ counterpart of ObjDoubleConsumer for the int graphs.
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+    /**
+     * Perform the operation.
+     * @param vertex the vertex
+     * @param weight the weight
+     */
+    void accept(int vertex, double weight);
+}
@@ -0,0 +1,23 @@
+package org.simplegraph;
+
+/**
+ Interface for graphs whose vertices are ints.
+
+ It mirrors Graph, without boxing the vertices.
+ */
+public interface IntGraph extends IntGraphVertices {
+    /**
+     * Add an edge between two vertices.
+     * Add the two vertices in the graph if they don't exists
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if the graph has been modified
+     */
+    boolean addEdge(int v1, int v2);
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    int countEdges();
+}
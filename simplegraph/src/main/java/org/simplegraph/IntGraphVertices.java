@@ -0,0 +1,107 @@
+package org.simplegraph;
+
+import java.util.function.IntConsumer;
+
+interface IntGraphVertices {
+    /**
+     * Add a vertex to the graph.
+     * @param  vertex the vertex to add
+     * @return        true if the the graph has been modified
+     */
+    boolean addVertex(int vertex);
+
+    /**
+     * Remove a vertex from the graph
+     * @param  vertex the vertex to remove
+     * @return        true if the graph has been modified
+     */
+    boolean removeVertex(int vertex);
+
+    /**
+     * Check the existence of a vertex in the graph.
+     * @param  vertex the vertex to check
+     * @return        true if the graph contains vertex
+     */
+    boolean containsVertex(int vertex);
+
+    /**
+     * Remove an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if the graph has been changed
+     */
+    boolean removeEdge(int v1, int v2);
+
+    /**
+     * Check the existence of an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge from v1 to v2 exists
+     */
+    boolean existsEdge(int v1, int v2);
+
+    /**
+     * Get all the vertices in the graph
+     * @return an array containing all the graph vertices
+     */
+    int[] getVertices();
+
+    /**
+     * Get the number of vertices in the graph.
+     * @return number of vertices
+     */
+    int countVertices();
+
+    /**
+     * Get the neighbors of a vertex
+     * @param  vertex the specified vertex
+     * @return        an array containing the vertices that are neighbors of
+     *                vertex, null if the vertex is not contained in the graph
+     */
+    int[] getNeighbors(int vertex);
+
+    /**
+     * Get the number of neighbors for a vertex.
+     * @param  vertex the spefied vertex
+     * @return        number of neighbors, -1 if vertex does not exists
+     */
+    int countNeighbors(int vertex);
+
+    /**
+     * Call an action on each neighbor of a vertex, without building an array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    default boolean forEachNeighbor(int vertex, IntConsumer action) {
+        int[] neighbors = getNeighbors(vertex);
+        if (neighbors == null) {
+            return false;
+        }
+
+        for (int neighbor : neighbors) {
+            action.accept(neighbor);
+        }
+
+        return true;
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            an array containing the vertices that compose the
+     *                    path, in order; an empty array if there is no path,
+     *                    null if the source and the destination are equals
+     *                    or are not contained in the graph
+     */
+    int[] getPath(int source, int destination);
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    boolean existsPath(int source, int destination);
+}
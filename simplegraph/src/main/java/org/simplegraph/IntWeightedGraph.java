@@ -0,0 +1,80 @@
+package org.simplegraph;
+
+/**
+ Interface for weighted graphs whose vertices are ints.
+
+ It mirrors WeightedGraph, with primitive weights: Double.NaN marks a
+ missing edge and cannot be used as a weight.
+ */
+public interface IntWeightedGraph extends IntGraphVertices {
+    /**
+     * Add an edge between two vertices, or update its weight.
+     * Add the two vertices in the graph if they don't exists
+     * @param  v1     first vertex
+     * @param  v2     second vertex
+     * @param  weight weight of the edge, not Double.NaN
+     * @return        true if the graph has been modified
+     */
+    boolean addEdge(int v1, int v2, double weight);
+
+    /**
+     * Get the weight of the edge between two vertices
+     * @param  v1   first vertex
+     * @param  v2   second vertex
+     * @return      the weight of the edge between v1 and v2, Double.NaN if
+     *              it doesn't exist
+     */
+    double getWeight(int v1, int v2);
+
+    /**
+     * Call an action on each edge leaving a vertex, passing the other
+     * vertex and the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    default boolean forEachOutEdge(int vertex, IntDoubleConsumer action) {
+        int[] neighbors = getNeighbors(vertex);
+        if (neighbors == null) {
+            return false;
+        }
+
+        for (int neighbor : neighbors) {
+            // NaN if the edge goes from neighbor to vertex
+            double weight = getWeight(vertex, neighbor);
+            if (!Double.isNaN(weight)) {
+                action.accept(neighbor, weight);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    int countEdges();
+
+    /**
+     * Get the shortest path between a source and a destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            an array containing the vertices that compose the
+     *                    path, in order; an empty array if there is no path,
+     *                    null if the source and the destination are equals,
+     *                    are not contained in the graph or if a negative
+     *                    weight has been found
+     */
+    int[] getShortestPath(int source, int destination);
+
+    /**
+     * Get the length of the shortest path between a source and a
+     * destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            the sum of the weights of the shortest path,
+     *                    Double.NaN if there is no such path
+     */
+    double getMinimumDistance(int source, int destination);
+}
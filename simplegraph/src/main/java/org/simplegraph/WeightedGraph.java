@@ -1,6 +1,9 @@
 package org.simplegraph;
 
 import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Predicate;
 
 /**
  Interface for weighted graphs.
@@ -23,6 +26,46 @@ public interface WeightedGraph<V> extends GraphVertices<V> {
      */
     Double getWeight(V v1, V v2);
 
+    /**
+     * Get the weight of the edge between two vertices without boxing it
+     * @param  v1   first vertex
+     * @param  v2   second vertex
+     * @return      the weight of the edge between v1 and v2, Double.NaN if
+     *              it doesn't exist
+     */
+    default double getWeightAsDouble(V v1, V v2) {
+        Double weight = getWeight(v1, v2);
+        if (weight == null) {
+            return Double.NaN;
+        }
+
+        return weight;
+    }
+
+    /**
+     * Call an action on each edge leaving a vertex, passing the other
+     * vertex and the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    default boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        List<V> neighbors = getNeighbors(vertex);
+        if (neighbors == null) {
+            return false;
+        }
+
+        for (V neighbor : neighbors) {
+            // NaN if the edge goes from neighbor to vertex
+            double weight = getWeightAsDouble(vertex, neighbor);
+            if (!Double.isNaN(weight)) {
+                action.accept(neighbor, weight);
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Get the number of edges in the graph.
      * @return number of edges
@@ -36,5 +79,22 @@ public interface WeightedGraph<V> extends GraphVertices<V> {
     WeightedGraph<V> getSpanningTree();
 
     WeightedGraph<V> getMinimumSpanningTree();
+
+    /**
+     * Get a view of the subgraph induced by the vertices that satisfy a
+     * predicate. The view does not copy the graph and reflects its changes.
+     * @param  filter predicate of the vertices to keep
+     * @return        a read-only view of the subgraph
+     */
+    WeightedGraph<V> inducedBy(Predicate<? super V> filter);
+
+    /**
+     * Get a view of the graph keeping only the edges that satisfy a
+     * predicate. The view does not copy the graph and reflects its changes.
+     * @param  filter predicate of the edges to keep, called with the
+     *                two vertices of the edge, in any order
+     * @return        a read-only view of the graph
+     */
+    WeightedGraph<V> edgeFiltered(BiPredicate<? super V, ? super V> filter);
 }
 
@@ -0,0 +1,68 @@
+package org.simplegraph.impl;
+
+/**
+ Density thresholds used by the adaptive graphs to choose their layout.
+
+ The density is the number of edges over the number of possible edges.
+ A sparse graph becomes dense once the density reaches denseThreshold, and
+ goes back to sparse only when it falls under sparseThreshold: the gap
+ between the two keeps a graph near a threshold from migrating at every
+ change.
+ */
+class AdaptivePolicy {
+    protected static final double DEFAULT_DENSE_THRESHOLD = 0.25;
+    protected static final double DEFAULT_SPARSE_THRESHOLD = 0.0625;
+    // Under this number of vertices a sparse graph is never migrated
+    protected static final int MIN_DENSE_VERTICES = 32;
+
+    private final double denseThreshold;
+    private final double sparseThreshold;
+
+    /**
+     * Create a policy.
+     * @param denseThreshold  density from which a sparse graph becomes dense
+     * @param sparseThreshold density under which a dense graph becomes sparse
+     * @throws IllegalArgumentException if the thresholds are not in (0, 1]
+     *                                  or sparseThreshold is not lower than
+     *                                  denseThreshold
+     */
+    AdaptivePolicy(double denseThreshold, double sparseThreshold) {
+        if (!(sparseThreshold > 0 && sparseThreshold < denseThreshold && denseThreshold <= 1)) {
+            throw new IllegalArgumentException("Thresholds must satisfy 0 < sparseThreshold < denseThreshold <= 1");
+        }
+
+        this.denseThreshold = denseThreshold;
+        this.sparseThreshold = sparseThreshold;
+    }
+
+    /**
+     * Get the density of an undirected graph.
+     * @param  vertices number of vertices
+     * @param  edges    number of edges
+     * @return          the density, 0 for graphs with less than two vertices
+     */
+    static double getDensity(int vertices, long edges) {
+        if (vertices < 2) {
+            return 0;
+        }
+
+        return edges / ((double) vertices * (vertices - 1) / 2);
+    }
+
+    /**
+     * Choose the layout of a graph.
+     * @param  dense    true if the graph is currently dense
+     * @param  vertices number of vertices
+     * @param  edges    number of edges
+     * @return          true if the graph should be dense
+     */
+    boolean shouldBeDense(boolean dense, int vertices, long edges) {
+        double density = getDensity(vertices, edges);
+
+        if (dense) {
+            return density >= sparseThreshold;
+        }
+
+        return vertices >= MIN_DENSE_VERTICES && density >= denseThreshold;
+    }
+}
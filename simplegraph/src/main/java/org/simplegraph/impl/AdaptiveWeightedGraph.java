@@ -0,0 +1,257 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.WeightedGraph;
+
+/**
+ Undirected weighted graph that migrates between a sparse and a dense
+ layout according to its density.
+
+ The graph starts as a WeightedSparseGraph and becomes a
+ WeightedDoubleDenseGraph when the density reaches the dense threshold; it
+ goes back to sparse when the density falls under the sparse threshold.
+ */
+public class AdaptiveWeightedGraph<V> implements ViewableWeightedGraph<V>, SelfCheckingGraph {
+    private final AdaptivePolicy policy;
+    private WeightedGraph<V> graph;
+    private boolean dense;
+
+    /**
+     * Default constructor
+     */
+    public AdaptiveWeightedGraph() {
+        this(AdaptivePolicy.DEFAULT_DENSE_THRESHOLD, AdaptivePolicy.DEFAULT_SPARSE_THRESHOLD);
+    }
+
+    /**
+     * Create a graph with custom thresholds.
+     * @param denseThreshold  density from which the graph becomes dense
+     * @param sparseThreshold density under which the graph becomes sparse
+     * @throws IllegalArgumentException if the thresholds are not in (0, 1]
+     *                                  or sparseThreshold is not lower than
+     *                                  denseThreshold
+     */
+    public AdaptiveWeightedGraph(double denseThreshold, double sparseThreshold) {
+        policy = new AdaptivePolicy(denseThreshold, sparseThreshold);
+        graph = new WeightedSparseGraph<V>();
+        dense = false;
+    }
+
+    /**
+     * Is the graph currently stored in the dense layout.
+     * @return true if the graph is dense
+     */
+    public boolean isDense() {
+        return dense;
+    }
+
+    /**
+     * Estimate the memory used by the graph in its current layout.
+     * @return the bytes used, split by purpose
+     */
+    public MemoryFootprint memoryFootprint() {
+        if (dense) {
+            return ((WeightedDoubleDenseGraph<V>) graph).memoryFootprint();
+        }
+
+        return ((WeightedSparseGraph<V>) graph).memoryFootprint();
+    }
+
+    @Override
+    public boolean checkCounters() {
+        return ((SelfCheckingGraph) graph).checkCounters();
+    }
+
+    /**
+     * Migrate the graph if its density crossed a threshold.
+     */
+    private void adapt() {
+        boolean shouldBeDense = policy.shouldBeDense(dense, graph.countVertices(), graph.countEdges());
+        if (shouldBeDense == dense) {
+            return;
+        }
+
+        List<V> vertices = graph.getVertices();
+        WeightedGraph<V> newGraph;
+        if (shouldBeDense) {
+            // Leave some room before the first grow
+            newGraph = new WeightedDoubleDenseGraph<V>(vertices.size() + vertices.size() / 4 + 1);
+        } else {
+            newGraph = new WeightedSparseGraph<V>(vertices.size());
+        }
+
+        for (V vertex : vertices) {
+            newGraph.addVertex(vertex);
+        }
+
+        for (V vertex : vertices) {
+            for (V neighbor : graph.getNeighbors(vertex)) {
+                newGraph.addEdge(vertex, neighbor, graph.getWeight(vertex, neighbor));
+            }
+        }
+
+        graph = newGraph;
+        dense = shouldBeDense;
+    }
+
+    /**
+     * Add an edge between two vertices, or update its weight if the edge
+     * already exists.
+     * @param  v1     first vertex
+     * @param  v2     second vertex
+     * @param  weight weight of the edge
+     * @return        true if the graph has been modified
+     */
+    @Override
+    public boolean addEdge(V v1, V v2, Double weight) {
+        // NaN marks missing edges in the dense layout
+        if (weight == null || weight.isNaN()) {
+            return false;
+        }
+
+        Double oldWeight = graph.getWeight(v1, v2);
+        if (oldWeight != null) {
+            if (oldWeight.equals(weight)) {
+                return false;
+            }
+
+            // Both layouts support removing and adding the edge again
+            graph.removeEdge(v1, v2);
+            return graph.addEdge(v1, v2, weight);
+        }
+
+        if (!graph.addEdge(v1, v2, weight)) {
+            return false;
+        }
+
+        adapt();
+        return true;
+    }
+
+    @Override
+    public Double getWeight(V v1, V v2) {
+        return graph.getWeight(v1, v2);
+    }
+
+    @Override
+    public double getWeightAsDouble(V v1, V v2) {
+        return graph.getWeightAsDouble(v1, v2);
+    }
+
+    @Override
+    public boolean addVertex(V vertex) {
+        if (!graph.addVertex(vertex)) {
+            return false;
+        }
+
+        adapt();
+        return true;
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return graph.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return graph.countVertices();
+    }
+
+    @Override
+    public int countEdges() {
+        return graph.countEdges();
+    }
+
+    @Override
+    public boolean existsPath(V source, V destination) {
+        return graph.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return graph.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return graph.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return graph.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return graph.forEachOutEdge(vertex, action);
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return graph.getNeighbors(vertex);
+    }
+
+    @Override
+    public List<V> getPath(V source, V destination) {
+        return graph.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(V v1, V v2) {
+        if (!graph.removeEdge(v1, v2)) {
+            return false;
+        }
+
+        adapt();
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(V vertex) {
+        if (!graph.removeVertex(vertex)) {
+            return false;
+        }
+
+        adapt();
+        return true;
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    @Override
+    public List<V> getShortestPath(V source, V destination) {
+        return graph.getShortestPath(source, destination);
+    }
+
+    @Override
+    public Double getMinimumDistance(V source, V destination) {
+        return graph.getMinimumDistance(source, destination);
+    }
+
+    @Override
+    public WeightedGraph<V> getSpanningTree() {
+        return graph.getSpanningTree();
+    }
+
+    @Override
+    public WeightedGraph<V> getMinimumSpanningTree() {
+        return graph.getMinimumSpanningTree();
+    }
+
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public WeightedFrozenGraph<V> freeze() {
+        return new WeightedFrozenGraph<V>(this);
+    }
+}
@@ -0,0 +1,517 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ Dense graph storing the adjacency matrix as packed bits.
+
+ Every row of the matrix is made of words longs, row i starting at
+ bits[i * words]; the bit j of the row is set if there is an edge from the
+ vertex i to the vertex j. Undirected graphs keep the matrix symmetric so
+ that the neighbors of a vertex are always read from its row.
+ */
+abstract class BaseBitsetDenseGraph<V> extends BaseDenseGraph<V> {
+    protected long[] bits;
+    // Number of longs in every row
+    protected int words;
+
+    /**
+     * Get the number of longs needed to store a row.
+     * @param verticesSize Number of vertices.
+     * @return             Number of longs in a row.
+     */
+    protected static int getWordsSize(int verticesSize) {
+        return (verticesSize + 63) >>> 6;
+    }
+
+    /**
+     * Initialize all attributes for storing graph data.
+     * @param startSize Number of vertices to store initially in the graph.
+     */
+    protected void initialize(int startSize) {
+        super.initialize(startSize);
+
+        words = getWordsSize(startSize);
+        bits = new long[matrixLength((long) startSize * words)];
+    }
+
+    /**
+     * Copy constructor
+     * @param graph graph to copy
+     */
+    protected void copy(BaseBitsetDenseGraph<V> graph) {
+        copyVertices(graph);
+
+        words = graph.words;
+        bits = Arrays.copyOf(graph.bits, graph.bits.length);
+    }
+
+    /**
+     * Grow the graph size to the specified size
+     * @param newSize New size for the graph.
+     */
+    public void grow(int newSize) {
+        if (newSize < size) {
+            return;
+        }
+
+        // Checked before changing the size
+        int length = matrixLength((long) newSize * getWordsSize(newSize));
+        int oldSize = size;
+        int oldWords = words;
+        super.grow(newSize);
+
+        words = getWordsSize(size);
+        long[] newBits = new long[length];
+        for (int i = 0; i != oldSize; i++) {
+            System.arraycopy(bits, i * oldWords, newBits, i * words, oldWords);
+        }
+
+        bits = newBits;
+    }
+
+    @Override
+    protected boolean hasEdge(int i, int j) {
+        return getBit(i, j);
+    }
+
+    protected boolean getBit(int i, int j) {
+        return (bits[i * words + (j >>> 6)] & (1L << j)) != 0;
+    }
+
+    protected void setBit(int i, int j) {
+        bits[i * words + (j >>> 6)] |= 1L << j;
+    }
+
+    protected void clearBit(int i, int j) {
+        bits[i * words + (j >>> 6)] &= ~(1L << j);
+    }
+
+    /**
+     * Get the word of the column j containing the rows from 64 * w to
+     * 64 * w + 63.
+     */
+    protected long getColumnWord(int j, int w) {
+        long word = 0;
+        int last = Math.min(verticesCount, (w + 1) << 6);
+        for (int i = w << 6; i < last; i++) {
+            if (getBit(i, j)) {
+                word |= 1L << i;
+            }
+        }
+
+        return word;
+    }
+
+    @Override
+    protected MemoryFootprint matrixFootprint() {
+        long used = (long) verticesCount * getWordsSize(verticesCount);
+        return new MemoryFootprint(0, MemoryFootprint.usedSlots(used, 8), 0,
+            MemoryFootprint.unusedSlots(bits.length, used, 8), 0);
+    }
+
+    @Override
+    protected void clearVertexEdges(int i) {
+        Arrays.fill(bits, i * words, (i + 1) * words, 0);
+        for (int j = 0; j != verticesCount; j++) {
+            clearBit(j, i);
+        }
+    }
+
+    @Override
+    protected void moveVertexEdges(int from, int to) {
+        // Move the row first, then the column
+        System.arraycopy(bits, from * words, bits, to * words, words);
+        Arrays.fill(bits, from * words, (from + 1) * words, 0);
+
+        for (int j = 0; j != verticesCount; j++) {
+            if (getBit(j, from)) {
+                setBit(j, to);
+                clearBit(j, from);
+            }
+        }
+    }
+
+    /**
+     * Add an edge that goes from the first vertex to the second.
+     * Add the two vertices in the graph if they don't exists.
+     * @param  v1   first vertex
+     * @param  v2   second vertex
+     * @return      true if the graph has been modified
+     */
+    protected boolean addSingleEdge(V v1, V v2) {
+        // Null is not a valid value
+        if (v1 == null || v2 == null) {
+            return false;
+        }
+
+        // the vertices cannot be the same
+        if (v1.equals(v2)) {
+            return false;
+        }
+
+        addVertex(v1);
+        addVertex(v2);
+
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (getBit(i1, i2)) {
+            return false;
+        }
+
+        setBit(i1, i2);
+        if (!isDirected()) {
+            setBit(i2, i1);
+        }
+
+        countEdge(i1, i2, 1);
+        return true;
+    }
+
+    /**
+     * Remove an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if the graph has been changed
+     */
+    public boolean removeEdge(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1 || i1 == i2) {
+            return false;
+        }
+
+        if (!getBit(i1, i2)) {
+            return false;
+        }
+
+        clearBit(i1, i2);
+        if (!isDirected()) {
+            clearBit(i2, i1);
+        }
+
+        countEdge(i1, i2, -1);
+        return true;
+    }
+
+    /**
+     * Check the existence of an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge from v1 to v2 exists
+     */
+    public boolean existsEdge(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return false;
+        }
+
+        return getBit(i1, i2);
+    }
+
+    /**
+     * Get the vertices whose bit is set in the words passed.
+     * @param  row the words to read, one for each word of a row
+     * @return     a list containing the vertices
+     */
+    protected List<V> getVerticesFromWords(long[] row) {
+        LinkedList<V> vertices = new LinkedList<V>();
+
+        for (int w = 0; w != row.length; w++) {
+            long word = row[w];
+            while (word != 0) {
+                vertices.add(verticesArray.get((w << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+
+        return vertices;
+    }
+
+    /**
+     * Get the words of a row, of a column or of both merged.
+     * @param  i   index of the vertex
+     * @param  out true to include the outer vertices
+     * @param  in  true to include the incident vertices
+     * @return     the words covering the vertices in the graph
+     */
+    protected long[] getRowWords(int i, boolean out, boolean in) {
+        int usedWords = getWordsSize(verticesCount);
+        long[] row = new long[usedWords];
+        for (int w = 0; w != usedWords; w++) {
+            if (out) {
+                row[w] = bits[i * words + w];
+            }
+
+            if (in) {
+                row[w] |= getColumnWord(i, w);
+            }
+        }
+
+        return row;
+    }
+
+    /**
+     * Get the neighbors of a vertex, both incident and outer vertices.
+     * @param  vertex the specified vertex
+     * @return        the list of vertices that are neighbors of vertex
+     *                null if the vertex is not contained in the graph
+     */
+    public List<V> getNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getVerticesFromWords(getRowWords(i, true, isDirected()));
+    }
+
+    /**
+     * Get the number of neighbors for a vertex, both incident and outer
+     * @param  vertex the specified vertex
+     * @return        number of neighbors, -1 if vertex is not contained in graph
+     */
+    public int countNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        if (!isDirected()) {
+            return outDegrees[i];
+        }
+
+        int count = 0;
+        for (long word : getRowWords(i, true, true)) {
+            count += Long.bitCount(word);
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a list containing the incident vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public List<V> getInVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getVerticesFromWords(getRowWords(i, false, true));
+    }
+
+    /**
+     * Get the outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a list containing the outer vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public List<V> getOutVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getVerticesFromWords(getRowWords(i, true, false));
+    }
+
+    /**
+     * Call an action on the vertices connected to a vertex, reading a word
+     * of the row and of the column at a time.
+     * @param  i      index of the vertex
+     * @param  out    true to include the outer vertices
+     * @param  in     true to include the incident vertices
+     * @param  action the action to call on each vertex
+     */
+    protected void forEachConnected(int i, boolean out, boolean in, Consumer<? super V> action) {
+        int usedWords = getWordsSize(verticesCount);
+        for (int w = 0; w != usedWords; w++) {
+            long word = out ? bits[i * words + w] : 0;
+            if (in) {
+                word |= getColumnWord(i, w);
+            }
+
+            while (word != 0) {
+                action.accept(verticesArray.get((w << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Call an action on each neighbor of a vertex, both incident and outer
+     * vertices, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, true, isDirected(), action);
+        return true;
+    }
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, false, true, action);
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building a
+     * list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, true, false, action);
+        return true;
+    }
+
+    /**
+     * Get the number of incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of incident vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getInDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return inDegrees[i];
+    }
+
+    /**
+     * Get the number of outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of outer vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getOutDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return outDegrees[i];
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param  source      The vertex from where the path shall begin
+     * @param  destination The vertex from where the path shall end
+     * @return             Ordered list of the vertices that form a path
+     *                     between source and destination, null if source
+     *                     and destination are the same or if they are not
+     *                     contained in the graph, an empty LinkedList if
+     *                     there is no path between them
+     */
+    public List<V> getPath(V source, V destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+
+        if (i1 == -1 || i2 == -1) {
+            return null;
+        }
+
+        if (i1 == i2) {
+            return null;
+        }
+
+        int[] parent = new int[verticesCount];
+        // Vertices already enqueued, so that a whole word of candidates
+        // can be filtered at once
+        long[] visited = new long[words];
+        int[] queue = new int[verticesCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = i1;
+        visited[i1 >>> 6] |= 1L << i1;
+
+        boolean found = false;
+
+        while (head != tail) {
+            int current = queue[head++];
+
+            if (current == i2) {
+                found = true;
+                break;
+            }
+
+            int row = current * words;
+            for (int w = 0; w != words; w++) {
+                long word = bits[row + w] & ~visited[w];
+                visited[w] |= word;
+                while (word != 0) {
+                    int next = (w << 6) + Long.numberOfTrailingZeros(word);
+                    parent[next] = current;
+                    queue[tail++] = next;
+                    word &= word - 1;
+                }
+            }
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+
+        if (found) {
+            int current = i2;
+            while (current != i1) {
+                path.addFirst(verticesArray.get(current));
+                current = parent[current];
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    public boolean existsPath(V source, V destination) {
+        List<V> path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return !path.isEmpty();
+    }
+}
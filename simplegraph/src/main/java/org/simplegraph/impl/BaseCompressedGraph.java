@@ -0,0 +1,539 @@
+package org.simplegraph.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ Immutable graph storing its adjacency lists compressed.
+
+ The neighbors of each vertex are stored as sorted ids in CompressedRows,
+ so that an edge usually takes one or two bytes. Directed graphs store the
+ incident vertices too, compressed the same way.
+ */
+abstract class BaseCompressedGraph<V> {
+    protected Object[] vertices;
+    protected HashMap<V, Integer> verticesMap;
+    protected CompressedRows outRows;
+    // null if the graph is undirected
+    protected CompressedRows inRows;
+
+    /**
+     * Adjacency of a vertex in the graph being compressed.
+     */
+    protected interface Adjacency<V> {
+        List<V> get(V vertex);
+    }
+
+    /**
+     * Build the compressed rows.
+     * @param vertexList vertices of the graph
+     * @param adjacency  outer vertices of each vertex
+     * @param directed   true if the incident vertices should be stored
+     */
+    protected void build(List<V> vertexList, Adjacency<V> adjacency, boolean directed) {
+        int verticesCount = vertexList.size();
+        vertices = vertexList.toArray();
+        verticesMap = new HashMap<V, Integer>(verticesCount, 1);
+        for (int i = 0; i != verticesCount; i++) {
+            verticesMap.put(vertexList.get(i), i);
+        }
+
+        int[][] rows = new int[verticesCount][];
+        int[] inDegrees = new int[verticesCount];
+        for (int i = 0; i != verticesCount; i++) {
+            List<V> neighbors = adjacency.get(getVertex(i));
+            int[] row = new int[neighbors.size()];
+            int k = 0;
+            for (V neighbor : neighbors) {
+                row[k] = verticesMap.get(neighbor);
+                inDegrees[row[k]]++;
+                k++;
+            }
+
+            Arrays.sort(row);
+            rows[i] = row;
+        }
+
+        outRows = new CompressedRows(rows);
+
+        if (!directed) {
+            return;
+        }
+
+        // Transpose the rows, sources are visited in order so every
+        // transposed row ends up sorted
+        int[][] transposed = new int[verticesCount][];
+        for (int i = 0; i != verticesCount; i++) {
+            transposed[i] = new int[inDegrees[i]];
+            inDegrees[i] = 0;
+        }
+
+        for (int i = 0; i != verticesCount; i++) {
+            for (int target : rows[i]) {
+                transposed[target][inDegrees[target]++] = i;
+            }
+
+            // Release the row as soon as possible
+            rows[i] = null;
+        }
+
+        inRows = new CompressedRows(transposed);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected V getVertex(int id) {
+        return (V) vertices[id];
+    }
+
+    /**
+     * Get the id of a vertex.
+     * @param vertex the specified vertex
+     * @return       id of vertex, -1 if it is not contained in the graph
+     */
+    protected int getVertexIndex(V vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+
+        return verticesMap.getOrDefault(vertex, -1);
+    }
+
+    protected boolean isDirected() {
+        return inRows != null;
+    }
+
+    /**
+     * Decode a row in a list of vertices.
+     * @param  rows the compressed rows
+     * @param  i    index of the row
+     * @return      the vertices in the row
+     */
+    protected List<V> decodeRow(CompressedRows rows, int i) {
+        ArrayList<V> list = new ArrayList<V>(rows.getDegree(i));
+        CompressedRows.Cursor cursor = rows.cursor(i);
+        while (cursor.next()) {
+            list.add(getVertex(cursor.value));
+        }
+
+        return list;
+    }
+
+    /**
+     * Decode a row calling an action on each vertex.
+     * @param  rows   the compressed rows
+     * @param  i      index of the row
+     * @param  action the action to call on each vertex
+     */
+    protected void forEachInRow(CompressedRows rows, int i, Consumer<? super V> action) {
+        CompressedRows.Cursor cursor = rows.cursor(i);
+        while (cursor.next()) {
+            action.accept(getVertex(cursor.value));
+        }
+    }
+
+    /**
+     * Estimate the memory used by the graph.
+     * @return the bytes used, split by purpose
+     */
+    public MemoryFootprint memoryFootprint() {
+        int count = vertices.length;
+        long vertexTable = MemoryFootprint.array(count, MemoryFootprint.REFERENCE)
+            + MemoryFootprint.hashMapUsed(count);
+        long adjacency = outRows.footprintBytes();
+        if (isDirected()) {
+            adjacency += inRows.footprintBytes();
+        }
+
+        return new MemoryFootprint(vertexTable, adjacency, 0, MemoryFootprint.hashMapUnused(count),
+            (long) count * MemoryFootprint.BOXED_INTEGER);
+    }
+
+    /**
+     * Get the number of bytes used to store the edges.
+     * @return number of bytes
+     */
+    public long getEdgesBytesSize() {
+        long bytes = outRows.getBytesSize();
+        if (isDirected()) {
+            bytes += inRows.getBytesSize();
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Compressed graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean addVertex(V vertex) {
+        throw new UnsupportedOperationException("Compressed graphs cannot be modified");
+    }
+
+    /**
+     * Compressed graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean removeVertex(V vertex) {
+        throw new UnsupportedOperationException("Compressed graphs cannot be modified");
+    }
+
+    /**
+     * Compressed graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean removeEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Compressed graphs cannot be modified");
+    }
+
+    /**
+     * Check the existence of a vertex in the graph.
+     * @param  vertex the vertex to check
+     * @return        true if the graph contains vertex
+     */
+    public boolean containsVertex(V vertex) {
+        return getVertexIndex(vertex) != -1;
+    }
+
+    /**
+     * Get the number of vertices in the graph.
+     * @return number of vertices
+     */
+    public int countVertices() {
+        return vertices.length;
+    }
+
+    /**
+     * Get all the vertices in the graph
+     * @return a read only list containing all the graph vertices
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> getVertices() {
+        return Collections.unmodifiableList((List<V>) Arrays.asList(vertices));
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    public int countEdges() {
+        int count = Math.toIntExact(outRows.size());
+        if (isDirected()) {
+            return count;
+        }
+
+        // Each undirected edge is stored in both rows
+        return count / 2;
+    }
+
+    /**
+     * Check the existence of an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge from v1 to v2 exists
+     */
+    public boolean existsEdge(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return false;
+        }
+
+        return outRows.contains(i1, i2);
+    }
+
+    /**
+     * Get the neighbors of a vertex, both incident and outer vertices.
+     * @param  vertex the specified vertex
+     * @return        the list of vertices that are neighbors of vertex
+     *                null if the vertex is not contained in the graph
+     */
+    public List<V> getNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        if (!isDirected()) {
+            return decodeRow(outRows, i);
+        }
+
+        // Merge the two sorted rows, skipping duplicates
+        ArrayList<V> neighbors = new ArrayList<V>(outRows.getDegree(i) + inRows.getDegree(i));
+        CompressedRows.Cursor a = outRows.cursor(i);
+        CompressedRows.Cursor b = inRows.cursor(i);
+        boolean hasA = a.next();
+        boolean hasB = b.next();
+        while (hasA || hasB) {
+            if (!hasB || (hasA && a.value < b.value)) {
+                neighbors.add(getVertex(a.value));
+                hasA = a.next();
+            } else if (!hasA || b.value < a.value) {
+                neighbors.add(getVertex(b.value));
+                hasB = b.next();
+            } else {
+                neighbors.add(getVertex(a.value));
+                hasA = a.next();
+                hasB = b.next();
+            }
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Call an action on each neighbor of a vertex, both incident and outer
+     * vertices, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        if (!isDirected()) {
+            forEachInRow(outRows, i, action);
+            return true;
+        }
+
+        // Merge the two sorted rows, skipping duplicates
+        CompressedRows.Cursor a = outRows.cursor(i);
+        CompressedRows.Cursor b = inRows.cursor(i);
+        boolean hasA = a.next();
+        boolean hasB = b.next();
+        while (hasA || hasB) {
+            if (!hasB || (hasA && a.value < b.value)) {
+                action.accept(getVertex(a.value));
+                hasA = a.next();
+            } else if (!hasA || b.value < a.value) {
+                action.accept(getVertex(b.value));
+                hasB = b.next();
+            } else {
+                action.accept(getVertex(a.value));
+                hasA = a.next();
+                hasB = b.next();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachInRow(inRows, i, action);
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building a
+     * list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachInRow(outRows, i, action);
+        return true;
+    }
+
+    /**
+     * Get the number of neighbors for a vertex, both incident and outer.
+     * @param  vertex the spefied vertex
+     * @return        number of neighbors, -1 if vertex does not exists
+     */
+    public int countNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        if (!isDirected()) {
+            return outRows.getDegree(i);
+        }
+
+        // Count the vertices in both rows only once
+        int count = outRows.getDegree(i) + inRows.getDegree(i);
+        CompressedRows.Cursor a = outRows.cursor(i);
+        CompressedRows.Cursor b = inRows.cursor(i);
+        boolean hasA = a.next();
+        boolean hasB = b.next();
+        while (hasA && hasB) {
+            if (a.value < b.value) {
+                hasA = a.next();
+            } else if (b.value < a.value) {
+                hasB = b.next();
+            } else {
+                count--;
+                hasA = a.next();
+                hasB = b.next();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a list containing the incident vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public List<V> getInVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return decodeRow(inRows, i);
+    }
+
+    /**
+     * Get the outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a list containing the outer vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public List<V> getOutVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return decodeRow(outRows, i);
+    }
+
+    /**
+     * Get the number of incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of incident vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getInDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return inRows.getDegree(i);
+    }
+
+    /**
+     * Get the number of outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of outer vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getOutDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return outRows.getDegree(i);
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param  source      The vertex from where the path shall begin
+     * @param  destination The vertex from where the path shall end
+     * @return             Ordered list of the vertices that form a path
+     *                     between source and destination, null if source
+     *                     and destination are the same or if they are not
+     *                     contained in the graph, an empty LinkedList if
+     *                     there is no path between them
+     */
+    public List<V> getPath(V source, V destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+
+        if (i1 == -1 || i2 == -1) {
+            return null;
+        }
+
+        if (i1 == i2) {
+            return null;
+        }
+
+        int[] parent = new int[vertices.length];
+        Arrays.fill(parent, -1);
+        // Every vertex is enqueued at most once
+        int[] queue = new int[vertices.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = i1;
+        parent[i1] = i1;
+
+        boolean found = false;
+
+        while (head != tail) {
+            int current = queue[head++];
+
+            if (current == i2) {
+                found = true;
+                break;
+            }
+
+            CompressedRows.Cursor cursor = outRows.cursor(current);
+            while (cursor.next()) {
+                int next = cursor.value;
+                if (parent[next] == -1) {
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+
+        if (found) {
+            int current = i2;
+            while (current != i1) {
+                path.addFirst(getVertex(current));
+                current = parent[current];
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    public boolean existsPath(V source, V destination) {
+        List<V> path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return !path.isEmpty();
+    }
+}
@@ -1,20 +1,90 @@
 package org.simplegraph.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.LinkedList;
 
-abstract class BaseDenseGraph<V> {
+abstract class BaseDenseGraph<V> implements SelfCheckingGraph {
     protected static final short DEFAULT_SIZE = 15;
     protected int size;
+    // Number of slots used, dead ones included
     protected int verticesCount;
+    // Slots of the removed vertices waiting for compact(), only used with
+    // lazy removal
+    protected int deadCount;
+    protected boolean lazyRemoval;
     protected ArrayList<V> verticesArray;
     protected Map<V, Integer> verticesMap;
+    // Maintained by countEdge(), so that no query has to scan the matrix
+    protected int edgesCount;
+    protected int[] outDegrees;
+    protected int[] inDegrees;
+
+    /**
+     * Does the graph store directed edges.
+     * @return true if the matrix is not symmetric
+     */
+    protected abstract boolean isDirected();
+
+    /**
+     * Check the cell of the matrix for the edge from the vertex i to the
+     * vertex j.
+     * @param  i index of the first vertex
+     * @param  j index of the second vertex, different from i
+     * @return   true if the edge exists
+     */
+    protected abstract boolean hasEdge(int i, int j);
+
+    /**
+     * Read the weight stored in the cell of the matrix for the edge from the
+     * vertex i to the vertex j, used by the shortest path kernel.
+     * @param  i index of the first vertex
+     * @param  j index of the second vertex, different from i
+     * @return   the weight of the edge, NaN if the edge doesn't exist
+     */
+    protected double getCellWeight(int i, int j) {
+        return hasEdge(i, j) ? 1 : Double.NaN;
+    }
+
+    /**
+     * Clear the cells of the row and the column of a vertex.
+     * @param i index of the vertex
+     */
+    protected abstract void clearVertexEdges(int i);
+
+    /**
+     * Move the cells of the row and the column of a vertex to the ones of
+     * an empty slot, leaving the cells of the vertex empty.
+     * @param from index of the vertex
+     * @param to   index of the empty slot
+     */
+    protected abstract void moveVertexEdges(int from, int to);
+
+    /**
+     * Check that a matrix fits in a Java array.
+     * The number of cells is computed as a long by the caller, so that
+     * large sizes do not silently wrap around.
+     * @param  cells number of cells of the matrix
+     * @return       cells as an array length
+     * @throws IllegalArgumentException if there are more than
+     *         Integer.MAX_VALUE cells
+     */
+    static int matrixLength(long cells) {
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A matrix of " + cells + " cells does not fit in an array");
+        }
+
+        return (int) cells;
+    }
 
     protected void initialize(int startSize) {
         size = startSize;
+        edgesCount = 0;
+        outDegrees = new int[size];
+        inDegrees = new int[size];
 
         verticesArray = new ArrayList<V>(size);
 
@@ -26,24 +96,26 @@ abstract class BaseDenseGraph<V> {
         // We expect the hashmap to be full
         verticesMap = new HashMap<V, Integer>(size, 1);
         verticesCount = 0;
+        deadCount = 0;
     }
 
+    /**
+     * Copy the vertices and the counters of another graph, replacing the
+     * ones of this graph. The subclasses copy the edges.
+     * @param graph graph to copy
+     */
     protected void copyVertices(BaseDenseGraph<V> graph) {
         size = graph.size;
         verticesCount = graph.verticesCount;
-        for (int i = 0; i != verticesCount; i++) {
-            V v = graph.verticesArray.get(i);
-            if (v != null) {
-                verticesMap.put(v, i);
-                verticesArray.add(i, v);
-                continue;
-            }
-            verticesArray.set(i, null);
-        }
+        deadCount = graph.deadCount;
+        lazyRemoval = graph.lazyRemoval;
+        edgesCount = graph.edgesCount;
+        outDegrees = Arrays.copyOf(graph.outDegrees, graph.outDegrees.length);
+        inDegrees = Arrays.copyOf(graph.inDegrees, graph.inDegrees.length);
 
-        for (int i = verticesCount; i != size; i++) {
-            verticesArray.set(i, null);
-        }
+        // Both copy constructors copy their backing arrays in bulk
+        verticesArray = new ArrayList<V>(graph.verticesArray);
+        verticesMap = new HashMap<V, Integer>(graph.verticesMap);
     }
 
     /**
@@ -59,12 +131,101 @@ abstract class BaseDenseGraph<V> {
         size = newSize;
 
         verticesArray.ensureCapacity(size);
+        outDegrees = Arrays.copyOf(outDegrees, size);
+        inDegrees = Arrays.copyOf(inDegrees, size);
 
         for (int i = oldSize; i != size; ++i) {
             verticesArray.add(null);
         }
     }
 
+    /**
+     * Update the counters after an edge has been added or removed.
+     * An undirected edge counts as an outer and an incident edge for both
+     * vertices.
+     * @param i     index of the first vertex
+     * @param j     index of the second vertex
+     * @param delta 1 if the edge has been added, -1 if it has been removed
+     */
+    protected void countEdge(int i, int j, int delta) {
+        edgesCount += delta;
+        outDegrees[i] += delta;
+        inDegrees[j] += delta;
+
+        if (!isDirected()) {
+            outDegrees[j] += delta;
+            inDegrees[i] += delta;
+        }
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    public int countEdges() {
+        return edgesCount;
+    }
+
+    /**
+     * Does the graph store a boxed weight for each edge.
+     * @return true if the cells of the matrix are boxed weights
+     */
+    protected boolean isWeighted() {
+        return false;
+    }
+
+    /**
+     * Estimate the memory used by the matrix.
+     * The slots after verticesCount are unused, the ones of the vertices
+     * waiting for compact() are not.
+     * @return the bytes used by the matrix, split by purpose
+     */
+    protected abstract MemoryFootprint matrixFootprint();
+
+    /**
+     * Estimate the memory used by the graph.
+     * @return the bytes used, split by purpose
+     */
+    public MemoryFootprint memoryFootprint() {
+        int live = verticesCount - deadCount;
+        long vertexTable = MemoryFootprint.ARRAY_LIST + MemoryFootprint.usedSlots(verticesCount, MemoryFootprint.REFERENCE)
+            + MemoryFootprint.hashMapUsed(live);
+        long adjacency = 2 * MemoryFootprint.usedSlots(verticesCount, 4);
+        long unused = MemoryFootprint.unusedSlots(size, verticesCount, MemoryFootprint.REFERENCE)
+            + MemoryFootprint.hashMapUnused(live)
+            + 2 * MemoryFootprint.unusedSlots(size, verticesCount, 4);
+        long boxed = (long) live * MemoryFootprint.BOXED_INTEGER;
+        return new MemoryFootprint(vertexTable, adjacency, 0, unused, boxed).plus(matrixFootprint());
+    }
+
+    /**
+     * Recompute the edges count and the degrees from the matrix and compare
+     * them with the maintained ones.
+     * @return true if every counter is consistent with the matrix
+     */
+    public boolean checkCounters() {
+        int count = 0;
+        int[] out = new int[size];
+        int[] in = new int[size];
+
+        for (int i = 0; i != verticesCount; i++) {
+            for (int j = 0; j != verticesCount; j++) {
+                if (i != j && hasEdge(i, j)) {
+                    count++;
+                    out[i]++;
+                    in[j]++;
+                }
+            }
+        }
+
+        // Undirected edges have been found from both vertices
+        if (!isDirected()) {
+            count /= 2;
+        }
+
+        return count == edgesCount && Arrays.equals(out, outDegrees) && Arrays.equals(in, inDegrees);
+    }
+
     /**
      * Get index of the vertex.
      * @param vertex Selected vertex.
@@ -123,22 +284,110 @@ abstract class BaseDenseGraph<V> {
             return false;
         }
 
-        // Do not check if vertex is the last one
-        // because it works too
+        int vertexIndex = verticesMap.get(vertex);
 
-        verticesCount--;
+        // Uncount the edges of the vertex, before clearing them
+        for (int i = 0; i != verticesCount; i++) {
+            if (i == vertexIndex) {
+                continue;
+            }
 
-        // Swap the last vertex with the one to remove
-        int vertexIndex = verticesMap.get(vertex);
-        // we use verticesCount as index because it has already been decreased
-        verticesMap.replace(verticesArray.get(verticesCount), vertexIndex);
+            if (hasEdge(vertexIndex, i)) {
+                countEdge(vertexIndex, i, -1);
+            }
+
+            if (isDirected() && hasEdge(i, vertexIndex)) {
+                countEdge(i, vertexIndex, -1);
+            }
+        }
+
+        clearVertexEdges(vertexIndex);
         verticesMap.remove(vertex);
-        verticesArray.set(vertexIndex, verticesArray.get(verticesCount));
-        verticesArray.set(verticesCount, null);
+        verticesArray.set(vertexIndex, null);
+
+        // Leave the slot dead, the other vertices keep their index
+        if (lazyRemoval) {
+            deadCount++;
 
+            // Compact once half of the slots are dead
+            if (deadCount * 2 > verticesCount) {
+                compact();
+            }
+
+            return true;
+        }
+
+        // Move the last vertex in the slot of the removed one
+        int last = verticesCount - 1;
+        if (vertexIndex != last) {
+            moveVertex(last, vertexIndex);
+        }
+
+        verticesCount--;
         return true;
     }
 
+    /**
+     * Move a vertex, with its edges and counters, to an empty slot.
+     * @param from index of the vertex
+     * @param to   index of the empty slot
+     */
+    protected void moveVertex(int from, int to) {
+        moveVertexEdges(from, to);
+
+        // The counters of the empty slot are 0
+        outDegrees[to] = outDegrees[from];
+        inDegrees[to] = inDegrees[from];
+        outDegrees[from] = 0;
+        inDegrees[from] = 0;
+
+        V v = verticesArray.get(from);
+        verticesMap.replace(v, to);
+        verticesArray.set(to, v);
+        verticesArray.set(from, null);
+    }
+
+    /**
+     * Choose how vertices are removed.
+     * With lazy removal the slot of a removed vertex is left dead instead
+     * of being filled with the last vertex, so that no other vertex changes
+     * index, and the dead slots are reclaimed by compact(). Disabling it
+     * compacts the graph.
+     * @param lazy true to leave dead slots on removal
+     */
+    public void setLazyRemoval(boolean lazy) {
+        lazyRemoval = lazy;
+        if (!lazy) {
+            compact();
+        }
+    }
+
+    /**
+     * Move the vertices in the dead slots left by lazy removal, in a single
+     * pass that keeps their order.
+     */
+    public void compact() {
+        if (deadCount == 0) {
+            return;
+        }
+
+        int live = 0;
+        for (int i = 0; i != verticesCount; i++) {
+            if (verticesArray.get(i) == null) {
+                continue;
+            }
+
+            if (i != live) {
+                moveVertex(i, live);
+            }
+
+            live++;
+        }
+
+        verticesCount = live;
+        deadCount = 0;
+    }
+
     /**
      * Check the existence of a vertex in the graph.
      * @param  vertex the vertex to check
@@ -161,7 +410,7 @@ abstract class BaseDenseGraph<V> {
      * @return number of vertices
      */
     public int countVertices() {
-        return verticesCount;
+        return verticesCount - deadCount;
     }
 
     /**
@@ -169,6 +418,134 @@ abstract class BaseDenseGraph<V> {
      * @return a List containing all the graph vertices
      */
     public List<V> getVertices() {
-        return new LinkedList<V>(verticesArray.subList(0, verticesCount));
+        LinkedList<V> vertices = new LinkedList<V>(verticesArray.subList(0, verticesCount));
+        if (deadCount != 0) {
+            vertices.removeIf(v -> v == null);
+        }
+
+        return vertices;
+    }
+
+    /**
+     * Find the distance between two vertices with Dijkstra on the indices.
+     * The next vertex is chosen by scanning dist instead of using a heap:
+     * each step reads a whole row of the matrix anyway, so the O(V^2) scan
+     * costs no more than relaxing the edges and needs no queue.
+     * @param  i1     index of the source
+     * @param  i2     index of the destination
+     * @param  parent filled with the previous vertex on the path to each
+     *                vertex reached, the source being its own parent
+     * @return        the distance, POSITIVE_INFINITY if i2 can't be reached,
+     *                NaN if an edge with a negative weight has been found
+     */
+    protected double dijkstra(int i1, int i2, int[] parent) {
+        double[] dist = new double[verticesCount];
+        boolean[] visited = new boolean[verticesCount];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[i1] = 0;
+        parent[i1] = i1;
+
+        while (true) {
+            int current = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int i = 0; i != verticesCount; i++) {
+                if (!visited[i] && dist[i] < best) {
+                    best = dist[i];
+                    current = i;
+                }
+            }
+
+            if (current == -1) {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            if (current == i2) {
+                return best;
+            }
+
+            visited[current] = true;
+
+            // Dead slots have empty cells and are never reached
+            for (int j = 0; j != verticesCount; j++) {
+                if (visited[j]) {
+                    continue;
+                }
+
+                double weight = getCellWeight(current, j);
+                if (Double.isNaN(weight)) {
+                    continue;
+                }
+
+                if (weight < 0) {
+                    return Double.NaN;
+                }
+
+                double distance = best + weight;
+                if (distance < dist[j]) {
+                    dist[j] = distance;
+                    parent[j] = current;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the shortest path between two vertices, running Dijkstra directly
+     * on the matrix.
+     * @param  source      the source vertex
+     * @param  destination the destination vertex
+     * @return             the vertices of the path, an empty list if there
+     *                     is no path, null if a vertex is not contained in
+     *                     the graph, they are the same or a weight is
+     *                     negative
+     */
+    protected List<V> _getShortestPath(V source, V destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+        if (i1 == -1 || i2 == -1 || i1 == i2) {
+            return null;
+        }
+
+        int[] parent = new int[verticesCount];
+        double distance = dijkstra(i1, i2, parent);
+        if (Double.isNaN(distance)) {
+            return null;
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+        if (distance == Double.POSITIVE_INFINITY) {
+            return path;
+        }
+
+        for (int i = i2; i != i1; i = parent[i]) {
+            path.addFirst(verticesArray.get(i));
+        }
+
+        path.addFirst(source);
+        return path;
+    }
+
+    /**
+     * Get the length of the shortest path between two vertices, running
+     * Dijkstra directly on the matrix.
+     * @param  source      the source vertex
+     * @param  destination the destination vertex
+     * @return             the distance, null if there is no path, a vertex
+     *                     is not contained in the graph, they are the same or
+     *                     a weight is negative
+     */
+    protected Double _getMinimumDistance(V source, V destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+        if (i1 == -1 || i2 == -1 || i1 == i2) {
+            return null;
+        }
+
+        double distance = dijkstra(i1, i2, new int[verticesCount]);
+        if (Double.isNaN(distance) || distance == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        return distance;
     }
 }
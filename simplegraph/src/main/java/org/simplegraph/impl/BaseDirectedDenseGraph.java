@@ -4,98 +4,117 @@ import java.util.Arrays;
 import java.util.ArrayDeque;
 import java.util.List;
 import java.util.LinkedList;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
+/**
+ Directed dense graph storing the edges in an adjacency matrix.
+
+ The matrix is a single row-major array of size * size cells, so that the
+ edge from the vertex i to the vertex j is in edges[i * size + j]. Rows are
+ contiguous and growing the graph copies them with System.arraycopy.
+ */
 abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
-    protected E[][] edges;
+    protected Object[] edges;
 
     /**
      * Copy constructor
      * @param graph graph to copy
      */
-    @SuppressWarnings("unchecked")
     protected void copy(BaseDirectedDenseGraph<V,E> graph) {
-        initialize(graph.size);
-
         copyVertices(graph);
 
-        edges = (E[][]) new Object [size][size];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                edges[i][j] = graph.edges[i][j];
-            }
-        }
+        edges = Arrays.copyOf(graph.edges, graph.edges.length);
     }
 
     /**
      * Initialize all attributes for storing graph data.
      * @param startSize Number of vertices to store initially in the graph.
      */
-    @SuppressWarnings("unchecked")
     protected void initialize(int startSize) {
         super.initialize(startSize);
 
-        edges = (E[][]) new Object[startSize][startSize];
+        edges = new Object[matrixLength((long) startSize * startSize)];
+    }
 
-        for (int i = 0; i != size; ++i) {
-            for (int j = 0; j != size; j++) {
-                edges[i][j] = null;
-            }
-        }
+    @Override
+    protected boolean isDirected() {
+        return true;
+    }
+
+    @Override
+    protected boolean hasEdge(int i, int j) {
+        return edges[i * size + j] != null;
+    }
+
+    @Override
+    protected double getCellWeight(int i, int j) {
+        E edge = getCell(i, j);
+        return edge == null ? Double.NaN : getEdgeWeight(edge);
+    }
+
+    /**
+     * Get the edge that goes from the vertex i to the vertex j.
+     * @param  i index of the first vertex
+     * @param  j index of the second vertex
+     * @return   the edge, null if it doesn't exist
+     */
+    @SuppressWarnings("unchecked")
+    protected E getCell(int i, int j) {
+        return (E) edges[i * size + j];
     }
 
     /**
      * Grow the graph size to the specified size
      * @param newSize New size for the graph.
      */
-    @SuppressWarnings("unchecked")
     public void grow(int newSize) {
+        if (newSize < size) {
+            return;
+        }
+
+        // Checked before changing the size
+        int length = matrixLength((long) newSize * newSize);
         int oldSize = size;
         super.grow(newSize);
 
-        E[][] newMatrix = (E[][]) new Object[size][size];
+        // The new cells are already null
+        Object[] newMatrix = new Object[length];
         for (int i = 0; i != oldSize; ++i) {
-            for (int j = 0; j != oldSize; j++) {
-                newMatrix[i][j] = edges[i][j];
-            }
+            System.arraycopy(edges, i * oldSize, newMatrix, i * size, oldSize);
         }
 
-        // Set all the unused positions to null
-        for (int i = 0; i != size; ++i) {
-            for (int j = oldSize; j != size; j++) {
-                newMatrix[i][j] = null;
-                newMatrix[j][i] = null;
-            }
-        }
-        
         edges = newMatrix;
     }
 
-    /**
-     * Remove a vertex from the graph
-     * @param  vertex the vertex to remove
-     * @return        true if the graph has been modified
-     */
-    public boolean removeVertex(V vertex)
-    {
-        int oldVertex = getVertexIndex(vertex);
-        if (!super.removeVertex(vertex)) {
-            return false;
+    @Override
+    protected MemoryFootprint matrixFootprint() {
+        long cells = (long) verticesCount * verticesCount;
+        long adjacency = MemoryFootprint.usedSlots(cells, MemoryFootprint.REFERENCE);
+        long unused = MemoryFootprint.unusedSlots(edges.length, cells, MemoryFootprint.REFERENCE);
+        // Missing edges are null and every edge stores Boolean.TRUE or its own weight
+        long boxed = isWeighted() ? (long) edgesCount * MemoryFootprint.BOXED_DOUBLE : 0;
+        return new MemoryFootprint(0, adjacency, 0, unused, boxed);
+    }
+
+    @Override
+    protected void clearVertexEdges(int i) {
+        Arrays.fill(edges, i * size, i * size + verticesCount, null);
+        for (int j = 0; j != verticesCount; j++) {
+            edges[j * size + i] = null;
         }
+    }
 
-        // For each vertex, except the one to swap
-        // verticesCount has been already decremented in super.removeVertex()
-        for (int i = 0; i != verticesCount; i++) {
-            // Swap the edges of the last vertex (with index verticesCount)
-            // with the edges of the vertex to remove (index i)
-            // remove both a,b and b,a
-            edges[oldVertex][i] = edges[verticesCount][i];
-            edges[verticesCount][i] = null;
+    @Override
+    protected void moveVertexEdges(int from, int to) {
+        // Move the row first, then the column
+        System.arraycopy(edges, from * size, edges, to * size, verticesCount);
+        Arrays.fill(edges, from * size, from * size + verticesCount, null);
 
-            edges[i][oldVertex] = edges[i][verticesCount];
-            edges[i][verticesCount] = null;
+        for (int j = 0; j != verticesCount; j++) {
+            edges[j * size + to] = edges[j * size + from];
+            edges[j * size + from] = null;
         }
-
-        return true;
     }
 
     /**
@@ -132,9 +151,14 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
         }
 
         // get last value to check if the graph has been modified
-        E t = edges[i1][i2];
-        edges[i1][i2] = edge;
-        return t == null || !edge.equals(t);
+        E t = getCell(i1, i2);
+        edges[i1 * size + i2] = edge;
+        if (t == null) {
+            countEdge(i1, i2, 1);
+            return true;
+        }
+
+        return !edge.equals(t);
     }
 
     protected E getSingleEdge(V v1, V v2) {
@@ -150,7 +174,7 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
             return null;
         }
 
-        return edges[i1][i2];
+        return getCell(i1, i2);
     }
 
     /**
@@ -172,9 +196,14 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
             return false;
         }
 
-        E t =  edges[i1][i2];
-        edges[i1][i2] = null;
-        return t != null;
+        E t = getCell(i1, i2);
+        if (t == null) {
+            return false;
+        }
+
+        edges[i1 * size + i2] = null;
+        countEdge(i1, i2, -1);
+        return true;
     }
 
     /**
@@ -195,7 +224,7 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
             return false;
         }
 
-        return edges[i1][i2] != null;
+        return edges[i1 * size + i2] != null;
     }
 
     /**
@@ -213,7 +242,7 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
         int vertexIndex = verticesMap.get(vertex);
 
         for (int i = 0; i != verticesCount; i++) {
-            if (edges[vertexIndex][i] != null || edges[i][vertexIndex] != null) {
+            if (edges[vertexIndex * size + i] != null || edges[i * size + vertexIndex] != null) {
                 neighbors.add(verticesArray.get(i));
             }
         }
@@ -234,24 +263,6 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
         return getNeighbors(vertex).size();
     }
 
-    /**
-     * Get how many edges the graph contains.
-     * @return number of edges
-     */
-    public int countEdges() {
-        int count = 0;
-
-        for (int i = 0; i != verticesCount; i++) {
-            for (int j = 0; j != verticesCount; j++) {
-                if (edges[i][j] != null) {
-                    count++;
-                }
-            }
-        }
-
-        return count;
-    }
-
     protected boolean checkEdge(V vertex, E edge, boolean in) {
         // Edge must not be null
         if (edge == null) {
@@ -266,9 +277,9 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
         int j = 0;
 
         for (j = 0; j != verticesCount; j++) {
-            if (in && edge.equals(edges[i][j])) {
+            if (in && edge.equals(getCell(i, j))) {
                 return true;
-            } else if (!in && edge.equals(edges[j][i])) {
+            } else if (!in && edge.equals(getCell(j, i))) {
                 return true;
             }
         }
@@ -276,6 +287,105 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
         return false;
     }
 
+    /**
+     * Call an action on each neighbor of a vertex, both incident and outer
+     * vertices, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        int vertexIndex = getVertexIndex(vertex);
+        if (vertexIndex == -1) {
+            return false;
+        }
+
+        for (int i = 0; i != verticesCount; i++) {
+            if (edges[vertexIndex * size + i] != null || edges[i * size + vertexIndex] != null) {
+                action.accept(verticesArray.get(i));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        int vertexIndex = getVertexIndex(vertex);
+        if (vertexIndex == -1) {
+            return false;
+        }
+
+        for (int i = 0; i != verticesCount; i++) {
+            if (edges[i * size + vertexIndex] != null) {
+                action.accept(verticesArray.get(i));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building a
+     * list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        int vertexIndex = getVertexIndex(vertex);
+        if (vertexIndex == -1) {
+            return false;
+        }
+
+        int row = vertexIndex * size;
+        for (int i = 0; i != verticesCount; i++) {
+            if (edges[row + i] != null) {
+                action.accept(verticesArray.get(i));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the weight of an edge, used by _forEachOutEdge().
+     * @param  edge the edge stored in the graph
+     * @return      the weight of edge
+     */
+    protected double getEdgeWeight(E edge) {
+        return 1;
+    }
+
+    /**
+     * Call an action on each edge leaving a vertex, passing the other vertex
+     * and the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    protected boolean _forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        int vertexIndex = getVertexIndex(vertex);
+        if (vertexIndex == -1) {
+            return false;
+        }
+
+        for (int i = 0; i != verticesCount; i++) {
+            E edge = getCell(vertexIndex, i);
+            if (edge != null) {
+                action.accept(verticesArray.get(i), getEdgeWeight(edge));
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Get the incident vertices of a vertex.
      * @param  vertex the specified vertex
@@ -291,7 +401,7 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
         int vertexIndex = verticesMap.get(vertex);
 
         for (int i = 0; i != verticesCount; i++) {
-            if (edges[i][vertexIndex] != null) {
+            if (edges[i * size + vertexIndex] != null) {
                 neighbors.add(verticesArray.get(i));
             }
         }
@@ -319,7 +429,7 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
         }
 
         for (int i = 0; i != verticesCount; i++) {
-            if (edges[vertexIndex][i] != null) {
+            if (edges[vertexIndex * size + i] != null) {
                 neighbors.add(verticesArray.get(i));
             }
         }
@@ -334,13 +444,12 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
      *                is not contained in the graph
      */
     public int getInDegree(V vertex) {
-        List<V> list = getInVertices(vertex);
-
-        if (list != null) {
-            return list.size();
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
         }
 
-        return -1;
+        return inDegrees[i];
     }
 
     /**
@@ -350,13 +459,12 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
      *                is not contained in the graph
      */
     public int getOutDegree(V vertex) {
-        List<V> list = getOutVertices(vertex);
-
-        if (list != null) {
-            return list.size();
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
         }
 
-        return -1;
+        return outDegrees[i];
     }
 
     /**
@@ -412,7 +520,7 @@ abstract class BaseDirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
             // Iterate over "current" neighbors
             for (int i = 0; i != verticesCount; i++) {
                 // If the vertex has not been processes
-                if (edges[current][i] != null && parent[i] == -1) {
+                if (edges[current * size + i] != null && parent[i] == -1) {
                     queue.add(i);
                     parent[i] = current;
                 }
@@ -1,11 +1,21 @@
 package org.simplegraph.impl;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.LinkedList;
+import java.util.function.Consumer;
 
 abstract class BaseDirectedSparseGraph<V, E> extends BaseSparseGraph<V, E> {
+    // For each vertex, its incident vertices and the edges coming from them.
+    // null if the graph has been created without the index.
+    protected HashMap<V, HashMap<V, E>> inEdges;
+    // Is inEdges shared with a copy of the graph
+    protected boolean sharedInEdges;
+    // In-degree of the vertices, indexed by their id
+    protected int[] inDegrees = new int[DEFAULT_SIZE];
+
     /**
      * Default constructor
      */
@@ -21,6 +31,219 @@ abstract class BaseDirectedSparseGraph<V, E> extends BaseSparseGraph<V, E> {
         super(size);
     }
 
+    /**
+     * Create a graph with a starting size, optionally indexing the incident
+     * vertices of every vertex.
+     * With the index, getInVertices() costs O(in-degree) and getInDegree()
+     * O(1), at the price of storing every edge twice.
+     * @param size         starting size
+     * @param indexInEdges true to maintain the index
+     */
+    public BaseDirectedSparseGraph(int size, boolean indexInEdges) {
+        super(size);
+
+        if (indexInEdges) {
+            inEdges = new HashMap<V, HashMap<V, E>>(size);
+        }
+    }
+
+    @Override
+    public void copy(BaseSparseGraph<V, E> graph) {
+        super.copy(graph);
+
+        if (graph instanceof BaseDirectedSparseGraph) {
+            int[] graphInDegrees = ((BaseDirectedSparseGraph<V, E>) graph).inDegrees;
+            inDegrees = Arrays.copyOf(graphInDegrees, graphInDegrees.length);
+        }
+
+        inEdges = null;
+        if (!(graph instanceof BaseDirectedSparseGraph)) {
+            return;
+        }
+
+        // The index is shared like the outer edges
+        BaseDirectedSparseGraph<V, E> directed = (BaseDirectedSparseGraph<V, E>) graph;
+        if (directed.inEdges == null) {
+            return;
+        }
+
+        inEdges = directed.inEdges;
+        sharedInEdges = true;
+    }
+
+    @Override
+    protected void shareMaps() {
+        super.shareMaps();
+        sharedInEdges = inEdges != null;
+    }
+
+    /**
+     * Get the map of the incident edges of a vertex, copying it if it is
+     * shared with a copy of the graph.
+     * @param  vertex the vertex, contained in the graph
+     * @return        the map, that can be modified
+     */
+    protected HashMap<V, E> getWritableInEdges(V vertex) {
+        HashMap<V, E> map = inEdges.get(vertex);
+        HashMap<V, E> writable = writableMap(map);
+        if (writable != map) {
+            getWritableInEdges().put(vertex, writable);
+        }
+
+        return writable;
+    }
+
+    /**
+     * Get the index of the incident edges, copying it if it is shared with
+     * a copy of the graph.
+     * @return the index, that can be modified
+     */
+    protected HashMap<V, HashMap<V, E>> getWritableInEdges() {
+        checkCopies();
+        if (sharedInEdges) {
+            inEdges = new HashMap<V, HashMap<V, E>>(inEdges);
+            sharedInEdges = false;
+        }
+
+        return inEdges;
+    }
+
+    /**
+     * Is the index of the incident vertices maintained.
+     * @return true if the graph has been created with the index
+     */
+    public boolean isInEdgesIndexed() {
+        return inEdges != null;
+    }
+
+    @Override
+    public boolean addVertex(V vertex) {
+        if (!super.addVertex(vertex)) {
+            return false;
+        }
+
+        // The id may have been used by a removed vertex
+        int id = vertexIds.getId(vertex);
+        if (id >= inDegrees.length) {
+            inDegrees = Arrays.copyOf(inDegrees, Math.max(id + 1, inDegrees.length * 2));
+        }
+        inDegrees[id] = 0;
+
+        if (inEdges != null) {
+            getWritableInEdges().put(vertex, ownMap(new HashMap<V, E>()));
+        }
+
+        return true;
+    }
+
+    @Override
+    protected boolean addSingleEdge(V v1, V v2, E edge) {
+        if (!super.addSingleEdge(v1, v2, edge)) {
+            return false;
+        }
+
+        inDegrees[vertexIds.getId(v2)]++;
+
+        if (inEdges != null) {
+            getWritableInEdges(v2).put(v1, edge);
+        }
+
+        return true;
+    }
+
+    @Override
+    protected boolean _removeEdge(V v1, V v2) {
+        if (!super._removeEdge(v1, v2)) {
+            return false;
+        }
+
+        inDegrees[vertexIds.getId(v2)]--;
+
+        if (inEdges != null) {
+            getWritableInEdges(v2).remove(v1);
+        }
+
+        return true;
+    }
+
+    /**
+     * Remove the edges that go to a vertex being removed.
+     * @param vertex    the vertex being removed
+     * @param neighbors the outer edges of vertex
+     */
+    @Override
+    protected void removeInEdges(V vertex, HashMap<V, E> neighbors) {
+        for (V v : neighbors.keySet()) {
+            inDegrees[vertexIds.getId(v)]--;
+        }
+
+        if (inEdges == null) {
+            // The vertex has already been removed from edges, which is not
+            // shared anymore and can be changed while iterating it
+            for (HashMap.Entry<V, HashMap<V, E>> entry : edges.entrySet()) {
+                HashMap<V, E> map = entry.getValue();
+                if (map.containsKey(vertex)) {
+                    map = writableMap(map);
+                    entry.setValue(map);
+                    map.remove(vertex);
+                    edgesCount--;
+                }
+            }
+
+            return;
+        }
+
+        HashMap<V, E> incident = getWritableInEdges().remove(vertex);
+        disownMap(incident);
+        for (V v : incident.keySet()) {
+            getWritableEdges(v).remove(vertex);
+            edgesCount--;
+        }
+
+        for (V v : neighbors.keySet()) {
+            getWritableInEdges(v).remove(vertex);
+        }
+    }
+
+    @Override
+    public MemoryFootprint memoryFootprint() {
+        int count = vertexIds.capacity();
+        MemoryFootprint footprint = super.memoryFootprint().plus(new MemoryFootprint(0,
+            MemoryFootprint.usedSlots(count, 4), 0, MemoryFootprint.unusedSlots(inDegrees.length, count, 4), 0));
+        if (inEdges != null) {
+            footprint = footprint.plus(MemoryFootprint.ofAdjacencyMaps(inEdges));
+        }
+
+        return footprint;
+    }
+
+    /**
+     * Recompute the number of edges and the in-degrees from the maps and
+     * compare them with the maintained ones.
+     * @return true if the counters are consistent with the edges
+     */
+    @Override
+    public boolean checkCounters() {
+        if (!super.checkCounters()) {
+            return false;
+        }
+
+        int[] in = new int[inDegrees.length];
+        for (HashMap<V, E> map : edges.values()) {
+            for (V v : map.keySet()) {
+                in[vertexIds.getId(v)]++;
+            }
+        }
+
+        for (V v : edges.keySet()) {
+            if (in[vertexIds.getId(v)] != inDegrees[vertexIds.getId(v)]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Remove an edge that goes from the first vertex to the second.
      * @param  v1 first vertex
@@ -43,10 +266,11 @@ abstract class BaseDirectedSparseGraph<V, E> extends BaseSparseGraph<V, E> {
         }
 
         List<V> neighbors = getOutVertices(vertex);
+        HashMap<V, E> outEdges = edges.get(vertex);
 
         // Do not add duplicated element
         for (V v : getInVertices(vertex)) {
-            if (!neighbors.contains(v)) {
+            if (!outEdges.containsKey(v)) {
                 neighbors.add(v);
             }
         }
@@ -54,6 +278,71 @@ abstract class BaseDirectedSparseGraph<V, E> extends BaseSparseGraph<V, E> {
         return neighbors;
     }
 
+    /**
+     * Call an action on each neighbor of a vertex, both incident and outer
+     * vertices, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        HashMap<V, E> outEdges = edges.get(vertex);
+        if (outEdges == null) {
+            return false;
+        }
+
+        forEachOutVertex(vertex, action);
+        // Do not call the action twice on the same vertex
+        forEachInVertex(vertex, v -> {
+            if (!outEdges.containsKey(v)) {
+                action.accept(v);
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        if (!containsVertex(vertex)) {
+            return false;
+        }
+
+        if (inEdges != null) {
+            for (V v : inEdges.get(vertex).keySet()) {
+                action.accept(v);
+            }
+
+            return true;
+        }
+
+        for (Map.Entry<V, HashMap<V, E>> entry : edges.entrySet()) {
+            if (entry.getValue().containsKey(vertex)) {
+                action.accept(entry.getKey());
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building a
+     * list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
     /**
      * Get the number of edges in the graph.
      * @return number of edges
@@ -73,6 +362,10 @@ abstract class BaseDirectedSparseGraph<V, E> extends BaseSparseGraph<V, E> {
             return null;
         }
 
+        if (inEdges != null) {
+            return new LinkedList<V>(inEdges.get(vertex).keySet());
+        }
+
         LinkedList<V> vertices = new LinkedList<V>();
 
         // Get all incident vertices with vertex
@@ -106,7 +399,7 @@ abstract class BaseDirectedSparseGraph<V, E> extends BaseSparseGraph<V, E> {
             return -1;
         }
 
-        return getInVertices(vertex).size();
+        return inDegrees[vertexIds.getId(vertex)];
     }
 
     /**
@@ -120,6 +413,6 @@ abstract class BaseDirectedSparseGraph<V, E> extends BaseSparseGraph<V, E> {
             return -1;
         }
 
-        return getOutVertices(vertex).size();
+        return edges.get(vertex).size();
     }
 }
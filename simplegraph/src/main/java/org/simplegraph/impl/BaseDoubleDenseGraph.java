@@ -0,0 +1,70 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+/**
+ Dense weighted graph storing the weights in a primitive double matrix.
+
+ The matrix is a single row-major double array of size * size cells, where
+ Double.NaN marks a missing edge, see BasePrimitiveDenseGraph.
+ */
+abstract class BaseDoubleDenseGraph<V> extends BasePrimitiveDenseGraph<V> {
+    protected double[] weights;
+
+    @Override
+    protected double getCell(int k) {
+        return weights[k];
+    }
+
+    @Override
+    protected void setCell(int k, double weight) {
+        weights[k] = weight;
+    }
+
+    @Override
+    protected void newMatrix(int length) {
+        weights = new double[length];
+        Arrays.fill(weights, Double.NaN);
+    }
+
+    @Override
+    protected void growMatrix(int length, int oldSize) {
+        double[] newWeights = new double[length];
+        Arrays.fill(newWeights, Double.NaN);
+        for (int i = 0; i != oldSize; i++) {
+            System.arraycopy(weights, i * oldSize, newWeights, i * size, oldSize);
+        }
+
+        weights = newWeights;
+    }
+
+    @Override
+    protected void clearCells(int from, int to) {
+        Arrays.fill(weights, from, to, Double.NaN);
+    }
+
+    @Override
+    protected void copyCells(int from, int to, int length) {
+        System.arraycopy(weights, from, weights, to, length);
+    }
+
+    @Override
+    protected int matrixCapacity() {
+        return weights.length;
+    }
+
+    @Override
+    protected int cellBytes() {
+        return 8;
+    }
+
+    /**
+     * Copy constructor
+     * @param graph graph to copy
+     */
+    protected void copy(BaseDoubleDenseGraph<V> graph) {
+        copyVertices(graph);
+
+        weights = Arrays.copyOf(graph.weights, graph.weights.length);
+    }
+}
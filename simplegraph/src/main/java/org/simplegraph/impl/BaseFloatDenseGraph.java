@@ -0,0 +1,73 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+/**
+ Dense weighted graph storing the weights in a single precision matrix.
+
+ The layout is the one of BaseDoubleDenseGraph with a float array instead,
+ where Float.NaN marks a missing edge: the matrix takes half the memory, so
+ twice as many rows fit in the cache while scanning them. The weights are
+ rounded to the nearest float when added and widened back to double when
+ read.
+ */
+abstract class BaseFloatDenseGraph<V> extends BasePrimitiveDenseGraph<V> {
+    protected float[] weights;
+
+    @Override
+    protected double getCell(int k) {
+        return weights[k];
+    }
+
+    @Override
+    protected void setCell(int k, double weight) {
+        weights[k] = (float) weight;
+    }
+
+    @Override
+    protected void newMatrix(int length) {
+        weights = new float[length];
+        Arrays.fill(weights, Float.NaN);
+    }
+
+    @Override
+    protected void growMatrix(int length, int oldSize) {
+        float[] newWeights = new float[length];
+        Arrays.fill(newWeights, Float.NaN);
+        for (int i = 0; i != oldSize; i++) {
+            System.arraycopy(weights, i * oldSize, newWeights, i * size, oldSize);
+        }
+
+        weights = newWeights;
+    }
+
+    @Override
+    protected void clearCells(int from, int to) {
+        Arrays.fill(weights, from, to, Float.NaN);
+    }
+
+    @Override
+    protected void copyCells(int from, int to, int length) {
+        System.arraycopy(weights, from, weights, to, length);
+    }
+
+    @Override
+    protected int matrixCapacity() {
+        return weights.length;
+    }
+
+    @Override
+    protected int cellBytes() {
+        return 4;
+    }
+
+    /**
+     * Copy constructor
+     * @param graph graph to copy
+     */
+    protected void copy(BaseFloatDenseGraph<V> graph) {
+        copyVertices(graph);
+
+        weights = Arrays.copyOf(graph.weights, graph.weights.length);
+    }
+}
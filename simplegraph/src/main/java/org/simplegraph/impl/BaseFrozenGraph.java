@@ -0,0 +1,630 @@
+package org.simplegraph.impl;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ Immutable graph stored in compressed sparse row (CSR) format.
+
+ The outer edges of the vertex with id i are stored in
+ targets[offsets[i]] ... targets[offsets[i + 1] - 1], sorted by id.
+ Directed graphs keep the transposed arrays too, so that incident vertices
+ can be read without scanning the whole graph.
+ */
+abstract class BaseFrozenGraph<V> {
+    protected Object[] vertices;
+    protected HashMap<V, Integer> verticesMap;
+    protected int[] offsets;
+    protected int[] targets;
+    // Parallel to targets, null if the graph is not weighted
+    protected double[] weights;
+    // Transposed arrays, null if the graph is undirected
+    protected int[] inOffsets;
+    protected int[] inTargets;
+
+    /**
+     * Adjacency of a vertex in the graph being frozen.
+     */
+    protected interface Adjacency<V> {
+        List<V> get(V vertex);
+    }
+
+    /**
+     * Weight of the edges in the graph being frozen.
+     */
+    protected interface Weights<V> {
+        Double get(V v1, V v2);
+    }
+
+    /**
+     * Build the CSR arrays.
+     * @param vertexList vertices of the graph
+     * @param adjacency  outer vertices of each vertex
+     * @param directed   true if the transposed arrays should be built
+     */
+    protected void build(List<V> vertexList, Adjacency<V> adjacency, boolean directed) {
+        int verticesCount = vertexList.size();
+        vertices = vertexList.toArray();
+        verticesMap = new HashMap<V, Integer>(verticesCount, 1);
+        for (int i = 0; i != verticesCount; i++) {
+            verticesMap.put(vertexList.get(i), i);
+        }
+
+        // Keep the neighbors as ids until we know how many edges there are
+        int[][] rows = new int[verticesCount][];
+        offsets = new int[verticesCount + 1];
+        for (int i = 0; i != verticesCount; i++) {
+            List<V> neighbors = adjacency.get(getVertex(i));
+            int[] row = new int[neighbors.size()];
+            int k = 0;
+            for (V neighbor : neighbors) {
+                row[k++] = verticesMap.get(neighbor);
+            }
+
+            Arrays.sort(row);
+            rows[i] = row;
+            offsets[i + 1] = offsets[i] + row.length;
+        }
+
+        targets = new int[offsets[verticesCount]];
+        for (int i = 0; i != verticesCount; i++) {
+            System.arraycopy(rows[i], 0, targets, offsets[i], rows[i].length);
+        }
+
+        if (directed) {
+            transpose();
+        }
+    }
+
+    /**
+     * Fill the weights array, must be called after build().
+     * @param edgeWeights weight of each edge
+     */
+    protected void buildWeights(Weights<V> edgeWeights) {
+        weights = new double[targets.length];
+        for (int i = 0; i != vertices.length; i++) {
+            for (int k = offsets[i]; k != offsets[i + 1]; k++) {
+                weights[k] = edgeWeights.get(getVertex(i), getVertex(targets[k]));
+            }
+        }
+    }
+
+    /**
+     * Build the transposed arrays using a counting sort on the targets.
+     */
+    private void transpose() {
+        int verticesCount = vertices.length;
+        inOffsets = new int[verticesCount + 1];
+        inTargets = new int[targets.length];
+
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+
+        for (int i = 0; i != verticesCount; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+
+        int[] next = Arrays.copyOf(inOffsets, verticesCount);
+        // Sources are visited in order, so every row ends up sorted
+        for (int i = 0; i != verticesCount; i++) {
+            for (int k = offsets[i]; k != offsets[i + 1]; k++) {
+                inTargets[next[targets[k]]++] = i;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected V getVertex(int id) {
+        return (V) vertices[id];
+    }
+
+    /**
+     * Get the id of a vertex.
+     * @param vertex the specified vertex
+     * @return       id of vertex, -1 if it is not contained in the graph
+     */
+    protected int getVertexIndex(V vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+
+        return verticesMap.getOrDefault(vertex, -1);
+    }
+
+    /**
+     * Get the position of the edge between two vertices in targets.
+     * @param  i1 id of the first vertex
+     * @param  i2 id of the second vertex
+     * @return    position of the edge, a negative value if it doesn't exist
+     */
+    protected int getEdgeIndex(int i1, int i2) {
+        return Arrays.binarySearch(targets, offsets[i1], offsets[i1 + 1], i2);
+    }
+
+    protected Double getSingleWeight(V v1, V v2) {
+        double weight = getSingleWeightAsDouble(v1, v2);
+        if (Double.isNaN(weight)) {
+            return null;
+        }
+
+        return weight;
+    }
+
+    protected double getSingleWeightAsDouble(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return Double.NaN;
+        }
+
+        int k = getEdgeIndex(i1, i2);
+        if (k < 0) {
+            return Double.NaN;
+        }
+
+        return weights[k];
+    }
+
+    protected boolean isDirected() {
+        return inOffsets != null;
+    }
+
+    /**
+     * Get a read only list over a slice of an array of ids.
+     */
+    protected List<V> getVerticesView(final int[] ids, final int from, final int to) {
+        return new IdList(ids, from, to);
+    }
+
+    private class IdList extends AbstractList<V> implements RandomAccess {
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        IdList(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public V get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            return getVertex(ids[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Frozen graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean addVertex(V vertex) {
+        throw new UnsupportedOperationException("Frozen graphs cannot be modified");
+    }
+
+    /**
+     * Frozen graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean removeVertex(V vertex) {
+        throw new UnsupportedOperationException("Frozen graphs cannot be modified");
+    }
+
+    /**
+     * Frozen graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean removeEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Frozen graphs cannot be modified");
+    }
+
+    /**
+     * Check the existence of a vertex in the graph.
+     * @param  vertex the vertex to check
+     * @return        true if the graph contains vertex
+     */
+    public boolean containsVertex(V vertex) {
+        return getVertexIndex(vertex) != -1;
+    }
+
+    /**
+     * Get the number of vertices in the graph.
+     * @return number of vertices
+     */
+    public int countVertices() {
+        return vertices.length;
+    }
+
+    /**
+     * Get all the vertices in the graph
+     * @return a read only list containing all the graph vertices
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> getVertices() {
+        return Collections.unmodifiableList((List<V>) Arrays.asList(vertices));
+    }
+
+    /**
+     * Estimate the memory used by the graph.
+     * @return the bytes used, split by purpose
+     */
+    public MemoryFootprint memoryFootprint() {
+        int count = vertices.length;
+        long vertexTable = MemoryFootprint.array(count, MemoryFootprint.REFERENCE)
+            + MemoryFootprint.hashMapUsed(count);
+        long adjacency = MemoryFootprint.array(offsets.length, 4) + MemoryFootprint.array(targets.length, 4);
+        if (isDirected()) {
+            adjacency += MemoryFootprint.array(inOffsets.length, 4) + MemoryFootprint.array(inTargets.length, 4);
+        }
+
+        long weightsBytes = weights != null ? MemoryFootprint.array(weights.length, 8) : 0;
+        return new MemoryFootprint(vertexTable, adjacency, weightsBytes, MemoryFootprint.hashMapUnused(count),
+            (long) count * MemoryFootprint.BOXED_INTEGER);
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    public int countEdges() {
+        if (isDirected()) {
+            return targets.length;
+        }
+
+        // Each undirected edge is stored in both rows
+        return targets.length / 2;
+    }
+
+    /**
+     * Check the existence of an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge from v1 to v2 exists
+     */
+    public boolean existsEdge(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return false;
+        }
+
+        return getEdgeIndex(i1, i2) >= 0;
+    }
+
+    /**
+     * Get the neighbors of a vertex, both incident and outer vertices.
+     * @param  vertex the specified vertex
+     * @return        the list of vertices that are neighbors of vertex
+     *                null if the vertex is not contained in the graph
+     */
+    public List<V> getNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        if (!isDirected()) {
+            return getVerticesView(targets, offsets[i], offsets[i + 1]);
+        }
+
+        // Merge the two sorted rows, skipping duplicates
+        ArrayList<V> neighbors = new ArrayList<V>(countNeighbors(vertex));
+        int a = offsets[i];
+        int b = inOffsets[i];
+        int aEnd = offsets[i + 1];
+        int bEnd = inOffsets[i + 1];
+        while (a != aEnd || b != bEnd) {
+            int next;
+            if (b == bEnd || (a != aEnd && targets[a] < inTargets[b])) {
+                next = targets[a++];
+            } else if (a == aEnd || inTargets[b] < targets[a]) {
+                next = inTargets[b++];
+            } else {
+                next = targets[a++];
+                b++;
+            }
+
+            neighbors.add(getVertex(next));
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Call an action on each neighbor of a vertex, both incident and outer
+     * vertices, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        if (!isDirected()) {
+            for (int k = offsets[i]; k != offsets[i + 1]; k++) {
+                action.accept(getVertex(targets[k]));
+            }
+
+            return true;
+        }
+
+        // Merge the two sorted rows, skipping duplicates
+        int a = offsets[i];
+        int b = inOffsets[i];
+        int aEnd = offsets[i + 1];
+        int bEnd = inOffsets[i + 1];
+        while (a != aEnd || b != bEnd) {
+            int next;
+            if (b == bEnd || (a != aEnd && targets[a] < inTargets[b])) {
+                next = targets[a++];
+            } else if (a == aEnd || inTargets[b] < targets[a]) {
+                next = inTargets[b++];
+            } else {
+                next = targets[a++];
+                b++;
+            }
+
+            action.accept(getVertex(next));
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        for (int k = inOffsets[i]; k != inOffsets[i + 1]; k++) {
+            action.accept(getVertex(inTargets[k]));
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building a
+     * list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        for (int k = offsets[i]; k != offsets[i + 1]; k++) {
+            action.accept(getVertex(targets[k]));
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each edge leaving a vertex, passing the other vertex
+     * and the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    protected boolean _forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        for (int k = offsets[i]; k != offsets[i + 1]; k++) {
+            action.accept(getVertex(targets[k]), weights != null ? weights[k] : 1);
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of neighbors for a vertex, both incident and outer.
+     * @param  vertex the spefied vertex
+     * @return        number of neighbors, -1 if vertex does not exists
+     */
+    public int countNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        if (!isDirected()) {
+            return offsets[i + 1] - offsets[i];
+        }
+
+        int count = 0;
+        int a = offsets[i];
+        int b = inOffsets[i];
+        int aEnd = offsets[i + 1];
+        int bEnd = inOffsets[i + 1];
+        while (a != aEnd && b != bEnd) {
+            if (targets[a] < inTargets[b]) {
+                a++;
+            } else if (inTargets[b] < targets[a]) {
+                b++;
+            } else {
+                a++;
+                b++;
+            }
+
+            count++;
+        }
+
+        return count + (aEnd - a) + (bEnd - b);
+    }
+
+    /**
+     * Get the incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a read only list containing the incident vertices of
+     *                vertex, null if vertex is not contained in the graph
+     */
+    public List<V> getInVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getVerticesView(inTargets, inOffsets[i], inOffsets[i + 1]);
+    }
+
+    /**
+     * Get the outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a read only list containing the outer vertices of
+     *                vertex, null if vertex is not contained in the graph
+     */
+    public List<V> getOutVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getVerticesView(targets, offsets[i], offsets[i + 1]);
+    }
+
+    /**
+     * Get the number of incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of incident vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getInDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return inOffsets[i + 1] - inOffsets[i];
+    }
+
+    /**
+     * Get the number of outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of outer vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getOutDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param  source      The vertex from where the path shall begin
+     * @param  destination The vertex from where the path shall end
+     * @return             Ordered list of the vertices that form a path
+     *                     between source and destination, null if source
+     *                     and destination are the same or if they are not
+     *                     contained in the graph, an empty LinkedList if
+     *                     there is no path between them
+     */
+    public List<V> getPath(V source, V destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+
+        if (i1 == -1 || i2 == -1) {
+            return null;
+        }
+
+        if (i1 == i2) {
+            return null;
+        }
+
+        int[] parent = new int[vertices.length];
+        Arrays.fill(parent, -1);
+        // Every vertex is enqueued at most once
+        int[] queue = new int[vertices.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = i1;
+        parent[i1] = i1;
+
+        boolean found = false;
+
+        while (head != tail) {
+            int current = queue[head++];
+
+            if (current == i2) {
+                found = true;
+                break;
+            }
+
+            for (int k = offsets[current]; k != offsets[current + 1]; k++) {
+                int next = targets[k];
+                if (parent[next] == -1) {
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+
+        if (found) {
+            int current = i2;
+            while (current != i1) {
+                path.addFirst(getVertex(current));
+                current = parent[current];
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    public boolean existsPath(V source, V destination) {
+        List<V> path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return !path.isEmpty();
+    }
+}
@@ -0,0 +1,775 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import org.simplegraph.IntDoubleConsumer;
+import org.simplegraph.util.DaryHeap;
+
+/**
+ Dense graph of int vertices.
+
+ The vertices are stored in an int array and mapped to their index by an
+ IntIntMap; the edges are a single row-major double matrix of size * size
+ cells, where Double.NaN marks a missing edge and unweighted graphs store 1.
+ Undirected graphs keep the matrix symmetric so that the neighbors of a
+ vertex are always read from its row.
+ */
+abstract class BaseIntDenseGraph implements SelfCheckingGraph {
+    protected static final int DEFAULT_SIZE = 15;
+    protected int size;
+    protected int verticesCount;
+    protected int[] vertices;
+    protected IntIntMap verticesMap;
+    protected double[] weights;
+    // Maintained by countEdge(), so that no query has to scan the matrix
+    protected int edgesCount;
+    protected int[] outDegrees;
+    protected int[] inDegrees;
+
+    /**
+     * Does the graph store directed edges.
+     * @return true if the matrix is not symmetric
+     */
+    protected abstract boolean isDirected();
+
+    /**
+     * Initialize all attributes for storing graph data.
+     * @param startSize Number of vertices to store initially in the graph.
+     */
+    protected void initialize(int startSize) {
+        size = Math.max(startSize, 1);
+        verticesCount = 0;
+        vertices = new int[size];
+        verticesMap = new IntIntMap(size);
+        weights = new double[BaseDenseGraph.matrixLength((long) size * size)];
+        Arrays.fill(weights, Double.NaN);
+        edgesCount = 0;
+        outDegrees = new int[size];
+        inDegrees = new int[size];
+    }
+
+    /**
+     * Copy constructor
+     * @param graph graph to copy
+     */
+    protected void copy(BaseIntDenseGraph graph) {
+        size = graph.size;
+        verticesCount = graph.verticesCount;
+        vertices = Arrays.copyOf(graph.vertices, graph.vertices.length);
+        verticesMap = new IntIntMap(graph.verticesMap);
+        weights = Arrays.copyOf(graph.weights, graph.weights.length);
+        edgesCount = graph.edgesCount;
+        outDegrees = Arrays.copyOf(graph.outDegrees, graph.outDegrees.length);
+        inDegrees = Arrays.copyOf(graph.inDegrees, graph.inDegrees.length);
+    }
+
+    /**
+     * Grow the graph size to the specified size
+     * @param newSize New size for the graph.
+     */
+    public void grow(int newSize) {
+        if (newSize < size) {
+            return;
+        }
+
+        // Checked before changing the size
+        int length = BaseDenseGraph.matrixLength((long) newSize * newSize);
+        int oldSize = size;
+        size = newSize;
+
+        vertices = Arrays.copyOf(vertices, size);
+        outDegrees = Arrays.copyOf(outDegrees, size);
+        inDegrees = Arrays.copyOf(inDegrees, size);
+
+        double[] newWeights = new double[length];
+        Arrays.fill(newWeights, Double.NaN);
+        for (int i = 0; i != oldSize; i++) {
+            System.arraycopy(weights, i * oldSize, newWeights, i * size, oldSize);
+        }
+
+        weights = newWeights;
+    }
+
+    /**
+     * Update the counters after an edge has been added or removed.
+     * An undirected edge counts as an outer and an incident edge for both
+     * vertices.
+     * @param i     index of the first vertex
+     * @param j     index of the second vertex
+     * @param delta 1 if the edge has been added, -1 if it has been removed
+     */
+    protected void countEdge(int i, int j, int delta) {
+        edgesCount += delta;
+        outDegrees[i] += delta;
+        inDegrees[j] += delta;
+
+        if (!isDirected()) {
+            outDegrees[j] += delta;
+            inDegrees[i] += delta;
+        }
+    }
+
+    /**
+     * Get index of the vertex.
+     * @param vertex Selected vertex.
+     * @return Index of the selected vertex, -1 if it is not in the graph.
+     */
+    protected int getVertexIndex(int vertex) {
+        return verticesMap.get(vertex);
+    }
+
+    /**
+     * Add a vertex to the graph.
+     * @param  vertex the vertex to add
+     * @return        true if the the graph has been modified
+     */
+    public boolean addVertex(int vertex) {
+        if (containsVertex(vertex)) {
+            return false;
+        }
+
+        vertices[verticesCount] = vertex;
+        verticesMap.put(vertex, verticesCount);
+        verticesCount++;
+
+        // Has we reached the max size?
+        if (verticesCount == size) {
+            grow(size * 2);
+        }
+
+        return true;
+    }
+
+    /**
+     * Check the existence of a vertex in the graph.
+     * @param  vertex the vertex to check
+     * @return        true if the graph contains vertex
+     */
+    public boolean containsVertex(int vertex) {
+        return getVertexIndex(vertex) != -1;
+    }
+
+    /**
+     * Remove a vertex from the graph
+     * @param  vertex the vertex to remove
+     * @return        true if the graph has been modified
+     */
+    public boolean removeVertex(int vertex) {
+        int oldVertex = verticesMap.remove(vertex);
+        if (oldVertex == -1) {
+            return false;
+        }
+
+        // Uncount the edges of the vertex before clearing them
+        for (int i = 0; i != verticesCount; i++) {
+            if (i == oldVertex) {
+                continue;
+            }
+
+            if (!Double.isNaN(weights[oldVertex * size + i])) {
+                countEdge(oldVertex, i, -1);
+            }
+
+            if (isDirected() && !Double.isNaN(weights[i * size + oldVertex])) {
+                countEdge(i, oldVertex, -1);
+            }
+        }
+
+        // The last vertex takes the place of the removed one
+        verticesCount--;
+        int last = verticesCount;
+        if (oldVertex != last) {
+            vertices[oldVertex] = vertices[last];
+            verticesMap.put(vertices[oldVertex], oldVertex);
+        }
+
+        outDegrees[oldVertex] = outDegrees[last];
+        inDegrees[oldVertex] = inDegrees[last];
+        outDegrees[last] = 0;
+        inDegrees[last] = 0;
+
+        // Move the row of the last vertex
+        if (oldVertex != last) {
+            System.arraycopy(weights, last * size, weights, oldVertex * size, size);
+        }
+        Arrays.fill(weights, last * size, (last + 1) * size, Double.NaN);
+
+        // Then move its column
+        for (int i = 0; i != verticesCount; i++) {
+            weights[i * size + oldVertex] = weights[i * size + last];
+            weights[i * size + last] = Double.NaN;
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of vertices in the graph.
+     * @return number of vertices
+     */
+    public int countVertices() {
+        return verticesCount;
+    }
+
+    /**
+     * Get all the vertices in the graph
+     * @return an array containing all the graph vertices
+     */
+    public int[] getVertices() {
+        return Arrays.copyOf(vertices, verticesCount);
+    }
+
+    /**
+     * Add an edge that goes from the first vertex to the second, adding the
+     * vertices if they don't exist, or update its weight.
+     * @param  v1     first vertex
+     * @param  v2     second vertex
+     * @param  weight weight of the edge
+     * @return        true if the graph has been modified
+     */
+    protected boolean addSingleEdge(int v1, int v2, double weight) {
+        // NaN marks missing edges, and the vertices cannot be the same
+        if (Double.isNaN(weight) || v1 == v2) {
+            return false;
+        }
+
+        addVertex(v1);
+        addVertex(v2);
+
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        // get last value to check if the graph has been modified
+        double t = weights[i1 * size + i2];
+        weights[i1 * size + i2] = weight;
+        if (!isDirected()) {
+            weights[i2 * size + i1] = weight;
+        }
+
+        if (Double.isNaN(t)) {
+            countEdge(i1, i2, 1);
+            return true;
+        }
+
+        return t != weight;
+    }
+
+    /**
+     * Get the weight of the edge that goes from the first vertex to the
+     * second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    the weight, Double.NaN if the edge doesn't exist
+     */
+    protected double getSingleEdge(int v1, int v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return Double.NaN;
+        }
+
+        return weights[i1 * size + i2];
+    }
+
+    /**
+     * Check the existence of an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge from v1 to v2 exists
+     */
+    public boolean existsEdge(int v1, int v2) {
+        return !Double.isNaN(getSingleEdge(v1, v2));
+    }
+
+    /**
+     * Remove an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if the graph has been changed
+     */
+    public boolean removeEdge(int v1, int v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1 || i1 == i2) {
+            return false;
+        }
+
+        if (Double.isNaN(weights[i1 * size + i2])) {
+            return false;
+        }
+
+        weights[i1 * size + i2] = Double.NaN;
+        if (!isDirected()) {
+            weights[i2 * size + i1] = Double.NaN;
+        }
+
+        countEdge(i1, i2, -1);
+        return true;
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    public int countEdges() {
+        return edgesCount;
+    }
+
+    /**
+     * Estimate the memory used by the graph.
+     * The slots after verticesCount are unused.
+     * @return the bytes used, split by purpose
+     */
+    public MemoryFootprint memoryFootprint() {
+        long vertexTable = MemoryFootprint.usedSlots(verticesCount, 4);
+        long adjacency = 2 * MemoryFootprint.usedSlots(verticesCount, 4);
+        long cells = (long) verticesCount * verticesCount;
+        long weightsBytes = MemoryFootprint.usedSlots(cells, 8);
+        long unused = 3 * MemoryFootprint.unusedSlots(size, verticesCount, 4)
+            + MemoryFootprint.unusedSlots(weights.length, cells, 8);
+        return verticesMap.footprint()
+            .plus(new MemoryFootprint(vertexTable, adjacency, weightsBytes, unused, 0));
+    }
+
+    /**
+     * Recompute the edges count and the degrees from the matrix and compare
+     * them with the maintained ones.
+     * @return true if every counter is consistent with the matrix
+     */
+    public boolean checkCounters() {
+        int count = 0;
+        int[] out = new int[size];
+        int[] in = new int[size];
+
+        for (int i = 0; i != verticesCount; i++) {
+            for (int j = 0; j != verticesCount; j++) {
+                if (i != j && !Double.isNaN(weights[i * size + j])) {
+                    count++;
+                    out[i]++;
+                    in[j]++;
+                }
+            }
+        }
+
+        // Undirected edges have been found from both vertices
+        if (!isDirected()) {
+            count /= 2;
+        }
+
+        return count == edgesCount && Arrays.equals(out, outDegrees) && Arrays.equals(in, inDegrees);
+    }
+
+    /**
+     * Check if a vertex is connected to another one.
+     * @param  i   index of the vertex
+     * @param  j   index of the other vertex
+     * @param  out true to include the outer vertices
+     * @param  in  true to include the incident vertices
+     * @return     true if j is connected to i
+     */
+    protected boolean isConnected(int i, int j, boolean out, boolean in) {
+        return (out && !Double.isNaN(weights[i * size + j]))
+                || (in && !Double.isNaN(weights[j * size + i]));
+    }
+
+    /**
+     * Get the vertices connected to a vertex.
+     * @param  i     index of the vertex
+     * @param  out   true to include the outer vertices
+     * @param  in    true to include the incident vertices
+     * @param  count number of vertices connected
+     * @return       an array containing the vertices
+     */
+    protected int[] getConnectedVertices(int i, boolean out, boolean in, int count) {
+        int[] connected = new int[count];
+        int n = 0;
+
+        for (int j = 0; j != verticesCount; j++) {
+            if (isConnected(i, j, out, in)) {
+                connected[n++] = vertices[j];
+            }
+        }
+
+        return connected;
+    }
+
+    /**
+     * Call an action on the vertices connected to a vertex.
+     * @param  i      index of the vertex
+     * @param  out    true to include the outer vertices
+     * @param  in     true to include the incident vertices
+     * @param  action the action to call on each vertex
+     */
+    protected void forEachConnected(int i, boolean out, boolean in, IntConsumer action) {
+        for (int j = 0; j != verticesCount; j++) {
+            if (isConnected(i, j, out, in)) {
+                action.accept(vertices[j]);
+            }
+        }
+    }
+
+    /**
+     * Get the neighbors of a vertex, both incident and outer vertices.
+     * @param  vertex the specified vertex
+     * @return        an array containing the vertices that are neighbors of
+     *                vertex, null if the vertex is not contained in the graph
+     */
+    public int[] getNeighbors(int vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getConnectedVertices(i, true, isDirected(), countNeighbors(vertex));
+    }
+
+    /**
+     * Get the number of neighbors for a vertex, both incident and outer
+     * @param  vertex the specified vertex
+     * @return        number of neighbors, -1 if vertex is not contained in graph
+     */
+    public int countNeighbors(int vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        if (!isDirected()) {
+            return outDegrees[i];
+        }
+
+        int count = 0;
+        for (int j = 0; j != verticesCount; j++) {
+            if (isConnected(i, j, true, true)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Call an action on each neighbor of a vertex, both incident and outer
+     * vertices, without building an array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(int vertex, IntConsumer action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, true, isDirected(), action);
+        return true;
+    }
+
+    /**
+     * Get the incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        an array containing the incident vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public int[] getInVertices(int vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getConnectedVertices(i, false, true, inDegrees[i]);
+    }
+
+    /**
+     * Get the outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        an array containing the outer vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public int[] getOutVertices(int vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getConnectedVertices(i, true, false, outDegrees[i]);
+    }
+
+    /**
+     * Get the number of incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of incident vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getInDegree(int vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return inDegrees[i];
+    }
+
+    /**
+     * Get the number of outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of outer vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getOutDegree(int vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return outDegrees[i];
+    }
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * an array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachInVertex(int vertex, IntConsumer action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, false, true, action);
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building an
+     * array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachOutVertex(int vertex, IntConsumer action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, true, false, action);
+        return true;
+    }
+
+    /**
+     * Call an action on each edge leaving a vertex, passing the other vertex
+     * and the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    protected boolean _forEachOutEdge(int vertex, IntDoubleConsumer action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        int row = i * size;
+        for (int j = 0; j != verticesCount; j++) {
+            double weight = weights[row + j];
+            if (!Double.isNaN(weight)) {
+                action.accept(vertices[j], weight);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Build the path from the source to the destination following the
+     * parents, from the destination.
+     * @param  parent parent of every index, the source is its own parent
+     * @param  i1     index of the source
+     * @param  i2     index of the destination
+     * @return        the vertices of the path, in order
+     */
+    protected int[] buildPath(int[] parent, int i1, int i2) {
+        int length = 1;
+        for (int current = i2; current != i1; current = parent[current]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        int current = i2;
+        for (int k = length - 1; k >= 0; k--) {
+            path[k] = vertices[current];
+            current = parent[current];
+        }
+
+        return path;
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param  source      The vertex from where the path shall begin
+     * @param  destination The vertex from where the path shall end
+     * @return             Ordered array of the vertices that form a path
+     *                     between source and destination, null if source
+     *                     and destination are the same or if they are not
+     *                     contained in the graph, an empty array if there is
+     *                     no path between them
+     */
+    public int[] getPath(int source, int destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+
+        if (i1 == -1 || i2 == -1 || i1 == i2) {
+            return null;
+        }
+
+        int[] parent = new int[verticesCount];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[verticesCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = i1;
+        parent[i1] = i1;
+
+        while (head != tail) {
+            int current = queue[head++];
+            if (current == i2) {
+                return buildPath(parent, i1, i2);
+            }
+
+            int row = current * size;
+            for (int j = 0; j != verticesCount; j++) {
+                if (parent[j] == -1 && !Double.isNaN(weights[row + j])) {
+                    parent[j] = current;
+                    queue[tail++] = j;
+                }
+            }
+        }
+
+        return new int[0];
+    }
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    public boolean existsPath(int source, int destination) {
+        int[] path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return path.length != 0;
+    }
+
+    /**
+     * Run Dijkstra algorithm from a source until the destination is reached.
+     * @param  i1     index of the source
+     * @param  i2     index of the destination
+     * @param  parent filled with the parent of every reached index
+     * @return        the distance of the destination,
+     *                Double.POSITIVE_INFINITY if it can't be reached,
+     *                Double.NaN if a negative weight has been found
+     */
+    protected double dijkstra(int i1, int i2, int[] parent) {
+        DaryHeap queue = new DaryHeap(verticesCount);
+        boolean[] visited = new boolean[verticesCount];
+        queue.insert(i1, 0);
+        parent[i1] = i1;
+
+        while (!queue.isEmpty()) {
+            int current = queue.pollMin();
+            double distance = queue.getPriority(current);
+            if (current == i2) {
+                return distance;
+            }
+
+            visited[current] = true;
+
+            int row = current * size;
+            for (int j = 0; j != verticesCount; j++) {
+                double weight = weights[row + j];
+                if (visited[j] || Double.isNaN(weight) || weight == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                // Dijkstra algorithm does not support negative weight
+                if (weight < 0) {
+                    return Double.NaN;
+                }
+
+                if (!queue.contains(j)) {
+                    queue.insert(j, distance + weight);
+                    parent[j] = current;
+                } else if (distance + weight < queue.getPriority(j)) {
+                    queue.decreaseKey(j, distance + weight);
+                    parent[j] = current;
+                }
+            }
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Get the shortest path between a source and a destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            an array containing the vertices that compose the
+     *                    path, in order; an empty array if there is no path,
+     *                    null if the source and the destination are equals,
+     *                    are not contained in the graph or if a negative
+     *                    weight has been found
+     */
+    protected int[] _getShortestPath(int source, int destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+
+        if (i1 == -1 || i2 == -1 || i1 == i2) {
+            return null;
+        }
+
+        int[] parent = new int[verticesCount];
+        double distance = dijkstra(i1, i2, parent);
+        if (Double.isNaN(distance)) {
+            return null;
+        }
+
+        if (distance == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+
+        return buildPath(parent, i1, i2);
+    }
+
+    /**
+     * Get the length of the shortest path between a source and a
+     * destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            the sum of the weights of the shortest path,
+     *                    Double.NaN if there is no such path
+     */
+    protected double _getMinimumDistance(int source, int destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+
+        if (i1 == -1 || i2 == -1 || i1 == i2) {
+            return Double.NaN;
+        }
+
+        double distance = dijkstra(i1, i2, new int[verticesCount]);
+        if (distance == Double.POSITIVE_INFINITY) {
+            return Double.NaN;
+        }
+
+        return distance;
+    }
+}
@@ -0,0 +1,785 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import org.simplegraph.IntDoubleConsumer;
+import org.simplegraph.util.DaryHeap;
+
+/**
+ Sparse graph of int vertices.
+
+ The vertices are mapped to dense ids by an IntVertexIndex and the edges of
+ every vertex are stored in a NeighborTable indexed by its id, so neither
+ the vertices nor the weights are ever boxed. Directed graphs keep a second
+ table per vertex with the incident vertices; undirected graphs store every
+ edge in the tables of both vertices.
+ */
+abstract class BaseIntSparseGraph implements SelfCheckingGraph {
+    protected static final int DEFAULT_SIZE = 15;
+    protected IntVertexIndex vertexIds;
+    // Outer vertices of the vertex with id i, null if no vertex has id i
+    protected NeighborTable[] outTables;
+    // Incident vertices of the vertex with id i, null for undirected graphs
+    protected NeighborTable[] inTables;
+    protected int verticesCount;
+    protected int edgesCount;
+
+    /**
+     * Does the graph store directed edges.
+     * @return true if the graph keeps the incident tables
+     */
+    protected abstract boolean isDirected();
+
+    /**
+     * Does the graph store a weight for each edge.
+     * @return true if the tables store values
+     */
+    protected abstract boolean isWeighted();
+
+    /**
+     * Initialize all attributes for storing graph data.
+     * @param size starting size
+     */
+    protected void initialize(int size) {
+        size = Math.max(size, 1);
+        vertexIds = new IntVertexIndex(size);
+        outTables = new NeighborTable[size];
+        inTables = isDirected() ? new NeighborTable[size] : null;
+        verticesCount = 0;
+        edgesCount = 0;
+    }
+
+    /**
+     * Copy constructor
+     * @param graph graph to copy
+     */
+    protected void copy(BaseIntSparseGraph graph) {
+        vertexIds = new IntVertexIndex(graph.vertexIds);
+        outTables = copyTables(graph.outTables);
+        inTables = graph.inTables != null ? copyTables(graph.inTables) : null;
+        verticesCount = graph.verticesCount;
+        edgesCount = graph.edgesCount;
+    }
+
+    private static NeighborTable[] copyTables(NeighborTable[] tables) {
+        NeighborTable[] copy = new NeighborTable[tables.length];
+        for (int i = 0; i != tables.length; i++) {
+            if (tables[i] != null) {
+                copy[i] = new NeighborTable(tables[i]);
+            }
+        }
+
+        return copy;
+    }
+
+    /**
+     * Get the tables with the incident vertices.
+     * @return the incident tables, the same as the outer ones for undirected
+     *         graphs
+     */
+    protected NeighborTable[] getInTables() {
+        return isDirected() ? inTables : outTables;
+    }
+
+    /**
+     * Add a vertex to the graph.
+     * @param  vertex the vertex to add
+     * @return        true if the the graph has been modified
+     */
+    public boolean addVertex(int vertex) {
+        if (containsVertex(vertex)) {
+            return false;
+        }
+
+        int id = vertexIds.add(vertex);
+        if (id == outTables.length) {
+            outTables = Arrays.copyOf(outTables, outTables.length * 2);
+            if (isDirected()) {
+                inTables = Arrays.copyOf(inTables, inTables.length * 2);
+            }
+        }
+
+        outTables[id] = new NeighborTable(isWeighted());
+        if (isDirected()) {
+            // The weights are read from the outer tables only
+            inTables[id] = new NeighborTable(false);
+        }
+
+        verticesCount++;
+        return true;
+    }
+
+    /**
+     * Check the existence of a vertex in the graph.
+     * @param  vertex the vertex to check
+     * @return        true if the graph contains vertex
+     */
+    public boolean containsVertex(int vertex) {
+        return vertexIds.getId(vertex) != -1;
+    }
+
+    /**
+     * Remove a vertex from the graph
+     * @param  vertex the vertex to remove
+     * @return        true if the graph has been modified
+     */
+    public boolean removeVertex(int vertex) {
+        int id = vertexIds.remove(vertex);
+        if (id == -1) {
+            return false;
+        }
+
+        NeighborTable[] in = getInTables();
+        NeighborTable out = outTables[id];
+        for (int k = 0; k != out.slots(); k++) {
+            int neighbor = out.keyAt(k);
+            if (neighbor != NeighborTable.EMPTY) {
+                in[neighbor].remove(id);
+            }
+        }
+
+        edgesCount -= out.size();
+
+        if (isDirected()) {
+            NeighborTable table = inTables[id];
+            for (int k = 0; k != table.slots(); k++) {
+                int neighbor = table.keyAt(k);
+                if (neighbor != NeighborTable.EMPTY) {
+                    outTables[neighbor].remove(id);
+                }
+            }
+
+            edgesCount -= table.size();
+            inTables[id] = null;
+        }
+
+        outTables[id] = null;
+        verticesCount--;
+        return true;
+    }
+
+    /**
+     * Get the number of vertices in the graph.
+     * @return number of vertices
+     */
+    public int countVertices() {
+        return verticesCount;
+    }
+
+    /**
+     * Add an edge that goes from the first vertex to the second, adding the
+     * vertices if they don't exist, or update its weight.
+     * @param  v1     first vertex
+     * @param  v2     second vertex
+     * @param  weight weight of the edge, ignored by unweighted graphs
+     * @return        true if the graph has been modified
+     */
+    protected boolean addSingleEdge(int v1, int v2, double weight) {
+        // NaN marks missing edges, and the vertices cannot be the same
+        if (Double.isNaN(weight) || v1 == v2) {
+            return false;
+        }
+
+        addVertex(v1);
+        addVertex(v2);
+
+        int i1 = vertexIds.getId(v1);
+        int i2 = vertexIds.getId(v2);
+
+        NeighborTable[] in = getInTables();
+        if (outTables[i1].contains(i2)) {
+            if (!isWeighted() || outTables[i1].get(i2) == weight) {
+                return false;
+            }
+
+            // Replace the weight in both tables
+            outTables[i1].remove(i2);
+            outTables[i1].add(i2, weight);
+            if (!isDirected()) {
+                outTables[i2].remove(i1);
+                outTables[i2].add(i1, weight);
+            }
+
+            return true;
+        }
+
+        outTables[i1].add(i2, weight);
+        in[i2].add(i1, weight);
+        edgesCount++;
+
+        return true;
+    }
+
+    /**
+     * Get the weight of the edge that goes from the first vertex to the
+     * second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    the weight, Double.NaN if the edge doesn't exist
+     */
+    protected double getSingleEdge(int v1, int v2) {
+        int i1 = vertexIds.getId(v1);
+        int i2 = vertexIds.getId(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return Double.NaN;
+        }
+
+        return outTables[i1].get(i2);
+    }
+
+    /**
+     * Check the existence of an edge that goes from the first vertex to the
+     * second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge from v1 to v2 exists
+     */
+    public boolean existsEdge(int v1, int v2) {
+        int i1 = vertexIds.getId(v1);
+        int i2 = vertexIds.getId(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return false;
+        }
+
+        return outTables[i1].contains(i2);
+    }
+
+    /**
+     * Remove an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if the graph has been changed
+     */
+    public boolean removeEdge(int v1, int v2) {
+        int i1 = vertexIds.getId(v1);
+        int i2 = vertexIds.getId(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return false;
+        }
+
+        if (!outTables[i1].remove(i2)) {
+            return false;
+        }
+
+        getInTables()[i2].remove(i1);
+        edgesCount--;
+        return true;
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    public int countEdges() {
+        return edgesCount;
+    }
+
+    /**
+     * Estimate the memory used by the graph.
+     * @return the bytes used, split by purpose
+     */
+    public MemoryFootprint memoryFootprint() {
+        MemoryFootprint footprint = vertexIds.footprint().plus(tablesFootprint(outTables));
+        if (inTables != null) {
+            footprint = footprint.plus(tablesFootprint(inTables));
+        }
+
+        return footprint;
+    }
+
+    private MemoryFootprint tablesFootprint(NeighborTable[] tables) {
+        int count = vertexIds.capacity();
+        MemoryFootprint footprint = new MemoryFootprint(0,
+            MemoryFootprint.usedSlots(count, MemoryFootprint.REFERENCE), 0,
+            MemoryFootprint.unusedSlots(tables.length, count, MemoryFootprint.REFERENCE), 0);
+        for (NeighborTable table : tables) {
+            footprint = footprint.plus(MemoryFootprint.ofNeighborTable(table));
+        }
+
+        return footprint;
+    }
+
+    /**
+     * Recompute the number of edges from the tables and compare it with the
+     * maintained one.
+     * @return true if the counters are consistent with the edges
+     */
+    public boolean checkCounters() {
+        int count = 0;
+
+        for (NeighborTable table : outTables) {
+            if (table != null) {
+                count += table.size();
+            }
+        }
+
+        if (isDirected()) {
+            int inCount = 0;
+            for (NeighborTable table : inTables) {
+                if (table != null) {
+                    inCount += table.size();
+                }
+            }
+
+            return count == edgesCount && inCount == edgesCount;
+        }
+
+        // Every edge is stored in both tables
+        return count == edgesCount * 2;
+    }
+
+    /**
+     * Get the vertices in a table.
+     * @param  table the table to read
+     * @return       an array containing the vertices
+     */
+    protected int[] getTableVertices(NeighborTable table) {
+        int[] vertices = new int[table.size()];
+        int n = 0;
+        for (int k = 0; k != table.slots(); k++) {
+            int id = table.keyAt(k);
+            if (id != NeighborTable.EMPTY) {
+                vertices[n++] = vertexIds.getVertex(id);
+            }
+        }
+
+        return vertices;
+    }
+
+    /**
+     * Call an action on the vertices in a table.
+     * @param  table  the table to read
+     * @param  action the action to call on each vertex
+     */
+    protected void forEachInTable(NeighborTable table, IntConsumer action) {
+        for (int k = 0; k != table.slots(); k++) {
+            int id = table.keyAt(k);
+            if (id != NeighborTable.EMPTY) {
+                action.accept(vertexIds.getVertex(id));
+            }
+        }
+    }
+
+    /**
+     * Get the neighbors of a vertex, both incident and outer vertices.
+     * @param  vertex the specified vertex
+     * @return        an array containing the vertices that are neighbors of
+     *                vertex, null if the vertex is not contained in the graph
+     */
+    public int[] getNeighbors(int vertex) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return null;
+        }
+
+        NeighborTable out = outTables[id];
+        if (!isDirected()) {
+            return getTableVertices(out);
+        }
+
+        NeighborTable in = inTables[id];
+        int[] neighbors = Arrays.copyOf(getTableVertices(out), out.size() + in.size());
+        int n = out.size();
+        for (int k = 0; k != in.slots(); k++) {
+            int neighbor = in.keyAt(k);
+            // Skip the vertices connected in both directions
+            if (neighbor != NeighborTable.EMPTY && !out.contains(neighbor)) {
+                neighbors[n++] = vertexIds.getVertex(neighbor);
+            }
+        }
+
+        return Arrays.copyOf(neighbors, n);
+    }
+
+    /**
+     * Get the number of neighbors for a vertex, both incident and outer.
+     * @param  vertex the spefied vertex
+     * @return        number of neighbors, -1 if vertex does not exists
+     */
+    public int countNeighbors(int vertex) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return -1;
+        }
+
+        NeighborTable out = outTables[id];
+        if (!isDirected()) {
+            return out.size();
+        }
+
+        int count = out.size();
+        NeighborTable in = inTables[id];
+        for (int k = 0; k != in.slots(); k++) {
+            int neighbor = in.keyAt(k);
+            if (neighbor != NeighborTable.EMPTY && !out.contains(neighbor)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Call an action on each neighbor of a vertex, both incident and outer
+     * vertices, without building an array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(int vertex, IntConsumer action) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return false;
+        }
+
+        NeighborTable out = outTables[id];
+        forEachInTable(out, action);
+        if (isDirected()) {
+            NeighborTable in = inTables[id];
+            for (int k = 0; k != in.slots(); k++) {
+                int neighbor = in.keyAt(k);
+                if (neighbor != NeighborTable.EMPTY && !out.contains(neighbor)) {
+                    action.accept(vertexIds.getVertex(neighbor));
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        an array containing the incident vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public int[] getInVertices(int vertex) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return null;
+        }
+
+        return getTableVertices(getInTables()[id]);
+    }
+
+    /**
+     * Get the outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        an array containing the outer vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public int[] getOutVertices(int vertex) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return null;
+        }
+
+        return getTableVertices(outTables[id]);
+    }
+
+    /**
+     * Get the number of incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of incident vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getInDegree(int vertex) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return -1;
+        }
+
+        return getInTables()[id].size();
+    }
+
+    /**
+     * Get the number of outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of outer vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getOutDegree(int vertex) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return -1;
+        }
+
+        return outTables[id].size();
+    }
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * an array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachInVertex(int vertex, IntConsumer action) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return false;
+        }
+
+        forEachInTable(getInTables()[id], action);
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building an
+     * array.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachOutVertex(int vertex, IntConsumer action) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return false;
+        }
+
+        forEachInTable(outTables[id], action);
+        return true;
+    }
+
+    /**
+     * Call an action on each edge leaving a vertex, passing the other vertex
+     * and the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    protected boolean _forEachOutEdge(int vertex, IntDoubleConsumer action) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return false;
+        }
+
+        NeighborTable table = outTables[id];
+        for (int k = 0; k != table.slots(); k++) {
+            int neighbor = table.keyAt(k);
+            if (neighbor != NeighborTable.EMPTY) {
+                action.accept(vertexIds.getVertex(neighbor), isWeighted() ? table.valueAt(k) : 1);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get all the vertices in the graph
+     * @return an array containing all the graph vertices
+     */
+    public int[] getVertices() {
+        int[] vertices = new int[verticesCount];
+        int n = 0;
+        for (int i = 0; i != vertexIds.capacity(); i++) {
+            if (outTables[i] != null) {
+                vertices[n++] = vertexIds.getVertex(i);
+            }
+        }
+
+        return vertices;
+    }
+
+    /**
+     * Build the path from the source to the destination following the
+     * parents, from the destination.
+     * @param  parent        parent of every id, the source is its own parent
+     * @param  sourceId      id of the source
+     * @param  destinationId id of the destination
+     * @return               the vertices of the path, in order
+     */
+    protected int[] buildPath(int[] parent, int sourceId, int destinationId) {
+        int length = 1;
+        for (int current = destinationId; current != sourceId; current = parent[current]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        int current = destinationId;
+        for (int k = length - 1; k >= 0; k--) {
+            path[k] = vertexIds.getVertex(current);
+            current = parent[current];
+        }
+
+        return path;
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            an array containing the vertices that compose the
+     *                    path, in order; an empty array if there is no path,
+     *                    null if the source and the destination are equals
+     *                    or are not contained in the graph
+     */
+    public int[] getPath(int source, int destination) {
+        int sourceId = vertexIds.getId(source);
+        int destinationId = vertexIds.getId(destination);
+
+        if (sourceId == -1 || destinationId == -1) {
+            return null;
+        }
+
+        if (sourceId == destinationId) {
+            return null;
+        }
+
+        int[] parent = new int[vertexIds.capacity()];
+        Arrays.fill(parent, -1);
+        // Every vertex is enqueued at most once
+        int[] queue = new int[verticesCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = sourceId;
+        parent[sourceId] = sourceId;
+
+        while (head != tail) {
+            int current = queue[head++];
+            if (current == destinationId) {
+                return buildPath(parent, sourceId, destinationId);
+            }
+
+            NeighborTable table = outTables[current];
+            for (int k = 0; k != table.slots(); k++) {
+                int id = table.keyAt(k);
+                // if the vertex has not been already processed
+                if (id != NeighborTable.EMPTY && parent[id] == -1) {
+                    parent[id] = current;
+                    queue[tail++] = id;
+                }
+            }
+        }
+
+        return new int[0];
+    }
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    public boolean existsPath(int source, int destination) {
+        int[] path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return path.length != 0;
+    }
+
+    /**
+     * Run Dijkstra algorithm from a source until the destination is reached.
+     * @param  sourceId      id of the source
+     * @param  destinationId id of the destination
+     * @param  parent        filled with the parent of every reached id
+     * @return               the distance of the destination,
+     *                       Double.POSITIVE_INFINITY if it can't be reached,
+     *                       Double.NaN if a negative weight has been found
+     */
+    protected double dijkstra(int sourceId, int destinationId, int[] parent) {
+        DaryHeap queue = new DaryHeap(vertexIds.capacity());
+        boolean[] visited = new boolean[vertexIds.capacity()];
+        queue.insert(sourceId, 0);
+        parent[sourceId] = sourceId;
+
+        while (!queue.isEmpty()) {
+            int current = queue.pollMin();
+            double distance = queue.getPriority(current);
+            if (current == destinationId) {
+                return distance;
+            }
+
+            visited[current] = true;
+
+            NeighborTable table = outTables[current];
+            for (int k = 0; k != table.slots(); k++) {
+                int id = table.keyAt(k);
+                if (id == NeighborTable.EMPTY || visited[id]) {
+                    continue;
+                }
+
+                double weight = isWeighted() ? table.valueAt(k) : 1;
+                if (weight == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                // Dijkstra algorithm does not support negative weight
+                if (weight < 0) {
+                    return Double.NaN;
+                }
+
+                if (!queue.contains(id)) {
+                    queue.insert(id, distance + weight);
+                    parent[id] = current;
+                } else if (distance + weight < queue.getPriority(id)) {
+                    queue.decreaseKey(id, distance + weight);
+                    parent[id] = current;
+                }
+            }
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Get the shortest path between a source and a destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            an array containing the vertices that compose the
+     *                    path, in order; an empty array if there is no path,
+     *                    null if the source and the destination are equals,
+     *                    are not contained in the graph or if a negative
+     *                    weight has been found
+     */
+    protected int[] _getShortestPath(int source, int destination) {
+        int sourceId = vertexIds.getId(source);
+        int destinationId = vertexIds.getId(destination);
+
+        if (sourceId == -1 || destinationId == -1 || sourceId == destinationId) {
+            return null;
+        }
+
+        int[] parent = new int[vertexIds.capacity()];
+        double distance = dijkstra(sourceId, destinationId, parent);
+        if (Double.isNaN(distance)) {
+            return null;
+        }
+
+        if (distance == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+
+        return buildPath(parent, sourceId, destinationId);
+    }
+
+    /**
+     * Get the length of the shortest path between a source and a
+     * destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            the sum of the weights of the shortest path,
+     *                    Double.NaN if there is no such path
+     */
+    protected double _getMinimumDistance(int source, int destination) {
+        int sourceId = vertexIds.getId(source);
+        int destinationId = vertexIds.getId(destination);
+
+        if (sourceId == -1 || destinationId == -1 || sourceId == destinationId) {
+            return Double.NaN;
+        }
+
+        double distance = dijkstra(sourceId, destinationId, new int[vertexIds.capacity()]);
+        if (distance == Double.POSITIVE_INFINITY) {
+            return Double.NaN;
+        }
+
+        return distance;
+    }
+}
@@ -0,0 +1,540 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.util.FibonacciHeap;
+
+/**
+ Undirected sparse graph storing the neighbors of every vertex in an open
+ addressing NeighborTable, indexed by the id of the vertex.
+
+ The vertices are mapped to dense ids once, then every edge costs an int in
+ each of the two tables (and a double for weighted graphs) instead of a
+ HashMap node.
+ */
+abstract class BaseOpenHashSparseGraph<V> implements SelfCheckingGraph {
+    protected static final int DEFAULT_SIZE = 15;
+    protected VertexIndex<V> vertexIds;
+    // Neighbors of the vertex with id i, null if no vertex has id i
+    protected NeighborTable[] tables;
+    protected int verticesCount;
+    protected int edgesCount;
+
+    /**
+     * Does the graph store a weight for each edge.
+     * @return true if the tables store values
+     */
+    protected abstract boolean isWeighted();
+
+    /**
+     * Does the graph store the weights as floats.
+     * @return true if the tables store values in single precision
+     */
+    protected boolean isSinglePrecision() {
+        return false;
+    }
+
+    /**
+     * Initialize all attributes for storing graph data.
+     * @param size starting size
+     */
+    protected void initialize(int size) {
+        size = Math.max(size, 1);
+        vertexIds = new VertexIndex<V>(size);
+        tables = new NeighborTable[size];
+        verticesCount = 0;
+        edgesCount = 0;
+    }
+
+    /**
+     * Copy constructor
+     * @param graph graph to copy
+     */
+    protected void copy(BaseOpenHashSparseGraph<V> graph) {
+        vertexIds = new VertexIndex<V>(graph.vertexIds);
+        tables = new NeighborTable[graph.tables.length];
+        for (int i = 0; i != tables.length; i++) {
+            if (graph.tables[i] != null) {
+                tables[i] = new NeighborTable(graph.tables[i]);
+            }
+        }
+
+        verticesCount = graph.verticesCount;
+        edgesCount = graph.edgesCount;
+    }
+
+    /**
+     * Add a vertex to the graph.
+     * @param  vertex the vertex to add
+     * @return        true if the the graph has been modified
+     */
+    public boolean addVertex(V vertex) {
+        if (vertex == null || containsVertex(vertex)) {
+            return false;
+        }
+
+        int id = vertexIds.add(vertex);
+        if (id == tables.length) {
+            tables = Arrays.copyOf(tables, tables.length * 2);
+        }
+
+        tables[id] = new NeighborTable(isWeighted(), isSinglePrecision());
+        verticesCount++;
+        return true;
+    }
+
+    /**
+     * Check the existence of a vertex in the graph.
+     * @param  vertex the vertex to check
+     * @return        true if the graph contains vertex
+     */
+    public boolean containsVertex(V vertex) {
+        return vertexIds.getId(vertex) != -1;
+    }
+
+    /**
+     * Remove a vertex from the graph
+     * @param  vertex the vertex to remove
+     * @return        true if the graph has been modified
+     */
+    public boolean removeVertex(V vertex) {
+        int id = vertexIds.remove(vertex);
+        if (id == -1) {
+            return false;
+        }
+
+        // Every edge is stored in both tables
+        NeighborTable table = tables[id];
+        for (int k = 0; k != table.slots(); k++) {
+            int neighbor = table.keyAt(k);
+            if (neighbor != NeighborTable.EMPTY) {
+                tables[neighbor].remove(id);
+            }
+        }
+
+        edgesCount -= table.size();
+        tables[id] = null;
+        verticesCount--;
+        return true;
+    }
+
+    /**
+     * Get the number of vertices in the graph.
+     * @return number of vertices
+     */
+    public int countVertices() {
+        return verticesCount;
+    }
+
+    /**
+     * Add an edge between two vertices, adding them if they don't exist.
+     * An existing edge is left untouched.
+     * @param  v1     first vertex
+     * @param  v2     second vertex
+     * @param  weight weight of the edge, ignored by unweighted graphs
+     * @return        true if the graph has been modified
+     */
+    protected boolean addSingleEdge(V v1, V v2, double weight) {
+        // null is not a valid vertex, NaN marks missing edges
+        if (v1 == null || v2 == null || Double.isNaN(weight)) {
+            return false;
+        }
+
+        // But fail if they are the same
+        if (v1.equals(v2)) {
+            return false;
+        }
+
+        // If the are already connected
+        if (existsEdge(v1, v2)) {
+            return false;
+        }
+
+        addVertex(v1);
+        addVertex(v2);
+
+        int i1 = vertexIds.getId(v1);
+        int i2 = vertexIds.getId(v2);
+        tables[i1].add(i2, weight);
+        tables[i2].add(i1, weight);
+        edgesCount++;
+
+        return true;
+    }
+
+    /**
+     * Get the weight of the edge between two vertices.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    the weight, Double.NaN if the edge doesn't exist
+     */
+    protected double getSingleEdge(V v1, V v2) {
+        int i1 = vertexIds.getId(v1);
+        int i2 = vertexIds.getId(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return Double.NaN;
+        }
+
+        return tables[i1].get(i2);
+    }
+
+    /**
+     * Check the existence of an edge between two vertices.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge between v1 and v2 exists
+     */
+    public boolean existsEdge(V v1, V v2) {
+        int i1 = vertexIds.getId(v1);
+        int i2 = vertexIds.getId(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return false;
+        }
+
+        return tables[i1].contains(i2);
+    }
+
+    /**
+     * Remove an edge between two vertices.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if the graph has been changed
+     */
+    public boolean removeEdge(V v1, V v2) {
+        int i1 = vertexIds.getId(v1);
+        int i2 = vertexIds.getId(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return false;
+        }
+
+        if (!tables[i1].remove(i2)) {
+            return false;
+        }
+
+        tables[i2].remove(i1);
+        edgesCount--;
+        return true;
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    public int countEdges() {
+        return edgesCount;
+    }
+
+    /**
+     * Estimate the memory used by the graph.
+     * @return the bytes used, split by purpose
+     */
+    public MemoryFootprint memoryFootprint() {
+        int count = vertexIds.capacity();
+        MemoryFootprint footprint = vertexIds.footprint().plus(new MemoryFootprint(0,
+            MemoryFootprint.usedSlots(count, MemoryFootprint.REFERENCE), 0,
+            MemoryFootprint.unusedSlots(tables.length, count, MemoryFootprint.REFERENCE), 0));
+        for (NeighborTable table : tables) {
+            footprint = footprint.plus(MemoryFootprint.ofNeighborTable(table));
+        }
+
+        return footprint;
+    }
+
+    /**
+     * Recompute the number of edges from the tables and compare it with the
+     * maintained one.
+     * @return true if the counters are consistent with the edges
+     */
+    public boolean checkCounters() {
+        int count = 0;
+
+        for (NeighborTable table : tables) {
+            if (table != null) {
+                count += table.size();
+            }
+        }
+
+        // Every edge is stored in both tables
+        return count == edgesCount * 2;
+    }
+
+    /**
+     * Get the neighbors of a vertex
+     * @param  vertex the specified vertex
+     * @return        the list of vertices that are neighbors of vertex
+     *                null if the vertex is not contained in the graph
+     */
+    public List<V> getNeighbors(V vertex) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return null;
+        }
+
+        LinkedList<V> neighbors = new LinkedList<V>();
+        NeighborTable table = tables[id];
+        for (int k = 0; k != table.slots(); k++) {
+            int neighbor = table.keyAt(k);
+            if (neighbor != NeighborTable.EMPTY) {
+                neighbors.add(vertexIds.getVertex(neighbor));
+            }
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Call an action on each neighbor of a vertex, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return false;
+        }
+
+        NeighborTable table = tables[id];
+        for (int k = 0; k != table.slots(); k++) {
+            int neighbor = table.keyAt(k);
+            if (neighbor != NeighborTable.EMPTY) {
+                action.accept(vertexIds.getVertex(neighbor));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each edge of a vertex, passing the other vertex and
+     * the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    protected boolean _forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return false;
+        }
+
+        NeighborTable table = tables[id];
+        for (int k = 0; k != table.slots(); k++) {
+            int neighbor = table.keyAt(k);
+            if (neighbor != NeighborTable.EMPTY) {
+                action.accept(vertexIds.getVertex(neighbor), isWeighted() ? table.valueAt(k) : 1);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of neighbors for a vertex.
+     * @param  vertex the spefied vertex
+     * @return        number of neighbors, -1 if vertex does not exists
+     */
+    public int countNeighbors(V vertex) {
+        int id = vertexIds.getId(vertex);
+        if (id == -1) {
+            return -1;
+        }
+
+        return tables[id].size();
+    }
+
+    /**
+     * Get all the vertices in the graph
+     * @return a list containing all the graph vertices
+     */
+    public List<V> getVertices() {
+        LinkedList<V> vertices = new LinkedList<V>();
+        for (int i = 0; i != vertexIds.capacity(); i++) {
+            if (tables[i] != null) {
+                vertices.add(vertexIds.getVertex(i));
+            }
+        }
+
+        return vertices;
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            a list containing the vertices that
+     *                    compose the path, in order; an empty LinkedList if
+     *                    there is no path, null if the source and the
+     *                    destination are equals or are not contained in the
+     *                    graph
+     */
+    public List<V> getPath(V source, V destination) {
+        int sourceId = vertexIds.getId(source);
+        int destinationId = vertexIds.getId(destination);
+
+        if (sourceId == -1 || destinationId == -1) {
+            return null;
+        }
+
+        if (sourceId == destinationId) {
+            return null;
+        }
+
+        int[] parent = new int[vertexIds.capacity()];
+        Arrays.fill(parent, -1);
+        // Every vertex is enqueued at most once
+        int[] queue = new int[verticesCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = sourceId;
+        parent[sourceId] = sourceId;
+
+        boolean found = false;
+
+        while (head != tail) {
+            int current = queue[head++];
+            if (current == destinationId) {
+                found = true;
+                break;
+            }
+
+            NeighborTable table = tables[current];
+            for (int k = 0; k != table.slots(); k++) {
+                int id = table.keyAt(k);
+                // if the vertex has not been already processed
+                if (id != NeighborTable.EMPTY && parent[id] == -1) {
+                    parent[id] = current;
+                    queue[tail++] = id;
+                }
+            }
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+
+        if (found) {
+            int current = destinationId;
+            while (current != sourceId) {
+                path.addFirst(vertexIds.getVertex(current));
+                current = parent[current];
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    /**
+     * Get the shortest path between a source and a destination using
+     * Dijkstra algorithm over the ids of the vertices.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            a list containing the vertices that compose the
+     *                    path, in order; an empty LinkedList if there is no
+     *                    path, null if the source and the destination are
+     *                    equals, are not contained in the graph or if a
+     *                    negative weight has been found
+     */
+    @SuppressWarnings("unchecked")
+    protected List<V> _getShortestPath(V source, V destination) {
+        int sourceId = vertexIds.getId(source);
+        int destinationId = vertexIds.getId(destination);
+
+        if (sourceId == -1 || destinationId == -1) {
+            return null;
+        }
+
+        if (sourceId == destinationId) {
+            return null;
+        }
+
+        int capacity = vertexIds.capacity();
+        int[] prev = new int[capacity];
+        Arrays.fill(prev, -1);
+        boolean[] visited = new boolean[capacity];
+        // Arrays of a generic type can't be created, this one only ever
+        // holds the entries of queue, which are all Entry<Integer>
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        FibonacciHeap.Entry<Integer>[] entries = new FibonacciHeap.Entry[capacity];
+        FibonacciHeap<Integer> queue = new FibonacciHeap<>();
+
+        entries[sourceId] = queue.enqueue(sourceId, 0);
+        prev[sourceId] = sourceId;
+        boolean found = false;
+
+        while (!queue.isEmpty()) {
+            FibonacciHeap.Entry<Integer> current = queue.dequeueMin();
+            int currentId = current.getValue();
+
+            if (currentId == destinationId) {
+                found = true;
+                break;
+            }
+
+            visited[currentId] = true;
+
+            NeighborTable table = tables[currentId];
+            for (int k = 0; k != table.slots(); k++) {
+                int id = table.keyAt(k);
+                if (id == NeighborTable.EMPTY || visited[id]) {
+                    continue;
+                }
+
+                double weight = isWeighted() ? table.valueAt(k) : 1;
+                if (weight == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                // Dijkstra algorithm does not support negative weight
+                if (weight < 0) {
+                    return null;
+                }
+
+                double distance = current.getPriority() + weight;
+                if (entries[id] == null) {
+                    entries[id] = queue.enqueue(id, distance);
+                    prev[id] = currentId;
+                } else if (distance < entries[id].getPriority()) {
+                    queue.decreaseKey(entries[id], distance);
+                    prev[id] = currentId;
+                }
+            }
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+
+        if (found) {
+            int current = destinationId;
+            while (current != sourceId) {
+                path.addFirst(vertexIds.getVertex(current));
+                current = prev[current];
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    public boolean existsPath(V source, V destination) {
+        List<V> path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return !path.isEmpty();
+    }
+}
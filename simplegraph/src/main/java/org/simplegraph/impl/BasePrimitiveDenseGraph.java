@@ -0,0 +1,541 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ Dense weighted graph storing the weights in a primitive matrix.
+
+ The matrix is a single row-major array of size * size cells, where NaN
+ marks a missing edge. Undirected graphs keep the matrix symmetric so that
+ the neighbors of a vertex are always read from its row. The subclasses own
+ the array and choose the type of its cells; everything else reads and
+ writes the cells through getCell() and setCell().
+ */
+abstract class BasePrimitiveDenseGraph<V> extends BaseDenseGraph<V> {
+    /**
+     * Read a cell of the matrix.
+     * @param  k position of the cell, row * size + column
+     * @return   the weight widened to double, NaN if the edge doesn't exist
+     */
+    protected abstract double getCell(int k);
+
+    /**
+     * Write a cell of the matrix, rounding the weight to the type of the
+     * cells.
+     * @param k      position of the cell, row * size + column
+     * @param weight the weight, NaN to remove the edge
+     */
+    protected abstract void setCell(int k, double weight);
+
+    /**
+     * Replace the matrix with one of a given length, every cell empty.
+     * @param length number of cells
+     */
+    protected abstract void newMatrix(int length);
+
+    /**
+     * Replace the matrix with a bigger one, keeping the rows of the old one.
+     * The size has already been changed.
+     * @param length  number of cells of the new matrix
+     * @param oldSize length of the rows of the old matrix
+     */
+    protected abstract void growMatrix(int length, int oldSize);
+
+    /**
+     * Empty a range of cells.
+     * @param from first cell
+     * @param to   the cell after the last one
+     */
+    protected abstract void clearCells(int from, int to);
+
+    /**
+     * Copy a range of cells inside the matrix.
+     * @param from   first cell to copy
+     * @param to     first cell to write
+     * @param length number of cells
+     */
+    protected abstract void copyCells(int from, int to, int length);
+
+    /**
+     * Get the length of the matrix.
+     * @return number of cells
+     */
+    protected abstract int matrixCapacity();
+
+    /**
+     * Get the size of a cell.
+     * @return number of bytes
+     */
+    protected abstract int cellBytes();
+
+    @Override
+    protected boolean hasEdge(int i, int j) {
+        return !Double.isNaN(getCell(i * size + j));
+    }
+
+    @Override
+    protected double getCellWeight(int i, int j) {
+        return getCell(i * size + j);
+    }
+
+    /**
+     * Initialize all attributes for storing graph data.
+     * @param startSize Number of vertices to store initially in the graph.
+     */
+    protected void initialize(int startSize) {
+        super.initialize(startSize);
+
+        newMatrix(matrixLength((long) startSize * startSize));
+    }
+
+    /**
+     * Grow the graph size to the specified size
+     * @param newSize New size for the graph.
+     */
+    public void grow(int newSize) {
+        if (newSize < size) {
+            return;
+        }
+
+        // Checked before changing the size
+        int length = matrixLength((long) newSize * newSize);
+        int oldSize = size;
+        super.grow(newSize);
+
+        growMatrix(length, oldSize);
+    }
+
+    @Override
+    protected MemoryFootprint matrixFootprint() {
+        long cells = (long) verticesCount * verticesCount;
+        return new MemoryFootprint(0, 0, MemoryFootprint.usedSlots(cells, cellBytes()),
+            MemoryFootprint.unusedSlots(matrixCapacity(), cells, cellBytes()), 0);
+    }
+
+    @Override
+    protected void clearVertexEdges(int i) {
+        clearCells(i * size, i * size + verticesCount);
+        for (int j = 0; j != verticesCount; j++) {
+            setCell(j * size + i, Double.NaN);
+        }
+    }
+
+    @Override
+    protected void moveVertexEdges(int from, int to) {
+        // Move the row first, then the column
+        copyCells(from * size, to * size, verticesCount);
+        clearCells(from * size, from * size + verticesCount);
+
+        for (int j = 0; j != verticesCount; j++) {
+            setCell(j * size + to, getCell(j * size + from));
+            setCell(j * size + from, Double.NaN);
+        }
+    }
+
+    /**
+     * Add an edge that goes from the first vertex to the second.
+     * Add the two vertices in the graph if they don't exists.
+     * @param  v1     first vertex
+     * @param  v2     second vertex
+     * @param  weight weight of the edge, rounded to the type of the cells
+     * @return        true if the graph has been modified
+     */
+    protected boolean addSingleEdge(V v1, V v2, double weight) {
+        // Null is not a valid value, NaN marks missing edges
+        if (v1 == null || v2 == null || Double.isNaN(weight)) {
+            return false;
+        }
+
+        // the vertices cannot be the same
+        if (v1.equals(v2)) {
+            return false;
+        }
+
+        addVertex(v1);
+        addVertex(v2);
+
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        // get last value to check if the graph has been modified
+        double t = getCell(i1 * size + i2);
+        setCell(i1 * size + i2, weight);
+        if (!isDirected()) {
+            setCell(i2 * size + i1, weight);
+        }
+
+        if (Double.isNaN(t)) {
+            countEdge(i1, i2, 1);
+            return true;
+        }
+
+        // Compare the weights as stored, after the rounding
+        return t != getCell(i1 * size + i2);
+    }
+
+    /**
+     * Get the weight of the edge that goes from the first vertex to the
+     * second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    the weight, Double.NaN if the edge doesn't exist
+     */
+    protected double getSingleEdge(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return Double.NaN;
+        }
+
+        return getCell(i1 * size + i2);
+    }
+
+    /**
+     * Remove an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if the graph has been changed
+     */
+    public boolean removeEdge(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1 || i1 == i2) {
+            return false;
+        }
+
+        if (Double.isNaN(getCell(i1 * size + i2))) {
+            return false;
+        }
+
+        setCell(i1 * size + i2, Double.NaN);
+        if (!isDirected()) {
+            setCell(i2 * size + i1, Double.NaN);
+        }
+
+        countEdge(i1, i2, -1);
+        return true;
+    }
+
+    /**
+     * Check the existence of an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge from v1 to v2 exists
+     */
+    public boolean existsEdge(V v1, V v2) {
+        return !Double.isNaN(getSingleEdge(v1, v2));
+    }
+
+    /**
+     * Get the vertices connected to a vertex.
+     * @param  i   index of the vertex
+     * @param  out true to include the outer vertices
+     * @param  in  true to include the incident vertices
+     * @return     a list containing the vertices
+     */
+    protected List<V> getConnectedVertices(int i, boolean out, boolean in) {
+        LinkedList<V> vertices = new LinkedList<V>();
+        int row = i * size;
+
+        for (int j = 0; j != verticesCount; j++) {
+            if ((out && !Double.isNaN(getCell(row + j)))
+                    || (in && !Double.isNaN(getCell(j * size + i)))) {
+                vertices.add(verticesArray.get(j));
+            }
+        }
+
+        return vertices;
+    }
+
+    /**
+     * Count the vertices connected to a vertex.
+     * @param  i   index of the vertex
+     * @param  out true to include the outer vertices
+     * @param  in  true to include the incident vertices
+     * @return     the number of vertices
+     */
+    protected int countConnectedVertices(int i, boolean out, boolean in) {
+        int count = 0;
+        int row = i * size;
+
+        for (int j = 0; j != verticesCount; j++) {
+            if ((out && !Double.isNaN(getCell(row + j)))
+                    || (in && !Double.isNaN(getCell(j * size + i)))) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the neighbors of a vertex, both incident and outer vertices.
+     * @param  vertex the specified vertex
+     * @return        the list of vertices that are neighbors of vertex
+     *                null if the vertex is not contained in the graph
+     */
+    public List<V> getNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getConnectedVertices(i, true, isDirected());
+    }
+
+    /**
+     * Get the number of neighbors for a vertex, both incident and outer
+     * @param  vertex the specified vertex
+     * @return        number of neighbors, -1 if vertex is not contained in graph
+     */
+    public int countNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        if (!isDirected()) {
+            return outDegrees[i];
+        }
+
+        return countConnectedVertices(i, true, true);
+    }
+
+    /**
+     * Get the incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a list containing the incident vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public List<V> getInVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getConnectedVertices(i, false, true);
+    }
+
+    /**
+     * Get the outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        a list containing the outer vertices of vertex,
+     *                null if vertex is not contained in the graph
+     */
+    public List<V> getOutVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getConnectedVertices(i, true, false);
+    }
+
+    /**
+     * Call an action on the vertices connected to a vertex.
+     * @param  i      index of the vertex
+     * @param  out    true to include the outer vertices
+     * @param  in     true to include the incident vertices
+     * @param  action the action to call on each vertex
+     */
+    protected void forEachConnected(int i, boolean out, boolean in, Consumer<? super V> action) {
+        int row = i * size;
+
+        for (int j = 0; j != verticesCount; j++) {
+            if ((out && !Double.isNaN(getCell(row + j)))
+                    || (in && !Double.isNaN(getCell(j * size + i)))) {
+                action.accept(verticesArray.get(j));
+            }
+        }
+    }
+
+    /**
+     * Call an action on each neighbor of a vertex, both incident and outer
+     * vertices, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, true, isDirected(), action);
+        return true;
+    }
+
+    /**
+     * Call an action on each incident vertex of a vertex, without building
+     * a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each incident vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, false, true, action);
+        return true;
+    }
+
+    /**
+     * Call an action on each outer vertex of a vertex, without building a
+     * list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each outer vertex
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachConnected(i, true, false, action);
+        return true;
+    }
+
+    /**
+     * Call an action on each edge leaving a vertex, passing the other vertex
+     * and the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    protected boolean _forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        int row = i * size;
+        for (int j = 0; j != verticesCount; j++) {
+            double weight = getCell(row + j);
+            if (!Double.isNaN(weight)) {
+                action.accept(verticesArray.get(j), weight);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of incident vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of incident vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getInDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return inDegrees[i];
+    }
+
+    /**
+     * Get the number of outer vertices of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the number of outer vertices of vertex, -1 if vertex
+     *                is not contained in the graph
+     */
+    public int getOutDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return outDegrees[i];
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param  source      The vertex from where the path shall begin
+     * @param  destination The vertex from where the path shall end
+     * @return             Ordered list of the vertices that form a path
+     *                     between source and destination, null if source
+     *                     and destination are the same or if they are not
+     *                     contained in the graph, an empty LinkedList if
+     *                     there is no path between them
+     */
+    public List<V> getPath(V source, V destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+
+        if (i1 == -1 || i2 == -1) {
+            return null;
+        }
+
+        if (i1 == i2) {
+            return null;
+        }
+
+        int[] parent = new int[verticesCount];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[verticesCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = i1;
+        parent[i1] = i1;
+
+        boolean found = false;
+
+        while (head != tail) {
+            int current = queue[head++];
+
+            if (current == i2) {
+                found = true;
+                break;
+            }
+
+            int row = current * size;
+            for (int j = 0; j != verticesCount; j++) {
+                if (parent[j] == -1 && !Double.isNaN(getCell(row + j))) {
+                    parent[j] = current;
+                    queue[tail++] = j;
+                }
+            }
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+
+        if (found) {
+            int current = i2;
+            while (current != i1) {
+                path.addFirst(verticesArray.get(current));
+                current = parent[current];
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    public boolean existsPath(V source, V destination) {
+        List<V> path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return !path.isEmpty();
+    }
+}
@@ -1,19 +1,56 @@
 package org.simplegraph.impl;
 
-import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
-
-abstract class BaseSparseGraph<V, E> {
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.util.FibonacciHeap;
+
+/**
+ Sparse graph storing the outer edges of every vertex in a map.
+
+ Copies share the maps with the graph they have been created from: both
+ graphs copy a map the first time they modify it, so that cloning a graph
+ and changing a few edges costs as much as the maps changed. ownedMaps
+ holds the maps that have been created by the graph itself, which can be
+ modified in place.
+
+ copy() does not write the fields of the source graph: it only increments
+ a counter shared by the graphs that share maps, and each graph checks it
+ before its next change, giving up the ownership of every map when it has
+ been copied. Copying is then a read of the source, like getNeighbors().
+ */
+abstract class BaseSparseGraph<V, E> implements SelfCheckingGraph {
     protected static final int DEFAULT_SIZE = 15;
     protected HashMap<V, HashMap<V, E>> edges;
+    // Is edges shared with a copy of the graph
+    protected boolean sharedEdges;
+    // Maps that can be modified in place, compared by identity; null if
+    // the graph has never been copied, as it owns every map then
+    protected Set<HashMap<V, E>> ownedMaps;
+    // Number of copies made of the graphs sharing maps with this one,
+    // shared by all of them
+    protected AtomicInteger copies = new AtomicInteger();
+    // Value of copies the last time the sharing state has been updated
+    protected int knownCopies;
+    // Dense ids of the vertices, used by the traversals
+    protected VertexIndex<V> vertexIds;
+    // Number of entries in the maps of edges, undirected edges count twice
+    protected int edgesCount;
 
     /**
      * Default constructor
      */
     public BaseSparseGraph() {
         edges = new HashMap<V, HashMap<V, E>>(DEFAULT_SIZE);
+        vertexIds = new VertexIndex<V>(DEFAULT_SIZE);
     }
 
     /**
@@ -22,14 +59,121 @@ abstract class BaseSparseGraph<V, E> {
      */
     public BaseSparseGraph(int size) {
         edges = new HashMap<V, HashMap<V, E>>(size);
+        vertexIds = new VertexIndex<V>(size);
     }
 
+    /**
+     * Copy constructor
+     * The maps of edges are shared until either graph modifies them. The
+     * source graph is only read, so it can be copied while other threads
+     * read it, but not while it is being modified.
+     * @param graph graph to copy
+     */
     public void copy(BaseSparseGraph<V, E> graph) {
-        edges = new HashMap<V, HashMap<V, E>>(graph.edges.size());
-        for (HashMap.Entry<V, HashMap<V, E>> entry: graph.edges.entrySet()) {
-            HashMap<V, E> map = (HashMap<V, E>)entry.getValue().clone();
-            edges.put(entry.getKey(), map);
+        edges = graph.edges;
+        sharedEdges = true;
+        ownedMaps = newIdentitySet();
+
+        // The source gives up its maps before its next change
+        copies = graph.copies;
+        knownCopies = copies.incrementAndGet();
+
+        vertexIds = new VertexIndex<V>(graph.vertexIds);
+        edgesCount = graph.edgesCount;
+    }
+
+    protected static <T> Set<T> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+    }
+
+    /**
+     * Give up the ownership of every map if the graph, or a graph sharing
+     * maps with it, has been copied since the last change.
+     */
+    protected void checkCopies() {
+        int count = copies.get();
+        if (count != knownCopies) {
+            knownCopies = count;
+            shareMaps();
+        }
+    }
+
+    /**
+     * Mark every map as shared with a copy of the graph.
+     */
+    protected void shareMaps() {
+        sharedEdges = true;
+        ownedMaps = newIdentitySet();
+    }
+
+    /**
+     * Forget a map that is not part of the graph anymore.
+     * @param map the map of a removed vertex
+     */
+    protected void disownMap(HashMap<V, E> map) {
+        if (ownedMaps != null) {
+            ownedMaps.remove(map);
+        }
+    }
+
+    /**
+     * Record that a map has been created by this graph.
+     * @param  map the new map
+     * @return     map
+     */
+    protected HashMap<V, E> ownMap(HashMap<V, E> map) {
+        checkCopies();
+        if (ownedMaps != null) {
+            ownedMaps.add(map);
+        }
+
+        return map;
+    }
+
+    /**
+     * Get a map that can be modified with the content of another.
+     * @param  map the map to modify
+     * @return     map, or a copy of it if it is shared with a copy of the
+     *             graph
+     */
+    protected HashMap<V, E> writableMap(HashMap<V, E> map) {
+        checkCopies();
+        if (ownedMaps == null || ownedMaps.contains(map)) {
+            return map;
+        }
+
+        return ownMap(new HashMap<V, E>(map));
+    }
+
+    /**
+     * Get the map of the vertices, copying it if it is shared with a copy
+     * of the graph.
+     * @return the map, that can be modified
+     */
+    protected HashMap<V, HashMap<V, E>> getWritableEdges() {
+        checkCopies();
+        if (sharedEdges) {
+            edges = new HashMap<V, HashMap<V, E>>(edges);
+            sharedEdges = false;
         }
+
+        return edges;
+    }
+
+    /**
+     * Get the map of the outer edges of a vertex, copying it if it is
+     * shared with a copy of the graph.
+     * @param  vertex the vertex, contained in the graph
+     * @return        the map, that can be modified
+     */
+    protected HashMap<V, E> getWritableEdges(V vertex) {
+        HashMap<V, E> map = edges.get(vertex);
+        HashMap<V, E> writable = writableMap(map);
+        if (writable != map) {
+            getWritableEdges().put(vertex, writable);
+        }
+
+        return writable;
     }
 
     /**
@@ -42,7 +186,14 @@ abstract class BaseSparseGraph<V, E> {
             return false;
         }
 
-        return edges.putIfAbsent(vertex, new HashMap<V, E>()) == null;
+        if (edges.containsKey(vertex)) {
+            return false;
+        }
+
+        getWritableEdges().put(vertex, ownMap(new HashMap<V, E>()));
+
+        vertexIds.add(vertex);
+        return true;
     }
 
     /**
@@ -60,7 +211,32 @@ abstract class BaseSparseGraph<V, E> {
      * @return        true if the graph has been modified
      */
     public boolean removeVertex(V vertex) {
-        return edges.remove(vertex) != null;
+        if (!edges.containsKey(vertex)) {
+            return false;
+        }
+
+        HashMap<V, E> neighbors = getWritableEdges().remove(vertex);
+        disownMap(neighbors);
+
+        edgesCount -= neighbors.size();
+        removeInEdges(vertex, neighbors);
+        vertexIds.remove(vertex);
+        return true;
+    }
+
+    /**
+     * Remove the edges that go to a vertex being removed.
+     * Undirected graphs store every edge in both directions, so only the
+     * neighbors of the vertex have to be checked.
+     * @param vertex    the vertex being removed
+     * @param neighbors the outer edges of vertex
+     */
+    protected void removeInEdges(V vertex, HashMap<V, E> neighbors) {
+        for (V neighbor : neighbors.keySet()) {
+            getWritableEdges(neighbor).remove(vertex);
+        }
+
+        edgesCount -= neighbors.size();
     }
 
     /**
@@ -102,7 +278,8 @@ abstract class BaseSparseGraph<V, E> {
             addVertex(v2);
         }
 
-        edges.get(v1).put(v2, edge);
+        getWritableEdges(v1).put(v2, edge);
+        edgesCount++;
 
         return true;
     }
@@ -134,7 +311,14 @@ abstract class BaseSparseGraph<V, E> {
             return false;
         }
 
-        return edges.get(v1).remove(v2) != null;
+        if (!edges.get(v1).containsKey(v2)) {
+            return false;
+        }
+
+        getWritableEdges(v1).remove(v2);
+
+        edgesCount--;
+        return true;
     }
 
     /**
@@ -144,17 +328,50 @@ abstract class BaseSparseGraph<V, E> {
      * @return    true if the graph has been changed
      */
     public boolean removeEdge(V v1, V v2) {
-        return _removeEdge(v1, v2) || _removeEdge(v2,v1);
+        // Both directions have to be removed
+        boolean a = _removeEdge(v1, v2);
+        boolean b = _removeEdge(v2, v1);
+        return a || b;
     }
 
     protected int _countEdges() {
+        return edgesCount;
+    }
+
+    /**
+     * Does the graph store a weight for each edge.
+     * @return true if the edges are boxed weights
+     */
+    protected boolean isWeighted() {
+        return false;
+    }
+
+    /**
+     * Estimate the memory used by the graph.
+     * Maps shared with a copy of the graph are counted by both graphs.
+     * @return the bytes used, split by purpose
+     */
+    public MemoryFootprint memoryFootprint() {
+        // Both entries of an edge reference the same weight
+        long boxed = isWeighted() ? (long) countEdges() * MemoryFootprint.BOXED_DOUBLE : 0;
+        return vertexIds.footprint()
+            .plus(MemoryFootprint.ofAdjacencyMaps(edges))
+            .plus(new MemoryFootprint(0, 0, 0, 0, boxed));
+    }
+
+    /**
+     * Recompute the number of edges from the maps and compare it with the
+     * maintained one.
+     * @return true if the counters are consistent with the edges
+     */
+    public boolean checkCounters() {
         int count = 0;
 
         for (HashMap<V, E> l : edges.values()) {
             count += l.size();
         }
 
-        return count;
+        return count == edgesCount;
     }
 
     /**
@@ -192,6 +409,45 @@ abstract class BaseSparseGraph<V, E> {
         return edges.get(vertex).size();
     }
 
+    /**
+     * Call an action on each neighbor of a vertex, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
+     */
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        HashMap<V, E> neighbors = edges.get(vertex);
+        if (neighbors == null) {
+            return false;
+        }
+
+        for (V neighbor : neighbors.keySet()) {
+            action.accept(neighbor);
+        }
+
+        return true;
+    }
+
+    /**
+     * Call an action on each edge leaving a vertex, passing the other vertex
+     * and the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    protected boolean _forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        HashMap<V, E> neighbors = edges.get(vertex);
+        if (neighbors == null) {
+            return false;
+        }
+
+        for (HashMap.Entry<V, E> edge : neighbors.entrySet()) {
+            action.accept(edge.getKey(), getEdgeWeight(edge.getValue()));
+        }
+
+        return true;
+    }
+
     /**
      * Get all the vertices in the graph
      * @return a list containing all the graph vertices
@@ -220,35 +476,147 @@ abstract class BaseSparseGraph<V, E> {
         }
 
         // Based on https://en.wikipedia.org/wiki/Breadth-first_search
-        HashMap<V, V> parent = new HashMap<V, V>();
-        ArrayDeque<V> queue = new ArrayDeque<V>(edges.size());
-        queue.add(source);
+        int sourceId = vertexIds.getId(source);
+        int destinationId = vertexIds.getId(destination);
+        int[] parent = new int[vertexIds.capacity()];
+        Arrays.fill(parent, -1);
+        // Every vertex is enqueued at most once
+        int[] queue = new int[edges.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = sourceId;
+        parent[sourceId] = sourceId;
+
+        boolean found = false;
+
+        while (head != tail) {
+            int current = queue[head++];
+            if (current == destinationId) {
+                found = true;
+                break;
+            }
 
-        V current = null;
+            for (V neighbor : edges.get(vertexIds.getVertex(current)).keySet()) {
+                int id = vertexIds.getId(neighbor);
+                // if the vertex has not been already processed
+                if (parent[id] == -1) {
+                    parent[id] = current;
+                    queue[tail++] = id;
+                }
+            }
+        }
 
-        while ((current = queue.pollFirst()) != null) {
-            if (current.equals(destination)) {
+        LinkedList<V> path = new LinkedList<V>();
+
+        if (found) {
+            int current = destinationId;
+            while (current != sourceId) {
+                path.addFirst(vertexIds.getVertex(current));
+                current = parent[current];
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    /**
+     * Get the weight of an edge, used by _getShortestPath().
+     * @param  edge the edge stored in the graph
+     * @return      the weight of edge
+     */
+    protected double getEdgeWeight(E edge) {
+        return 1;
+    }
+
+    /**
+     * Get the shortest path between a source and a destination using
+     * Dijkstra algorithm over the ids of the vertices.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            a list containing the vertices that compose the
+     *                    path, in order; an empty LinkedList if there is no
+     *                    path, null if the source and the destination are
+     *                    equals, are not contained in the graph or if a
+     *                    negative weight has been found
+     */
+    @SuppressWarnings("unchecked")
+    protected List<V> _getShortestPath(V source, V destination) {
+        if (!containsVertex(source) || !containsVertex(destination)) {
+            return null;
+        }
+
+        // source != null
+        if (source.equals(destination)) {
+            return null;
+        }
+
+        int sourceId = vertexIds.getId(source);
+        int destinationId = vertexIds.getId(destination);
+        int capacity = vertexIds.capacity();
+        int[] prev = new int[capacity];
+        Arrays.fill(prev, -1);
+        boolean[] visited = new boolean[capacity];
+        // Arrays of a generic type can't be created, this one only ever
+        // holds the entries of queue, which are all Entry<Integer>
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        FibonacciHeap.Entry<Integer>[] entries = new FibonacciHeap.Entry[capacity];
+        FibonacciHeap<Integer> queue = new FibonacciHeap<>();
+
+        entries[sourceId] = queue.enqueue(sourceId, 0);
+        prev[sourceId] = sourceId;
+        boolean found = false;
+
+        while (!queue.isEmpty()) {
+            FibonacciHeap.Entry<Integer> current = queue.dequeueMin();
+            int currentId = current.getValue();
+
+            if (currentId == destinationId) {
+                found = true;
                 break;
             }
 
-            for (V neighbor : edges.get(current).keySet()) {
-                // if the vertex has not been already processed
-                if (!parent.containsKey(neighbor)) {
-                    queue.add(neighbor);
-                    parent.put(neighbor, current);
+            visited[currentId] = true;
+
+            HashMap<V, E> neighbors = edges.get(vertexIds.getVertex(currentId));
+            for (HashMap.Entry<V, E> edge : neighbors.entrySet()) {
+                int id = vertexIds.getId(edge.getKey());
+                if (visited[id]) {
+                    continue;
+                }
+
+                double weight = getEdgeWeight(edge.getValue());
+                if (weight == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                // Dijkstra algorithm does not support negative weight
+                if (weight < 0) {
+                    return null;
+                }
+
+                double distance = current.getPriority() + weight;
+                if (entries[id] == null) {
+                    entries[id] = queue.enqueue(id, distance);
+                    prev[id] = currentId;
+                } else if (distance < entries[id].getPriority()) {
+                    queue.decreaseKey(entries[id], distance);
+                    prev[id] = currentId;
                 }
             }
         }
 
         LinkedList<V> path = new LinkedList<V>();
 
-        if (destination.equals(current)) {
-            do {
-                path.addFirst(current);
-            } while (!(current = parent.get(current)).equals(source));
+        if (found) {
+            int current = destinationId;
+            while (current != sourceId) {
+                path.addFirst(vertexIds.getVertex(current));
+                current = prev[current];
+            }
 
             path.addFirst(source);
-            return path;
         }
 
         return path;
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.ArrayDeque;
 import java.util.List;
 import java.util.LinkedList;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 import org.simplegraph.Graph;
 
@@ -20,13 +22,10 @@ abstract class BaseUndirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
     }
 
     protected void copy(BaseUndirectedDenseGraph<V, E> graph) {
-        initialize(graph.size);
         copyVertices(graph);
 
-        int edgesSize = graph.getEdgesSize(size);
-        for (int i = 0; i < edgesSize; i++) {
-            edges.add(i, graph.edges.get(i));
-        }
+        // Copies the backing array in one go
+        edges = new ArrayList<E>(graph.edges);
     }
 
     /**
@@ -50,9 +49,14 @@ abstract class BaseUndirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
      * @param newSize New size for the graph.
      */
     public void grow(int newSize) {
+        if (newSize < size) {
+            return;
+        }
+
+        // Checked before changing the size
+        int edgesSize = getEdgesSize(newSize);
         int oldEdgesSize = getEdgesSize(size);
         super.grow(newSize);
-        int edgesSize = getEdgesSize(size);
         edges.ensureCapacity(edgesSize);
 
         for (int i = oldEdgesSize; i != edgesSize; ++i) {
@@ -64,67 +68,59 @@ abstract class BaseUndirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
      * Get how much edges there are for the size passed.
      * @param verticesSize Number of vertices.
      * @return Number of edges based on the number of vertices.
+     * @throws IllegalArgumentException if they do not fit in an array
      */
     protected int getEdgesSize(int verticesSize) {
         if (verticesSize == 0) {
             return 0;
         }
 
-        return verticesSize * (verticesSize - 1)  / 2;
+        return matrixLength((long) verticesSize * (verticesSize - 1) / 2);
     }
 
-    /**
-     * Remove a vertex from the graph
-     * @param  vertex the vertex to remove
-     * @return        true if the graph has been modified
-     */
-    public boolean removeVertex(V vertex) {
-        Integer vertexIndex = verticesMap.get(vertex);
-
-        if (!super.removeVertex(vertex)) {
-            return false;
-        }
-
-        // The last vertex has been removed
-        // and verticesCount has already been decreased
-        if (verticesCount == 0) {
-            return true;
-        }
-
-        // If the one to remove is already the last
-        if (verticesCount == vertexIndex) {
-            int first = getEdgesSize(vertexIndex);
-            int last = first + verticesCount;
-            for (int i = first; i != last; i++) {
-                edges.set(i, null);
-            }
+    @Override
+    protected boolean isDirected() {
+        return false;
+    }
 
-            return true;
-        }
+    @Override
+    protected boolean hasEdge(int i, int j) {
+        return edges.get(getCellIndex(i, j)) != null;
+    }
 
-        int rowLastVertex = getEdgesSize(verticesCount);
+    @Override
+    protected double getCellWeight(int i, int j) {
+        E edge = edges.get(getCellIndex(i, j));
+        return edge == null ? Double.NaN : getEdgeWeight(edge);
+    }
 
-        int i = 0;
-        int row = getEdgesSize(vertexIndex);
+    @Override
+    protected MemoryFootprint matrixFootprint() {
+        long cells = getEdgesSize(verticesCount);
+        long adjacency = MemoryFootprint.ARRAY_LIST + MemoryFootprint.usedSlots(cells, MemoryFootprint.REFERENCE);
+        long unused = MemoryFootprint.unusedSlots(getEdgesSize(size), cells, MemoryFootprint.REFERENCE);
+        // Missing edges are null and every edge stores Boolean.TRUE or its own weight
+        long boxed = isWeighted() ? (long) edgesCount * MemoryFootprint.BOXED_DOUBLE : 0;
+        return new MemoryFootprint(0, adjacency, 0, unused, boxed);
+    }
 
-        // Swap edges too
-        while (i != vertexIndex) {
-            edges.set(row + i, edges.get(rowLastVertex + i));
-            edges.set(rowLastVertex + i, null);
-            i++;
+    @Override
+    protected void clearVertexEdges(int i) {
+        for (int j = 0; j != verticesCount; j++) {
+            if (j != i) {
+                edges.set(getCellIndex(i, j), null);
+            }
         }
+    }
 
-        row += vertexIndex;
-        i++;
-
-        while (i != verticesCount) {
-            row += vertexIndex;
-            edges.set(row, edges.get(rowLastVertex + i));
-            edges.set(rowLastVertex + i, null);
-            i++;
+    @Override
+    protected void moveVertexEdges(int from, int to) {
+        // The edge between the two is missing, as the slot is empty
+        for (int j = 0; j != verticesCount; j++) {
+            if (j != from && j != to) {
+                edges.set(getCellIndex(to, j), edges.set(getCellIndex(from, j), null));
+            }
         }
-
-        return true;
     }
 
     protected boolean addSingleEdge(V v1, V v2, E edge) {
@@ -139,12 +135,26 @@ abstract class BaseUndirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
 
         addVertex(v1);
         addVertex(v2);
+
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+        E t = edges.set(getCellIndex(i1, i2), edge);
+        if (t == null) {
+            countEdge(i1, i2, 1);
+            return true;
+        }
+
         // edge is not null, hence we can call a method on it
-        return !edge.equals(edges.set(getEdgeIndex(v1, v2), edge));
+        return !edge.equals(t);
     }
 
     protected E getSingleEdge(V v1, V v2) {
-        return edges.get(getEdgeIndex(v1, v2));
+        int index = getEdgeIndex(v1, v2);
+        if (index < 0) {
+            return null;
+        }
+
+        return edges.get(index);
     }
 
     /**
@@ -154,32 +164,43 @@ abstract class BaseUndirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
      * @return    true if an edge between v1 and v2
      */
     public boolean existsEdge(V v1, V v2) {
-        return edges.get(getEdgeIndex(v1, v2)) != null;
+        return getSingleEdge(v1, v2) != null;
+    }
+
+    /**
+     * Get the position in edges of the edge between two vertices.
+     * @param i1 index of the first vertex
+     * @param i2 index of the second vertex, different from i1
+     * @return   position of the edge
+     */
+    protected int getCellIndex(int i1, int i2) {
+        if (i1 > i2) {
+            return getEdgesSize(i1) + i2;
+        }
+
+        return getEdgesSize(i2) + i1;
     }
 
     /**
      * Get index of the edge between v1 and v2.
      * @param v1 first vertex
      * @param v2 second vertex
-     * @return   index of the edge between v1 and v2
+     * @return   index of the edge between v1 and v2, -1 if a vertex is not
+     *           contained in the graph, -2 if the vertices are the same
      */
     protected int getEdgeIndex(V v1, V v2) {
-        Integer i1 = getVertexIndex(v1);
-        Integer i2 = getVertexIndex(v2);
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
 
-        if (i1 == null || i2 == null) {
+        if (i1 == -1 || i2 == -1) {
             return -1;
         }
 
-        if (i1.equals(i2)) {
+        if (i1 == i2) {
             return -2;
         }
 
-        if (i1 > i2) {
-            return i1 * (i1 - 1) / 2 + i2;
-        } else {
-            return i2 * (i2 - 1) / 2 + i1;
-        }
+        return getCellIndex(i1, i2);
     }
 
     /**
@@ -189,7 +210,13 @@ abstract class BaseUndirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
      * @return    true if the graph has been changed
      */
     public boolean removeEdge(V v1, V v2) {
-        return edges.set(getEdgeIndex(v1, v2), null) != null;
+        int index = getEdgeIndex(v1, v2);
+        if (index < 0 || edges.set(index, null) == null) {
+            return false;
+        }
+
+        countEdge(getVertexIndex(v1), getVertexIndex(v2), -1);
+        return true;
     }
 
     /**
@@ -236,56 +263,82 @@ abstract class BaseUndirectedDenseGraph<V, E> extends BaseDenseGraph<V> {
     }
 
     /**
-     * Get the number of neighbors for a vertex.
-     * @param  vertex the spefied vertex
-     * @return        number of neighbors, -1 if vertex does not exists
+     * Call an action on each neighbor of a vertex, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the graph
      */
-    public int countNeighbors(V vertex) {
-        if (!containsVertex(vertex)) {
-            return -1;
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        int vertexIndex = getVertexIndex(vertex);
+        if (vertexIndex == -1) {
+            return false;
         }
 
-        int i = 0;
-        int count = 0;
-        int vertexIndex = verticesMap.get(vertex);
-        int row = getEdgesSize(vertexIndex);
-
-        while (i != vertexIndex) {
-            if (edges.get(row + i) != null) {
-                count++;
+        for (int i = 0; i != verticesCount; i++) {
+            if (i != vertexIndex && edges.get(getCellIndex(vertexIndex, i)) != null) {
+                action.accept(verticesArray.get(i));
             }
+        }
 
-            i++;
+        return true;
+    }
+
+    /**
+     * Get the weight of an edge, used by _forEachOutEdge().
+     * @param  edge the edge stored in the graph
+     * @return      the weight of edge
+     */
+    protected double getEdgeWeight(E edge) {
+        return 1;
+    }
+
+    /**
+     * Call an action on each edge of a vertex, passing the other vertex and
+     * the weight of the edge.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each edge
+     * @return        false if the vertex is not contained in the graph
+     */
+    protected boolean _forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        int vertexIndex = getVertexIndex(vertex);
+        if (vertexIndex == -1) {
+            return false;
         }
 
-        row += vertexIndex;
+        // The edges with the previous vertices are in the row of vertex,
+        // the ones with the next vertices in their rows
+        int row = getEdgesSize(vertexIndex);
+        for (int i = 0; i != vertexIndex; i++) {
+            E edge = edges.get(row + i);
+            if (edge != null) {
+                action.accept(verticesArray.get(i), getEdgeWeight(edge));
+            }
+        }
 
-        while (++i != verticesCount) {
-            row += vertexIndex;
-            if (edges.get(row) != null) {
-                count++;
+        for (int i = vertexIndex + 1; i < verticesCount; i++) {
+            E edge = edges.get(getEdgesSize(i) + vertexIndex);
+            if (edge != null) {
+                action.accept(verticesArray.get(i), getEdgeWeight(edge));
             }
         }
 
-        return count;
+        return true;
     }
 
     /**
-     * Get the number of edges in the graph.
-     * @return number of edges
+     * Get the number of neighbors for a vertex.
+     * @param  vertex the spefied vertex
+     * @return        number of neighbors, -1 if vertex does not exists
      */
-    public int countEdges() {
-        int count = 0;
-        int lastEdge = verticesCount * (verticesCount - 1) / 2;
-
-        for (int i = 0; i != lastEdge; i++) {
-            if (edges.get(i) != null) {
-                count++;
-            }
+    public int countNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
         }
 
-        return count;
+        return outDegrees[i];
     }
+
     /**
      * Get a path between a source and a destination
      * @param source      source vertex
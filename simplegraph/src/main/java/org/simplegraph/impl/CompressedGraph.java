@@ -0,0 +1,93 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.simplegraph.Graph;
+
+/**
+ Immutable graph storing its adjacency lists gap and varint encoded.
+ */
+public class CompressedGraph<V> extends BaseCompressedGraph<V> implements ViewableGraph<V> {
+    /**
+     * Create a compressed copy of a graph.
+     * @param graph graph to compress
+     */
+    public CompressedGraph(Graph<V> graph) {
+        build(graph.getVertices(), graph::getNeighbors, false);
+    }
+
+    /**
+     * Compressed graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Compressed graphs cannot be modified");
+    }
+
+    @Override
+    public boolean addVertex(V vertex) {
+        return super.addVertex(vertex);
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return super.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return super.countVertices();
+    }
+
+    @Override
+    public boolean existsPath(V source, V destination) {
+        return super.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return super.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return super.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return super.getNeighbors(vertex);
+    }
+
+    @Override
+    public List<V> getPath(V source, V destination) {
+        return super.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(V v1, V v2) {
+        return super.removeEdge(v1, v2);
+    }
+
+    @Override
+    public boolean removeVertex(V vertex) {
+        return super.removeVertex(vertex);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return super.getVertices();
+    }
+
+    @Override
+    public Graph<V> getSpanningTree() {
+        return null;
+    }
+}
@@ -0,0 +1,224 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+/**
+ Rows of sorted ids compressed with gap and variable length encoding.
+
+ Every row stores its first id and then the difference between each id and
+ the previous one, 7 bits per byte with the highest bit set on all the
+ bytes but the last. Power-law graphs have small gaps, so most of them take
+ a single byte.
+
+ Every SKIP ids the row records the id and the position of the following
+ byte, so that a lookup decodes at most SKIP ids after a binary search on
+ the skip pointers.
+ */
+class CompressedRows {
+    static final int SKIP = 64;
+
+    private byte[] data;
+    // Position of the first byte of each row in data, rowsCount + 1 elements
+    private int[] offsets;
+    private int[] degrees;
+    // Skip pointers of the row i are from skipStart[i] to skipStart[i + 1] - 1
+    private int[] skipStart;
+    private int[] skipValues;
+    private int[] skipPositions;
+    private long size;
+
+    /**
+     * Compress the rows passed.
+     * @param rows rows of ids, each sorted in ascending order
+     */
+    CompressedRows(int[][] rows) {
+        int rowsCount = rows.length;
+        offsets = new int[rowsCount + 1];
+        degrees = new int[rowsCount];
+        skipStart = new int[rowsCount + 1];
+
+        int skips = 0;
+        for (int i = 0; i != rowsCount; i++) {
+            skips += rows[i].length / SKIP;
+            size += rows[i].length;
+        }
+
+        skipValues = new int[skips];
+        skipPositions = new int[skips];
+        data = new byte[Math.max(16, skips * 4)];
+
+        int position = 0;
+        int skip = 0;
+        for (int i = 0; i != rowsCount; i++) {
+            int[] row = rows[i];
+            offsets[i] = position;
+            degrees[i] = row.length;
+            skipStart[i] = skip;
+
+            int previous = 0;
+            for (int k = 0; k != row.length; k++) {
+                position = writeVarint(position, row[k] - previous);
+                previous = row[k];
+
+                // Index k + 1 is a multiple of SKIP, record the pointer
+                // after the last id of the block
+                if ((k + 1) % SKIP == 0 && k + 1 != row.length) {
+                    skipValues[skip] = row[k];
+                    skipPositions[skip] = position;
+                    skip++;
+                }
+            }
+        }
+
+        offsets[rowsCount] = position;
+        skipStart[rowsCount] = skip;
+        skipValues = Arrays.copyOf(skipValues, skip);
+        skipPositions = Arrays.copyOf(skipPositions, skip);
+        data = Arrays.copyOf(data, position);
+    }
+
+    private int writeVarint(int position, int value) {
+        if (position + 5 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+
+        while ((value & ~0x7f) != 0) {
+            data[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        data[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Get the number of ids in a row.
+     * @param  i index of the row
+     * @return   number of ids
+     */
+    int getDegree(int i) {
+        return degrees[i];
+    }
+
+    /**
+     * Get the number of ids in all rows.
+     * @return number of ids
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Check if a row contains an id.
+     * @param  i  index of the row
+     * @param  id the id to look for
+     * @return    true if the row contains id
+     */
+    boolean contains(int i, int id) {
+        Cursor cursor = new Cursor(i);
+
+        // Find the last block starting before id
+        int low = skipStart[i];
+        int high = skipStart[i + 1] - 1;
+        int block = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (skipValues[middle] < id) {
+                block = middle;
+                low = middle + 1;
+            } else if (skipValues[middle] > id) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+
+        if (block != -1) {
+            cursor.skipTo(block - skipStart[i], skipValues[block], skipPositions[block]);
+        }
+
+        while (cursor.next()) {
+            if (cursor.value >= id) {
+                return cursor.value == id;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Decoding cursor over a row.
+     * next() has to be called before reading the first value.
+     */
+    class Cursor {
+        private int position;
+        private int remaining;
+        int value;
+
+        Cursor(int i) {
+            position = offsets[i];
+            remaining = degrees[i];
+            value = 0;
+        }
+
+        private void skipTo(int block, int blockValue, int blockPosition) {
+            position = blockPosition;
+            remaining -= (block + 1) * SKIP;
+            value = blockValue;
+        }
+
+        /**
+         * Move to the next id of the row.
+         * @return false if the row has ended
+         */
+        boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+
+            remaining--;
+
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            value += gap;
+            return true;
+        }
+    }
+
+    /**
+     * Get a cursor over a row.
+     * @param  i index of the row
+     * @return   a cursor before the first id of the row
+     */
+    Cursor cursor(int i) {
+        return new Cursor(i);
+    }
+
+    /**
+     * Get the number of bytes used by the rows.
+     * @return number of bytes
+     */
+    long getBytesSize() {
+        return data.length + 4L * (offsets.length + degrees.length + skipStart.length
+                + skipValues.length + skipPositions.length);
+    }
+
+    /**
+     * Get the number of bytes used by the rows, object and array headers
+     * included.
+     * @return number of bytes
+     */
+    long footprintBytes() {
+        return MemoryFootprint.align(MemoryFootprint.OBJECT_HEADER + 6 * MemoryFootprint.REFERENCE + 8)
+            + MemoryFootprint.array(data.length, 1) + MemoryFootprint.array(offsets.length, 4)
+            + MemoryFootprint.array(degrees.length, 4) + MemoryFootprint.array(skipStart.length, 4)
+            + MemoryFootprint.array(skipValues.length, 4) + MemoryFootprint.array(skipPositions.length, 4);
+    }
+}
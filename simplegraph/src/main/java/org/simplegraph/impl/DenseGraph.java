@@ -1,13 +1,14 @@
 package org.simplegraph.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.simplegraph.Graph;
 
 /**
  * Dense graph implemention.
  */
-public class DenseGraph<V> extends BaseUndirectedDenseGraph<V, Boolean> implements Graph<V> {
+public class DenseGraph<V> extends BaseUndirectedDenseGraph<V, Boolean> implements ViewableGraph<V> {
     public DenseGraph() {
         super();
     }
@@ -55,6 +56,11 @@ public class DenseGraph<V> extends BaseUndirectedDenseGraph<V, Boolean> implemen
         return super.countNeighbors(vertex);
     }
 
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
     @Override
     public List<V> getNeighbors(V vertex) {
         return super.getNeighbors(vertex);
@@ -85,4 +91,13 @@ public class DenseGraph<V> extends BaseUndirectedDenseGraph<V, Boolean> implemen
     {
         return new DenseGraph<V>();
     }
+
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public FrozenGraph<V> freeze() {
+        return new FrozenGraph<V>(this);
+    }
 }
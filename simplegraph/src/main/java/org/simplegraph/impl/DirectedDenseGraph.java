@@ -1,13 +1,14 @@
 package org.simplegraph.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.simplegraph.DirectedGraph;
 
 /**
  Dense graph implementation for directed graphs.
  */
-public class DirectedDenseGraph<V> extends BaseDirectedDenseGraph<V, Boolean> implements DirectedGraph<V> {
+public class DirectedDenseGraph<V> extends BaseDirectedDenseGraph<V, Boolean> implements ViewableDirectedGraph<V> {
     /**
      * Default constructor
      */
@@ -66,6 +67,21 @@ public class DirectedDenseGraph<V> extends BaseDirectedDenseGraph<V, Boolean> im
         return super.countNeighbors(vertex);
     }
 
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachInVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachOutVertex(vertex, action);
+    }
+
     @Override
     public List<V> getNeighbors(V vertex) {
         return super.getNeighbors(vertex);
@@ -94,4 +110,13 @@ public class DirectedDenseGraph<V> extends BaseDirectedDenseGraph<V, Boolean> im
     public DirectedGraph<V> getSpanningTree() {
         return (DirectedDenseGraph<V>) _getSpanningTree();
     }
+
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public DirectedFrozenGraph<V> freeze() {
+        return new DirectedFrozenGraph<V>(this);
+    }
 }
@@ -0,0 +1,124 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.simplegraph.DirectedGraph;
+
+/**
+ Immutable snapshot of a directed graph, stored in compressed sparse row
+ format.
+ */
+public class DirectedFrozenGraph<V> extends BaseFrozenGraph<V> implements ViewableDirectedGraph<V> {
+    /**
+     * Create a snapshot of a graph.
+     * @param graph graph to freeze
+     */
+    public DirectedFrozenGraph(DirectedGraph<V> graph) {
+        build(graph.getVertices(), graph::getOutVertices, true);
+    }
+
+    /**
+     * Frozen graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Frozen graphs cannot be modified");
+    }
+
+    @Override
+    public boolean addVertex(V vertex) {
+        return super.addVertex(vertex);
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return super.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return super.countVertices();
+    }
+
+    @Override
+    public boolean existsPath(V source, V destination) {
+        return super.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return super.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return super.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachInVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachOutVertex(vertex, action);
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return super.getNeighbors(vertex);
+    }
+
+    @Override
+    public List<V> getPath(V source, V destination) {
+        return super.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(V v1, V v2) {
+        return super.removeEdge(v1, v2);
+    }
+
+    @Override
+    public boolean removeVertex(V vertex) {
+        return super.removeVertex(vertex);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return super.getVertices();
+    }
+
+    @Override
+    public List<V> getInVertices(V vertex) {
+        return super.getInVertices(vertex);
+    }
+
+    @Override
+    public List<V> getOutVertices(V vertex) {
+        return super.getOutVertices(vertex);
+    }
+
+    @Override
+    public int getInDegree(V vertex) {
+        return super.getInDegree(vertex);
+    }
+
+    @Override
+    public int getOutDegree(V vertex) {
+        return super.getOutDegree(vertex);
+    }
+
+    @Override
+    public DirectedGraph<V> getSpanningTree() {
+        return null;
+    }
+}
@@ -1,16 +1,14 @@
 package org.simplegraph.impl;
 
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 import org.simplegraph.DirectedGraph;
 
 /**
  Sparse graph implementation for directed graphs.
  */
-public class DirectedSparseGraph<V> extends BaseDirectedSparseGraph<V, Boolean> implements DirectedGraph<V> {
+public class DirectedSparseGraph<V> extends BaseDirectedSparseGraph<V, Boolean> implements ViewableDirectedGraph<V> {
     /**
      * Default constructor
      */
@@ -26,6 +24,16 @@ public class DirectedSparseGraph<V> extends BaseDirectedSparseGraph<V, Boolean>
         super(size);
     }
 
+    /**
+     * Create a graph with a starting size, optionally indexing the incident
+     * vertices of every vertex.
+     * @param size         starting size
+     * @param indexInEdges true to make getInVertices() O(in-degree)
+     */
+    public DirectedSparseGraph(int size, boolean indexInEdges) {
+        super(size, indexInEdges);
+    }
+
     public DirectedSparseGraph(DirectedSparseGraph<V> graph) {
         copy(graph);
     }
@@ -65,6 +73,21 @@ public class DirectedSparseGraph<V> extends BaseDirectedSparseGraph<V, Boolean>
         return super.countNeighbors(vertex);
     }
 
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachInVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachOutVertex(vertex, action);
+    }
+
     @Override
     public List<V> getPath(V source, V destination) {
         return super.getPath(source, destination);
@@ -86,70 +109,40 @@ public class DirectedSparseGraph<V> extends BaseDirectedSparseGraph<V, Boolean>
     }
     @Override
     public List<V> getNeighbors(V vertex) {
-        if (!containsVertex(vertex)) {
-            return null;
-        }
-
-        List<V> neighbors = getOutVertices(vertex);
-
-        // Do not add duplicated element
-        for (V v : getInVertices(vertex)) {
-            if (!neighbors.contains(v)) {
-                neighbors.add(v);
-            }
-        }
-
-        return neighbors;
+        return super.getNeighbors(vertex);
     }
 
     @Override
     public List<V> getInVertices(V vertex) {
-        if (!containsVertex(vertex)) {
-            return null;
-        }
-
-        LinkedList<V> vertices = new LinkedList<V>();
-
-        // Get all incident vertices with vertex
-        for (Map.Entry<V, HashMap<V, Boolean>> entry : edges.entrySet()) {
-            if (entry.getValue().get(vertex) != null) {
-                vertices.add(entry.getKey());
-            }
-        }
-
-        return vertices;
+        return super.getInVertices(vertex);
     }
 
     @Override
     public List<V> getOutVertices(V vertex) {
-        if (!containsVertex(vertex)) {
-            return null;
-        }
-
-        return new LinkedList<V>(edges.get(vertex).keySet());
+        return super.getOutVertices(vertex);
     }
 
     @Override
     public int getInDegree(V vertex) {
-        if (!containsVertex(vertex)) {
-            return -1;
-        }
-
-        return getInVertices(vertex).size();
+        return super.getInDegree(vertex);
     }
 
     @Override
     public int getOutDegree(V vertex) {
-        if (!containsVertex(vertex)) {
-            return -1;
-        }
-
-        return getOutVertices(vertex).size();
+        return super.getOutDegree(vertex);
     }
 
     @Override
     public DirectedGraph<V> getSpanningTree() {
         return new DirectedSparseGraph<V>();
     }
-}
 
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public DirectedFrozenGraph<V> freeze() {
+        return new DirectedFrozenGraph<V>(this);
+    }
+}
@@ -1,14 +1,15 @@
 package org.simplegraph.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 import org.simplegraph.DirectedWeightedGraph;
-import org.simplegraph.util.Algorithms;
 
 /**
  Dense graph implementation for directed and weighted graphs.
  */
-public class DirectedWeightedDenseGraph<V> extends BaseDirectedDenseGraph<V, Double> implements DirectedWeightedGraph<V> {
+public class DirectedWeightedDenseGraph<V> extends BaseDirectedDenseGraph<V, Double> implements ViewableDirectedWeightedGraph<V> {
     public DirectedWeightedDenseGraph() {
         initialize(DEFAULT_SIZE);
     }
@@ -52,6 +53,26 @@ public class DirectedWeightedDenseGraph<V> extends BaseDirectedDenseGraph<V, Dou
         return super.countNeighbors(vertex);
     }
 
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachInVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachOutVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return _forEachOutEdge(vertex, action);
+    }
+
     @Override
     public List<V> getNeighbors(V vertex) {
         return super.getNeighbors(vertex);
@@ -86,6 +107,16 @@ public class DirectedWeightedDenseGraph<V> extends BaseDirectedDenseGraph<V, Dou
         return getSingleEdge(v1, v2);
     }
 
+    @Override
+    protected double getEdgeWeight(Double edge) {
+        return edge;
+    }
+
+    @Override
+    protected boolean isWeighted() {
+        return true;
+    }
+
     @Override
     public DirectedWeightedGraph<V> getSpanningTree() {
         return (DirectedWeightedDenseGraph<V>) _getSpanningTree();
@@ -93,16 +124,25 @@ public class DirectedWeightedDenseGraph<V> extends BaseDirectedDenseGraph<V, Dou
 
     @Override
     public Double getMinimumDistance(V source, V destination) {
-        return Algorithms.<V>getMinimumDistance(this, source, destination);
+        return _getMinimumDistance(source, destination);
     }
 
     @Override
     public List<V> getShortestPath(V source, V destination) {
-        return Algorithms.<V>getShortestPath(this, source, destination);
+        return _getShortestPath(source, destination);
     }
 
     @Override
     public DirectedWeightedGraph<V> getMinimumSpanningTree() {
     return null;
     }
+
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public DirectedWeightedFrozenGraph<V> freeze() {
+        return new DirectedWeightedFrozenGraph<V>(this);
+    }
 }
@@ -0,0 +1,189 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.DirectedWeightedGraph;
+
+/**
+ Dense graph implementation for directed and weighted graphs storing the
+ weights as primitive floats.
+ */
+public class DirectedWeightedFloatDenseGraph<V> extends BaseFloatDenseGraph<V> implements ViewableDirectedWeightedGraph<V> {
+    /**
+     * Default constructor
+     */
+    public DirectedWeightedFloatDenseGraph() {
+        initialize(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a graph of a specified size
+     * @param size starting size
+     */
+    public DirectedWeightedFloatDenseGraph(int size) {
+        initialize(size);
+    }
+
+    /**
+     * Copy constructor
+     * @param graph graph to copy
+     */
+    public DirectedWeightedFloatDenseGraph(DirectedWeightedFloatDenseGraph<V> graph) {
+        copy(graph);
+    }
+
+    @Override
+    protected boolean isDirected() {
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(V v1, V v2, Double weight) {
+        if (weight == null) {
+            return false;
+        }
+
+        return addSingleEdge(v1, v2, weight);
+    }
+
+    @Override
+    public Double getWeight(V v1, V v2) {
+        double weight = getSingleEdge(v1, v2);
+        if (Double.isNaN(weight)) {
+            return null;
+        }
+
+        return weight;
+    }
+
+    @Override
+    public double getWeightAsDouble(V v1, V v2) {
+        return getSingleEdge(v1, v2);
+    }
+
+    @Override
+    public boolean addVertex(V vertex) {
+        return super.addVertex(vertex);
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return super.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return super.countVertices();
+    }
+
+    @Override
+    public boolean existsPath(V source, V destination) {
+        return super.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return super.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return super.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachInVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachOutVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return _forEachOutEdge(vertex, action);
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return super.getNeighbors(vertex);
+    }
+
+    @Override
+    public List<V> getPath(V source, V destination) {
+        return super.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(V v1, V v2) {
+        return super.removeEdge(v1, v2);
+    }
+
+    @Override
+    public boolean removeVertex(V vertex) {
+        return super.removeVertex(vertex);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return super.getVertices();
+    }
+
+    @Override
+    public List<V> getInVertices(V vertex) {
+        return super.getInVertices(vertex);
+    }
+
+    @Override
+    public List<V> getOutVertices(V vertex) {
+        return super.getOutVertices(vertex);
+    }
+
+    @Override
+    public int getInDegree(V vertex) {
+        return super.getInDegree(vertex);
+    }
+
+    @Override
+    public int getOutDegree(V vertex) {
+        return super.getOutDegree(vertex);
+    }
+
+    @Override
+    public DirectedWeightedGraph<V> getSpanningTree() {
+        return null;
+    }
+
+    @Override
+    public Double getMinimumDistance(V source, V destination) {
+        return _getMinimumDistance(source, destination);
+    }
+
+    @Override
+    public List<V> getShortestPath(V source, V destination) {
+        return _getShortestPath(source, destination);
+    }
+
+    @Override
+    public DirectedWeightedGraph<V> getMinimumSpanningTree() {
+        return null;
+    }
+
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public DirectedWeightedFrozenGraph<V> freeze() {
+        return new DirectedWeightedFrozenGraph<V>(this);
+    }
+}
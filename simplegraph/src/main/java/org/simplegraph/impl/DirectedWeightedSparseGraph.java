@@ -1,14 +1,20 @@
 package org.simplegraph.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 import org.simplegraph.DirectedWeightedGraph;
 import org.simplegraph.util.Algorithms;
 
 /**
  Sparse graph implementation for directed and weighted graphs.
+
+ There is no single precision variant: the weights are the values of the
+ HashMap of each vertex, and a boxed Float takes as much memory as a boxed
+ Double. DirectedWeightedFloatDenseGraph stores floats for dense graphs.
  */
-public class DirectedWeightedSparseGraph<V> extends BaseDirectedSparseGraph<V, Double> implements DirectedWeightedGraph<V> {
+public class DirectedWeightedSparseGraph<V> extends BaseDirectedSparseGraph<V, Double> implements ViewableDirectedWeightedGraph<V> {
     /**
      * Default constructor
      */
@@ -24,6 +30,16 @@ public class DirectedWeightedSparseGraph<V> extends BaseDirectedSparseGraph<V, D
         super(size);
     }
 
+    /**
+     * Create a graph with a starting size, optionally indexing the incident
+     * vertices of every vertex.
+     * @param size         starting size
+     * @param indexInEdges true to make getInVertices() O(in-degree)
+     */
+    public DirectedWeightedSparseGraph(int size, boolean indexInEdges) {
+        super(size, indexInEdges);
+    }
+
     public DirectedWeightedSparseGraph(DirectedWeightedSparseGraph<V> graph) {
         copy(graph);
     }
@@ -38,6 +54,16 @@ public class DirectedWeightedSparseGraph<V> extends BaseDirectedSparseGraph<V, D
         return getSingleEdge(v1, v2);
     }
 
+    @Override
+    protected double getEdgeWeight(Double edge) {
+        return edge;
+    }
+
+    @Override
+    protected boolean isWeighted() {
+        return true;
+    }
+
     @Override
     public boolean addVertex(V vertex) {
      return super.addVertex(vertex);
@@ -68,6 +94,26 @@ public class DirectedWeightedSparseGraph<V> extends BaseDirectedSparseGraph<V, D
         return super.countNeighbors(vertex);
     }
 
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachInVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return super.forEachOutVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return _forEachOutEdge(vertex, action);
+    }
+
     @Override
     public List<V> getNeighbors(V vertex) {
         return super.getNeighbors(vertex);
@@ -93,6 +139,26 @@ public class DirectedWeightedSparseGraph<V> extends BaseDirectedSparseGraph<V, D
         return super.getVertices();
     }
 
+    @Override
+    public List<V> getInVertices(V vertex) {
+        return super.getInVertices(vertex);
+    }
+
+    @Override
+    public List<V> getOutVertices(V vertex) {
+        return super.getOutVertices(vertex);
+    }
+
+    @Override
+    public int getInDegree(V vertex) {
+        return super.getInDegree(vertex);
+    }
+
+    @Override
+    public int getOutDegree(V vertex) {
+        return super.getOutDegree(vertex);
+    }
+
     @Override
     public DirectedWeightedGraph<V> getSpanningTree() {
         return new DirectedWeightedSparseGraph<V>();
@@ -110,7 +176,15 @@ public class DirectedWeightedSparseGraph<V> extends BaseDirectedSparseGraph<V, D
 
     @Override
     public List<V> getShortestPath(V source, V destination) {
-        return Algorithms.<V>getShortestPath(this, source, destination);
+        return _getShortestPath(source, destination);
     }
-}
 
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public DirectedWeightedFrozenGraph<V> freeze() {
+        return new DirectedWeightedFrozenGraph<V>(this);
+    }
+}
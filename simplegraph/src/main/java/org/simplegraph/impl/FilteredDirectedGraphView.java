@@ -0,0 +1,163 @@
+package org.simplegraph.impl;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.simplegraph.DirectedGraph;
+
+/**
+ Filtered view of a directed graph.
+ */
+class FilteredDirectedGraphView<V> extends FilteredView<V> implements ViewableDirectedGraph<V> {
+    private final DirectedGraph<V> g;
+
+    /**
+     * Create a filtered view of a graph.
+     * @param g            the graph to filter
+     * @param vertexFilter predicate of the vertices to keep
+     * @param edgeFilter   predicate of the edges to keep, called with the
+     *                     source and the destination of the edge
+     */
+    FilteredDirectedGraphView(DirectedGraph<V> g, Predicate<? super V> vertexFilter,
+            BiPredicate<? super V, ? super V> edgeFilter) {
+        super(vertexFilter, edgeFilter);
+        this.g = g;
+    }
+
+    @Override
+    protected boolean graphContainsVertex(V vertex) {
+        return g.containsVertex(vertex);
+    }
+
+    @Override
+    protected boolean graphExistsEdge(V v1, V v2) {
+        return g.existsEdge(v1, v2);
+    }
+
+    @Override
+    protected List<V> graphVertices() {
+        return g.getVertices();
+    }
+
+    @Override
+    protected void graphForEachNeighbor(V vertex, Consumer<? super V> action) {
+        g.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    protected boolean isNeighbor(V vertex, V neighbor) {
+        if (!vertexFilter.test(neighbor)) {
+            return false;
+        }
+
+        // The neighbor is kept if any of the edges between the two is
+        return (edgeFilter.test(vertex, neighbor) && g.existsEdge(vertex, neighbor))
+            || (edgeFilter.test(neighbor, vertex) && g.existsEdge(neighbor, vertex));
+    }
+
+    @Override
+    protected void forEachNext(V vertex, Consumer<? super V> action) {
+        forEachOutVertex(vertex, action);
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    @Override
+    public int countEdges() {
+        int count = 0;
+        for (V v : getVertices()) {
+            count += getOutDegree(v);
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        if (!containsVertex(vertex)) {
+            return false;
+        }
+
+        g.forEachInVertex(vertex, v -> {
+            if (vertexFilter.test(v) && edgeFilter.test(v, vertex)) {
+                action.accept(v);
+            }
+        });
+
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        if (!containsVertex(vertex)) {
+            return false;
+        }
+
+        g.forEachOutVertex(vertex, v -> {
+            if (vertexFilter.test(v) && edgeFilter.test(vertex, v)) {
+                action.accept(v);
+            }
+        });
+
+        return true;
+    }
+
+    @Override
+    public List<V> getInVertices(V vertex) {
+        LinkedList<V> vertices = new LinkedList<V>();
+        if (!forEachInVertex(vertex, vertices::add)) {
+            return null;
+        }
+
+        return vertices;
+    }
+
+    @Override
+    public List<V> getOutVertices(V vertex) {
+        LinkedList<V> vertices = new LinkedList<V>();
+        if (!forEachOutVertex(vertex, vertices::add)) {
+            return null;
+        }
+
+        return vertices;
+    }
+
+    @Override
+    public int getInDegree(V vertex) {
+        int[] count = new int[1];
+        if (!forEachInVertex(vertex, v -> count[0]++)) {
+            return -1;
+        }
+
+        return count[0];
+    }
+
+    @Override
+    public int getOutDegree(V vertex) {
+        int[] count = new int[1];
+        if (!forEachOutVertex(vertex, v -> count[0]++)) {
+            return -1;
+        }
+
+        return count[0];
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public DirectedGraph<V> getSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+}
@@ -0,0 +1,70 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.simplegraph.Graph;
+
+/**
+ Filtered view of an undirected graph.
+ */
+class FilteredGraphView<V> extends FilteredView<V> implements ViewableGraph<V> {
+    private final Graph<V> g;
+
+    /**
+     * Create a filtered view of a graph.
+     * @param g            the graph to filter
+     * @param vertexFilter predicate of the vertices to keep
+     * @param edgeFilter   predicate of the edges to keep
+     */
+    FilteredGraphView(Graph<V> g, Predicate<? super V> vertexFilter,
+            BiPredicate<? super V, ? super V> edgeFilter) {
+        super(vertexFilter, edgeFilter);
+        this.g = g;
+    }
+
+    @Override
+    protected boolean graphContainsVertex(V vertex) {
+        return g.containsVertex(vertex);
+    }
+
+    @Override
+    protected boolean graphExistsEdge(V v1, V v2) {
+        return g.existsEdge(v1, v2);
+    }
+
+    @Override
+    protected List<V> graphVertices() {
+        return g.getVertices();
+    }
+
+    @Override
+    protected void graphForEachNeighbor(V vertex, Consumer<? super V> action) {
+        g.forEachNeighbor(vertex, action);
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    @Override
+    public int countEdges() {
+        return super.countEdges();
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Graph<V> getSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+}
@@ -0,0 +1,139 @@
+package org.simplegraph.impl;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ View of a graph keeping only the vertices and the edges that satisfy two
+ predicates. An edge is kept if both its vertices are kept too.
+
+ The predicates are checked on every query, so counting the vertices or the
+ edges of the view visits the whole underlying graph.
+ */
+abstract class FilteredView<V> extends GraphView<V> {
+    protected final Predicate<? super V> vertexFilter;
+    protected final BiPredicate<? super V, ? super V> edgeFilter;
+
+    /**
+     * Create a filtered view of a graph.
+     * @param vertexFilter predicate of the vertices to keep
+     * @param edgeFilter   predicate of the edges to keep, called with the
+     *                     first and the second vertex of the edge
+     */
+    FilteredView(Predicate<? super V> vertexFilter,
+            BiPredicate<? super V, ? super V> edgeFilter) {
+        this.vertexFilter = vertexFilter;
+        this.edgeFilter = edgeFilter;
+    }
+
+    /**
+     * Does the underlying graph contain a vertex.
+     * @param  vertex the vertex
+     * @return        true if the vertex is contained
+     */
+    protected abstract boolean graphContainsVertex(V vertex);
+
+    /**
+     * Does the underlying graph contain an edge.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if the edge exists
+     */
+    protected abstract boolean graphExistsEdge(V v1, V v2);
+
+    /**
+     * Get the vertices of the underlying graph.
+     * @return the vertices
+     */
+    protected abstract List<V> graphVertices();
+
+    /**
+     * Call an action on each neighbor of a vertex in the underlying graph.
+     * @param vertex the vertex, contained in the graph
+     * @param action the action to call on each neighbor
+     */
+    protected abstract void graphForEachNeighbor(V vertex, Consumer<? super V> action);
+
+    /**
+     * Is a vertex, that is a neighbor of another in the underlying graph,
+     * one of its neighbors in the view too.
+     * @param  vertex   the vertex, contained in the view
+     * @param  neighbor the neighbor
+     * @return          true if the neighbor is kept
+     */
+    protected boolean isNeighbor(V vertex, V neighbor) {
+        return vertexFilter.test(neighbor) && edgeFilter.test(vertex, neighbor);
+    }
+
+    @Override
+    protected void forEachNext(V vertex, Consumer<? super V> action) {
+        forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return graphContainsVertex(vertex) && vertexFilter.test(vertex);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return containsVertex(v1) && containsVertex(v2)
+            && graphExistsEdge(v1, v2) && edgeFilter.test(v1, v2);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        LinkedList<V> vertices = new LinkedList<V>();
+        for (V v : graphVertices()) {
+            if (vertexFilter.test(v)) {
+                vertices.add(v);
+            }
+        }
+
+        return vertices;
+    }
+
+    @Override
+    public int countVertices() {
+        int count = 0;
+        for (V v : graphVertices()) {
+            if (vertexFilter.test(v)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the number of edges in the view.
+     * @return number of edges
+     */
+    public int countEdges() {
+        // Every undirected edge is seen from both its vertices
+        int count = 0;
+        for (V v : getVertices()) {
+            count += countNeighbors(v);
+        }
+
+        return count / 2;
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        if (!containsVertex(vertex)) {
+            return false;
+        }
+
+        graphForEachNeighbor(vertex, v -> {
+            if (isNeighbor(vertex, v)) {
+                action.accept(v);
+            }
+        });
+
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Predicate;
+
+import org.simplegraph.WeightedGraph;
+import org.simplegraph.util.Algorithms;
+
+/**
+ Filtered view of an undirected and weighted graph.
+ */
+class FilteredWeightedGraphView<V> extends FilteredView<V> implements ViewableWeightedGraph<V> {
+    private final WeightedGraph<V> g;
+
+    /**
+     * Create a filtered view of a graph.
+     * @param g            the graph to filter
+     * @param vertexFilter predicate of the vertices to keep
+     * @param edgeFilter   predicate of the edges to keep
+     */
+    FilteredWeightedGraphView(WeightedGraph<V> g, Predicate<? super V> vertexFilter,
+            BiPredicate<? super V, ? super V> edgeFilter) {
+        super(vertexFilter, edgeFilter);
+        this.g = g;
+    }
+
+    @Override
+    protected boolean graphContainsVertex(V vertex) {
+        return g.containsVertex(vertex);
+    }
+
+    @Override
+    protected boolean graphExistsEdge(V v1, V v2) {
+        return g.existsEdge(v1, v2);
+    }
+
+    @Override
+    protected List<V> graphVertices() {
+        return g.getVertices();
+    }
+
+    @Override
+    protected void graphForEachNeighbor(V vertex, Consumer<? super V> action) {
+        g.forEachNeighbor(vertex, action);
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2, Double weight) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    @Override
+    public Double getWeight(V v1, V v2) {
+        if (!existsEdge(v1, v2)) {
+            return null;
+        }
+
+        return g.getWeight(v1, v2);
+    }
+
+    @Override
+    public double getWeightAsDouble(V v1, V v2) {
+        if (!existsEdge(v1, v2)) {
+            return Double.NaN;
+        }
+
+        return g.getWeightAsDouble(v1, v2);
+    }
+
+    @Override
+    public int countEdges() {
+        return super.countEdges();
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        if (!containsVertex(vertex)) {
+            return false;
+        }
+
+        g.forEachOutEdge(vertex, (v, weight) -> {
+            if (vertexFilter.test(v) && edgeFilter.test(vertex, v)) {
+                action.accept(v, weight);
+            }
+        });
+
+        return true;
+    }
+
+    @Override
+    public List<V> getShortestPath(V source, V destination) {
+        return Algorithms.<V>getShortestPath(this, source, destination);
+    }
+
+    @Override
+    public Double getMinimumDistance(V source, V destination) {
+        return Algorithms.<V>getMinimumDistance(this, source, destination);
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public WeightedGraph<V> getSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public WeightedGraph<V> getMinimumSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+}
@@ -0,0 +1,174 @@
+package org.simplegraph.impl;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ Read-only view over another graph.
+
+ Views do not copy the vertices nor the edges: every query is answered by
+ the underlying graph, so they reflect its later changes and cost nothing
+ to create. Methods that would modify the graph throw
+ UnsupportedOperationException. They are created by GraphViews.
+ */
+abstract class GraphView<V> {
+    /**
+     * Call an action on each vertex reachable from a vertex with a single
+     * edge, used by getPath().
+     * @param vertex the specified vertex, contained in the view
+     * @param action the action to call on each vertex
+     */
+    protected abstract void forEachNext(V vertex, Consumer<? super V> action);
+
+    /**
+     * Call an action on each neighbor of a vertex, without building a list.
+     * @param  vertex the specified vertex
+     * @param  action the action to call on each neighbor
+     * @return        false if the vertex is not contained in the view
+     */
+    public abstract boolean forEachNeighbor(V vertex, Consumer<? super V> action);
+
+    /**
+     * Check the existence of a vertex in the view.
+     * @param  vertex the vertex to check
+     * @return        true if the view contains vertex
+     */
+    public abstract boolean containsVertex(V vertex);
+
+    /**
+     * Check the existence of an edge that goes from the first vertex to the second.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    true if an edge from v1 to v2 exists
+     */
+    public abstract boolean existsEdge(V v1, V v2);
+
+    /**
+     * Get all the vertices in the view
+     * @return a list containing all the vertices
+     */
+    public abstract List<V> getVertices();
+
+    /**
+     * Get the number of vertices in the view.
+     * @return number of vertices
+     */
+    public abstract int countVertices();
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean addVertex(V vertex) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean removeVertex(V vertex) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    public boolean removeEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    /**
+     * Get the number of neighbors for a vertex.
+     * @param  vertex the spefied vertex
+     * @return        number of neighbors, -1 if vertex does not exists
+     */
+    public int countNeighbors(V vertex) {
+        int[] count = new int[1];
+        if (!forEachNeighbor(vertex, v -> count[0]++)) {
+            return -1;
+        }
+
+        return count[0];
+    }
+
+    /**
+     * Get the neighbors of a vertex
+     * @param  vertex the specified vertex
+     * @return        the list of vertices that are neighbors of vertex
+     *                null if the vertex is not contained in the view
+     */
+    public List<V> getNeighbors(V vertex) {
+        LinkedList<V> neighbors = new LinkedList<V>();
+        if (!forEachNeighbor(vertex, neighbors::add)) {
+            return null;
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Get a path between a source and a destination
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            a list containing the vertices that
+     *                    compose the path, in order; an empty LinkedList if
+     *                    there is no path, null if the source and the
+     *                    destination are equals or are not contained in the
+     *                    view
+     */
+    public List<V> getPath(V source, V destination) {
+        if (!containsVertex(source) || !containsVertex(destination)) {
+            return null;
+        }
+
+        if (source.equals(destination)) {
+            return null;
+        }
+
+        HashMap<V, V> parent = new HashMap<V, V>();
+        ArrayDeque<V> queue = new ArrayDeque<V>();
+        parent.put(source, source);
+        queue.add(source);
+
+        while (!queue.isEmpty() && !parent.containsKey(destination)) {
+            V current = queue.poll();
+            forEachNext(current, v -> {
+                if (!parent.containsKey(v)) {
+                    parent.put(v, current);
+                    queue.add(v);
+                }
+            });
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+        if (parent.containsKey(destination)) {
+            for (V v = destination; !v.equals(source); v = parent.get(v)) {
+                path.addFirst(v);
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    /**
+     * Does a path exists between source and destination.
+     * @param source      source vertex
+     * @param destination destination vertex
+     * @return            true if a path exists
+     */
+    public boolean existsPath(V source, V destination) {
+        List<V> path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return !path.isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package org.simplegraph.impl;
+
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import org.simplegraph.DirectedGraph;
+import org.simplegraph.DirectedWeightedGraph;
+import org.simplegraph.Graph;
+import org.simplegraph.WeightedGraph;
+
+/**
+ Factory of the read-only views returned by inducedBy(), edgeFiltered(),
+ reversed() and asUndirected(). The views do not copy the graph and
+ reflect its later changes.
+ */
+final class GraphViews {
+    private GraphViews() {
+    }
+
+    /**
+     * Get a filtered view of an undirected graph.
+     * @param  g            the graph to filter
+     * @param  vertexFilter predicate of the vertices to keep
+     * @param  edgeFilter   predicate of the edges to keep, called with the
+     *                      two vertices of the edge, in any order
+     * @return              the view
+     */
+    static <V> Graph<V> filtered(Graph<V> g, Predicate<? super V> vertexFilter,
+            BiPredicate<? super V, ? super V> edgeFilter) {
+        return new FilteredGraphView<V>(g, vertexFilter, edgeFilter);
+    }
+
+    /**
+     * Get a filtered view of a directed graph.
+     * @param  g            the graph to filter
+     * @param  vertexFilter predicate of the vertices to keep
+     * @param  edgeFilter   predicate of the edges to keep, called with the
+     *                      source and the destination of the edge
+     * @return              the view
+     */
+    static <V> DirectedGraph<V> filtered(DirectedGraph<V> g, Predicate<? super V> vertexFilter,
+            BiPredicate<? super V, ? super V> edgeFilter) {
+        return new FilteredDirectedGraphView<V>(g, vertexFilter, edgeFilter);
+    }
+
+    /**
+     * Get a filtered view of an undirected and weighted graph.
+     * @param  g            the graph to filter
+     * @param  vertexFilter predicate of the vertices to keep
+     * @param  edgeFilter   predicate of the edges to keep, called with the
+     *                      two vertices of the edge, in any order
+     * @return              the view
+     */
+    static <V> WeightedGraph<V> filtered(WeightedGraph<V> g, Predicate<? super V> vertexFilter,
+            BiPredicate<? super V, ? super V> edgeFilter) {
+        return new FilteredWeightedGraphView<V>(g, vertexFilter, edgeFilter);
+    }
+
+    /**
+     * Get a filtered view of a directed and weighted graph.
+     * @param  g            the graph to filter
+     * @param  vertexFilter predicate of the vertices to keep
+     * @param  edgeFilter   predicate of the edges to keep, called with the
+     *                      source and the destination of the edge
+     * @return              the view
+     */
+    static <V> DirectedWeightedGraph<V> filtered(DirectedWeightedGraph<V> g,
+            Predicate<? super V> vertexFilter, BiPredicate<? super V, ? super V> edgeFilter) {
+        return new FilteredDirectedWeightedGraphView<V>(g, vertexFilter, edgeFilter);
+    }
+
+    /**
+     * Get a view of a graph with every edge going the other way.
+     * @param  g the graph
+     * @return   the view
+     */
+    static <V> DirectedGraph<V> reversed(DirectedGraph<V> g) {
+        return new ReversedGraphView<V>(g);
+    }
+
+    /**
+     * Get a view of a weighted graph with every edge going the other way.
+     * @param  g the graph
+     * @return   the view
+     */
+    static <V> DirectedWeightedGraph<V> reversed(DirectedWeightedGraph<V> g) {
+        return new ReversedWeightedGraphView<V>(g);
+    }
+
+    /**
+     * Get a view of a graph ignoring the direction of the edges.
+     * @param  g the graph
+     * @return   the view
+     */
+    static <V> Graph<V> undirected(DirectedGraph<V> g) {
+        return new UndirectedGraphView<V>(g);
+    }
+
+    /**
+     * Get a view of a weighted graph ignoring the direction of the edges.
+     * @param  g the graph
+     * @return   the view
+     */
+    static <V> WeightedGraph<V> undirected(DirectedWeightedGraph<V> g) {
+        return new UndirectedWeightedGraphView<V>(g);
+    }
+}
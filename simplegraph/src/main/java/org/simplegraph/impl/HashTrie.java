@@ -0,0 +1,350 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ Persistent hash map stored as a hash array mapped trie (HAMT).
+
+ Each node branches on 5 bits of the hash of the keys and keeps a bitmap of
+ its used branches, so that the array of a node is exactly as long as the
+ number of its entries. Maps are never modified: with() and without() copy
+ only the nodes on the path to the key, O(log32 n) of them, and share every
+ other node with the previous map. When nothing changes the same map is
+ returned.
+
+ Values cannot be null.
+ */
+final class HashTrie<K, T> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final HashTrie<?, ?> EMPTY = new HashTrie<Object, Object>(null, 0);
+
+    // Null when the map is empty
+    private final Node root;
+    private final int size;
+
+    private HashTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Get the empty map.
+     * @return a map without keys
+     */
+    @SuppressWarnings("unchecked")
+    static <K, T> HashTrie<K, T> empty() {
+        return (HashTrie<K, T>) EMPTY;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Get the value associated with a key.
+     * @param  key the key
+     * @return     the value, null if the map does not contain the key
+     */
+    @SuppressWarnings("unchecked")
+    T get(Object key) {
+        if (root == null) {
+            return null;
+        }
+
+        return (T) root.get(0, hash(key), key);
+    }
+
+    boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get a map associating a key with a value.
+     * @param  key   the key
+     * @param  value the value, not null
+     * @return       the new map, this one if the key already had the value
+     */
+    HashTrie<K, T> with(K key, T value) {
+        boolean[] added = new boolean[1];
+        Node node = root == null ? BitmapNode.EMPTY : root;
+        Node newRoot = node.with(0, hash(key), key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+
+        return new HashTrie<K, T>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Get a map without a key.
+     * @param  key the key
+     * @return     the new map, this one if it does not contain the key
+     */
+    HashTrie<K, T> without(Object key) {
+        if (root == null) {
+            return this;
+        }
+
+        Node newRoot = root.without(0, hash(key), key);
+        if (newRoot == root) {
+            return this;
+        }
+
+        return new HashTrie<K, T>(newRoot, size - 1);
+    }
+
+    /**
+     * Call an action on each entry of the map.
+     * @param action the action to call on each key and its value
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super T> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    private abstract static class Node {
+        abstract Object get(int shift, int hash, Object key);
+
+        // Return this if the node has not been changed
+        abstract Node with(int shift, int hash, Object key, Object value, boolean[] added);
+
+        // Return this if the key is missing, null if the node is now empty
+        abstract Node without(int shift, int hash, Object key);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Node with up to 32 branches. Each branch is a pair in the array: a key
+     * and its value, or null and the child node.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            int i = index(bit);
+            Object k = array[i];
+            if (k == null) {
+                return ((Node) array[i + 1]).get(shift + BITS, hash, key);
+            }
+
+            return key.equals(k) ? array[i + 1] : null;
+        }
+
+        @Override
+        Node with(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int i = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = value;
+                System.arraycopy(array, i, newArray, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            Object k = array[i];
+            Object v = array[i + 1];
+            Object[] newArray;
+            if (k == null) {
+                Node child = ((Node) v).with(shift + BITS, hash, key, value, added);
+                if (child == v) {
+                    return this;
+                }
+
+                newArray = array.clone();
+                newArray[i + 1] = child;
+            } else if (key.equals(k)) {
+                if (value.equals(v)) {
+                    return this;
+                }
+
+                newArray = array.clone();
+                newArray[i + 1] = value;
+            } else {
+                // Push both keys one level down
+                added[0] = true;
+                newArray = array.clone();
+                newArray[i] = null;
+                newArray[i + 1] = createNode(shift + BITS, k, v, hash, key, value);
+            }
+
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private static Node createNode(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = hash(k1);
+            if (h1 == h2) {
+                return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+            }
+
+            boolean[] added = new boolean[1];
+            return EMPTY.with(shift, h1, k1, v1, added).with(shift, h2, k2, v2, added);
+        }
+
+        @Override
+        Node without(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int i = index(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node child = ((Node) array[i + 1]).without(shift + BITS, hash, key);
+                if (child == array[i + 1]) {
+                    return this;
+                }
+
+                if (child != null) {
+                    Object[] newArray = array.clone();
+                    newArray[i + 1] = child;
+                    return new BitmapNode(bitmap, newArray);
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return new BitmapNode(bitmap ^ bit, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i != array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Leaf holding the keys whose hashes are all equal, as key and value
+     * pairs.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int find(Object key) {
+            for (int i = 0; i != array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return null;
+            }
+
+            int i = find(key);
+            return i == -1 ? null : array[i + 1];
+        }
+
+        @Override
+        Node with(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // Put this node under a branching one, then add the key
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(bit, new Object[] { null, this })
+                    .with(shift, hash, key, value, added);
+            }
+
+            int i = find(key);
+            if (i == -1) {
+                Object[] newArray = Arrays.copyOf(array, array.length + 2);
+                newArray[array.length] = key;
+                newArray[array.length + 1] = value;
+                added[0] = true;
+                return new CollisionNode(hash, newArray);
+            }
+
+            if (value.equals(array[i + 1])) {
+                return this;
+            }
+
+            Object[] newArray = array.clone();
+            newArray[i + 1] = value;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node without(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return this;
+            }
+
+            int i = find(key);
+            if (i == -1) {
+                return this;
+            }
+
+            if (array.length == 2) {
+                return null;
+            }
+
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i != array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.simplegraph.impl;
+
+import java.util.function.IntConsumer;
+
+import org.simplegraph.IntGraph;
+
+/**
+ Dense graph implementation for int vertices.
+ */
+public class IntDenseGraph extends BaseIntDenseGraph implements IntGraph {
+    /**
+     * Default constructor
+     */
+    public IntDenseGraph() {
+        initialize(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a graph with a starting size.
+     * @param size starting size
+     */
+    public IntDenseGraph(int size) {
+        initialize(size);
+    }
+
+    public IntDenseGraph(IntDenseGraph graph) {
+        copy(graph);
+    }
+
+    @Override
+    protected boolean isDirected() {
+        return false;
+    }
+
+    @Override
+    public boolean addEdge(int v1, int v2) {
+        return addSingleEdge(v1, v2, 1);
+    }
+
+    @Override
+    public boolean addVertex(int vertex) {
+        return super.addVertex(vertex);
+    }
+
+    @Override
+    public boolean containsVertex(int vertex) {
+        return super.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return super.countVertices();
+    }
+
+    @Override
+    public boolean existsPath(int source, int destination) {
+        return super.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(int v1, int v2) {
+        return super.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(int vertex) {
+        return super.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(int vertex, IntConsumer action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public int[] getNeighbors(int vertex) {
+        return super.getNeighbors(vertex);
+    }
+
+    @Override
+    public int[] getPath(int source, int destination) {
+        return super.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(int v1, int v2) {
+        return super.removeEdge(v1, v2);
+    }
+
+    @Override
+    public boolean removeVertex(int vertex) {
+        return super.removeVertex(vertex);
+    }
+
+    @Override
+    public int[] getVertices() {
+        return super.getVertices();
+    }
+
+    @Override
+    public int countEdges() {
+        return super.countEdges();
+    }
+}
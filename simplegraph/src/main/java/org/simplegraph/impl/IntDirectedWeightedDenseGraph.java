@@ -0,0 +1,156 @@
+package org.simplegraph.impl;
+
+import java.util.function.IntConsumer;
+
+import org.simplegraph.IntDoubleConsumer;
+import org.simplegraph.IntDirectedWeightedGraph;
+
+/**
+ Dense graph implementation for directed and weighted graphs of int
+ vertices.
+ */
+public class IntDirectedWeightedDenseGraph extends BaseIntDenseGraph implements IntDirectedWeightedGraph {
+    /**
+     * Default constructor
+     */
+    public IntDirectedWeightedDenseGraph() {
+        initialize(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a graph with a starting size.
+     * @param size starting size
+     */
+    public IntDirectedWeightedDenseGraph(int size) {
+        initialize(size);
+    }
+
+    public IntDirectedWeightedDenseGraph(IntDirectedWeightedDenseGraph graph) {
+        copy(graph);
+    }
+
+    @Override
+    protected boolean isDirected() {
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(int v1, int v2, double weight) {
+        return addSingleEdge(v1, v2, weight);
+    }
+
+    @Override
+    public double getWeight(int v1, int v2) {
+        return getSingleEdge(v1, v2);
+    }
+
+    @Override
+    public boolean addVertex(int vertex) {
+        return super.addVertex(vertex);
+    }
+
+    @Override
+    public boolean containsVertex(int vertex) {
+        return super.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return super.countVertices();
+    }
+
+    @Override
+    public boolean existsPath(int source, int destination) {
+        return super.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(int v1, int v2) {
+        return super.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(int vertex) {
+        return super.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(int vertex, IntConsumer action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachInVertex(int vertex, IntConsumer action) {
+        return super.forEachInVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(int vertex, IntConsumer action) {
+        return super.forEachOutVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(int vertex, IntDoubleConsumer action) {
+        return _forEachOutEdge(vertex, action);
+    }
+
+    @Override
+    public int[] getNeighbors(int vertex) {
+        return super.getNeighbors(vertex);
+    }
+
+    @Override
+    public int[] getPath(int source, int destination) {
+        return super.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(int v1, int v2) {
+        return super.removeEdge(v1, v2);
+    }
+
+    @Override
+    public boolean removeVertex(int vertex) {
+        return super.removeVertex(vertex);
+    }
+
+    @Override
+    public int[] getVertices() {
+        return super.getVertices();
+    }
+
+    @Override
+    public int countEdges() {
+        return super.countEdges();
+    }
+
+    @Override
+    public int getInDegree(int vertex) {
+        return super.getInDegree(vertex);
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return super.getOutDegree(vertex);
+    }
+
+    @Override
+    public int[] getInVertices(int vertex) {
+        return super.getInVertices(vertex);
+    }
+
+    @Override
+    public int[] getOutVertices(int vertex) {
+        return super.getOutVertices(vertex);
+    }
+
+    @Override
+    public int[] getShortestPath(int source, int destination) {
+        return _getShortestPath(source, destination);
+    }
+
+    @Override
+    public double getMinimumDistance(int source, int destination) {
+        return _getMinimumDistance(source, destination);
+    }
+}
@@ -0,0 +1,155 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+/**
+ Map from any int to a non negative int, with open addressing.
+
+ Every int is a valid key, so a free slot is marked by a negative value
+ instead of a reserved key. Probing is linear, the load factor is kept under
+ 1/2 and removals shift the following entries back, like in NeighborTable.
+ */
+class IntIntMap {
+    private static final int FREE = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Create a map with room for a number of keys.
+     * @param expected number of keys expected
+     */
+    IntIntMap(int expected) {
+        int capacity = 4;
+        while (capacity < expected * 2) {
+            capacity <<= 1;
+        }
+
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, FREE);
+    }
+
+    /**
+     * Copy constructor
+     * @param map map to copy
+     */
+    IntIntMap(IntIntMap map) {
+        keys = Arrays.copyOf(map.keys, map.keys.length);
+        values = Arrays.copyOf(map.values, map.values.length);
+        size = map.size;
+    }
+
+    private int getSlot(int key) {
+        // Fibonacci hashing, the capacity is a power of two
+        return (key * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(keys.length));
+    }
+
+    /**
+     * Get the value of a key.
+     * @param  key the key to look for
+     * @return     the value, -1 if the map doesn't contain key
+     */
+    int get(int key) {
+        int mask = keys.length - 1;
+        for (int k = getSlot(key); values[k] != FREE; k = (k + 1) & mask) {
+            if (keys[k] == key) {
+                return values[k];
+            }
+        }
+
+        return FREE;
+    }
+
+    /**
+     * Set the value of a key.
+     * @param key   the key
+     * @param value its value, not negative
+     */
+    void put(int key, int value) {
+        // Keep the load factor under 1/2, probes stay short
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int k = getSlot(key);
+        while (values[k] != FREE) {
+            if (keys[k] == key) {
+                values[k] = value;
+                return;
+            }
+
+            k = (k + 1) & mask;
+        }
+
+        keys[k] = key;
+        values[k] = value;
+        size++;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, FREE);
+        size = 0;
+        for (int k = 0; k != oldKeys.length; k++) {
+            if (oldValues[k] != FREE) {
+                put(oldKeys[k], oldValues[k]);
+            }
+        }
+    }
+
+    /**
+     * Remove a key from the map.
+     * @param  key the key to remove
+     * @return     the value key had, -1 if the map didn't contain it
+     */
+    int remove(int key) {
+        int mask = keys.length - 1;
+        int k = getSlot(key);
+        while (values[k] != FREE && keys[k] != key) {
+            k = (k + 1) & mask;
+        }
+
+        int value = values[k];
+        if (value == FREE) {
+            return FREE;
+        }
+
+        size--;
+
+        // Shift back the keys that were displaced by the removed one
+        int free = k;
+        for (int next = (k + 1) & mask; values[next] != FREE; next = (next + 1) & mask) {
+            int home = getSlot(keys[next]);
+            // Move the key if its home slot is not between free and next
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+
+        values[free] = FREE;
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Estimate the memory used by the map.
+     * @return the footprint, counted as vertex table
+     */
+    MemoryFootprint footprint() {
+        long used = MemoryFootprint.OBJECT_HEADER + 2 * MemoryFootprint.usedSlots(size, 4);
+        long unused = 2 * MemoryFootprint.unusedSlots(keys.length, size, 4);
+        return new MemoryFootprint(used, 0, 0, unused, 0);
+    }
+}
@@ -0,0 +1,128 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+/**
+ Bidirectional mapping between int vertices and dense int ids.
+
+ The int counterpart of VertexIndex: ids are stable for as long as the
+ vertex is in the graph and the ids of the removed vertices are recycled,
+ so every id is lower than capacity().
+ */
+class IntVertexIndex {
+    private IntIntMap ids;
+    private int[] vertices;
+    // Number of ids ever assigned
+    private int used;
+    // Stack of the ids released by remove()
+    private int[] freeIds;
+    private int freeCount;
+
+    /**
+     * Create an index with a starting size.
+     * @param size starting size
+     */
+    IntVertexIndex(int size) {
+        size = Math.max(size, 1);
+        ids = new IntIntMap(size);
+        vertices = new int[size];
+        freeIds = new int[0];
+        used = 0;
+        freeCount = 0;
+    }
+
+    /**
+     * Copy constructor
+     * @param index index to copy
+     */
+    IntVertexIndex(IntVertexIndex index) {
+        ids = new IntIntMap(index.ids);
+        vertices = Arrays.copyOf(index.vertices, index.vertices.length);
+        freeIds = Arrays.copyOf(index.freeIds, index.freeIds.length);
+        used = index.used;
+        freeCount = index.freeCount;
+    }
+
+    /**
+     * Assign an id to a vertex.
+     * @param  vertex the vertex to add
+     * @return        the id of vertex
+     */
+    int add(int vertex) {
+        int id = ids.get(vertex);
+        if (id != -1) {
+            return id;
+        }
+
+        if (freeCount != 0) {
+            id = freeIds[--freeCount];
+        } else {
+            if (used == vertices.length) {
+                vertices = Arrays.copyOf(vertices, used * 2);
+            }
+
+            id = used++;
+        }
+
+        vertices[id] = vertex;
+        ids.put(vertex, id);
+        return id;
+    }
+
+    /**
+     * Release the id of a vertex, so that it can be assigned again.
+     * @param  vertex the vertex to remove
+     * @return        the id vertex had, -1 if it was not in the index
+     */
+    int remove(int vertex) {
+        int id = ids.remove(vertex);
+        if (id == -1) {
+            return -1;
+        }
+
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, Math.max(freeCount * 2, 4));
+        }
+
+        freeIds[freeCount++] = id;
+        return id;
+    }
+
+    /**
+     * Get the id of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the id of vertex, -1 if it is not in the index
+     */
+    int getId(int vertex) {
+        return ids.get(vertex);
+    }
+
+    /**
+     * Get the vertex with the specified id.
+     * @param  id the id of a vertex in the index
+     * @return    the vertex
+     */
+    int getVertex(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Get the upper bound of the ids, to size arrays indexed by id.
+     * @return every id is lower than this value
+     */
+    int capacity() {
+        return used;
+    }
+
+    /**
+     * Estimate the memory used by the index.
+     * @return the footprint, counted as vertex table
+     */
+    MemoryFootprint footprint() {
+        int count = used - freeCount;
+        long bytes = MemoryFootprint.OBJECT_HEADER + MemoryFootprint.usedSlots(count, 4)
+            + MemoryFootprint.array(freeIds.length, 4);
+        long unused = MemoryFootprint.unusedSlots(vertices.length, count, 4);
+        return ids.footprint().plus(new MemoryFootprint(bytes, 0, 0, unused, 0));
+    }
+}
@@ -0,0 +1,130 @@
+package org.simplegraph.impl;
+
+import java.util.function.IntConsumer;
+
+import org.simplegraph.IntDoubleConsumer;
+import org.simplegraph.IntWeightedGraph;
+
+/**
+ Sparse graph implementation for weighted graphs of int vertices.
+ */
+public class IntWeightedSparseGraph extends BaseIntSparseGraph implements IntWeightedGraph {
+    /**
+     * Default constructor
+     */
+    public IntWeightedSparseGraph() {
+        initialize(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a graph with a starting size.
+     * @param size starting size
+     */
+    public IntWeightedSparseGraph(int size) {
+        initialize(size);
+    }
+
+    public IntWeightedSparseGraph(IntWeightedSparseGraph graph) {
+        copy(graph);
+    }
+
+    @Override
+    protected boolean isDirected() {
+        return false;
+    }
+
+    @Override
+    protected boolean isWeighted() {
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(int v1, int v2, double weight) {
+        return addSingleEdge(v1, v2, weight);
+    }
+
+    @Override
+    public double getWeight(int v1, int v2) {
+        return getSingleEdge(v1, v2);
+    }
+
+    @Override
+    public boolean addVertex(int vertex) {
+        return super.addVertex(vertex);
+    }
+
+    @Override
+    public boolean containsVertex(int vertex) {
+        return super.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return super.countVertices();
+    }
+
+    @Override
+    public boolean existsPath(int source, int destination) {
+        return super.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(int v1, int v2) {
+        return super.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(int vertex) {
+        return super.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(int vertex, IntConsumer action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(int vertex, IntDoubleConsumer action) {
+        return _forEachOutEdge(vertex, action);
+    }
+
+    @Override
+    public int[] getNeighbors(int vertex) {
+        return super.getNeighbors(vertex);
+    }
+
+    @Override
+    public int[] getPath(int source, int destination) {
+        return super.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(int v1, int v2) {
+        return super.removeEdge(v1, v2);
+    }
+
+    @Override
+    public boolean removeVertex(int vertex) {
+        return super.removeVertex(vertex);
+    }
+
+    @Override
+    public int[] getVertices() {
+        return super.getVertices();
+    }
+
+    @Override
+    public int countEdges() {
+        return super.countEdges();
+    }
+
+    @Override
+    public int[] getShortestPath(int source, int destination) {
+        return _getShortestPath(source, destination);
+    }
+
+    @Override
+    public double getMinimumDistance(int source, int destination) {
+        return _getMinimumDistance(source, destination);
+    }
+}
@@ -0,0 +1,633 @@
+package org.simplegraph.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.DirectedWeightedGraph;
+import org.simplegraph.util.Algorithms;
+
+/**
+ Immutable directed and weighted graph stored in a memory mapped file.
+
+ The adjacency is kept in compressed sparse row format outside of the heap:
+ the operating system page cache holds it, while the heap only holds the
+ vertices and their ids. The file is created by write() and can be opened
+ again without rebuilding anything.
+
+ File layout, all values in big endian:
+ - header: magic, version, vertices count, edges count and the position of
+   every section
+ - offsets: vertices count + 1 longs, the outer edges of the vertex i are
+   stored from offsets[i] to offsets[i + 1] - 1
+ - targets: one int for each edge, sorted by id in each row
+ - weights: one double for each edge, parallel to targets
+ - in offsets and in targets: the transposed graph, without weights
+ - vertices: the vertices serialized in id order
+
+ The vertices are read with Java serialization, so only files written by
+ trusted sources should be opened.
+ */
+public class MappedDirectedWeightedGraph<V> implements ViewableDirectedWeightedGraph<V> {
+    private static final int MAGIC = 0x53474d47;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 72;
+
+    private Object[] vertices;
+    private HashMap<V, Integer> verticesMap;
+    private long edgesCount;
+    private MappedRegion offsets;
+    private MappedRegion targets;
+    private MappedRegion weights;
+    private MappedRegion inOffsets;
+    private MappedRegion inTargets;
+
+    /**
+     * Open a graph written by write().
+     * @param path path of the file
+     * @throws IOException if the file cannot be read or it is not a graph
+     */
+    public MappedDirectedWeightedGraph(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.remaining() != HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a graph file");
+            }
+
+            if (header.getInt() != VERSION) {
+                throw new IOException(path + " has an unsupported version");
+            }
+
+            int verticesCount = header.getInt();
+            header.getInt();
+            edgesCount = header.getLong();
+            long offsetsPosition = header.getLong();
+            long targetsPosition = header.getLong();
+            long weightsPosition = header.getLong();
+            long inOffsetsPosition = header.getLong();
+            long inTargetsPosition = header.getLong();
+            long verticesPosition = header.getLong();
+
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            offsets = new MappedRegion(channel, mode, offsetsPosition, (verticesCount + 1L) * 8);
+            targets = new MappedRegion(channel, mode, targetsPosition, edgesCount * 4);
+            weights = new MappedRegion(channel, mode, weightsPosition, edgesCount * 8);
+            inOffsets = new MappedRegion(channel, mode, inOffsetsPosition, (verticesCount + 1L) * 8);
+            inTargets = new MappedRegion(channel, mode, inTargetsPosition, edgesCount * 4);
+
+            ByteBuffer dictionary = ByteBuffer.allocate((int) (channel.size() - verticesPosition));
+            readFully(channel, dictionary, verticesPosition);
+            readVertices(dictionary.array(), verticesCount);
+        }
+    }
+
+    /**
+     * Read from a channel until the buffer is full or the file ends.
+     * The buffer is flipped before returning.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int read = 0;
+        while (buffer.hasRemaining() && read != -1) {
+            read = channel.read(buffer, position + buffer.position());
+        }
+
+        buffer.flip();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readVertices(byte[] data, int verticesCount) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            vertices = (Object[]) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Cannot read the vertices", e);
+        }
+
+        if (vertices.length != verticesCount) {
+            throw new IOException("Corrupted vertices");
+        }
+
+        verticesMap = new HashMap<V, Integer>(verticesCount, 1);
+        for (int i = 0; i != verticesCount; i++) {
+            verticesMap.put((V) vertices[i], i);
+        }
+    }
+
+    /**
+     * Write a graph to a file, so that it can be opened as a mapped graph.
+     * The vertices must be serializable.
+     * @param graph graph to write
+     * @param path  path of the file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public static <V> void write(DirectedWeightedGraph<V> graph, Path path) throws IOException {
+        List<V> vertexList = graph.getVertices();
+        int verticesCount = vertexList.size();
+        HashMap<V, Integer> ids = new HashMap<V, Integer>(verticesCount, 1);
+        for (int i = 0; i != verticesCount; i++) {
+            ids.put(vertexList.get(i), i);
+        }
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(dictionary)) {
+            out.writeObject(vertexList.toArray());
+        }
+
+        long edges = 0;
+        for (V vertex : vertexList) {
+            edges += graph.getOutDegree(vertex);
+        }
+
+        long offsetsPosition = HEADER_SIZE;
+        long targetsPosition = offsetsPosition + (verticesCount + 1L) * 8;
+        long weightsPosition = targetsPosition + edges * 4;
+        // Keep the longs and the doubles aligned
+        weightsPosition += weightsPosition & 4;
+        long inOffsetsPosition = weightsPosition + edges * 8;
+        long inTargetsPosition = inOffsetsPosition + (verticesCount + 1L) * 8;
+        long verticesPosition = inTargetsPosition + edges * 4;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(verticesCount).putInt(0);
+            header.putLong(edges).putLong(offsetsPosition).putLong(targetsPosition);
+            header.putLong(weightsPosition).putLong(inOffsetsPosition);
+            header.putLong(inTargetsPosition).putLong(verticesPosition);
+            header.flip();
+            channel.write(header, 0);
+            channel.write(ByteBuffer.wrap(dictionary.toByteArray()), verticesPosition);
+
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_WRITE;
+            MappedRegion offsets = new MappedRegion(channel, mode, offsetsPosition, (verticesCount + 1L) * 8);
+            MappedRegion targets = new MappedRegion(channel, mode, targetsPosition, edges * 4);
+            MappedRegion weights = new MappedRegion(channel, mode, weightsPosition, edges * 8);
+            MappedRegion inOffsets = new MappedRegion(channel, mode, inOffsetsPosition, (verticesCount + 1L) * 8);
+            MappedRegion inTargets = new MappedRegion(channel, mode, inTargetsPosition, edges * 4);
+
+            long[] inDegree = new long[verticesCount + 1];
+            long k = 0;
+            for (int i = 0; i != verticesCount; i++) {
+                V vertex = vertexList.get(i);
+                offsets.putLong(i, k);
+
+                // Sort the row by id, keeping the position of every weight
+                List<V> row = new ArrayList<V>(graph.getOutVertices(vertex));
+                long[] sorted = new long[row.size()];
+                int position = 0;
+                for (V neighbor : row) {
+                    sorted[position] = ((long) ids.get(neighbor) << 32) | position;
+                    position++;
+                }
+
+                Arrays.sort(sorted);
+                for (long entry : sorted) {
+                    int target = (int) (entry >>> 32);
+                    V neighbor = row.get((int) entry);
+                    targets.putInt(k, target);
+                    weights.putDouble(k, graph.getWeightAsDouble(vertex, neighbor));
+                    inDegree[target + 1]++;
+                    k++;
+                }
+            }
+
+            offsets.putLong(verticesCount, k);
+
+            // Transpose: the sources are visited in order, so every row
+            // of the transposed graph ends up sorted
+            for (int i = 0; i != verticesCount; i++) {
+                inDegree[i + 1] += inDegree[i];
+                inOffsets.putLong(i, inDegree[i]);
+            }
+
+            inOffsets.putLong(verticesCount, inDegree[verticesCount]);
+            for (int i = 0; i != verticesCount; i++) {
+                long end = offsets.getLong(i + 1);
+                for (long e = offsets.getLong(i); e != end; e++) {
+                    inTargets.putInt(inDegree[targets.getInt(e)]++, i);
+                }
+            }
+
+            offsets.force();
+            targets.force();
+            weights.force();
+            inOffsets.force();
+            inTargets.force();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V getVertex(int id) {
+        return (V) vertices[id];
+    }
+
+    private int getVertexIndex(V vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+
+        return verticesMap.getOrDefault(vertex, -1);
+    }
+
+    /**
+     * Get the position of the edge between two vertices.
+     * @param  i1 id of the first vertex
+     * @param  i2 id of the second vertex
+     * @return    position of the edge, -1 if it doesn't exist
+     */
+    private long getEdgeIndex(int i1, int i2) {
+        long low = offsets.getLong(i1);
+        long high = offsets.getLong(i1 + 1) - 1;
+
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int target = targets.getInt(middle);
+            if (target < i2) {
+                low = middle + 1;
+            } else if (target > i2) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    private List<V> getRow(MappedRegion rowOffsets, MappedRegion rowTargets, int i) {
+        long end = rowOffsets.getLong(i + 1);
+        long start = rowOffsets.getLong(i);
+        ArrayList<V> row = new ArrayList<V>((int) (end - start));
+        for (long k = start; k != end; k++) {
+            row.add(getVertex(rowTargets.getInt(k)));
+        }
+
+        return row;
+    }
+
+    private void forEachInRow(MappedRegion rowOffsets, MappedRegion rowTargets, int i, Consumer<? super V> action) {
+        long end = rowOffsets.getLong(i + 1);
+        for (long k = rowOffsets.getLong(i); k != end; k++) {
+            action.accept(getVertex(rowTargets.getInt(k)));
+        }
+    }
+
+    /**
+     * Mapped graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2, Double weight) {
+        throw new UnsupportedOperationException("Mapped graphs cannot be modified");
+    }
+
+    /**
+     * Mapped graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addVertex(V vertex) {
+        throw new UnsupportedOperationException("Mapped graphs cannot be modified");
+    }
+
+    /**
+     * Mapped graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeVertex(V vertex) {
+        throw new UnsupportedOperationException("Mapped graphs cannot be modified");
+    }
+
+    /**
+     * Mapped graphs cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Mapped graphs cannot be modified");
+    }
+
+    @Override
+    public Double getWeight(V v1, V v2) {
+        double weight = getWeightAsDouble(v1, v2);
+        if (Double.isNaN(weight)) {
+            return null;
+        }
+
+        return weight;
+    }
+
+    @Override
+    public double getWeightAsDouble(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return Double.NaN;
+        }
+
+        long k = getEdgeIndex(i1, i2);
+        if (k == -1) {
+            return Double.NaN;
+        }
+
+        return weights.getDouble(k);
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return getVertexIndex(vertex) != -1;
+    }
+
+    @Override
+    public int countVertices() {
+        return vertices.length;
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     * @throws ArithmeticException if there are more than Integer.MAX_VALUE
+     *                             edges, use getEdgesCount() instead
+     */
+    @Override
+    public int countEdges() {
+        return Math.toIntExact(edgesCount);
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     * @return number of edges
+     */
+    public long getEdgesCount() {
+        return edgesCount;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<V> getVertices() {
+        return Collections.unmodifiableList((List<V>) Arrays.asList(vertices));
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        int i1 = getVertexIndex(v1);
+        int i2 = getVertexIndex(v2);
+
+        if (i1 == -1 || i2 == -1) {
+            return false;
+        }
+
+        return getEdgeIndex(i1, i2) != -1;
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        ArrayList<V> neighbors = new ArrayList<V>();
+        long a = offsets.getLong(i);
+        long b = inOffsets.getLong(i);
+        long aEnd = offsets.getLong(i + 1);
+        long bEnd = inOffsets.getLong(i + 1);
+
+        // Merge the two sorted rows, skipping duplicates
+        while (a != aEnd || b != bEnd) {
+            int next;
+            if (b == bEnd || (a != aEnd && targets.getInt(a) < inTargets.getInt(b))) {
+                next = targets.getInt(a++);
+            } else if (a == aEnd || inTargets.getInt(b) < targets.getInt(a)) {
+                next = inTargets.getInt(b++);
+            } else {
+                next = targets.getInt(a++);
+                b++;
+            }
+
+            neighbors.add(getVertex(next));
+        }
+
+        return neighbors;
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        long a = offsets.getLong(i);
+        long b = inOffsets.getLong(i);
+        long aEnd = offsets.getLong(i + 1);
+        long bEnd = inOffsets.getLong(i + 1);
+
+        // Merge the two sorted rows, skipping duplicates
+        while (a != aEnd || b != bEnd) {
+            int next;
+            if (b == bEnd || (a != aEnd && targets.getInt(a) < inTargets.getInt(b))) {
+                next = targets.getInt(a++);
+            } else if (a == aEnd || inTargets.getInt(b) < targets.getInt(a)) {
+                next = inTargets.getInt(b++);
+            } else {
+                next = targets.getInt(a++);
+                b++;
+            }
+
+            action.accept(getVertex(next));
+        }
+
+        return true;
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        List<V> neighbors = getNeighbors(vertex);
+        if (neighbors == null) {
+            return -1;
+        }
+
+        return neighbors.size();
+    }
+
+    @Override
+    public List<V> getInVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getRow(inOffsets, inTargets, i);
+    }
+
+    @Override
+    public List<V> getOutVertices(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return null;
+        }
+
+        return getRow(offsets, targets, i);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachInRow(inOffsets, inTargets, i, action);
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        forEachInRow(offsets, targets, i, action);
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return false;
+        }
+
+        long end = offsets.getLong(i + 1);
+        for (long k = offsets.getLong(i); k != end; k++) {
+            action.accept(getVertex(targets.getInt(k)), weights.getDouble(k));
+        }
+
+        return true;
+    }
+
+    @Override
+    public int getInDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return (int) (inOffsets.getLong(i + 1) - inOffsets.getLong(i));
+    }
+
+    @Override
+    public int getOutDegree(V vertex) {
+        int i = getVertexIndex(vertex);
+        if (i == -1) {
+            return -1;
+        }
+
+        return (int) (offsets.getLong(i + 1) - offsets.getLong(i));
+    }
+
+    @Override
+    public List<V> getPath(V source, V destination) {
+        int i1 = getVertexIndex(source);
+        int i2 = getVertexIndex(destination);
+
+        if (i1 == -1 || i2 == -1) {
+            return null;
+        }
+
+        if (i1 == i2) {
+            return null;
+        }
+
+        int[] parent = new int[vertices.length];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[vertices.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = i1;
+        parent[i1] = i1;
+
+        boolean found = false;
+
+        while (head != tail) {
+            int current = queue[head++];
+
+            if (current == i2) {
+                found = true;
+                break;
+            }
+
+            long end = offsets.getLong(current + 1);
+            for (long k = offsets.getLong(current); k != end; k++) {
+                int next = targets.getInt(k);
+                if (parent[next] == -1) {
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+
+        if (found) {
+            int current = i2;
+            while (current != i1) {
+                path.addFirst(getVertex(current));
+                current = parent[current];
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    @Override
+    public boolean existsPath(V source, V destination) {
+        List<V> path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return !path.isEmpty();
+    }
+
+    @Override
+    public DirectedWeightedGraph<V> getSpanningTree() {
+        return null;
+    }
+
+    @Override
+    public DirectedWeightedGraph<V> getMinimumSpanningTree() {
+        return null;
+    }
+
+    @Override
+    public Double getMinimumDistance(V source, V destination) {
+        return Algorithms.<V>getMinimumDistance(this, source, destination);
+    }
+
+    @Override
+    public List<V> getShortestPath(V source, V destination) {
+        return Algorithms.<V>getShortestPath(this, source, destination);
+    }
+}
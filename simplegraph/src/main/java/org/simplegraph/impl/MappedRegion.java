@@ -0,0 +1,74 @@
+package org.simplegraph.impl;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ Region of a file mapped in memory, accessed as an array of primitives.
+
+ A single MappedByteBuffer cannot exceed 2GB, so the region is mapped in
+ chunks. The chunk size is a multiple of 8, hence no element is ever split
+ between two chunks.
+ */
+class MappedRegion {
+    private static final int CHUNK_BITS = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Map a region of a file.
+     * @param channel  channel of the file
+     * @param mode     READ_ONLY or READ_WRITE
+     * @param position position of the region in the file
+     * @param length   length of the region in bytes
+     * @throws IOException if the file cannot be mapped
+     */
+    MappedRegion(FileChannel channel, FileChannel.MapMode mode, long position, long length) throws IOException {
+        int count = (int) ((length + CHUNK_MASK) >>> CHUNK_BITS);
+        chunks = new MappedByteBuffer[count];
+        for (int i = 0; i != count; i++) {
+            long start = (long) i << CHUNK_BITS;
+            chunks[i] = channel.map(mode, position + start, Math.min(CHUNK_MASK + 1, length - start));
+        }
+    }
+
+    int getInt(long index) {
+        long offset = index << 2;
+        return chunks[(int) (offset >>> CHUNK_BITS)].getInt((int) (offset & CHUNK_MASK));
+    }
+
+    void putInt(long index, int value) {
+        long offset = index << 2;
+        chunks[(int) (offset >>> CHUNK_BITS)].putInt((int) (offset & CHUNK_MASK), value);
+    }
+
+    long getLong(long index) {
+        long offset = index << 3;
+        return chunks[(int) (offset >>> CHUNK_BITS)].getLong((int) (offset & CHUNK_MASK));
+    }
+
+    void putLong(long index, long value) {
+        long offset = index << 3;
+        chunks[(int) (offset >>> CHUNK_BITS)].putLong((int) (offset & CHUNK_MASK), value);
+    }
+
+    double getDouble(long index) {
+        long offset = index << 3;
+        return chunks[(int) (offset >>> CHUNK_BITS)].getDouble((int) (offset & CHUNK_MASK));
+    }
+
+    void putDouble(long index, double value) {
+        long offset = index << 3;
+        chunks[(int) (offset >>> CHUNK_BITS)].putDouble((int) (offset & CHUNK_MASK), value);
+    }
+
+    /**
+     * Write the changes back to the file.
+     */
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package org.simplegraph.impl;
+
+import java.util.Map;
+
+/**
+ Estimate of the heap memory used by a graph, split by what the bytes are
+ used for.
+
+ The sizes are computed from the length of the arrays and the size of the
+ collections backing the graph, without walking the heap. They assume a
+ 64-bit HotSpot JVM with compressed references, the default for heaps
+ smaller than 32GB: references take 4 bytes, objects have a 12 bytes header
+ and every object is aligned to 8 bytes. The capacity of a java.util.HashMap
+ is not visible, so it is assumed to be the smallest one holding its
+ entries. The vertices themselves belong to the caller and are not counted.
+
+ The categories do not overlap, their sum is getTotal():
+ - vertex table: the mapping between the vertices and their ids or slots
+ - adjacency: the structures storing which edges exist, degrees included
+ - weights: the primitive arrays storing the weights
+ - unused capacity: the slots allocated in advance, for example by grow()
+   doubling the matrix, or by the load factor of a hash table
+ - boxed objects: the Integer ids and the Double weights stored in the
+   collections
+ */
+public final class MemoryFootprint {
+    static final int REFERENCE = 4;
+    static final int OBJECT_HEADER = 12;
+    static final int ARRAY_HEADER = 16;
+    static final int BOXED_INTEGER = 16;
+    static final int BOXED_DOUBLE = 24;
+    static final int HASH_MAP = 48;
+    static final int HASH_MAP_NODE = 32;
+    static final int ARRAY_LIST = 24;
+    // Header, three array references, the size and the hashed flag
+    static final int NEIGHBOR_TABLE = 32;
+
+    private final long vertexTable;
+    private final long adjacency;
+    private final long weights;
+    private final long unusedCapacity;
+    private final long boxedObjects;
+
+    MemoryFootprint(long vertexTable, long adjacency, long weights, long unusedCapacity, long boxedObjects) {
+        this.vertexTable = vertexTable;
+        this.adjacency = adjacency;
+        this.weights = weights;
+        this.unusedCapacity = unusedCapacity;
+        this.boxedObjects = boxedObjects;
+    }
+
+    /**
+     * Get the bytes mapping the vertices to their ids.
+     * @return number of bytes
+     */
+    public long getVertexTable() {
+        return vertexTable;
+    }
+
+    /**
+     * Get the bytes storing which edges exist.
+     * @return number of bytes
+     */
+    public long getAdjacency() {
+        return adjacency;
+    }
+
+    /**
+     * Get the bytes of the primitive arrays storing the weights.
+     * @return number of bytes
+     */
+    public long getWeights() {
+        return weights;
+    }
+
+    /**
+     * Get the bytes allocated but not used yet.
+     * @return number of bytes
+     */
+    public long getUnusedCapacity() {
+        return unusedCapacity;
+    }
+
+    /**
+     * Get the bytes of the boxed ids and weights.
+     * @return number of bytes
+     */
+    public long getBoxedObjects() {
+        return boxedObjects;
+    }
+
+    /**
+     * Get the estimated size of the graph.
+     * @return number of bytes
+     */
+    public long getTotal() {
+        return vertexTable + adjacency + weights + unusedCapacity + boxedObjects;
+    }
+
+    /**
+     * Sum two footprints, category by category.
+     * @param  other the footprint to add
+     * @return       the sum
+     */
+    MemoryFootprint plus(MemoryFootprint other) {
+        return new MemoryFootprint(vertexTable + other.vertexTable, adjacency + other.adjacency,
+            weights + other.weights, unusedCapacity + other.unusedCapacity,
+            boxedObjects + other.boxedObjects);
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryFootprint[vertexTable=" + vertexTable + ", adjacency=" + adjacency
+            + ", weights=" + weights + ", unusedCapacity=" + unusedCapacity
+            + ", boxedObjects=" + boxedObjects + ", total=" + getTotal() + "]";
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Get the size of an array.
+     * @param  length      number of elements
+     * @param  elementSize size of each element
+     * @return             number of bytes
+     */
+    static long array(long length, int elementSize) {
+        return align(ARRAY_HEADER + length * elementSize);
+    }
+
+    /**
+     * Get the size of the used part of an array: its header and its used
+     * elements.
+     * @param  used        number of elements in use
+     * @param  elementSize size of each element
+     * @return             number of bytes
+     */
+    static long usedSlots(long used, int elementSize) {
+        return ARRAY_HEADER + used * elementSize;
+    }
+
+    /**
+     * Get the size of the free part of an array, alignment included.
+     * @param  length      number of elements
+     * @param  used        number of elements in use
+     * @param  elementSize size of each element
+     * @return             number of bytes
+     */
+    static long unusedSlots(long length, long used, int elementSize) {
+        return array(length, elementSize) - usedSlots(used, elementSize);
+    }
+
+    /**
+     * Get the capacity of the table of a HashMap created with its default
+     * load factor and filled with a number of entries.
+     * @param  entries number of entries
+     * @return         number of slots, 0 if the table is not allocated
+     */
+    static int hashMapCapacity(int entries) {
+        if (entries == 0) {
+            return 0;
+        }
+
+        int capacity = 16;
+        while (capacity * 3L < entries * 4L) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Get the used size of a HashMap: the map, its entries and the slots of
+     * the table holding them.
+     * @param  entries number of entries
+     * @return         number of bytes
+     */
+    static long hashMapUsed(int entries) {
+        if (entries == 0) {
+            return HASH_MAP;
+        }
+
+        return HASH_MAP + usedSlots(entries, REFERENCE) + (long) entries * HASH_MAP_NODE;
+    }
+
+    /**
+     * Get the size of the free slots of the table of a HashMap.
+     * @param  entries number of entries
+     * @return         number of bytes
+     */
+    static long hashMapUnused(int entries) {
+        int capacity = hashMapCapacity(entries);
+        if (capacity == 0) {
+            return 0;
+        }
+
+        return unusedSlots(capacity, entries, REFERENCE);
+    }
+
+    /**
+     * Get the footprint of a VertexIndex, made of a map from the vertices to
+     * boxed ids and of an array from the ids to the vertices.
+     * @param  vertices number of vertices
+     * @param  capacity length of the array
+     * @return          the footprint
+     */
+    static MemoryFootprint ofVertexIndex(int vertices, int capacity) {
+        long used = OBJECT_HEADER + hashMapUsed(vertices) + usedSlots(vertices, REFERENCE);
+        long unused = hashMapUnused(vertices) + unusedSlots(capacity, vertices, REFERENCE);
+        return new MemoryFootprint(used, 0, 0, unused, (long) vertices * BOXED_INTEGER);
+    }
+
+    /**
+     * Get the footprint of a map from each vertex to the map of its
+     * neighbors, as used by the sparse graphs. The boxed values are not
+     * counted.
+     * @param  maps the map of the neighbors of each vertex
+     * @return      the footprint
+     */
+    static MemoryFootprint ofAdjacencyMaps(Map<?, ? extends Map<?, ?>> maps) {
+        long used = hashMapUsed(maps.size());
+        long unused = hashMapUnused(maps.size());
+        for (Map<?, ?> neighbors : maps.values()) {
+            used += hashMapUsed(neighbors.size());
+            unused += hashMapUnused(neighbors.size());
+        }
+
+        return new MemoryFootprint(0, used, 0, unused, 0);
+    }
+
+    /**
+     * Get the footprint of a NeighborTable.
+     * @param  table the table, null if it has not been allocated
+     * @return       the footprint
+     */
+    static MemoryFootprint ofNeighborTable(NeighborTable table) {
+        if (table == null) {
+            return new MemoryFootprint(0, 0, 0, 0, 0);
+        }
+
+        return ofNeighborTable(table.size(), table.capacity(), table.valueSize());
+    }
+
+    private static MemoryFootprint ofNeighborTable(int size, int capacity, int valueSize) {
+        long adjacency = NEIGHBOR_TABLE + usedSlots(size, 4);
+        long weights = valueSize == 0 ? 0 : usedSlots(size, valueSize);
+        long unused = unusedSlots(capacity, size, 4);
+        if (valueSize != 0) {
+            unused += unusedSlots(capacity, size, valueSize);
+        }
+
+        return new MemoryFootprint(0, adjacency, weights, unused, 0);
+    }
+
+    /**
+     * Recommend the mutable implementation using the least memory for a
+     * graph of the given size. Every candidate is assumed to be created
+     * with its final number of vertices as starting size, and the edges to
+     * be spread evenly among the vertices.
+     * @param  vertices number of vertices
+     * @param  edges    number of edges
+     * @param  directed true for a directed graph
+     * @param  weighted true for a weighted graph
+     * @return          the class of the smallest implementation
+     */
+    public static Class<?> recommend(int vertices, int edges, boolean directed, boolean weighted) {
+        return recommend(vertices, edges, directed, weighted, false);
+    }
+
+    /**
+     * Recommend the mutable implementation using the least memory for a
+     * graph of the given size, like recommend(int, int, boolean, boolean),
+     * optionally considering the implementations that round the weights
+     * to floats.
+     * @param  vertices        number of vertices
+     * @param  edges           number of edges
+     * @param  directed        true for a directed graph
+     * @param  weighted        true for a weighted graph
+     * @param  singlePrecision true if the weights can be rounded to floats,
+     *                         ignored for unweighted graphs
+     * @return                 the class of the smallest implementation
+     */
+    public static Class<?> recommend(int vertices, int edges, boolean directed, boolean weighted,
+            boolean singlePrecision) {
+        boolean floats = weighted && singlePrecision;
+        // Undirected sparse graphs store each edge in both vertices
+        long entries = directed ? edges : 2L * edges;
+        long boxedWeights = weighted ? (long) edges * BOXED_DOUBLE : 0;
+
+        // Sparse graphs backed by HashMaps
+        long sparse = ofVertexIndex(vertices, vertices).getTotal()
+            + estimateAdjacencyMaps(vertices, entries) + boxedWeights;
+        if (directed) {
+            sparse += array(vertices, 4);
+        }
+
+        // Dense graphs with a matrix of references, triangular if undirected
+        long cells = directed ? (long) vertices * vertices : (long) vertices * (vertices - 1) / 2;
+        long denseVertices = estimateDenseVertices(vertices);
+        long dense = denseVertices + (directed ? array(cells, REFERENCE) : ARRAY_LIST + array(cells, REFERENCE))
+            + boxedWeights;
+
+        Class<?> best;
+        long bestSize;
+        if (directed) {
+            best = weighted ? DirectedWeightedSparseGraph.class : DirectedSparseGraph.class;
+            bestSize = sparse;
+            if (dense < bestSize) {
+                best = weighted ? DirectedWeightedDenseGraph.class : DirectedDenseGraph.class;
+                bestSize = dense;
+            }
+        } else {
+            best = weighted ? WeightedSparseGraph.class : SparseGraph.class;
+            bestSize = sparse;
+            if (dense < bestSize) {
+                best = weighted ? WeightedDenseGraph.class : DenseGraph.class;
+                bestSize = dense;
+            }
+
+            // Sparse graphs backed by NeighborTables
+            long openHash = ofVertexIndex(vertices, vertices).getTotal() + array(vertices, REFERENCE)
+                + estimateNeighborTables(vertices, entries, weighted ? (floats ? 4 : 8) : 0);
+            if (openHash < bestSize) {
+                if (floats) {
+                    best = WeightedFloatOpenHashSparseGraph.class;
+                } else {
+                    best = weighted ? WeightedOpenHashSparseGraph.class : OpenHashSparseGraph.class;
+                }
+                bestSize = openHash;
+            }
+        }
+
+        // Dense graphs with a matrix of primitives
+        long primitive;
+        Class<?> primitiveClass;
+        if (floats) {
+            primitive = denseVertices + array((long) vertices * vertices, 4);
+            primitiveClass = directed ? DirectedWeightedFloatDenseGraph.class : WeightedFloatDenseGraph.class;
+        } else if (weighted) {
+            primitive = denseVertices + array((long) vertices * vertices, 8);
+            primitiveClass = directed ? DirectedWeightedDoubleDenseGraph.class : WeightedDoubleDenseGraph.class;
+        } else {
+            long words = (vertices + 63) / 64;
+            primitive = denseVertices + array(vertices * words, 8);
+            primitiveClass = directed ? DirectedBitsetDenseGraph.class : BitsetDenseGraph.class;
+        }
+
+        if (primitive < bestSize) {
+            best = primitiveClass;
+        }
+
+        return best;
+    }
+
+    private static long estimateAdjacencyMaps(int vertices, long entries) {
+        long total = hashMapUsed(vertices) + hashMapUnused(vertices);
+        if (vertices == 0) {
+            return total;
+        }
+
+        // Spread the remainder of the entries over the first vertices
+        int degree = (int) (entries / vertices);
+        int bigger = (int) (entries % vertices);
+        total += (long) (vertices - bigger) * (hashMapUsed(degree) + hashMapUnused(degree));
+        total += (long) bigger * (hashMapUsed(degree + 1) + hashMapUnused(degree + 1));
+        return total;
+    }
+
+    private static long estimateNeighborTables(int vertices, long entries, int valueSize) {
+        if (vertices == 0) {
+            return 0;
+        }
+
+        int degree = (int) (entries / vertices);
+        int bigger = (int) (entries % vertices);
+        return (vertices - bigger) * ofNeighborTable(degree, NeighborTable.capacityFor(degree), valueSize).getTotal()
+            + bigger * ofNeighborTable(degree + 1, NeighborTable.capacityFor(degree + 1), valueSize).getTotal();
+    }
+
+    private static long estimateDenseVertices(int vertices) {
+        // The array of the vertices, the map to their slots and the degrees
+        return ARRAY_LIST + array(vertices, REFERENCE) + hashMapUsed(vertices) + hashMapUnused(vertices)
+            + (long) vertices * BOXED_INTEGER + 2 * array(vertices, 4);
+    }
+}
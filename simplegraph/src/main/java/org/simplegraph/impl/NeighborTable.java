@@ -0,0 +1,329 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+/**
+ Neighbors of a vertex, stored as ids with an optional double value each.
+
+ Vertices with up to INLINE_SIZE neighbors keep them unsorted in the first
+ slots of the arrays and are scanned linearly. Bigger tables switch to open
+ addressing with linear probing, where EMPTY marks a free slot and removals
+ shift the following entries back instead of leaving tombstones.
+
+ Keys and values are parallel primitive arrays, so a lookup touches at most
+ a couple of cache lines and no edge needs an object of its own. The values
+ can be stored as floats, halving their memory at the cost of precision.
+ */
+class NeighborTable {
+    static final int EMPTY = -1;
+    static final int INLINE_SIZE = 8;
+
+    private int[] keys;
+    // null if the table does not store values or stores them as floats
+    private double[] values;
+    // null if the table does not store values or stores them as doubles
+    private float[] floatValues;
+    private int size;
+    private boolean hashed;
+
+    /**
+     * Create an empty table.
+     * @param withValues true if every key has a value
+     */
+    NeighborTable(boolean withValues) {
+        this(withValues, false);
+    }
+
+    /**
+     * Create an empty table.
+     * @param withValues      true if every key has a value
+     * @param singlePrecision true to store the values as floats
+     */
+    NeighborTable(boolean withValues, boolean singlePrecision) {
+        keys = new int[2];
+        if (withValues && singlePrecision) {
+            floatValues = new float[2];
+        } else if (withValues) {
+            values = new double[2];
+        }
+    }
+
+    /**
+     * Copy constructor
+     * @param table table to copy
+     */
+    NeighborTable(NeighborTable table) {
+        keys = Arrays.copyOf(table.keys, table.keys.length);
+        if (table.values != null) {
+            values = Arrays.copyOf(table.values, table.values.length);
+        }
+
+        if (table.floatValues != null) {
+            floatValues = Arrays.copyOf(table.floatValues, table.floatValues.length);
+        }
+
+        size = table.size;
+        hashed = table.hashed;
+    }
+
+    private int getSlot(int key) {
+        // Fibonacci hashing, the capacity is a power of two
+        return (key * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(keys.length));
+    }
+
+    /**
+     * Get the slot containing a key.
+     * @param  key the key to look for
+     * @return     the slot of key, -1 if the table doesn't contain it
+     */
+    private int indexOf(int key) {
+        if (!hashed) {
+            for (int k = 0; k != size; k++) {
+                if (keys[k] == key) {
+                    return k;
+                }
+            }
+
+            return -1;
+        }
+
+        int mask = keys.length - 1;
+        for (int k = getSlot(key); keys[k] != EMPTY; k = (k + 1) & mask) {
+            if (keys[k] == key) {
+                return k;
+            }
+        }
+
+        return -1;
+    }
+
+    boolean contains(int key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Get the value of a key.
+     * @param  key the key to look for
+     * @return     the value, Double.NaN if the table doesn't contain key
+     */
+    double get(int key) {
+        int k = indexOf(key);
+        if (k == -1) {
+            return Double.NaN;
+        }
+
+        return valueAt(k);
+    }
+
+    private void setValue(int k, double value) {
+        if (values != null) {
+            values[k] = value;
+        } else if (floatValues != null) {
+            floatValues[k] = (float) value;
+        }
+    }
+
+    private void moveValue(int from, int to) {
+        if (values != null) {
+            values[to] = values[from];
+        } else if (floatValues != null) {
+            floatValues[to] = floatValues[from];
+        }
+    }
+
+    /**
+     * Add a key that is not contained in the table.
+     * @param key   the key to add
+     * @param value its value, ignored if the table does not store values
+     */
+    void add(int key, double value) {
+        if (!hashed) {
+            if (size == keys.length) {
+                if (size == INLINE_SIZE) {
+                    rehash(INLINE_SIZE * 4);
+                    add(key, value);
+                    return;
+                }
+
+                keys = Arrays.copyOf(keys, size * 2);
+                if (values != null) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+
+                if (floatValues != null) {
+                    floatValues = Arrays.copyOf(floatValues, size * 2);
+                }
+            }
+
+            keys[size] = key;
+            setValue(size, value);
+
+            size++;
+            return;
+        }
+
+        // Keep the load factor under 1/2, probes stay short
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int k = getSlot(key);
+        while (keys[k] != EMPTY) {
+            k = (k + 1) & mask;
+        }
+
+        keys[k] = key;
+        setValue(k, value);
+        size++;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        double[] oldValues = values;
+        float[] oldFloatValues = floatValues;
+        int oldSlots = slots();
+
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        if (oldValues != null) {
+            values = new double[capacity];
+        }
+
+        if (oldFloatValues != null) {
+            floatValues = new float[capacity];
+        }
+
+        size = 0;
+        hashed = true;
+        for (int k = 0; k != oldSlots; k++) {
+            if (oldKeys[k] != EMPTY) {
+                double value = 0;
+                if (oldValues != null) {
+                    value = oldValues[k];
+                } else if (oldFloatValues != null) {
+                    value = oldFloatValues[k];
+                }
+
+                add(oldKeys[k], value);
+            }
+        }
+    }
+
+    /**
+     * Remove a key from the table.
+     * @param  key the key to remove
+     * @return     true if the table has been modified
+     */
+    boolean remove(int key) {
+        int k = indexOf(key);
+        if (k == -1) {
+            return false;
+        }
+
+        size--;
+
+        if (!hashed) {
+            // Move the last key in the free slot
+            keys[k] = keys[size];
+            moveValue(size, k);
+
+            return true;
+        }
+
+        // Shift back the keys that were displaced by the removed one
+        int mask = keys.length - 1;
+        int free = k;
+        for (int next = (k + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = getSlot(keys[next]);
+            // Move the key if its home slot is not between free and next
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                moveValue(next, free);
+
+                free = next;
+            }
+        }
+
+        keys[free] = EMPTY;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of slots to scan to visit all the keys.
+     * @return number of slots
+     */
+    int slots() {
+        return hashed ? keys.length : size;
+    }
+
+    /**
+     * Get the key stored in a slot.
+     * @param  k the slot, lower than slots()
+     * @return   the key, EMPTY if the slot is free
+     */
+    int keyAt(int k) {
+        return keys[k];
+    }
+
+    /**
+     * Get the value stored in a slot.
+     * @param  k the slot, lower than slots()
+     * @return   the value
+     */
+    double valueAt(int k) {
+        if (values != null) {
+            return values[k];
+        }
+
+        return floatValues[k];
+    }
+
+    /**
+     * Get the number of slots allocated.
+     * @return length of the arrays
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Get the size of each value.
+     * @return number of bytes, 0 if the table does not store values
+     */
+    int valueSize() {
+        if (values != null) {
+            return 8;
+        }
+
+        return floatValues != null ? 4 : 0;
+    }
+
+    /**
+     * Get the capacity of a table after adding a number of keys to an
+     * empty one.
+     * @param  size number of keys
+     * @return      number of slots
+     */
+    static int capacityFor(int size) {
+        int capacity = 2;
+        if (size <= INLINE_SIZE) {
+            while (capacity < size) {
+                capacity <<= 1;
+            }
+
+            return capacity;
+        }
+
+        capacity = INLINE_SIZE * 4;
+        while (size * 2 > capacity) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+}
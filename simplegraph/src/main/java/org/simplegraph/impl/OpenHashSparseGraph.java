@@ -0,0 +1,114 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.simplegraph.Graph;
+
+/**
+ Sparse graph implementation storing the neighbors of each vertex in an
+ open addressing table.
+ */
+public class OpenHashSparseGraph<V> extends BaseOpenHashSparseGraph<V> implements ViewableGraph<V> {
+    /**
+     * Default constructor
+     */
+    public OpenHashSparseGraph() {
+        initialize(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a graph with a starting size.
+     * @param size starting size
+     */
+    public OpenHashSparseGraph(int size) {
+        initialize(size);
+    }
+
+    public OpenHashSparseGraph(OpenHashSparseGraph<V> graph) {
+        copy(graph);
+    }
+
+    @Override
+    protected boolean isWeighted() {
+        return false;
+    }
+
+    @Override
+    public boolean addEdge(V v1, V v2) {
+        return addSingleEdge(v1, v2, 0);
+    }
+
+    @Override
+    public boolean addVertex(V vertex) {
+        return super.addVertex(vertex);
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return super.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return super.countVertices();
+    }
+
+    @Override
+    public boolean existsPath(V source, V destination) {
+        return super.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return super.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return super.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return super.getNeighbors(vertex);
+    }
+
+    @Override
+    public List<V> getPath(V source, V destination) {
+        return super.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(V v1, V v2) {
+        return super.removeEdge(v1, v2);
+    }
+
+    @Override
+    public boolean removeVertex(V vertex) {
+        return super.removeVertex(vertex);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return super.getVertices();
+    }
+
+    public Graph<V> getSpanningTree() {
+        return new OpenHashSparseGraph<V>();
+    }
+
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public FrozenGraph<V> freeze() {
+        return new FrozenGraph<V>(this);
+    }
+}
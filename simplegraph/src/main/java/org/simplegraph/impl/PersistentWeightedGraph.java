@@ -0,0 +1,356 @@
+package org.simplegraph.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.WeightedGraph;
+import org.simplegraph.util.Algorithms;
+
+/**
+ Persistent weighted graph: every version of the graph is immutable, and
+ withEdge(), withoutEdge(), withVertex() and withoutVertex() return a new
+ version instead of modifying it.
+
+ The vertices and the neighbors of each vertex are stored in hash array
+ mapped tries, so a new version copies only the few trie nodes on the path
+ to the changed entries and shares everything else with the previous one.
+ Keeping many versions that differ by a few edges costs memory proportional
+ to their differences, and they can be read from any thread without locks.
+
+ The methods of WeightedGraph that would modify the graph in place throw
+ UnsupportedOperationException.
+ */
+public final class PersistentWeightedGraph<V> implements ViewableWeightedGraph<V> {
+    private static final PersistentWeightedGraph<?> EMPTY =
+        new PersistentWeightedGraph<Object>(HashTrie.<Object, HashTrie<Object, Double>>empty(), 0);
+
+    private final HashTrie<V, HashTrie<V, Double>> edges;
+    private final int edgesCount;
+
+    private PersistentWeightedGraph(HashTrie<V, HashTrie<V, Double>> edges, int edgesCount) {
+        this.edges = edges;
+        this.edgesCount = edgesCount;
+    }
+
+    /**
+     * Get the empty graph.
+     * @return a graph without vertices
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentWeightedGraph<V> empty() {
+        return (PersistentWeightedGraph<V>) EMPTY;
+    }
+
+    /**
+     * Create a persistent version of a graph.
+     * Later changes to the graph are not reflected in the result.
+     * @param  graph graph to copy
+     * @return       a graph with the same vertices and edges
+     */
+    public static <V> PersistentWeightedGraph<V> of(WeightedGraph<V> graph) {
+        PersistentWeightedGraph<V> result = empty();
+        for (V v : graph.getVertices()) {
+            result = result.withVertex(v);
+        }
+
+        // The neighbors of a directed graph include the incident vertices,
+        // whose NaN weight withEdge() skips: their edge is added from them
+        for (V v : graph.getVertices()) {
+            for (V u : graph.getNeighbors(v)) {
+                result = result.withEdge(v, u, graph.getWeightAsDouble(v, u));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get a version of the graph containing a vertex.
+     * @param  vertex the vertex to add
+     * @return        the new version, this one if it already contains vertex
+     */
+    public PersistentWeightedGraph<V> withVertex(V vertex) {
+        if (vertex == null || edges.containsKey(vertex)) {
+            return this;
+        }
+
+        return new PersistentWeightedGraph<V>(edges.with(vertex, HashTrie.<V, Double>empty()), edgesCount);
+    }
+
+    /**
+     * Get a version of the graph with an edge between two vertices, adding
+     * the vertices if they are missing. The weight of an existing edge is
+     * replaced.
+     * @param  v1     first vertex
+     * @param  v2     second vertex
+     * @param  weight weight of the edge, not NaN
+     * @return        the new version, this one if nothing changed or if
+     *                weight is NaN
+     */
+    public PersistentWeightedGraph<V> withEdge(V v1, V v2, double weight) {
+        if (v1 == null || v2 == null || v1.equals(v2) || Double.isNaN(weight)) {
+            return this;
+        }
+
+        HashTrie<V, Double> n1 = edges.get(v1);
+        HashTrie<V, Double> n2 = edges.get(v2);
+        if (n1 == null) {
+            n1 = HashTrie.<V, Double>empty();
+        }
+
+        if (n2 == null) {
+            n2 = HashTrie.<V, Double>empty();
+        }
+
+        HashTrie<V, Double> newN1 = n1.with(v2, weight);
+        if (newN1 == n1 && edges.containsKey(v1) && edges.containsKey(v2)) {
+            return this;
+        }
+
+        int count = newN1.size() != n1.size() ? edgesCount + 1 : edgesCount;
+        return new PersistentWeightedGraph<V>(edges.with(v1, newN1).with(v2, n2.with(v1, weight)), count);
+    }
+
+    /**
+     * Get a version of the graph without the edge between two vertices.
+     * @param  v1 first vertex
+     * @param  v2 second vertex
+     * @return    the new version, this one if the edge doesn't exist
+     */
+    public PersistentWeightedGraph<V> withoutEdge(V v1, V v2) {
+        if (!existsEdge(v1, v2)) {
+            return this;
+        }
+
+        HashTrie<V, HashTrie<V, Double>> newEdges = edges
+            .with(v1, edges.get(v1).without(v2))
+            .with(v2, edges.get(v2).without(v1));
+        return new PersistentWeightedGraph<V>(newEdges, edgesCount - 1);
+    }
+
+    /**
+     * Get a version of the graph without a vertex and its edges.
+     * @param  vertex the vertex to remove
+     * @return        the new version, this one if it doesn't contain vertex
+     */
+    public PersistentWeightedGraph<V> withoutVertex(V vertex) {
+        if (vertex == null) {
+            return this;
+        }
+
+        HashTrie<V, Double> neighbors = edges.get(vertex);
+        if (neighbors == null) {
+            return this;
+        }
+
+        HashTrie<V, HashTrie<V, Double>> newEdges = edges.without(vertex);
+        for (V v : neighborsOf(neighbors)) {
+            newEdges = newEdges.with(v, newEdges.get(v).without(vertex));
+        }
+
+        return new PersistentWeightedGraph<V>(newEdges, edgesCount - neighbors.size());
+    }
+
+    /**
+     * Persistent graphs cannot be modified in place, use withEdge().
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2, Double weight) {
+        throw new UnsupportedOperationException("Persistent graphs cannot be modified in place");
+    }
+
+    /**
+     * Persistent graphs cannot be modified in place, use withVertex().
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addVertex(V vertex) {
+        throw new UnsupportedOperationException("Persistent graphs cannot be modified in place");
+    }
+
+    /**
+     * Persistent graphs cannot be modified in place, use withoutVertex().
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeVertex(V vertex) {
+        throw new UnsupportedOperationException("Persistent graphs cannot be modified in place");
+    }
+
+    /**
+     * Persistent graphs cannot be modified in place, use withoutEdge().
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Persistent graphs cannot be modified in place");
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return vertex != null && edges.containsKey(vertex);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return !Double.isNaN(getWeightAsDouble(v1, v2));
+    }
+
+    @Override
+    public Double getWeight(V v1, V v2) {
+        if (v1 == null || v2 == null) {
+            return null;
+        }
+
+        HashTrie<V, Double> neighbors = edges.get(v1);
+        if (neighbors == null) {
+            return null;
+        }
+
+        return neighbors.get(v2);
+    }
+
+    @Override
+    public double getWeightAsDouble(V v1, V v2) {
+        Double weight = getWeight(v1, v2);
+        if (weight == null) {
+            return Double.NaN;
+        }
+
+        return weight;
+    }
+
+    @Override
+    public List<V> getVertices() {
+        ArrayList<V> vertices = new ArrayList<V>(edges.size());
+        edges.forEach((v, neighbors) -> vertices.add(v));
+        return vertices;
+    }
+
+    @Override
+    public int countVertices() {
+        return edges.size();
+    }
+
+    @Override
+    public int countEdges() {
+        return edgesCount;
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        if (!containsVertex(vertex)) {
+            return null;
+        }
+
+        return neighborsOf(edges.get(vertex));
+    }
+
+    private static <V> ArrayList<V> neighborsOf(HashTrie<V, Double> neighbors) {
+        ArrayList<V> vertices = new ArrayList<V>(neighbors.size());
+        neighbors.forEach((v, weight) -> vertices.add(v));
+        return vertices;
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        if (!containsVertex(vertex)) {
+            return -1;
+        }
+
+        return edges.get(vertex).size();
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        if (!containsVertex(vertex)) {
+            return false;
+        }
+
+        edges.get(vertex).forEach((v, weight) -> action.accept(v));
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        if (!containsVertex(vertex)) {
+            return false;
+        }
+
+        edges.get(vertex).forEach((v, weight) -> action.accept(v, weight));
+        return true;
+    }
+
+    @Override
+    public List<V> getPath(V source, V destination) {
+        if (!containsVertex(source) || !containsVertex(destination)) {
+            return null;
+        }
+
+        if (source.equals(destination)) {
+            return null;
+        }
+
+        HashMap<V, V> parent = new HashMap<V, V>();
+        ArrayDeque<V> queue = new ArrayDeque<V>();
+        parent.put(source, source);
+        queue.add(source);
+
+        while (!queue.isEmpty() && !parent.containsKey(destination)) {
+            V current = queue.poll();
+            forEachNeighbor(current, v -> {
+                if (!parent.containsKey(v)) {
+                    parent.put(v, current);
+                    queue.add(v);
+                }
+            });
+        }
+
+        LinkedList<V> path = new LinkedList<V>();
+        if (parent.containsKey(destination)) {
+            for (V v = destination; !v.equals(source); v = parent.get(v)) {
+                path.addFirst(v);
+            }
+
+            path.addFirst(source);
+        }
+
+        return path;
+    }
+
+    @Override
+    public boolean existsPath(V source, V destination) {
+        List<V> path = getPath(source, destination);
+        if (path == null) {
+            return false;
+        }
+
+        return !path.isEmpty();
+    }
+
+    @Override
+    public List<V> getShortestPath(V source, V destination) {
+        return Algorithms.<V>getShortestPath(this, source, destination);
+    }
+
+    @Override
+    public Double getMinimumDistance(V source, V destination) {
+        return Algorithms.<V>getMinimumDistance(this, source, destination);
+    }
+
+    @Override
+    public WeightedGraph<V> getSpanningTree() {
+        return null;
+    }
+
+    @Override
+    public WeightedGraph<V> getMinimumSpanningTree() {
+        return null;
+    }
+}
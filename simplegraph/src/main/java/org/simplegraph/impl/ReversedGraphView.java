@@ -0,0 +1,123 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.simplegraph.DirectedGraph;
+
+/**
+ View of a directed graph with every edge going the other way.
+ */
+class ReversedGraphView<V> extends GraphView<V> implements ViewableDirectedGraph<V> {
+    private final DirectedGraph<V> g;
+
+    /**
+     * Create a view of the transpose of a graph.
+     * @param g the graph to reverse
+     */
+    ReversedGraphView(DirectedGraph<V> g) {
+        this.g = g;
+    }
+
+    @Override
+    protected void forEachNext(V vertex, Consumer<? super V> action) {
+        g.forEachInVertex(vertex, action);
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return g.containsVertex(vertex);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return g.existsEdge(v2, v1);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return g.getVertices();
+    }
+
+    @Override
+    public int countVertices() {
+        return g.countVertices();
+    }
+
+    @Override
+    public int countEdges() {
+        return g.countEdges();
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return g.getNeighbors(vertex);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return g.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return g.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public int getInDegree(V vertex) {
+        return g.getOutDegree(vertex);
+    }
+
+    @Override
+    public int getOutDegree(V vertex) {
+        return g.getInDegree(vertex);
+    }
+
+    @Override
+    public List<V> getInVertices(V vertex) {
+        return g.getOutVertices(vertex);
+    }
+
+    @Override
+    public List<V> getOutVertices(V vertex) {
+        return g.getInVertices(vertex);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        return g.forEachOutVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return g.forEachInVertex(vertex, action);
+    }
+
+    /**
+     * Reversing the view gives back the graph it has been created from.
+     * @return the underlying graph
+     */
+    @Override
+    public DirectedGraph<V> reversed() {
+        return g;
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public DirectedGraph<V> getSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+}
@@ -0,0 +1,161 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.DirectedWeightedGraph;
+import org.simplegraph.WeightedGraph;
+import org.simplegraph.util.Algorithms;
+
+/**
+ View of a directed and weighted graph with every edge going the other way,
+ keeping its weight.
+ */
+class ReversedWeightedGraphView<V> extends GraphView<V> implements ViewableDirectedWeightedGraph<V> {
+    private final DirectedWeightedGraph<V> g;
+
+    /**
+     * Create a view of the transpose of a graph.
+     * @param g the graph to reverse
+     */
+    ReversedWeightedGraphView(DirectedWeightedGraph<V> g) {
+        this.g = g;
+    }
+
+    @Override
+    protected void forEachNext(V vertex, Consumer<? super V> action) {
+        g.forEachInVertex(vertex, action);
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2, Double weight) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return g.containsVertex(vertex);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return g.existsEdge(v2, v1);
+    }
+
+    @Override
+    public Double getWeight(V v1, V v2) {
+        return g.getWeight(v2, v1);
+    }
+
+    @Override
+    public double getWeightAsDouble(V v1, V v2) {
+        return g.getWeightAsDouble(v2, v1);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return g.getVertices();
+    }
+
+    @Override
+    public int countVertices() {
+        return g.countVertices();
+    }
+
+    @Override
+    public int countEdges() {
+        return g.countEdges();
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return g.getNeighbors(vertex);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return g.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return g.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return g.forEachInVertex(vertex, v -> action.accept(v, g.getWeightAsDouble(v, vertex)));
+    }
+
+    @Override
+    public int getInDegree(V vertex) {
+        return g.getOutDegree(vertex);
+    }
+
+    @Override
+    public int getOutDegree(V vertex) {
+        return g.getInDegree(vertex);
+    }
+
+    @Override
+    public List<V> getInVertices(V vertex) {
+        return g.getOutVertices(vertex);
+    }
+
+    @Override
+    public List<V> getOutVertices(V vertex) {
+        return g.getInVertices(vertex);
+    }
+
+    @Override
+    public boolean forEachInVertex(V vertex, Consumer<? super V> action) {
+        return g.forEachOutVertex(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutVertex(V vertex, Consumer<? super V> action) {
+        return g.forEachInVertex(vertex, action);
+    }
+
+    /**
+     * Reversing the view gives back the graph it has been created from.
+     * @return the underlying graph
+     */
+    @Override
+    public DirectedWeightedGraph<V> reversed() {
+        return g;
+    }
+
+    @Override
+    public List<V> getShortestPath(V source, V destination) {
+        return Algorithms.<V>getShortestPath(this, source, destination);
+    }
+
+    @Override
+    public Double getMinimumDistance(V source, V destination) {
+        return Algorithms.<V>getMinimumDistance(this, source, destination);
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public WeightedGraph<V> getSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public DirectedWeightedGraph<V> getMinimumSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+}
@@ -0,0 +1,14 @@
+package org.simplegraph.impl;
+
+/**
+ Graph keeping counters, such as the number of edges or the degree of the
+ vertices, updated by every change instead of computing them on demand.
+ */
+interface SelfCheckingGraph {
+    /**
+     * Recompute the counters from the stored edges and compare them with
+     * the maintained ones. It scans the whole graph, it is meant for tests.
+     * @return true if every counter is consistent with the edges
+     */
+    boolean checkCounters();
+}
@@ -1,13 +1,14 @@
 package org.simplegraph.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.simplegraph.Graph;
 
 /**
  Sparse graph implementation.
  */
-public class SparseGraph<V> extends BaseSparseGraph<V, Boolean> implements Graph<V> {
+public class SparseGraph<V> extends BaseSparseGraph<V, Boolean> implements ViewableGraph<V> {
     /**
      * Default constructor
      */
@@ -64,6 +65,11 @@ public class SparseGraph<V> extends BaseSparseGraph<V, Boolean> implements Graph
         return super.countNeighbors(vertex);
     }
 
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
     @Override
     public List<V> getNeighbors(V vertex) {
         return super.getNeighbors(vertex);
@@ -92,5 +98,13 @@ public class SparseGraph<V> extends BaseSparseGraph<V, Boolean> implements Graph
     public Graph<V> getSpanningTree() {
         return new SparseGraph<V>();
     }
-}
 
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public FrozenGraph<V> freeze() {
+        return new FrozenGraph<V>(this);
+    }
+}
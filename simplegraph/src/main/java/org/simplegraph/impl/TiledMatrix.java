@@ -0,0 +1,183 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+/**
+ Square matrix of doubles stored in fixed-size tiles.
+
+ The tiles are reached through a two-level block table, tiles[r][c] being the
+ tile of the rows from r * TILE_SIZE and the columns from c * TILE_SIZE.
+ Growing the matrix only extends the block table: the tiles are never copied,
+ so the cost of growing depends on the number of tiles and not on the number
+ of cells.
+
+ A tile is allocated on the first write of a value, a null tile is read as a
+ tile of Double.NaN. Rows are scanned a tile at a time and skip the missing
+ tiles.
+ */
+class TiledMatrix {
+    static final int TILE_SHIFT = 6;
+    static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    // Block table, tiles.length rows of tiles.length tiles each
+    private double[][][] tiles;
+
+    /**
+     * Create an empty matrix.
+     * @param capacity number of rows and columns to reserve
+     */
+    TiledMatrix(int capacity) {
+        int count = Math.max(1, tilesFor(capacity));
+        tiles = new double[count][count][];
+    }
+
+    /**
+     * Copy constructor
+     * @param matrix matrix to copy
+     */
+    TiledMatrix(TiledMatrix matrix) {
+        int count = matrix.tiles.length;
+        tiles = new double[count][count][];
+
+        for (int r = 0; r != count; r++) {
+            for (int c = 0; c != count; c++) {
+                double[] tile = matrix.tiles[r][c];
+                if (tile != null) {
+                    tiles[r][c] = Arrays.copyOf(tile, tile.length);
+                }
+            }
+        }
+    }
+
+    private static int tilesFor(int cells) {
+        return (cells + TILE_MASK) >>> TILE_SHIFT;
+    }
+
+    /**
+     * Make room for the specified number of rows and columns.
+     * The block table at least doubles, the tiles are not copied.
+     * @param capacity number of rows and columns
+     */
+    void ensureCapacity(int capacity) {
+        int count = tilesFor(capacity);
+        int oldCount = tiles.length;
+        if (count <= oldCount) {
+            return;
+        }
+
+        count = Math.max(count, oldCount * 2);
+        double[][][] newTiles = new double[count][][];
+        for (int r = 0; r != oldCount; r++) {
+            newTiles[r] = Arrays.copyOf(tiles[r], count);
+        }
+
+        for (int r = oldCount; r != count; r++) {
+            newTiles[r] = new double[count][];
+        }
+
+        tiles = newTiles;
+    }
+
+    /**
+     * Get the value of a cell.
+     * @param  i row
+     * @param  j column
+     * @return   the value, Double.NaN if it has never been set
+     */
+    double get(int i, int j) {
+        double[] tile = tiles[i >>> TILE_SHIFT][j >>> TILE_SHIFT];
+        if (tile == null) {
+            return Double.NaN;
+        }
+
+        return tile[((i & TILE_MASK) << TILE_SHIFT) | (j & TILE_MASK)];
+    }
+
+    /**
+     * Set the value of a cell.
+     * @param i     row
+     * @param j     column
+     * @param value the value, Double.NaN to clear the cell
+     */
+    void set(int i, int j, double value) {
+        double[][] row = tiles[i >>> TILE_SHIFT];
+        double[] tile = row[j >>> TILE_SHIFT];
+        if (tile == null) {
+            // Clearing a cell of a missing tile does not change anything
+            if (Double.isNaN(value)) {
+                return;
+            }
+
+            tile = new double[TILE_SIZE * TILE_SIZE];
+            Arrays.fill(tile, Double.NaN);
+            row[j >>> TILE_SHIFT] = tile;
+        }
+
+        tile[((i & TILE_MASK) << TILE_SHIFT) | (j & TILE_MASK)] = value;
+    }
+
+    /**
+     * Find the first cell of a row that has a value.
+     * @param  i     row
+     * @param  from  first column to check
+     * @param  limit the columns from limit onwards are not checked
+     * @return       the column of the cell, -1 if there is none
+     */
+    int nextInRow(int i, int from, int limit) {
+        double[][] row = tiles[i >>> TILE_SHIFT];
+        int offset = (i & TILE_MASK) << TILE_SHIFT;
+
+        int j = from;
+        while (j < limit) {
+            double[] tile = row[j >>> TILE_SHIFT];
+            // Last column of the tile, plus one
+            int end = Math.min(limit, (j | TILE_MASK) + 1);
+
+            if (tile != null) {
+                for (; j != end; j++) {
+                    if (!Double.isNaN(tile[offset | (j & TILE_MASK)])) {
+                        return j;
+                    }
+                }
+            }
+
+            j = end;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Estimate the memory used by the matrix.
+     * The block table is counted as adjacency and the tiles as weights;
+     * the cells of the tiles outside the first used rows and columns are
+     * unused.
+     * @param  used number of rows and columns in use
+     * @return      the footprint
+     */
+    MemoryFootprint footprint(int used) {
+        int count = tiles.length;
+        long table = MemoryFootprint.array(count, MemoryFootprint.REFERENCE)
+            + count * MemoryFootprint.array(count, MemoryFootprint.REFERENCE);
+        long cells = 0;
+        long unused = 0;
+        int allocated = 0;
+        for (int r = 0; r != count; r++) {
+            for (int c = 0; c != count; c++) {
+                if (tiles[r][c] == null) {
+                    continue;
+                }
+
+                long rows = Math.max(0, Math.min(TILE_SIZE, used - (r << TILE_SHIFT)));
+                long columns = Math.max(0, Math.min(TILE_SIZE, used - (c << TILE_SHIFT)));
+                allocated++;
+                cells += rows * columns;
+                unused += MemoryFootprint.unusedSlots(TILE_SIZE * TILE_SIZE, rows * columns, 8);
+            }
+        }
+
+        long tilesBytes = cells * 8 + (long) allocated * MemoryFootprint.ARRAY_HEADER;
+        return new MemoryFootprint(0, table, tilesBytes, unused, 0);
+    }
+}
@@ -0,0 +1,99 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.simplegraph.DirectedGraph;
+import org.simplegraph.Graph;
+
+/**
+ View of a directed graph ignoring the direction of the edges.
+ Two vertices are connected if there is an edge between them in either
+ direction.
+ */
+class UndirectedGraphView<V> extends GraphView<V> implements ViewableGraph<V> {
+    private final DirectedGraph<V> g;
+
+    /**
+     * Create an undirected view of a graph.
+     * @param g the directed graph
+     */
+    UndirectedGraphView(DirectedGraph<V> g) {
+        this.g = g;
+    }
+
+    @Override
+    protected void forEachNext(V vertex, Consumer<? super V> action) {
+        g.forEachNeighbor(vertex, action);
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return g.containsVertex(vertex);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return g.existsEdge(v1, v2) || g.existsEdge(v2, v1);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return g.getVertices();
+    }
+
+    @Override
+    public int countVertices() {
+        return g.countVertices();
+    }
+
+    /**
+     * Get the number of edges in the graph, counting once two edges that
+     * connect the same vertices in opposite directions.
+     * The edges are counted on each call.
+     * @return number of edges
+     */
+    @Override
+    public int countEdges() {
+        // Edges going both ways are seen twice, count them as halves
+        int[] halves = new int[1];
+        for (V v : g.getVertices()) {
+            g.forEachOutVertex(v, u -> halves[0] += g.existsEdge(u, v) ? 1 : 2);
+        }
+
+        return halves[0] / 2;
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return g.getNeighbors(vertex);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return g.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return g.forEachNeighbor(vertex, action);
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Graph<V> getSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+}
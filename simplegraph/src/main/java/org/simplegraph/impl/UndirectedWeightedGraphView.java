@@ -0,0 +1,146 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.DirectedWeightedGraph;
+import org.simplegraph.WeightedGraph;
+import org.simplegraph.util.Algorithms;
+
+/**
+ View of a directed and weighted graph ignoring the direction of the edges.
+ Two vertices are connected if there is an edge between them in either
+ direction; when there are both, the weight of the edge going from the
+ first vertex to the second is used.
+ */
+class UndirectedWeightedGraphView<V> extends GraphView<V> implements ViewableWeightedGraph<V> {
+    private final DirectedWeightedGraph<V> g;
+
+    /**
+     * Create an undirected view of a graph.
+     * @param g the directed graph
+     */
+    UndirectedWeightedGraphView(DirectedWeightedGraph<V> g) {
+        this.g = g;
+    }
+
+    @Override
+    protected void forEachNext(V vertex, Consumer<? super V> action) {
+        g.forEachNeighbor(vertex, action);
+    }
+
+    /**
+     * Views cannot be modified.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V v1, V v2, Double weight) {
+        throw new UnsupportedOperationException("Graph views cannot be modified");
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return g.containsVertex(vertex);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return g.existsEdge(v1, v2) || g.existsEdge(v2, v1);
+    }
+
+    @Override
+    public Double getWeight(V v1, V v2) {
+        Double weight = g.getWeight(v1, v2);
+        if (weight == null) {
+            return g.getWeight(v2, v1);
+        }
+
+        return weight;
+    }
+
+    @Override
+    public double getWeightAsDouble(V v1, V v2) {
+        double weight = g.getWeightAsDouble(v1, v2);
+        if (Double.isNaN(weight)) {
+            return g.getWeightAsDouble(v2, v1);
+        }
+
+        return weight;
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return g.getVertices();
+    }
+
+    @Override
+    public int countVertices() {
+        return g.countVertices();
+    }
+
+    /**
+     * Get the number of edges in the graph, counting once two edges that
+     * connect the same vertices in opposite directions.
+     * The edges are counted on each call.
+     * @return number of edges
+     */
+    @Override
+    public int countEdges() {
+        // Edges going both ways are seen twice, count them as halves
+        int[] halves = new int[1];
+        for (V v : g.getVertices()) {
+            g.forEachOutVertex(v, u -> halves[0] += g.existsEdge(u, v) ? 1 : 2);
+        }
+
+        return halves[0] / 2;
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return g.getNeighbors(vertex);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return g.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return g.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return g.forEachNeighbor(vertex, v -> action.accept(v, getWeightAsDouble(vertex, v)));
+    }
+
+    @Override
+    public List<V> getShortestPath(V source, V destination) {
+        return Algorithms.<V>getShortestPath(this, source, destination);
+    }
+
+    @Override
+    public Double getMinimumDistance(V source, V destination) {
+        return Algorithms.<V>getMinimumDistance(this, source, destination);
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public WeightedGraph<V> getSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+
+    /**
+     * Views do not build spanning trees.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public WeightedGraph<V> getMinimumSpanningTree() {
+        throw new UnsupportedOperationException("Graph views do not build spanning trees");
+    }
+}
@@ -0,0 +1,133 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ Bidirectional mapping between vertices and dense int ids.
+
+ Ids are stable for as long as the vertex is in the graph; the ids of the
+ removed vertices are recycled, so every id is lower than capacity().
+ */
+class VertexIndex<V> {
+    private HashMap<V, Integer> ids;
+    private Object[] vertices;
+    // Number of ids ever assigned
+    private int used;
+    // Stack of the ids released by remove()
+    private int[] freeIds;
+    private int freeCount;
+
+    /**
+     * Create an index with a starting size.
+     * @param size starting size
+     */
+    VertexIndex(int size) {
+        size = Math.max(size, 1);
+        ids = new HashMap<V, Integer>(size);
+        vertices = new Object[size];
+        freeIds = new int[0];
+        used = 0;
+        freeCount = 0;
+    }
+
+    /**
+     * Copy constructor
+     * @param index index to copy
+     */
+    VertexIndex(VertexIndex<V> index) {
+        ids = new HashMap<V, Integer>(index.ids);
+        vertices = Arrays.copyOf(index.vertices, index.vertices.length);
+        freeIds = Arrays.copyOf(index.freeIds, index.freeIds.length);
+        used = index.used;
+        freeCount = index.freeCount;
+    }
+
+    /**
+     * Assign an id to a vertex.
+     * @param  vertex the vertex to add
+     * @return        the id of vertex
+     */
+    int add(V vertex) {
+        Integer id = ids.get(vertex);
+        if (id != null) {
+            return id;
+        }
+
+        int newId;
+        if (freeCount != 0) {
+            newId = freeIds[--freeCount];
+        } else {
+            if (used == vertices.length) {
+                vertices = Arrays.copyOf(vertices, used * 2);
+            }
+
+            newId = used++;
+        }
+
+        vertices[newId] = vertex;
+        ids.put(vertex, newId);
+        return newId;
+    }
+
+    /**
+     * Release the id of a vertex, so that it can be assigned again.
+     * @param  vertex the vertex to remove
+     * @return        the id vertex had, -1 if it was not in the index
+     */
+    int remove(V vertex) {
+        Integer id = ids.remove(vertex);
+        if (id == null) {
+            return -1;
+        }
+
+        vertices[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, Math.max(freeCount * 2, 4));
+        }
+
+        freeIds[freeCount++] = id;
+        return id;
+    }
+
+    /**
+     * Get the id of a vertex.
+     * @param  vertex the specified vertex
+     * @return        the id of vertex, -1 if it is not in the index
+     */
+    int getId(V vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+
+        return ids.getOrDefault(vertex, -1);
+    }
+
+    /**
+     * Get the vertex with the specified id.
+     * @param  id the id of the vertex
+     * @return    the vertex, null if no vertex has this id
+     */
+    @SuppressWarnings("unchecked")
+    V getVertex(int id) {
+        return (V) vertices[id];
+    }
+
+    /**
+     * Get the upper bound of the ids, to size arrays indexed by id.
+     * @return every id is lower than this value
+     */
+    int capacity() {
+        return used;
+    }
+
+    /**
+     * Estimate the memory used by the index.
+     * @return the footprint, counted as vertex table
+     */
+    MemoryFootprint footprint() {
+        long freeIdsBytes = MemoryFootprint.array(freeIds.length, 4);
+        return MemoryFootprint.ofVertexIndex(ids.size(), vertices.length)
+            .plus(new MemoryFootprint(freeIdsBytes, 0, 0, 0, 0));
+    }
+}
@@ -0,0 +1,32 @@
+package org.simplegraph.impl;
+
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import org.simplegraph.DirectedGraph;
+import org.simplegraph.Graph;
+
+/**
+ Directed graph returning the views created by GraphViews.
+ */
+interface ViewableDirectedGraph<V> extends DirectedGraph<V>, ViewableGraph<V> {
+    @Override
+    default DirectedGraph<V> inducedBy(Predicate<? super V> filter) {
+        return GraphViews.filtered(this, filter, (v1, v2) -> true);
+    }
+
+    @Override
+    default DirectedGraph<V> edgeFiltered(BiPredicate<? super V, ? super V> filter) {
+        return GraphViews.filtered(this, v -> true, filter);
+    }
+
+    @Override
+    default DirectedGraph<V> reversed() {
+        return GraphViews.reversed(this);
+    }
+
+    @Override
+    default Graph<V> asUndirected() {
+        return GraphViews.undirected(this);
+    }
+}
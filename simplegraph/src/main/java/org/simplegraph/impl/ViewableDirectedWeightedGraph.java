@@ -0,0 +1,33 @@
+package org.simplegraph.impl;
+
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import org.simplegraph.DirectedWeightedGraph;
+import org.simplegraph.WeightedGraph;
+
+/**
+ Directed weighted graph returning the views created by GraphViews.
+ */
+interface ViewableDirectedWeightedGraph<V>
+        extends DirectedWeightedGraph<V>, ViewableWeightedGraph<V> {
+    @Override
+    default DirectedWeightedGraph<V> inducedBy(Predicate<? super V> filter) {
+        return GraphViews.filtered(this, filter, (v1, v2) -> true);
+    }
+
+    @Override
+    default DirectedWeightedGraph<V> edgeFiltered(BiPredicate<? super V, ? super V> filter) {
+        return GraphViews.filtered(this, v -> true, filter);
+    }
+
+    @Override
+    default DirectedWeightedGraph<V> reversed() {
+        return GraphViews.reversed(this);
+    }
+
+    @Override
+    default WeightedGraph<V> asUndirected() {
+        return GraphViews.undirected(this);
+    }
+}
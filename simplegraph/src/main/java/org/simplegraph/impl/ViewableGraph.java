@@ -0,0 +1,22 @@
+package org.simplegraph.impl;
+
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import org.simplegraph.Graph;
+
+/**
+ Undirected graph returning the views created by GraphViews, so that the
+ API interfaces do not depend on the implementation package.
+ */
+interface ViewableGraph<V> extends Graph<V> {
+    @Override
+    default Graph<V> inducedBy(Predicate<? super V> filter) {
+        return GraphViews.filtered(this, filter, (v1, v2) -> true);
+    }
+
+    @Override
+    default Graph<V> edgeFiltered(BiPredicate<? super V, ? super V> filter) {
+        return GraphViews.filtered(this, v -> true, filter);
+    }
+}
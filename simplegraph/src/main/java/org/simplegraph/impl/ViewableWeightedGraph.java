@@ -0,0 +1,21 @@
+package org.simplegraph.impl;
+
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import org.simplegraph.WeightedGraph;
+
+/**
+ Undirected weighted graph returning the views created by GraphViews.
+ */
+interface ViewableWeightedGraph<V> extends WeightedGraph<V> {
+    @Override
+    default WeightedGraph<V> inducedBy(Predicate<? super V> filter) {
+        return GraphViews.filtered(this, filter, (v1, v2) -> true);
+    }
+
+    @Override
+    default WeightedGraph<V> edgeFiltered(BiPredicate<? super V, ? super V> filter) {
+        return GraphViews.filtered(this, v -> true, filter);
+    }
+}
@@ -1,14 +1,15 @@
 package org.simplegraph.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 import org.simplegraph.WeightedGraph;
-import org.simplegraph.util.Algorithms;
 
 /**
  * Dense graph implemention for weighted graphs.
  */
-public class WeightedDenseGraph<V> extends BaseUndirectedDenseGraph<V, Double> implements WeightedGraph<V> {
+public class WeightedDenseGraph<V> extends BaseUndirectedDenseGraph<V, Double> implements ViewableWeightedGraph<V> {
     public WeightedDenseGraph() {
         super();
     }
@@ -31,6 +32,16 @@ public class WeightedDenseGraph<V> extends BaseUndirectedDenseGraph<V, Double> i
         return getSingleEdge(v1, v2);
     }
 
+    @Override
+    protected double getEdgeWeight(Double edge) {
+        return edge;
+    }
+
+    @Override
+    protected boolean isWeighted() {
+        return true;
+    }
+
     @Override
      public boolean addVertex(V vertex) {
          return super.addVertex(vertex);
@@ -61,6 +72,16 @@ public class WeightedDenseGraph<V> extends BaseUndirectedDenseGraph<V, Double> i
         return super.countNeighbors(vertex);
     }
 
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return _forEachOutEdge(vertex, action);
+    }
+
     @Override
     public List<V> getNeighbors(V vertex) {
         return super.getNeighbors(vertex);
@@ -94,16 +115,25 @@ public class WeightedDenseGraph<V> extends BaseUndirectedDenseGraph<V, Double> i
 
     @Override
     public Double getMinimumDistance(V source, V destination) {
-        return Algorithms.<V>getMinimumDistance(this, source, destination);
+        return _getMinimumDistance(source, destination);
     }
 
     @Override
     public List<V> getShortestPath(V source, V destination) {
-        return Algorithms.<V>getShortestPath(this, source, destination);
+        return _getShortestPath(source, destination);
     }
 
     @Override
     public WeightedGraph<V> getMinimumSpanningTree() {
         return getMinimumSpanningTree();
     }
+
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public WeightedFrozenGraph<V> freeze() {
+        return new WeightedFrozenGraph<V>(this);
+    }
 }
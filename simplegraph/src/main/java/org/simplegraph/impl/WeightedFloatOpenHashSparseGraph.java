@@ -0,0 +1,162 @@
+package org.simplegraph.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.simplegraph.WeightedGraph;
+import org.simplegraph.util.Algorithms;
+
+/**
+ Sparse graph implementation for weighted graph, storing the neighbors
+ of each vertex and the weights of the edges in an open addressing table,
+ with the weights rounded to floats.
+ */
+public class WeightedFloatOpenHashSparseGraph<V> extends BaseOpenHashSparseGraph<V> implements ViewableWeightedGraph<V> {
+    /**
+     * Default constructor
+     */
+    public WeightedFloatOpenHashSparseGraph() {
+        initialize(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a graph with a starting size.
+     * @param size starting size
+     */
+    public WeightedFloatOpenHashSparseGraph(int size) {
+        initialize(size);
+    }
+
+    public WeightedFloatOpenHashSparseGraph(WeightedFloatOpenHashSparseGraph<V> graph) {
+        copy(graph);
+    }
+
+    @Override
+    protected boolean isWeighted() {
+        return true;
+    }
+
+    @Override
+    protected boolean isSinglePrecision() {
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(V v1, V v2, Double weight) {
+        if (weight == null) {
+            return false;
+        }
+
+        return addSingleEdge(v1, v2, weight);
+    }
+
+    @Override
+    public Double getWeight(V v1, V v2) {
+        double weight = getSingleEdge(v1, v2);
+        if (Double.isNaN(weight)) {
+            return null;
+        }
+
+        return weight;
+    }
+
+    @Override
+    public double getWeightAsDouble(V v1, V v2) {
+        return getSingleEdge(v1, v2);
+    }
+
+    @Override
+    public boolean addVertex(V vertex) {
+        return super.addVertex(vertex);
+    }
+
+    @Override
+    public boolean containsVertex(V vertex) {
+        return super.containsVertex(vertex);
+    }
+
+    @Override
+    public int countVertices() {
+        return super.countVertices();
+    }
+
+    @Override
+    public boolean existsPath(V source, V destination) {
+        return super.existsPath(source, destination);
+    }
+
+    @Override
+    public boolean existsEdge(V v1, V v2) {
+        return super.existsEdge(v1, v2);
+    }
+
+    @Override
+    public int countNeighbors(V vertex) {
+        return super.countNeighbors(vertex);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return _forEachOutEdge(vertex, action);
+    }
+
+    @Override
+    public List<V> getNeighbors(V vertex) {
+        return super.getNeighbors(vertex);
+    }
+
+    @Override
+    public List<V> getPath(V source, V destination) {
+        return super.getPath(source, destination);
+    }
+
+    @Override
+    public boolean removeEdge(V v1, V v2) {
+        return super.removeEdge(v1, v2);
+    }
+
+    @Override
+    public boolean removeVertex(V vertex) {
+        return super.removeVertex(vertex);
+    }
+
+    @Override
+    public List<V> getVertices() {
+        return super.getVertices();
+    }
+
+    @Override
+    public List<V> getShortestPath(V source, V destination) {
+        return _getShortestPath(source, destination);
+    }
+
+    @Override
+    public Double getMinimumDistance(V source, V destination) {
+        return Algorithms.<V>getMinimumDistance(this, source, destination);
+    }
+
+    @Override
+    public WeightedGraph<V> getSpanningTree() {
+        return new WeightedFloatOpenHashSparseGraph<V>();
+    }
+
+    @Override
+    public WeightedGraph<V> getMinimumSpanningTree() {
+        return new WeightedFloatOpenHashSparseGraph<V>();
+    }
+
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public WeightedFrozenGraph<V> freeze() {
+        return new WeightedFrozenGraph<V>(this);
+    }
+}
@@ -1,14 +1,20 @@
 package org.simplegraph.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 import org.simplegraph.WeightedGraph;
 import org.simplegraph.util.Algorithms;
 
 /**
  Sparse graph implementation for weighted graph.
+
+ There is no single precision variant: the weights are the values of the
+ HashMap of each vertex, and a boxed Float takes as much memory as a boxed
+ Double. WeightedFloatOpenHashSparseGraph stores floats in primitive arrays.
  */
-public class WeightedSparseGraph<V> extends BaseSparseGraph<V, Double> implements WeightedGraph<V> {
+public class WeightedSparseGraph<V> extends BaseSparseGraph<V, Double> implements ViewableWeightedGraph<V> {
     /**
      * Default constructor
      */
@@ -40,6 +46,16 @@ public class WeightedSparseGraph<V> extends BaseSparseGraph<V, Double> implement
         return getSingleEdge(v1, v2);
     }
 
+    @Override
+    protected double getEdgeWeight(Double edge) {
+        return edge;
+    }
+
+    @Override
+    protected boolean isWeighted() {
+        return true;
+    }
+
     @Override
      public boolean addVertex(V vertex) {
          return super.addVertex(vertex);
@@ -70,6 +86,16 @@ public class WeightedSparseGraph<V> extends BaseSparseGraph<V, Double> implement
         return super.countNeighbors(vertex);
     }
 
+    @Override
+    public boolean forEachNeighbor(V vertex, Consumer<? super V> action) {
+        return super.forEachNeighbor(vertex, action);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, ObjDoubleConsumer<? super V> action) {
+        return _forEachOutEdge(vertex, action);
+    }
+
     @Override
     public List<V> getNeighbors(V vertex) {
         return super.getNeighbors(vertex);
@@ -97,7 +123,7 @@ public class WeightedSparseGraph<V> extends BaseSparseGraph<V, Double> implement
 
     @Override
     public List<V> getShortestPath(V source, V destination) {
-        return Algorithms.<V>getShortestPath(this, source, destination);
+        return _getShortestPath(source, destination);
     }
 
     @Override
@@ -114,5 +140,23 @@ public class WeightedSparseGraph<V> extends BaseSparseGraph<V, Double> implement
     public WeightedGraph<V> getMinimumSpanningTree() {
         return new WeightedSparseGraph<V>();
     }
-}
 
+    /**
+     * Create an immutable snapshot of the graph.
+     * Later changes to this graph are not reflected in the snapshot.
+     * @return the graph stored in compressed sparse row format
+     */
+    public WeightedFrozenGraph<V> freeze() {
+        return new WeightedFrozenGraph<V>(this);
+    }
+
+    /**
+     * Create a persistent version of the graph, from which new versions
+     * can be derived without copying it.
+     * Later changes to this graph are not reflected in the result.
+     * @return the graph stored in hash array mapped tries
+     */
+    public PersistentWeightedGraph<V> toPersistent() {
+        return PersistentWeightedGraph.<V>of(this);
+    }
+}
@@ -1,19 +1,100 @@
 package org.simplegraph.util;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.ObjDoubleConsumer;
 
+import org.simplegraph.DirectedWeightedGraph;
 import org.simplegraph.WeightedGraph;
-import org.simplegraph.util.FibonacciHeap;
 
 public class Algorithms {
+    @SuppressWarnings("unchecked")
     public static <V> List<V> getShortestPath(
             WeightedGraph g, V source, V destination) {
+        return Algorithms.<V>getShortestPath(g, source, destination, DaryHeap::new);
+    }
+
+    /**
+     * Get the shortest path between two vertices with Dijkstra's
+     * algorithm, using the priority queue given by a factory.
+     * @param  g           the graph, without negative weights
+     * @param  source      source vertex
+     * @param  destination destination vertex
+     * @param  queues      creates the queue, given the number of vertices
+     *                     of the graph
+     * @return             the vertices of the path, in order; an empty list
+     *                     if there is no path; null if the source and the
+     *                     destination are equal, are not in the graph, or
+     *                     if a negative weight has been found
+     */
+    public static <V> List<V> getShortestPath(WeightedGraph<V> g, V source, V destination,
+            IntFunction<? extends IndexedPriorityQueue> queues) {
+        return Algorithms.<V>search(g, source, destination, queues, null);
+    }
+
+    /**
+     * Get the shortest path between two vertices with A*, expanding first
+     * the vertices whose distance from the source plus the estimate of
+     * their distance to the destination is the smallest. With a good
+     * heuristic, such as the straight line distance when the vertices have
+     * coordinates, it settles far fewer vertices than Dijkstra's algorithm.
+     * When the assertions are enabled, the heuristic is checked against
+     * every edge of the graph first.
+     * @param  g           the graph, without negative weights
+     * @param  source      source vertex
+     * @param  destination destination vertex
+     * @param  heuristic   a consistent heuristic, see Heuristic
+     * @return             the vertices of the path, in order; an empty list
+     *                     if there is no path; null if the source and the
+     *                     destination are equal, are not in the graph, or
+     *                     if a negative weight has been found
+     */
+    public static <V> List<V> getAStarShortestPath(WeightedGraph<V> g, V source, V destination,
+            Heuristic<? super V> heuristic) {
+        return Algorithms.<V>getAStarShortestPath(g, source, destination, heuristic, DaryHeap::new);
+    }
+
+    /**
+     * Get the shortest path between two vertices with A*, using the
+     * priority queue given by a factory.
+     * @param  g           the graph, without negative weights
+     * @param  source      source vertex
+     * @param  destination destination vertex
+     * @param  heuristic   a consistent heuristic, see Heuristic
+     * @param  queues      creates the queue, given the number of vertices
+     *                     of the graph
+     * @return             the vertices of the path, in order; an empty list
+     *                     if there is no path; null if the source and the
+     *                     destination are equal, are not in the graph, or
+     *                     if a negative weight has been found
+     */
+    public static <V> List<V> getAStarShortestPath(WeightedGraph<V> g, V source, V destination,
+            Heuristic<? super V> heuristic, IntFunction<? extends IndexedPriorityQueue> queues) {
+        assert !g.containsVertex(destination) || heuristic.isConsistent(g, destination)
+            : "The heuristic is not consistent";
+        return Algorithms.<V>search(g, source, destination, queues, heuristic);
+    }
+
+    /**
+     * Get the shortest path between two vertices with A*, without checking
+     * the heuristic, for the heuristics checked once when they are built.
+     */
+    static <V> List<V> getAStarShortestPathUnchecked(WeightedGraph<V> g, V source, V destination,
+            Heuristic<? super V> heuristic) {
+        return Algorithms.<V>search(g, source, destination, DaryHeap::new, heuristic);
+    }
+
+    /**
+     * Run Dijkstra's algorithm, or A* if a heuristic is given, from the
+     * source until the destination is settled.
+     */
+    private static <V> List<V> search(WeightedGraph<V> g, V source, V destination,
+            IntFunction<? extends IndexedPriorityQueue> queues, Heuristic<? super V> heuristic) {
         if (!g.containsVertex(source) || !g.containsVertex(destination)) {
             return null;
         }
@@ -23,76 +104,341 @@ public class Algorithms {
             return null;
         }
 
-        List<V> vertices = g.getVertices();
-        int verticesCount = vertices.size();
-        FibonacciHeap.Entry<V> current;
-        Set<V> visited = new HashSet<V>(verticesCount, 1);
-        Map<V, V> prev = new HashMap<V, V>(verticesCount, 1);
-        Map<V, FibonacciHeap.Entry<V>> entries = new HashMap<>(verticesCount, 1);
-        prev.put(source, null);
-        FibonacciHeap<V> queue = new FibonacciHeap<>();
+        int verticesCount = g.countVertices();
+        IndexedPriorityQueue queue = queues.apply(verticesCount);
+        // Created once and reused for every vertex, so that visiting the
+        // edges does not allocate anything but the ids of the vertices
+        EdgeRelaxer<V> relaxer = new EdgeRelaxer<V>(verticesCount, queue);
+        if (heuristic != null) {
+            relaxer.heuristic = heuristic;
+            relaxer.destination = destination;
+            relaxer.estimates = new double[verticesCount];
+        }
 
-        entries.put(source, queue.enqueue(source, 0));
-        V currentVertex = null;
+        queue.insert(relaxer.getId(source), 0);
+        int current = -1;
+        boolean found = false;
 
-        while (queue.size() != 0) {
-            current = queue.dequeueMin();
-            currentVertex = current.getValue();
+        while (!queue.isEmpty()) {
+            current = queue.pollMin();
+            V currentVertex = relaxer.vertices.get(current);
 
             if (currentVertex.equals(destination)) {
+                found = true;
                 break;
             }
 
-            visited.add(currentVertex);
+            relaxer.visited[current] = true;
+            relaxer.current = current;
+            g.forEachOutEdge(currentVertex, relaxer);
 
-            for (Object o: g.getNeighbors(currentVertex)) {
-                V neighbor = (V) o;
-                if (visited.contains(neighbor)) {
-                    continue;
-                }
+            // Dijkstra algorithm does not support negative weight
+            if (relaxer.negative) {
+                return null;
+            }
+        }
 
-                double weight = g.getWeight(currentVertex, neighbor);
-                if (weight == Double.POSITIVE_INFINITY) {
-                    continue;
-                }
-                //
-                // Dijkstra algorithm does not support negative weight
-                if (weight < 0) {
-                    return null;
-                }
+        LinkedList<V> path = new LinkedList<V>();
+        if (!found) {
+            return path;
+        }
 
-                try {
-                    if (prev.containsKey(neighbor)) {
-                        queue.decreaseKey(entries.get(neighbor), weight + current.getPriority());
-                    } else {
-                        entries.put(neighbor, queue.enqueue(neighbor, weight + current.getPriority()));
-                    }
-                    prev.put(neighbor, currentVertex);
-                } catch (IllegalArgumentException e) {
+        for (int id = current; id != -1; id = relaxer.prev[id]) {
+            path.addFirst(relaxer.vertices.get(id));
+        }
 
-                }
+        return path;
+    }
+
+    /**
+     * Get the shortest path between two vertices with a bidirectional
+     * Dijkstra: a search from the source on the outer edges and a search
+     * from the destination on the incident ones, for directed graphs, take
+     * turns until they meet. Each search settles about the vertices closer
+     * than half the distance, instead of all the vertices closer than the
+     * distance. The incident edges of a directed graph are read once in
+     * O(V + E) before the search, since without an index of the incident
+     * edges each step of the backward search would scan the whole graph.
+     * @param  g           the graph, without negative weights
+     * @param  source      source vertex
+     * @param  destination destination vertex
+     * @return             the vertices of the path, in order; an empty list
+     *                     if there is no path; null if the source and the
+     *                     destination are equal, are not in the graph, or
+     *                     if a negative weight has been found
+     */
+    public static <V> List<V> getBidirectionalShortestPath(
+            WeightedGraph<V> g, V source, V destination) {
+        return Algorithms.<V>getBidirectionalShortestPath(g, source, destination, DaryHeap::new);
+    }
+
+    /**
+     * Get the shortest path between two vertices with a bidirectional
+     * Dijkstra, using the priority queues given by a factory.
+     * @param  g           the graph, without negative weights
+     * @param  source      source vertex
+     * @param  destination destination vertex
+     * @param  queues      creates the queue of each search, given the
+     *                     number of vertices of the graph
+     * @return             the vertices of the path, in order; an empty list
+     *                     if there is no path; null if the source and the
+     *                     destination are equal, are not in the graph, or
+     *                     if a negative weight has been found
+     */
+    public static <V> List<V> getBidirectionalShortestPath(WeightedGraph<V> g, V source, V destination,
+            IntFunction<? extends IndexedPriorityQueue> queues) {
+        if (!g.containsVertex(source) || !g.containsVertex(destination)) {
+            return null;
+        }
+
+        // source != null
+        if (source.equals(destination)) {
+            return null;
+        }
+
+        // The backward search follows the edges the other way, on a copy
+        // of the incident edges of directed graphs
+        List<V> vertices = null;
+        HashMap<V, Integer> ids = null;
+        Edges in = null;
+        if (g instanceof DirectedWeightedGraph) {
+            vertices = g.getVertices();
+            ids = new HashMap<V, Integer>(vertices.size());
+            for (V v : vertices) {
+                ids.put(v, ids.size());
+            }
+
+            in = new Edges(vertices.size());
+            if (!Edges.read(g, vertices, ids, null, in)) {
+                return null;
             }
         }
 
-        if (currentVertex != destination) {
-            return new LinkedList<V>();
+        int verticesCount = g.countVertices();
+        Meeting<V> meeting = new Meeting<V>();
+        EdgeRelaxer<V> forward = new EdgeRelaxer<V>(verticesCount, queues.apply(verticesCount));
+        EdgeRelaxer<V> backward = new EdgeRelaxer<V>(verticesCount, queues.apply(verticesCount));
+        forward.other = backward;
+        forward.meeting = meeting;
+        forward.isForward = true;
+        backward.other = forward;
+        backward.meeting = meeting;
+        forward.queue.insert(forward.getId(source), 0);
+        backward.queue.insert(backward.getId(destination), 0);
+
+        // Distances of the last vertices settled by each search
+        double forwardRadius = 0;
+        double backwardRadius = 0;
+
+        // Any path shorter than the best one found would go through a
+        // vertex that neither search has settled yet, so it would be at
+        // least as long as the sum of the two radii
+        while (!forward.queue.isEmpty() && !backward.queue.isEmpty()
+                && forwardRadius + backwardRadius < meeting.length) {
+            // Expand the smaller frontier
+            EdgeRelaxer<V> search = forward.queue.size() <= backward.queue.size() ? forward : backward;
+            int current = search.queue.pollMin();
+            search.visited[current] = true;
+            search.current = current;
+            if (search == forward) {
+                forwardRadius = forward.dist[current];
+                g.forEachOutEdge(forward.vertices.get(current), forward);
+            } else {
+                backwardRadius = backward.dist[current];
+                V currentVertex = backward.vertices.get(current);
+                if (in == null) {
+                    g.forEachOutEdge(currentVertex, backward);
+                } else {
+                    int id = ids.get(currentVertex);
+                    for (int k = in.begin(id); k != in.end(id); k++) {
+                        backward.accept(vertices.get(in.target(k)), in.weight(k));
+                    }
+                }
+            }
+
+            // Dijkstra algorithm does not support negative weight
+            if (search.negative) {
+                return null;
+            }
         }
 
         LinkedList<V> path = new LinkedList<V>();
-        path.add(destination);
+        if (meeting.length == Double.POSITIVE_INFINITY) {
+            return path;
+        }
+
+        for (int id = forward.ids.get(meeting.forwardEnd); id != -1; id = forward.prev[id]) {
+            path.addFirst(forward.vertices.get(id));
+        }
 
-        while (!currentVertex.equals(source)) {
-            currentVertex = prev.get(currentVertex);
-            path.addFirst(currentVertex);
+        for (int id = backward.ids.get(meeting.backwardEnd); id != -1; id = backward.prev[id]) {
+            path.addLast(backward.vertices.get(id));
         }
 
         return path;
     }
 
-    public static <V> double getMinimumDistance(
+    /**
+     * Shortest path found so far by a bidirectional search: the path from
+     * the source to forwardEnd, the edge from forwardEnd to backwardEnd,
+     * then the path from backwardEnd to the destination.
+     */
+    private static class Meeting<V> {
+        double length = Double.POSITIVE_INFINITY;
+        V forwardEnd;
+        V backwardEnd;
+    }
+
+    /**
+     * Relax the edges leaving the vertex in current, used by
+     * getShortestPath(). The vertices get an id in the order they are
+     * reached, so that the queue and the search state are arrays.
+     * In a bidirectional search, other is the search going the other way
+     * and every edge reaching one of its vertices is a candidate path. In
+     * A*, the priority of a vertex is its distance plus its estimate.
+     */
+    private static class EdgeRelaxer<V> implements ObjDoubleConsumer<V> {
+        final HashMap<V, Integer> ids;
+        final ArrayList<V> vertices;
+        final boolean[] visited;
+        final int[] prev;
+        final double[] dist;
+        final IndexedPriorityQueue queue;
+        int current;
+        boolean negative;
+        EdgeRelaxer<V> other;
+        Meeting<V> meeting;
+        boolean isForward;
+        Heuristic<? super V> heuristic;
+        V destination;
+        // Estimate of each vertex, computed once when it is reached
+        double[] estimates;
+
+        EdgeRelaxer(int verticesCount, IndexedPriorityQueue queue) {
+            ids = new HashMap<V, Integer>(verticesCount, 1);
+            vertices = new ArrayList<V>(verticesCount);
+            visited = new boolean[verticesCount];
+            prev = new int[verticesCount];
+            dist = new double[verticesCount];
+            this.queue = queue;
+            current = -1;
+        }
+
+        int getId(V vertex) {
+            int id = vertices.size();
+            ids.put(vertex, id);
+            vertices.add(vertex);
+            prev[id] = current;
+            if (heuristic != null) {
+                estimates[id] = heuristic.estimate(vertex, destination);
+            }
+
+            return id;
+        }
+
+        @Override
+        public void accept(V neighbor, double weight) {
+            Integer id = ids.get(neighbor);
+            if (negative || (id != null && visited[id]) || weight == Double.POSITIVE_INFINITY) {
+                return;
+            }
+
+            if (weight < 0) {
+                negative = true;
+                return;
+            }
+
+            double distance = weight + dist[current];
+            if (other != null) {
+                meet(neighbor, distance);
+            }
+
+            if (id == null) {
+                id = getId(neighbor);
+                dist[id] = distance;
+                queue.insert(id, priority(id));
+            } else if (distance < dist[id]) {
+                dist[id] = distance;
+                queue.decreaseKey(id, priority(id));
+                prev[id] = current;
+            }
+        }
+
+        double priority(int id) {
+            return heuristic == null ? dist[id] : dist[id] + estimates[id];
+        }
+
+        void meet(V neighbor, double distance) {
+            Integer otherId = other.ids.get(neighbor);
+            if (otherId == null) {
+                return;
+            }
+
+            double length = distance + other.dist[otherId];
+            if (length < meeting.length) {
+                meeting.length = length;
+                V currentVertex = vertices.get(current);
+                meeting.forwardEnd = isForward ? currentVertex : neighbor;
+                meeting.backwardEnd = isForward ? neighbor : currentVertex;
+            }
+        }
+    }
+
+    /**
+     * Get the distance from a vertex to every vertex reachable from it,
+     * with Dijkstra's algorithm.
+     * @param  g      the graph, without negative weights
+     * @param  source source vertex
+     * @return        the distance of each reachable vertex, source included;
+     *                null if source is not in the graph or if a negative
+     *                weight has been found
+     */
+    public static <V> Map<V, Double> getDistances(WeightedGraph<V> g, V source) {
+        if (!g.containsVertex(source)) {
+            return null;
+        }
+
+        int verticesCount = g.countVertices();
+        EdgeRelaxer<V> relaxer = new EdgeRelaxer<V>(verticesCount, new DaryHeap(verticesCount));
+        relaxer.queue.insert(relaxer.getId(source), 0);
+        while (!relaxer.queue.isEmpty()) {
+            int current = relaxer.queue.pollMin();
+            relaxer.visited[current] = true;
+            relaxer.current = current;
+            g.forEachOutEdge(relaxer.vertices.get(current), relaxer);
+
+            // Dijkstra algorithm does not support negative weight
+            if (relaxer.negative) {
+                return null;
+            }
+        }
+
+        HashMap<V, Double> distances = new HashMap<V, Double>(relaxer.vertices.size());
+        for (int id = 0; id != relaxer.vertices.size(); id++) {
+            distances.put(relaxer.vertices.get(id), relaxer.dist[id]);
+        }
+
+        return distances;
+    }
+
+    /**
+     * Get the length of the shortest path between two vertices, given by
+     * the getShortestPath() of the graph.
+     * @param  g           the graph
+     * @param  source      source vertex
+     * @param  destination destination vertex
+     * @return             the distance, null if there is no path, a vertex
+     *                     is not contained in the graph, they are the same or
+     *                     a weight is negative
+     */
+    public static <V> Double getMinimumDistance(
             WeightedGraph<V> g, V source, V destination
             ) {
         List<V> path = g.getShortestPath(source, destination);
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+
         ListIterator<V> iter = path.listIterator(1);
         V current = source;
         V next = null;
@@ -0,0 +1,162 @@
+package org.simplegraph.util;
+
+import java.util.Arrays;
+
+/**
+ Implicit d-ary min heap of int ids.
+
+ The position of every id in the heap is stored in an array indexed by id,
+ so that decreaseKey() does not need a handle object and the whole queue is
+ made of three primitive arrays. A 4-ary heap is shallower than a binary
+ one and the children of a node share a cache line, which usually makes it
+ faster for shortest paths, where insertions and decreases outnumber the
+ removals.
+ */
+public class DaryHeap implements IndexedPriorityQueue {
+    private final int arity;
+    private int[] heap;
+    // Position of each id in heap, -1 if the id is not in the heap
+    private int[] positions;
+    private double[] priorities;
+    private int size;
+
+    /**
+     * Create an empty 4-ary heap.
+     * @param capacity expected upper bound of the ids, the heap grows if a
+     *                 bigger id is inserted
+     */
+    public DaryHeap(int capacity) {
+        this(4, capacity);
+    }
+
+    /**
+     * Create an empty heap.
+     * @param arity    number of children of every node, at least 2
+     * @param capacity expected upper bound of the ids, the heap grows if a
+     *                 bigger id is inserted
+     */
+    public DaryHeap(int arity, int capacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity of a heap must be at least 2");
+        }
+
+        this.arity = arity;
+        capacity = Math.max(capacity, 1);
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        priorities = new double[capacity];
+        size = 0;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < positions.length) {
+            return;
+        }
+
+        int capacity = Math.max(id + 1, positions.length * 2);
+        int oldCapacity = positions.length;
+        heap = Arrays.copyOf(heap, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldCapacity, capacity, -1);
+        priorities = Arrays.copyOf(priorities, capacity);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return id < positions.length && positions[id] != -1;
+    }
+
+    @Override
+    public double getPriority(int id) {
+        return priorities[id];
+    }
+
+    @Override
+    public void insert(int id, double priority) {
+        ensureCapacity(id);
+        priorities[id] = priority;
+        heap[size] = id;
+        positions[id] = size;
+        siftUp(size++);
+    }
+
+    @Override
+    public void decreaseKey(int id, double priority) {
+        priorities[id] = priority;
+        siftUp(positions[id]);
+    }
+
+    @Override
+    public int pollMin() {
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size != 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        double priority = priorities[id];
+        while (position != 0) {
+            int parent = (position - 1) / arity;
+            if (priorities[heap[parent]] <= priority) {
+                break;
+            }
+
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        double priority = priorities[id];
+        while (true) {
+            int first = arity * position + 1;
+            if (first >= size) {
+                break;
+            }
+
+            // Find the smallest child
+            int child = first;
+            int last = Math.min(first + arity, size);
+            for (int c = first + 1; c < last; c++) {
+                if (priorities[heap[c]] < priorities[heap[child]]) {
+                    child = c;
+                }
+            }
+
+            if (priorities[heap[child]] >= priority) {
+                break;
+            }
+
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
@@ -0,0 +1,199 @@
+package org.simplegraph.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.simplegraph.WeightedGraph;
+
+/**
+ Edges of a graph in compressed sparse row format, indexed by vertex id.
+ The searches run on them instead of on the graph when they need the
+ incident edges of a directed graph, which the graphs don't always index,
+ or when they visit every edge many times.
+ */
+final class Edges {
+    // Edges of vertex i in [offsets[i], offsets[i + 1]); before
+    // allocate(), offsets[i + 1] is the number of edges of i
+    private final int[] offsets;
+    private int[] targets;
+    private double[] weights;
+    // First free slot of each vertex while the edges are added
+    private int[] next;
+
+    Edges(int verticesCount) {
+        offsets = new int[verticesCount + 1];
+    }
+
+    /**
+     * Copy the edges of a graph in arrays, with a pass to count them and
+     * another to store them.
+     * @param  g        the graph
+     * @param  vertices the vertices of g, in the order of their ids
+     * @param  ids      the id of each vertex
+     * @param  out      filled with the outer edges of each vertex, null if
+     *                  they are not needed
+     * @param  in       filled with the incident edges of each vertex, null
+     *                  if they are not needed
+     * @return          false if a negative weight has been found
+     */
+    static <V> boolean read(WeightedGraph<V> g, List<V> vertices, HashMap<V, Integer> ids,
+            Edges out, Edges in) {
+        boolean[] negative = { false };
+        for (int id = 0; id != vertices.size(); id++) {
+            int source = id;
+            g.forEachOutEdge(vertices.get(id), (v, weight) -> {
+                if (weight < 0) {
+                    negative[0] = true;
+                }
+
+                if (out != null) {
+                    out.count(source);
+                }
+
+                if (in != null) {
+                    in.count(ids.get(v));
+                }
+            });
+        }
+
+        if (negative[0]) {
+            return false;
+        }
+
+        if (out != null) {
+            out.allocate();
+        }
+
+        if (in != null) {
+            in.allocate();
+        }
+
+        for (int id = 0; id != vertices.size(); id++) {
+            int source = id;
+            g.forEachOutEdge(vertices.get(id), (v, weight) -> {
+                int target = ids.get(v);
+                if (out != null) {
+                    out.add(source, target, weight);
+                }
+
+                if (in != null) {
+                    in.add(target, source, weight);
+                }
+            });
+        }
+
+        return true;
+    }
+
+    void count(int source) {
+        offsets[source + 1]++;
+    }
+
+    void allocate() {
+        for (int i = 1; i != offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+
+        targets = new int[offsets[offsets.length - 1]];
+        weights = new double[targets.length];
+        next = Arrays.copyOf(offsets, offsets.length - 1);
+    }
+
+    void add(int source, int target, double weight) {
+        int k = next[source]++;
+        targets[k] = target;
+        weights[k] = weight;
+    }
+
+    /**
+     * Get the first edge of a vertex.
+     * @param  source id of the vertex
+     * @return        index of its first edge
+     */
+    int begin(int source) {
+        return offsets[source];
+    }
+
+    /**
+     * Get the end of the edges of a vertex.
+     * @param  source id of the vertex
+     * @return        index following its last edge
+     */
+    int end(int source) {
+        return offsets[source + 1];
+    }
+
+    int target(int edge) {
+        return targets[edge];
+    }
+
+    double weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Get the distance from a vertex to every vertex, with Dijkstra's
+     * algorithm.
+     * @param  source id of the source
+     * @return        the distance of each vertex, by id,
+     *                POSITIVE_INFINITY if it can't be reached
+     */
+    double[] distances(int source) {
+        double[] dist = new double[offsets.length - 1];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        boolean[] visited = new boolean[dist.length];
+        DaryHeap queue = new DaryHeap(dist.length);
+        dist[source] = 0;
+        queue.insert(source, 0);
+        while (!queue.isEmpty()) {
+            int current = queue.pollMin();
+            visited[current] = true;
+            for (int k = offsets[current]; k != offsets[current + 1]; k++) {
+                int target = targets[k];
+                double distance = dist[current] + weights[k];
+                if (visited[target] || !(distance < dist[target])) {
+                    continue;
+                }
+
+                if (dist[target] == Double.POSITIVE_INFINITY) {
+                    queue.insert(target, distance);
+                } else {
+                    queue.decreaseKey(target, distance);
+                }
+
+                dist[target] = distance;
+            }
+        }
+
+        return dist;
+    }
+
+    /**
+     * Check that the distances of the landmarks don't change by more
+     * than the weight of an edge along it, which makes every estimate
+     * consistent, whatever the destination.
+     * @param  from the distances from each landmark
+     * @param  to   the distances to each landmark
+     * @return      true if the distances are consistent
+     */
+    boolean isConsistent(double[][] from, double[][] to) {
+        for (int u = 0; u != offsets.length - 1; u++) {
+            for (int k = offsets[u]; k != offsets[u + 1]; k++) {
+                int w = targets[k];
+                for (int l = 0; l != from.length; l++) {
+                    if (exceeds(from[l][w], from[l][u] + weights[k])
+                            || exceeds(to[l][u], weights[k] + to[l][w])) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean exceeds(double distance, double bound) {
+        return distance > bound + 1e-9 * Math.max(1, Math.abs(bound));
+    }
+}
@@ -0,0 +1,118 @@
+package org.simplegraph.util;
+
+import java.util.function.ToDoubleFunction;
+
+import org.simplegraph.WeightedGraph;
+
+/**
+ Estimate of the distance between two vertices, used by A* to expand the
+ vertices closer to the destination first.
+
+ The estimate must never exceed the real distance (admissible) and must not
+ decrease by more than the weight of an edge when following it (consistent),
+ otherwise A* can return a path that is not the shortest one. Consistent
+ heuristics are admissible when the estimate of the destination is 0.
+ isConsistent() checks a heuristic against every edge of a graph, A* runs
+ it when the assertions are enabled. Landmarks are checked once by
+ Landmarks.build() instead.
+ */
+@FunctionalInterface
+public interface Heuristic<V> {
+    /**
+     * Estimate the distance between two vertices.
+     * @param  vertex      the vertex being reached
+     * @param  destination the destination of the search
+     * @return             a lower bound of the distance
+     */
+    double estimate(V vertex, V destination);
+
+    /**
+     * Get the heuristic that estimates every distance as 0, turning A*
+     * into Dijkstra's algorithm.
+     * @return the heuristic
+     */
+    static <V> Heuristic<V> zero() {
+        return (vertex, destination) -> 0;
+    }
+
+    /**
+     * Get the straight line distance between the points of two vertices in
+     * the plane. It is admissible when no edge is shorter than the segment
+     * between its vertices.
+     * @param  x the abscissa of each vertex
+     * @param  y the ordinate of each vertex
+     * @return   the heuristic
+     */
+    static <V> Heuristic<V> euclidean(ToDoubleFunction<? super V> x, ToDoubleFunction<? super V> y) {
+        return (vertex, destination) -> {
+            double dx = x.applyAsDouble(vertex) - x.applyAsDouble(destination);
+            double dy = y.applyAsDouble(vertex) - y.applyAsDouble(destination);
+            return Math.sqrt(dx * dx + dy * dy);
+        };
+    }
+
+    /**
+     * Get the great circle distance between the positions of two vertices
+     * on a sphere, with the haversine formula. It is admissible when no
+     * edge is shorter than the arc between its vertices.
+     * @param  latitude  the latitude of each vertex, in degrees
+     * @param  longitude the longitude of each vertex, in degrees
+     * @param  radius    the radius of the sphere, in the unit of the
+     *                   weights, for example 6371008.8 meters for the mean
+     *                   radius of the Earth
+     * @return           the heuristic
+     */
+    static <V> Heuristic<V> haversine(ToDoubleFunction<? super V> latitude, ToDoubleFunction<? super V> longitude,
+            double radius) {
+        return (vertex, destination) -> {
+            double lat1 = Math.toRadians(latitude.applyAsDouble(vertex));
+            double lat2 = Math.toRadians(latitude.applyAsDouble(destination));
+            double sinLat = Math.sin((lat2 - lat1) / 2);
+            double sinLon = Math.sin(Math.toRadians(longitude.applyAsDouble(destination)
+                - longitude.applyAsDouble(vertex)) / 2);
+            double a = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLon * sinLon;
+            // Rounding can push a slightly above 1 for antipodal points
+            return 2 * radius * Math.asin(Math.sqrt(Math.min(1, a)));
+        };
+    }
+
+    /**
+     * Check that the heuristic is consistent for a destination: its
+     * estimate is 0 for the destination and, for every edge, the estimate
+     * of the first vertex is at most the weight of the edge plus the
+     * estimate of the second one. A small relative tolerance absorbs the
+     * rounding of the estimates. An infinite estimate claims that the
+     * destination can't be reached from the vertex and is not checked. It
+     * visits every edge of the graph.
+     * @param  g           the graph
+     * @param  destination the destination of the search
+     * @return             true if the heuristic is consistent, false if it
+     *                     is not or if destination is not in the graph
+     */
+    default <U extends V> boolean isConsistent(WeightedGraph<U> g, U destination) {
+        if (!g.containsVertex(destination) || Math.abs(estimate(destination, destination)) > 1e-9) {
+            return false;
+        }
+
+        boolean[] consistent = { true };
+        for (U v : g.getVertices()) {
+            double h = estimate(v, destination);
+            if (h == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+
+            g.forEachOutEdge(v, (u, weight) -> {
+                double bound = weight + estimate(u, destination);
+                if (h > bound + 1e-9 * Math.max(1, Math.abs(bound))) {
+                    consistent[0] = false;
+                }
+            });
+
+            if (!consistent[0]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
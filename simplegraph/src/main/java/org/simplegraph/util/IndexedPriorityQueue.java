@@ -0,0 +1,58 @@
+package org.simplegraph.util;
+
+/**
+ Min priority queue of int ids with double priorities.
+
+ Ids are dense, from 0 to the capacity given when creating the queue, so
+ that implementations can keep the state of every id in primitive arrays
+ instead of allocating a handle for each entry. The priority of an id stays
+ readable after it has been removed, so that callers do not need to keep
+ the distances on their own.
+ */
+public interface IndexedPriorityQueue {
+    /**
+     * Is the queue empty.
+     * @return true if the queue contains no id
+     */
+    boolean isEmpty();
+
+    /**
+     * Get the number of ids in the queue.
+     * @return number of ids
+     */
+    int size();
+
+    /**
+     * Check if an id is in the queue.
+     * @param  id the id to check
+     * @return    true if the id has been inserted and not removed yet
+     */
+    boolean contains(int id);
+
+    /**
+     * Get the priority of an id.
+     * @param  id an id in the queue or already removed from it
+     * @return    its last priority
+     */
+    double getPriority(int id);
+
+    /**
+     * Add an id that is not in the queue.
+     * @param id       the id to add
+     * @param priority its priority
+     */
+    void insert(int id, double priority);
+
+    /**
+     * Lower the priority of an id in the queue.
+     * @param id       the id
+     * @param priority the new priority, not greater than the current one
+     */
+    void decreaseKey(int id, double priority);
+
+    /**
+     * Remove the id with the lowest priority, the queue must not be empty.
+     * @return the removed id
+     */
+    int pollMin();
+}
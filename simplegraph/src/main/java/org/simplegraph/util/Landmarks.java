@@ -0,0 +1,228 @@
+package org.simplegraph.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.simplegraph.DirectedWeightedGraph;
+import org.simplegraph.WeightedGraph;
+
+/**
+ Landmark index for ALT (A*, Landmarks, Triangle inequality) shortest path
+ queries on graphs without coordinates.
+
+ build() picks a few landmarks and stores the distances from each landmark
+ to every vertex and from every vertex to each landmark. By the triangle
+ inequality, d(v, t) >= d(L, t) - d(L, v) and d(v, t) >= d(v, L) - d(t, L)
+ for every landmark L, and the largest of these bounds is a consistent
+ heuristic for A*. The landmarks are picked far from each other, each one
+ being the vertex farthest from the ones already picked, so that they lie
+ on the border of the graph, behind the destinations of most queries.
+
+ The index is computed once in O(k (V + E) log V) and answers any number of
+ queries. build() reads the edges of the graph once, the incident ones of
+ directed graphs included, and runs every search on arrays of ids. When
+ the assertions are enabled, the bounds are checked against every edge
+ once, instead of on every query.
+
+ The index is valid only while the graph does not change: removing an
+ edge or lowering a weight invalidates the bounds, and the vertices added
+ after build() get no estimate. The index is Serializable, so that it can
+ be stored with the graph instead of being computed again; the vertices
+ must be Serializable too.
+ */
+public final class Landmarks<V> implements Heuristic<V>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final HashMap<V, Integer> ids;
+    private final Object[] landmarks;
+    // Distance from each landmark to each vertex, indexed by landmark then
+    // by vertex id, POSITIVE_INFINITY if the vertex can't be reached
+    private final double[][] from;
+    // Distance from each vertex to each landmark, the same arrays as from
+    // for undirected graphs
+    private final double[][] to;
+
+    private Landmarks(HashMap<V, Integer> ids, Object[] landmarks, double[][] from, double[][] to) {
+        this.ids = ids;
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Pick landmarks in a graph and compute their distances.
+     * @param  g     the graph, without negative weights
+     * @param  count number of landmarks, more landmarks give tighter bounds
+     *               at the price of k doubles per vertex
+     * @return       the index, null if count is negative or a negative
+     *               weight has been found
+     */
+    public static <V> Landmarks<V> build(WeightedGraph<V> g, int count) {
+        if (count < 0) {
+            return null;
+        }
+
+        List<V> vertices = g.getVertices();
+        HashMap<V, Integer> ids = new HashMap<V, Integer>(vertices.size());
+        for (V v : vertices) {
+            ids.put(v, ids.size());
+        }
+
+        // Without an index of the incident edges, searching the reversed
+        // view of a directed graph would scan every vertex at each step
+        Edges out = new Edges(vertices.size());
+        Edges in = g instanceof DirectedWeightedGraph ? new Edges(vertices.size()) : null;
+        if (!Edges.read(g, vertices, ids, out, in)) {
+            return null;
+        }
+
+        count = Math.min(count, vertices.size());
+        Object[] landmarks = new Object[count];
+        double[][] from = new double[count][];
+        double[][] to = new double[count][];
+
+        // Distance from the picked landmarks to each vertex, both ways
+        double[] nearest = new double[vertices.size()];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        if (count != 0) {
+            // Start from the vertex farthest from an arbitrary one
+            nearest = out.distances(0);
+        }
+
+        for (int l = 0; l != count; l++) {
+            // Unreachable vertices first, they are in another component
+            int farthest = 0;
+            for (int id = 1; id != nearest.length; id++) {
+                if (nearest[id] > nearest[farthest]) {
+                    farthest = id;
+                }
+            }
+
+            V landmark = vertices.get(farthest);
+            landmarks[l] = landmark;
+            from[l] = out.distances(farthest);
+            to[l] = in == null ? from[l] : in.distances(farthest);
+
+            if (l == 0) {
+                Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+            }
+
+            for (int id = 0; id != nearest.length; id++) {
+                nearest[id] = Math.min(nearest[id], from[l][id] + to[l][id]);
+            }
+
+            // Never pick the same landmark twice
+            nearest[farthest] = Double.NEGATIVE_INFINITY;
+        }
+
+        assert out.isConsistent(from, to) : "The distances of the landmarks are not consistent";
+        return new Landmarks<V>(ids, landmarks, from, to);
+    }
+
+    /**
+     * Get the landmarks picked by build().
+     * @return the landmarks, in the order they have been picked
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> getLandmarks() {
+        return (List<V>) Arrays.asList(landmarks.clone());
+    }
+
+    /**
+     * Get the largest lower bound of the distance between two vertices
+     * given by the landmarks.
+     * @param  vertex      the vertex being reached
+     * @param  destination the destination of the search
+     * @return             the lower bound, POSITIVE_INFINITY if the
+     *                     landmarks prove there is no path, 0 if a vertex
+     *                     is not in the index
+     */
+    @Override
+    public double estimate(V vertex, V destination) {
+        Integer v = ids.get(vertex);
+        Integer t = ids.get(destination);
+        if (v == null || t == null) {
+            return 0;
+        }
+
+        double bound = 0;
+        for (int l = 0; l != landmarks.length; l++) {
+            double fromV = from[l][v];
+            double fromT = from[l][t];
+            double toV = to[l][v];
+            double toT = to[l][t];
+
+            // The landmark reaches vertex but not destination, or destination
+            // reaches the landmark but vertex doesn't: vertex can't reach
+            // destination
+            if ((fromT == Double.POSITIVE_INFINITY && fromV != Double.POSITIVE_INFINITY)
+                    || (toV == Double.POSITIVE_INFINITY && toT != Double.POSITIVE_INFINITY)) {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            // The bounds of a landmark out of reach say nothing
+            if (fromV != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, fromT - fromV);
+            }
+
+            if (toT != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, toV - toT);
+            }
+        }
+
+        return bound;
+    }
+
+    /**
+     * Get the shortest path between two vertices with A* guided by the
+     * landmarks.
+     * @param  g           the graph the index has been built on
+     * @param  source      source vertex
+     * @param  destination destination vertex
+     * @return             the vertices of the path, in order; an empty list
+     *                     if there is no path; null if the source and the
+     *                     destination are equal, are not in the graph, or
+     *                     if a negative weight has been found
+     */
+    public List<V> getShortestPath(WeightedGraph<V> g, V source, V destination) {
+        if (estimate(source, destination) == Double.POSITIVE_INFINITY) {
+            return g.containsVertex(source) && g.containsVertex(destination)
+                ? new LinkedList<V>() : null;
+        }
+
+        // The bounds have been checked by build()
+        return Algorithms.<V>getAStarShortestPathUnchecked(g, source, destination, this);
+    }
+
+    /**
+     * Get the length of the shortest path between two vertices with A*
+     * guided by the landmarks.
+     * @param  g           the graph the index has been built on
+     * @param  source      source vertex
+     * @param  destination destination vertex
+     * @return             the distance, null if there is no path, a vertex
+     *                     is not contained in the graph, they are the same or
+     *                     a weight is negative
+     */
+    public Double getMinimumDistance(WeightedGraph<V> g, V source, V destination) {
+        List<V> path = getShortestPath(g, source, destination);
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+
+        double total = 0;
+        V previous = null;
+        for (V v : path) {
+            if (previous != null) {
+                total += g.getWeightAsDouble(previous, v);
+            }
+
+            previous = v;
+        }
+
+        return total;
+    }
+}
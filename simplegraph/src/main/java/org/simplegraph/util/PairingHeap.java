@@ -0,0 +1,184 @@
+package org.simplegraph.util;
+
+import java.util.Arrays;
+
+/**
+ Pairing heap of int ids.
+
+ Every node is an id, and the links of the tree are stored in arrays
+ indexed by id: the leftmost child, the next sibling and the previous node,
+ which is the parent for a leftmost child and the left sibling otherwise.
+ insert() and decreaseKey() take constant time and only link two trees;
+ pollMin() merges the children of the root in two passes, in amortized
+ O(log n).
+ */
+public class PairingHeap implements IndexedPriorityQueue {
+    private static final int NONE = -1;
+
+    private int[] child;
+    private int[] sibling;
+    private int[] previous;
+    private double[] priorities;
+    private boolean[] inHeap;
+    // Children of the removed root, reused by every pollMin()
+    private int[] pairs;
+    private int root;
+    private int size;
+
+    /**
+     * Create an empty heap.
+     * @param capacity expected upper bound of the ids, the heap grows if a
+     *                 bigger id is inserted
+     */
+    public PairingHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        child = new int[capacity];
+        sibling = new int[capacity];
+        previous = new int[capacity];
+        priorities = new double[capacity];
+        inHeap = new boolean[capacity];
+        pairs = new int[16];
+        root = NONE;
+        size = 0;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < inHeap.length) {
+            return;
+        }
+
+        int capacity = Math.max(id + 1, inHeap.length * 2);
+        child = Arrays.copyOf(child, capacity);
+        sibling = Arrays.copyOf(sibling, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        inHeap = Arrays.copyOf(inHeap, capacity);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return id < inHeap.length && inHeap[id];
+    }
+
+    @Override
+    public double getPriority(int id) {
+        return priorities[id];
+    }
+
+    @Override
+    public void insert(int id, double priority) {
+        ensureCapacity(id);
+        child[id] = NONE;
+        sibling[id] = NONE;
+        previous[id] = NONE;
+        priorities[id] = priority;
+        inHeap[id] = true;
+        root = root == NONE ? id : link(root, id);
+        size++;
+    }
+
+    @Override
+    public void decreaseKey(int id, double priority) {
+        priorities[id] = priority;
+        if (id == root) {
+            return;
+        }
+
+        // Cut the subtree of id and link it with the root
+        int p = previous[id];
+        if (child[p] == id) {
+            child[p] = sibling[id];
+        } else {
+            sibling[p] = sibling[id];
+        }
+
+        if (sibling[id] != NONE) {
+            previous[sibling[id]] = p;
+        }
+
+        sibling[id] = NONE;
+        previous[id] = NONE;
+        root = link(root, id);
+    }
+
+    @Override
+    public int pollMin() {
+        int min = root;
+        inHeap[min] = false;
+        size--;
+
+        // Collect the children of the root
+        int count = 0;
+        for (int c = child[min]; c != NONE; c = sibling[c]) {
+            if (count == pairs.length) {
+                pairs = Arrays.copyOf(pairs, count * 2);
+            }
+
+            pairs[count++] = c;
+        }
+
+        if (count == 0) {
+            root = NONE;
+            return min;
+        }
+
+        for (int i = 0; i != count; i++) {
+            sibling[pairs[i]] = NONE;
+            previous[pairs[i]] = NONE;
+        }
+
+        // First pass: link the children in pairs, left to right
+        int linked = 0;
+        for (int i = 0; i + 1 < count; i += 2) {
+            pairs[linked++] = link(pairs[i], pairs[i + 1]);
+        }
+
+        if (count % 2 == 1) {
+            pairs[linked++] = pairs[count - 1];
+        }
+
+        // Second pass: link the pairs right to left
+        int tree = pairs[linked - 1];
+        for (int i = linked - 2; i >= 0; i--) {
+            tree = link(pairs[i], tree);
+        }
+
+        root = tree;
+        return min;
+    }
+
+    /**
+     * Link two trees, the one with the greater root becomes the leftmost
+     * child of the other.
+     * @param  a root of the first tree, without siblings
+     * @param  b root of the second tree, without siblings
+     * @return   the root of the linked tree
+     */
+    private int link(int a, int b) {
+        if (priorities[b] < priorities[a]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+
+        int first = child[a];
+        sibling[b] = first;
+        if (first != NONE) {
+            previous[first] = b;
+        }
+
+        previous[b] = a;
+        child[a] = b;
+        return a;
+    }
+}
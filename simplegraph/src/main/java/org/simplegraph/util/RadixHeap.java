@@ -0,0 +1,177 @@
+package org.simplegraph.util;
+
+import java.util.Arrays;
+
+/**
+ Monotone radix heap of int ids, for non-negative priorities with integer
+ values.
+
+ Ids are kept in 65 buckets: bucket 0 holds the ids whose priority equals
+ the last removed one, and bucket i the ids whose priority first differs
+ from it in bit i - 1. When bucket 0 is empty, the first non-empty bucket
+ is emptied into the lower ones, and every id moves down at most 64 times,
+ so the operations take O(log C) amortized time, C being the greatest
+ priority. The buckets are doubly linked lists stored in arrays indexed by
+ id, so no object is allocated per entry.
+
+ The heap is monotone: priorities cannot be lower than the last removed
+ one, which always holds in Dijkstra's algorithm with non-negative weights.
+ */
+public class RadixHeap implements IndexedPriorityQueue {
+    private static final int NONE = -1;
+    private static final int BUCKETS = 65;
+
+    private final int[] heads = new int[BUCKETS];
+    private int[] next;
+    private int[] previous;
+    // Bucket of each id, NONE if the id is not in the heap
+    private int[] buckets;
+    private long[] keys;
+    private long last;
+    private int size;
+
+    /**
+     * Create an empty heap.
+     * @param capacity expected upper bound of the ids, the heap grows if a
+     *                 bigger id is inserted
+     */
+    public RadixHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        Arrays.fill(heads, NONE);
+        next = new int[capacity];
+        previous = new int[capacity];
+        buckets = new int[capacity];
+        Arrays.fill(buckets, NONE);
+        keys = new long[capacity];
+        last = 0;
+        size = 0;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < buckets.length) {
+            return;
+        }
+
+        int capacity = Math.max(id + 1, buckets.length * 2);
+        int oldCapacity = buckets.length;
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        buckets = Arrays.copyOf(buckets, capacity);
+        Arrays.fill(buckets, oldCapacity, capacity, NONE);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    /**
+     * Convert a priority to a key.
+     * @param  priority the priority
+     * @return          the priority as a long
+     * @throws IllegalArgumentException if the priority is not an integer
+     *         or is lower than the last removed one
+     */
+    private long toKey(double priority) {
+        long key = (long) priority;
+        if (key != priority || key < last) {
+            throw new IllegalArgumentException("Radix heaps only accept integer priorities not lower than "
+                + last + ", got " + priority);
+        }
+
+        return key;
+    }
+
+    private int bucketOf(long key) {
+        return 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void link(int id, int bucket) {
+        buckets[id] = bucket;
+        previous[id] = NONE;
+        next[id] = heads[bucket];
+        if (heads[bucket] != NONE) {
+            previous[heads[bucket]] = id;
+        }
+
+        heads[bucket] = id;
+    }
+
+    private void unlink(int id) {
+        int bucket = buckets[id];
+        if (previous[id] != NONE) {
+            next[previous[id]] = next[id];
+        } else {
+            heads[bucket] = next[id];
+        }
+
+        if (next[id] != NONE) {
+            previous[next[id]] = previous[id];
+        }
+
+        buckets[id] = NONE;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return id < buckets.length && buckets[id] != NONE;
+    }
+
+    @Override
+    public double getPriority(int id) {
+        return keys[id];
+    }
+
+    @Override
+    public void insert(int id, double priority) {
+        long key = toKey(priority);
+        ensureCapacity(id);
+        keys[id] = key;
+        link(id, bucketOf(key));
+        size++;
+    }
+
+    @Override
+    public void decreaseKey(int id, double priority) {
+        long key = toKey(priority);
+        unlink(id);
+        keys[id] = key;
+        link(id, bucketOf(key));
+    }
+
+    @Override
+    public int pollMin() {
+        if (heads[0] == NONE) {
+            int bucket = 1;
+            while (heads[bucket] == NONE) {
+                bucket++;
+            }
+
+            // The minimum of the bucket becomes the last removed priority
+            long min = Long.MAX_VALUE;
+            for (int id = heads[bucket]; id != NONE; id = next[id]) {
+                min = Math.min(min, keys[id]);
+            }
+
+            last = min;
+            int id = heads[bucket];
+            heads[bucket] = NONE;
+            while (id != NONE) {
+                int following = next[id];
+                link(id, bucketOf(keys[id]));
+                id = following;
+            }
+        }
+
+        int min = heads[0];
+        unlink(min);
+        size--;
+        return min;
+    }
+}
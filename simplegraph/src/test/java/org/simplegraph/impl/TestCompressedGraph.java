@@ -0,0 +1,69 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TestCompressedGraph {
+    @Test
+    public void testCompressUndirected() {
+        SparseGraph<String> g = new SparseGraph<String>();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addVertex("D");
+
+        CompressedGraph<String> c = new CompressedGraph<String>(g);
+        assertEquals(4, c.countVertices());
+        assertEquals(2, c.countEdges());
+        assertTrue(c.existsEdge("B", "A"));
+        assertFalse(c.existsEdge("A", "C"));
+        assertFalse(c.existsEdge("A", "E"));
+        assertEquals(2, c.countNeighbors("B"));
+        assertEquals(0, c.countNeighbors("D"));
+        assertArrayEquals(new String[] { "A", "B", "C" }, c.getPath("A", "C").toArray());
+        assertFalse(c.existsPath("A", "D"));
+        assertThrows(UnsupportedOperationException.class, () -> c.addEdge("A", "D"));
+    }
+
+    @Test
+    public void testCompressDirected() {
+        DirectedSparseGraph<String> g = new DirectedSparseGraph<String>();
+        g.addEdge("A", "C");
+        g.addEdge("B", "C");
+        g.addEdge("C", "A");
+
+        DirectedCompressedGraph<String> c = new DirectedCompressedGraph<String>(g);
+        assertEquals(3, c.countEdges());
+        assertTrue(c.existsEdge("C", "A"));
+        assertFalse(c.existsEdge("C", "B"));
+        assertEquals(2, c.getInDegree("C"));
+        assertEquals(1, c.getOutDegree("C"));
+        assertEquals(2, c.countNeighbors("C"));
+        assertEquals(1, c.countNeighbors("A"));
+        assertEquals(2, c.getInVertices("C").size());
+        assertTrue(c.getPath("B", "A").size() == 3);
+        assertTrue(c.getPath("A", "B").isEmpty());
+    }
+
+    @Test
+    public void testHighDegreeVertex() {
+        // Enough neighbors to use the skip pointers, with gaps of every size
+        DirectedSparseGraph<Integer> g = new DirectedSparseGraph<Integer>();
+        for (int i = 1; i != 1000; i++) {
+            g.addVertex(i * i);
+        }
+        for (int i = 1; i != 1000; i += 3) {
+            g.addEdge(0, i * i);
+        }
+
+        DirectedCompressedGraph<Integer> c = new DirectedCompressedGraph<Integer>(g);
+        assertEquals(333, c.getOutDegree(0));
+        for (int i = 1; i != 1000; i++) {
+            assertEquals(i % 3 == 1, c.existsEdge(0, i * i));
+            assertFalse(c.existsEdge(i * i, 0));
+            assertEquals(i % 3 == 1 ? 1 : 0, c.getInDegree(i * i));
+        }
+        assertTrue(c.getOutVertices(0).containsAll(g.getOutVertices(0)));
+        assertTrue(c.existsPath(0, 997 * 997));
+        assertFalse(c.existsPath(2 * 2, 0));
+    }
+}
@@ -0,0 +1,155 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import org.simplegraph.Graph;
+import org.simplegraph.WeightedGraph;
+
+/**
+ Lazy removal of the dense graphs, run against each storage of the
+ matrix: the dead slots and compact() go through the clearVertexEdges()
+ and moveVertexEdges() of the storage.
+ */
+public abstract class TestDenseGraphLazyRemoval {
+    protected abstract BaseDenseGraph<String> createGraph();
+
+    @SuppressWarnings("unchecked")
+    private static void addEdge(BaseDenseGraph<String> g, String v1, String v2) {
+        if (g instanceof WeightedGraph) {
+            ((WeightedGraph<String>) g).addEdge(v1, v2, 1.d);
+        } else {
+            ((Graph<String>) g).addEdge(v1, v2);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean existsEdge(BaseDenseGraph<String> g, String v1, String v2) {
+        if (g instanceof WeightedGraph) {
+            return ((WeightedGraph<String>) g).existsEdge(v1, v2);
+        }
+
+        return ((Graph<String>) g).existsEdge(v1, v2);
+    }
+
+    // Removed vertices leave dead slots until the graph is compacted
+    @Test
+    public void testLazyRemoval() {
+        BaseDenseGraph<String> g = createGraph();
+        g.setLazyRemoval(true);
+        addEdge(g, "A", "B");
+        addEdge(g, "B", "C");
+        addEdge(g, "C", "D");
+        addEdge(g, "D", "E");
+        addEdge(g, "E", "A");
+        addEdge(g, "A", "C");
+        int index = g.getVertexIndex("E");
+        g.removeVertex("B");
+        g.removeVertex("D");
+        assertEquals(index, g.getVertexIndex("E"));
+        assertEquals(3, g.countVertices());
+        assertArrayEquals(new String[] { "A", "C", "E" }, g.getVertices().toArray());
+        assertEquals(2, g.countEdges());
+        assertTrue(g.checkCounters());
+
+        g.compact();
+        assertEquals(2, g.getVertexIndex("E"));
+        assertEquals(3, g.countVertices());
+        assertEquals(2, g.countEdges());
+        assertTrue(existsEdge(g, "E", "A"));
+        assertTrue(existsEdge(g, "A", "C"));
+        assertTrue(g.checkCounters());
+
+        // The slots reused after the compaction hold no stale edge
+        g.addVertex("B");
+        g.addVertex("D");
+        assertFalse(existsEdge(g, "A", "B"));
+        assertFalse(existsEdge(g, "D", "E"));
+        assertEquals(2, g.countEdges());
+        assertTrue(g.checkCounters());
+    }
+
+    public static class TestDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new DenseGraph<String>();
+        }
+    }
+
+    public static class TestDirectedDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new DirectedDenseGraph<String>();
+        }
+    }
+
+    public static class TestBitsetDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new BitsetDenseGraph<String>();
+        }
+    }
+
+    public static class TestDirectedBitsetDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new DirectedBitsetDenseGraph<String>();
+        }
+    }
+
+    public static class TestWeightedDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new WeightedDenseGraph<String>();
+        }
+    }
+
+    public static class TestDirectedWeightedDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new DirectedWeightedDenseGraph<String>();
+        }
+    }
+
+    public static class TestWeightedDoubleDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new WeightedDoubleDenseGraph<String>();
+        }
+    }
+
+    public static class TestDirectedWeightedDoubleDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new DirectedWeightedDoubleDenseGraph<String>();
+        }
+    }
+
+    public static class TestWeightedFloatDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new WeightedFloatDenseGraph<String>();
+        }
+    }
+
+    public static class TestDirectedWeightedFloatDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new DirectedWeightedFloatDenseGraph<String>();
+        }
+    }
+
+    public static class TestWeightedTiledDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new WeightedTiledDenseGraph<String>();
+        }
+    }
+
+    public static class TestDirectedWeightedTiledDenseGraph extends TestDenseGraphLazyRemoval {
+        @Override
+        protected BaseDenseGraph<String> createGraph() {
+            return new DirectedWeightedTiledDenseGraph<String>();
+        }
+    }
+}
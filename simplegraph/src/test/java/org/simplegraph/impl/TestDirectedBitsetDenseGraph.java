@@ -0,0 +1,51 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestDirectedBitsetDenseGraph extends TestDirectedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new DirectedBitsetDenseGraph<String>());
+    }
+
+    @Test
+    public void testRemoveVertexAndAddItAgain() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "A");
+        g.removeVertex("B");
+        g.addVertex("D");
+        g.addVertex("B");
+        assertFalse(g.existsEdge("A", "B"));
+        assertEquals(0, g.getInDegree("B"));
+        assertEquals(1, g.countEdges());
+        assertTrue(g.existsEdge("C", "A"));
+        g.addEdge("C", "B");
+        assertArrayEquals(new String[] { "C", "B" }, g.getPath("C", "B").toArray());
+    }
+
+    @Test
+    public void testGetNeighborsAfterGrow() {
+        for (int i = 0; i != 200; i++) {
+            g.addEdge(String.valueOf(i), "X");
+        }
+
+        g.addEdge("X", "0");
+        assertEquals(200, g.getInDegree("X"));
+        assertEquals(200, g.countNeighbors("X"));
+        assertEquals(1, g.countNeighbors("0"));
+        assertArrayEquals(new String[] { "199", "X", "0" }, g.getPath("199", "0").toArray());
+    }
+
+    // 400000 rows of 6250 words wrap around as an int
+    @Test
+    public void testMatrixTooLarge() {
+        DirectedBitsetDenseGraph<String> g = new DirectedBitsetDenseGraph<String>();
+        g.addEdge("A", "B");
+        assertThrows(IllegalArgumentException.class, () -> g.grow(400000));
+        assertTrue(g.existsEdge("A", "B"));
+        assertTrue(g.checkCounters());
+    }
+}
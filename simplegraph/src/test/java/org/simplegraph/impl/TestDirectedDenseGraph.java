@@ -10,6 +10,40 @@ public class TestDirectedDenseGraph extends TestDirectedGraph {
         setGraph(new DirectedDenseGraph<String>());
     }
 
+    @Test
+    public void testRemoveMiddleVertex() {
+        DirectedDenseGraph<String> g = new DirectedDenseGraph<String>();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "B");
+        g.addEdge("C", "A");
+        g.removeVertex("B");
+        assertEquals(1, g.countEdges());
+        assertTrue(g.existsEdge("C", "A"));
+        assertFalse(g.existsEdge("A", "C"));
+        assertEquals(0, g.getOutDegree("A"));
+        assertEquals(1, g.getInDegree("A"));
+
+        g.addVertex("B");
+        assertEquals(0, g.countNeighbors("B"));
+        g.addEdge("C", "B");
+        assertArrayEquals(new String[] { "C", "B" }, g.getPath("C", "B").toArray());
+    }
+
+    @Test
+    public void testGrowKeepsEdges() {
+        DirectedDenseGraph<Integer> g = new DirectedDenseGraph<Integer>();
+        for (int i = 0; i != 100; i++) {
+            g.addEdge(i, i + 1);
+        }
+
+        assertEquals(100, g.countEdges());
+        for (int i = 0; i != 100; i++) {
+            assertTrue(g.existsEdge(i, i + 1));
+            assertFalse(g.existsEdge(i + 1, i));
+        }
+    }
+
     // @Test
     // public void testCopyConstructor() {
     //     DirectedDenseGraph<String> g1 = new DirectedDenseGraph<String>();
@@ -27,4 +61,33 @@ public class TestDirectedDenseGraph extends TestDirectedGraph {
     //     g2.addEdge("B", "C");
     //     assertNotEquals(g1, g2);
     // }
+
+    @Test
+    public void testCopy() {
+        DirectedDenseGraph<String> g1 = new DirectedDenseGraph<String>();
+        for (int i = 0; i != 40; i++) {
+            g1.addEdge(String.valueOf(i), String.valueOf(i + 1));
+        }
+
+        DirectedDenseGraph<String> g2 = new DirectedDenseGraph<String>(g1);
+        g2.removeVertex("0");
+        g2.addEdge("41", "42");
+        assertEquals(41, g1.countVertices());
+        assertEquals(40, g1.countEdges());
+        assertTrue(g1.existsEdge("0", "1"));
+        assertEquals(42, g2.countVertices());
+        assertEquals(40, g2.countEdges());
+        assertTrue(g2.existsEdge("39", "40"));
+        assertTrue(g2.checkCounters());
+    }
+
+    // 46341 * 46341 cells wrap around as an int
+    @Test
+    public void testMatrixTooLarge() {
+        DirectedDenseGraph<String> g = new DirectedDenseGraph<String>();
+        g.addEdge("A", "B");
+        assertThrows(IllegalArgumentException.class, () -> g.grow(46341));
+        assertTrue(g.existsEdge("A", "B"));
+        assertTrue(g.checkCounters());
+    }
 }
@@ -1,10 +1,14 @@
 package org.simplegraph.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 import org.simplegraph.DirectedGraph;
 
+import org.simplegraph.Graph;
 public abstract class TestDirectedGraph extends TestEdgesGraph {
     public DirectedGraph<String> g;
 
@@ -61,4 +65,106 @@ public abstract class TestDirectedGraph extends TestEdgesGraph {
         g.addEdge("C", "B");
         assertArrayEquals(new String[] {"A", "B"}, g.getOutVertices("C").toArray());
     }
+
+    @Test
+    public void testRemoveMiddleVertex() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        g.addEdge("D", "A");
+        g.addEdge("D", "B");
+        g.removeVertex("B");
+        assertEquals(2, g.countEdges());
+        assertEquals(0, g.getOutDegree("A"));
+        assertEquals(1, g.getInDegree("A"));
+        assertEquals(1, g.getOutDegree("D"));
+        assertTrue(g.existsEdge("D", "A"));
+        assertFalse(g.existsEdge("A", "D"));
+    }
+
+    @Test
+    public void testForEachInAndOutVertex() {
+        g.addEdge("A", "C");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        ArrayList<String> in = new ArrayList<String>();
+        ArrayList<String> out = new ArrayList<String>();
+        assertTrue(g.forEachInVertex("C", in::add));
+        assertTrue(g.forEachOutVertex("C", out::add));
+        Collections.sort(in);
+        assertArrayEquals(new String[] {"A", "B"}, in.toArray());
+        assertArrayEquals(new String[] {"D"}, out.toArray());
+        assertFalse(g.forEachInVertex("E", in::add));
+        assertFalse(g.forEachOutVertex("E", out::add));
+    }
+
+    @Test
+    public void testReversed() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        DirectedGraph<String> r = g.reversed();
+        assertTrue(r.existsEdge("B", "A"));
+        assertFalse(r.existsEdge("A", "B"));
+        assertEquals(2, r.countEdges());
+        assertEquals(0, r.getInDegree("C"));
+        assertEquals(1, r.getOutDegree("C"));
+        assertArrayEquals(new String[] { "C", "B", "A" }, r.getPath("C", "A").toArray());
+        assertFalse(r.existsPath("A", "C"));
+        assertSame(g, r.reversed());
+
+        // The view reflects the changes of the graph
+        g.addEdge("D", "A");
+        assertTrue(r.existsEdge("A", "D"));
+    }
+
+    // Views are read-only and don't build spanning trees
+    @Test
+    public void testViewsSpanningTree() {
+        g.addEdge("A", "B");
+        assertThrows(UnsupportedOperationException.class, () -> g.reversed().getSpanningTree());
+        assertThrows(UnsupportedOperationException.class, () -> g.asUndirected().getSpanningTree());
+        assertThrows(UnsupportedOperationException.class, () -> g.inducedBy(v -> true).getSpanningTree());
+        assertThrows(UnsupportedOperationException.class, () -> g.reversed().addEdge("B", "C"));
+    }
+
+    @Test
+    public void testAsUndirected() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "A");
+        g.addEdge("C", "B");
+        Graph<String> u = g.asUndirected();
+        assertTrue(u.existsEdge("B", "C"));
+        assertEquals(2, u.countEdges());
+        assertArrayEquals(new String[] { "A", "B", "C" }, u.getPath("A", "C").toArray());
+    }
+
+    @Test
+    public void testInducedBy() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("A", "C");
+        DirectedGraph<String> s = g.inducedBy(v -> !v.equals("B"));
+        assertEquals(2, s.countVertices());
+        assertFalse(s.containsVertex("B"));
+        assertFalse(s.existsEdge("A", "B"));
+        assertEquals(1, s.countEdges());
+        assertEquals(1, s.getOutDegree("A"));
+        assertEquals(1, s.countNeighbors("C"));
+        assertArrayEquals(new String[] { "A", "C" }, s.getPath("A", "C").toArray());
+    }
+
+    @Test
+    public void testEdgeFiltered() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "A");
+        DirectedGraph<String> s = g.edgeFiltered((v1, v2) -> !v1.equals("C"));
+        assertEquals(3, s.countVertices());
+        assertEquals(2, s.countEdges());
+        assertFalse(s.existsEdge("C", "A"));
+        assertEquals(0, s.getInDegree("A"));
+        assertEquals(1, s.countNeighbors("A"));
+        assertFalse(s.existsPath("C", "A"));
+        assertThrows(UnsupportedOperationException.class, () -> s.addEdge("C", "A"));
+    }
 }
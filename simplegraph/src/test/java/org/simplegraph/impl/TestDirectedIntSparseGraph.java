@@ -0,0 +1,10 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+
+public class TestDirectedIntSparseGraph extends TestIntDirectedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new IntDirectedSparseGraph());
+    }
+}
@@ -1,10 +1,68 @@
 package org.simplegraph.impl;
 
+import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class TestDirectedSparseGraph extends TestDirectedGraph {
     @BeforeEach
     public void init() {
         setGraph(new DirectedSparseGraph<String>());
     }
+
+    @Test
+    public void testRemoveVertexAndAddItAgain() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.removeVertex("B");
+        g.addVertex("D");
+        g.addVertex("B");
+        assertFalse(g.existsEdge("A", "B"));
+        assertEquals(0, g.getInDegree("B"));
+        assertEquals(0, g.countEdges());
+        g.addEdge("C", "B");
+        assertArrayEquals(new String[] { "C", "B" }, g.getPath("C", "B").toArray());
+    }
+
+    // The copy shares the maps of edges until one of the graphs changes them
+    @Test
+    public void testCopyIsIndependent() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        DirectedSparseGraph<String> copy = new DirectedSparseGraph<String>((DirectedSparseGraph<String>) g);
+        copy.addEdge("C", "A");
+        copy.removeEdge("A", "B");
+        g.addEdge("A", "C");
+        g.removeVertex("B");
+
+        assertTrue(copy.existsEdge("B", "C"));
+        assertTrue(copy.existsEdge("C", "A"));
+        assertFalse(copy.existsEdge("A", "B"));
+        assertFalse(copy.existsEdge("A", "C"));
+        assertEquals(2, copy.countEdges());
+        assertTrue(copy.checkCounters());
+
+        assertFalse(g.existsEdge("C", "A"));
+        assertTrue(g.existsEdge("A", "C"));
+        assertEquals(1, g.countEdges());
+        assertFalse(g.containsVertex("B"));
+        assertTrue(copy.containsVertex("B"));
+    }
+
+    // The source of a copy keeps its index of the incident edges intact
+    @Test
+    public void testCopyWithInEdgesIndex() {
+        DirectedSparseGraph<String> g = new DirectedSparseGraph<String>(15, true);
+        g.addEdge("A", "B");
+        g.addEdge("C", "B");
+        DirectedSparseGraph<String> copy = new DirectedSparseGraph<String>(g);
+        g.removeVertex("C");
+        g.addEdge("D", "B");
+
+        assertArrayEquals(new String[] { "A", "C" }, copy.getInVertices("B").stream().sorted().toArray());
+        assertArrayEquals(new String[] { "A", "D" }, g.getInVertices("B").stream().sorted().toArray());
+        assertEquals(2, copy.getInDegree("B"));
+        assertTrue(g.checkCounters());
+        assertTrue(copy.checkCounters());
+    }
 }
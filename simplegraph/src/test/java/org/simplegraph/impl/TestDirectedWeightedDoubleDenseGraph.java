@@ -0,0 +1,29 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestDirectedWeightedDoubleDenseGraph extends TestDirectedWeightedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new DirectedWeightedDoubleDenseGraph<String>());
+    }
+
+    @Test
+    public void testShortestPathSkipsDeadSlots() {
+        DirectedWeightedDoubleDenseGraph<String> g = new DirectedWeightedDoubleDenseGraph<String>();
+        g.setLazyRemoval(true);
+        g.addEdge("A", "B", 1.d);
+        g.addEdge("B", "D", 1.d);
+        g.addEdge("A", "C", 2.d);
+        g.addEdge("C", "D", 2.d);
+        g.addVertex("E");
+        g.removeVertex("B");
+        assertArrayEquals(new String[] { "A", "C", "D" }, g.getShortestPath("A", "D").toArray());
+        assertEquals(4.d, (double) g.getMinimumDistance("A", "D"));
+        assertTrue(g.getShortestPath("A", "E").isEmpty());
+        assertNull(g.getMinimumDistance("A", "E"));
+        assertNull(g.getShortestPath("A", "B"));
+    }
+}
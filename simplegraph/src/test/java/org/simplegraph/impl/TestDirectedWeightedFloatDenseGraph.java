@@ -0,0 +1,15 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+
+public class TestDirectedWeightedFloatDenseGraph extends TestDirectedWeightedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new DirectedWeightedFloatDenseGraph<String>());
+    }
+
+    @Override
+    protected boolean roundsWeightsToFloat() {
+        return true;
+    }
+}
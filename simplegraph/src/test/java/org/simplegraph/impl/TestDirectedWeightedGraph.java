@@ -1,10 +1,15 @@
 package org.simplegraph.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 import org.simplegraph.DirectedWeightedGraph;
 
+import org.simplegraph.WeightedGraph;
 public abstract class TestDirectedWeightedGraph extends TestWeightedEdgesGraph {
     public DirectedWeightedGraph<String> g;
 
@@ -61,4 +66,80 @@ public abstract class TestDirectedWeightedGraph extends TestWeightedEdgesGraph {
         g.addEdge("C", "B", 1.d);
         assertArrayEquals(new String[] {"A", "B"}, g.getOutVertices("C").toArray());
     }
+
+    @Test
+    public void testForEachInAndOutVertex() {
+        g.addEdge("A", "C", 1.d);
+        g.addEdge("B", "C", 1.d);
+        g.addEdge("C", "D", 1.d);
+        ArrayList<String> in = new ArrayList<String>();
+        ArrayList<String> out = new ArrayList<String>();
+        assertTrue(g.forEachInVertex("C", in::add));
+        assertTrue(g.forEachOutVertex("C", out::add));
+        Collections.sort(in);
+        assertArrayEquals(new String[] {"A", "B"}, in.toArray());
+        assertArrayEquals(new String[] {"D"}, out.toArray());
+        assertFalse(g.forEachInVertex("E", in::add));
+        assertFalse(g.forEachOutVertex("E", out::add));
+    }
+
+    @Test
+    public void testForEachOutEdgeSkipsInEdges() {
+        g.addEdge("A", "B", 2.d);
+        g.addEdge("C", "A", 3.d);
+        HashMap<String, Double> edges = new HashMap<String, Double>();
+        assertTrue(g.forEachOutEdge("A", edges::put));
+        assertEquals(1, edges.size());
+        assertEquals(2.d, (double) edges.get("B"));
+    }
+
+    @Test
+    public void testReversedWeights() {
+        g.addEdge("A", "B", 1.d);
+        g.addEdge("B", "C", 2.d);
+        g.addEdge("A", "C", 5.d);
+        DirectedWeightedGraph<String> r = g.reversed();
+        assertEquals(2.d, (double) r.getWeight("C", "B"));
+        assertNull(r.getWeight("B", "C"));
+        assertArrayEquals(new String[] { "C", "B", "A" }, r.getShortestPath("C", "A").toArray());
+        assertEquals(3.d, (double) r.getMinimumDistance("C", "A"));
+        assertTrue(r.getShortestPath("A", "C").isEmpty());
+    }
+
+    // Views are read-only and don't build spanning trees
+    @Test
+    public void testViewsSpanningTree() {
+        g.addEdge("A", "B", 1.d);
+        assertThrows(UnsupportedOperationException.class, () -> g.reversed().getMinimumSpanningTree());
+        assertThrows(UnsupportedOperationException.class, () -> g.asUndirected().getSpanningTree());
+        assertThrows(UnsupportedOperationException.class, () -> g.inducedBy(v -> true).getSpanningTree());
+        assertThrows(UnsupportedOperationException.class,
+            () -> g.edgeFiltered((v1, v2) -> true).getMinimumSpanningTree());
+    }
+
+    @Test
+    public void testAsUndirectedWeights() {
+        g.addEdge("A", "B", 1.d);
+        g.addEdge("C", "B", 2.d);
+        WeightedGraph<String> u = g.asUndirected();
+        assertEquals(2.d, (double) u.getWeight("B", "C"));
+        assertEquals(2, u.countEdges());
+        assertEquals(3.d, (double) u.getMinimumDistance("A", "C"));
+    }
+
+    @Test
+    public void testShortestPathOnInducedView() {
+        g.addEdge("A", "B", 1.d);
+        g.addEdge("B", "D", 1.d);
+        g.addEdge("A", "C", 5.d);
+        g.addEdge("C", "D", 5.d);
+        DirectedWeightedGraph<String> s = g.inducedBy(v -> !v.equals("B"));
+        assertArrayEquals(new String[] { "A", "C", "D" }, s.getShortestPath("A", "D").toArray());
+        assertNull(s.getWeight("A", "B"));
+        assertEquals(1, s.getInDegree("D"));
+        assertEquals(1, s.getOutDegree("A"));
+        DirectedWeightedGraph<String> f = g.edgeFiltered((v1, v2) -> g.getWeightAsDouble(v1, v2) < 5);
+        assertFalse(f.existsPath("A", "C"));
+        assertEquals(2, f.countEdges());
+    }
 }
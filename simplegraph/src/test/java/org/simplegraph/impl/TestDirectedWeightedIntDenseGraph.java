@@ -0,0 +1,10 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+
+public class TestDirectedWeightedIntDenseGraph extends TestIntDirectedWeightedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new IntDirectedWeightedDenseGraph());
+    }
+}
@@ -0,0 +1,28 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestDirectedWeightedTiledDenseGraph extends TestDirectedWeightedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new DirectedWeightedTiledDenseGraph<String>());
+    }
+
+    // Growing over several tiles keeps the edges already added
+    @Test
+    public void testGrowKeepsEdges() {
+        int verticesToAdd = 300;
+        for (int i = 1; i != verticesToAdd; i++) {
+            g.addEdge(String.valueOf(i - 1), String.valueOf(i), (double) i);
+        }
+
+        assertEquals(verticesToAdd - 1, g.countEdges());
+        for (int i = 1; i != verticesToAdd; i++) {
+            assertEquals((double) i, (double) g.getWeight(String.valueOf(i - 1), String.valueOf(i)));
+        }
+
+        assertEquals(verticesToAdd, g.getPath("0", String.valueOf(verticesToAdd - 1)).size());
+    }
+}
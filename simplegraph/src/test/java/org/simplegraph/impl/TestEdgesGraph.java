@@ -1,8 +1,11 @@
 package org.simplegraph.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import org.simplegraph.Graph;
@@ -14,6 +17,14 @@ public abstract class TestEdgesGraph {
         this.g = g;
     }
 
+    // Every test leaves the maintained counters consistent with the edges
+    @AfterEach
+    public void checkCounters() {
+        if (g instanceof SelfCheckingGraph) {
+            assertTrue(((SelfCheckingGraph) g).checkCounters());
+        }
+    }
+
 	@Test
 	public void testAddVertex() {
         int size = g.countVertices();
@@ -232,4 +243,18 @@ public abstract class TestEdgesGraph {
         g.addVertex("A");
         assertSame(null, g.getPath("A", "A"));
     }
+
+    @Test
+    public void testForEachNeighbor() {
+        g.addEdge("A", "B");
+        g.addEdge("C", "A");
+        g.addVertex("D");
+        ArrayList<String> neighbors = new ArrayList<String>();
+        assertTrue(g.forEachNeighbor("A", neighbors::add));
+        Collections.sort(neighbors);
+        assertArrayEquals(new String[] {"B", "C"}, neighbors.toArray());
+        assertTrue(g.forEachNeighbor("D", neighbors::add));
+        assertEquals(2, neighbors.size());
+        assertFalse(g.forEachNeighbor("E", neighbors::add));
+    }
 }
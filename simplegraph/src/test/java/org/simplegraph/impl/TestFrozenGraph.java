@@ -0,0 +1,72 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TestFrozenGraph {
+    @Test
+    public void testFreezeUndirected() {
+        SparseGraph<String> g = new SparseGraph<String>();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addVertex("D");
+
+        FrozenGraph<String> f = g.freeze();
+        assertEquals(4, f.countVertices());
+        assertEquals(2, f.countEdges());
+        assertTrue(f.existsEdge("B", "A"));
+        assertFalse(f.existsEdge("A", "C"));
+        assertEquals(2, f.countNeighbors("B"));
+        assertEquals(0, f.countNeighbors("D"));
+        assertArrayEquals(new String[] { "A", "B", "C" }, f.getPath("A", "C").toArray());
+        assertFalse(f.existsPath("A", "D"));
+    }
+
+    @Test
+    public void testFreezeDirected() {
+        DirectedDenseGraph<String> g = new DirectedDenseGraph<String>();
+        g.addEdge("A", "C");
+        g.addEdge("B", "C");
+        g.addEdge("C", "A");
+
+        DirectedFrozenGraph<String> f = g.freeze();
+        assertEquals(3, f.countEdges());
+        assertFalse(f.existsEdge("C", "B"));
+        assertArrayEquals(new String[] { "A", "B" }, f.getInVertices("C").toArray());
+        assertEquals(2, f.getInDegree("C"));
+        assertEquals(1, f.getOutDegree("C"));
+        assertEquals(2, f.countNeighbors("C"));
+        assertArrayEquals(new String[] { "C" }, f.getNeighbors("A").toArray());
+        assertTrue(f.getPath("B", "A").size() == 3);
+        assertTrue(f.getPath("A", "B").isEmpty());
+    }
+
+    @Test
+    public void testFreezeWeighted() {
+        DirectedWeightedSparseGraph<String> g = new DirectedWeightedSparseGraph<String>();
+        g.addEdge("A", "B", 10.d);
+        g.addEdge("A", "C", 50.d);
+        g.addEdge("B", "D", 10.d);
+        g.addEdge("C", "D", 50.d);
+
+        DirectedWeightedFrozenGraph<String> f = g.freeze();
+        assertEquals(50.d, (double) f.getWeight("A", "C"));
+        assertNull(f.getWeight("C", "A"));
+        assertArrayEquals(new String[] { "A", "B", "D" }, f.getShortestPath("A", "D").toArray());
+        assertEquals(20.d, (double) f.getMinimumDistance("A", "D"));
+    }
+
+    @Test
+    public void testSnapshotIsNotModified() {
+        WeightedDenseGraph<String> g = new WeightedDenseGraph<String>();
+        g.addEdge("A", "B", 1.d);
+
+        WeightedFrozenGraph<String> f = g.freeze();
+        g.addEdge("B", "C", 1.d);
+        g.addEdge("A", "B", 2.d);
+        assertFalse(f.containsVertex("C"));
+        assertEquals(1.d, (double) f.getWeight("B", "A"));
+        assertThrows(UnsupportedOperationException.class, () -> f.addEdge("A", "C", 1.d));
+        assertThrows(UnsupportedOperationException.class, () -> f.removeVertex("A"));
+    }
+}
@@ -0,0 +1,49 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestIndexedDirectedSparseGraph extends TestDirectedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new DirectedSparseGraph<String>(15, true));
+    }
+
+    @Test
+    public void testInVerticesAfterRemove() {
+        g.addEdge("A", "C");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        g.removeEdge("A", "C");
+        assertArrayEquals(new String[] { "B" }, g.getInVertices("C").toArray());
+        g.removeVertex("C");
+        assertEquals(0, g.getInDegree("D"));
+        assertEquals(0, g.getOutDegree("B"));
+        g.addEdge("D", "C");
+        assertEquals(1, g.getInDegree("C"));
+    }
+
+    @Test
+    public void testCopy() {
+        g.addEdge("A", "B");
+        DirectedSparseGraph<String> copy = new DirectedSparseGraph<String>((DirectedSparseGraph<String>) g);
+        copy.addEdge("C", "B");
+        assertTrue(copy.isInEdgesIndexed());
+        assertEquals(2, copy.getInDegree("B"));
+        assertEquals(1, g.getInDegree("B"));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        g.addEdge("A", "B");
+        g.addEdge("C", "B");
+        DirectedSparseGraph<String> copy = new DirectedSparseGraph<String>((DirectedSparseGraph<String>) g);
+        g.removeVertex("A");
+        copy.removeEdge("C", "B");
+
+        assertArrayEquals(new String[] { "A" }, copy.getInVertices("B").toArray());
+        assertArrayEquals(new String[] { "C" }, g.getInVertices("B").toArray());
+        assertTrue(copy.checkCounters());
+    }
+}
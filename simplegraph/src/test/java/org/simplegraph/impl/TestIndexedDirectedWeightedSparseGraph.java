@@ -0,0 +1,10 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+
+public class TestIndexedDirectedWeightedSparseGraph extends TestDirectedWeightedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new DirectedWeightedSparseGraph<String>(15, true));
+    }
+}
@@ -0,0 +1,86 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import org.simplegraph.IntDirectedGraph;
+
+public abstract class TestIntDirectedGraph extends TestIntEdgesGraph {
+    public IntDirectedGraph g;
+
+    public void setGraph(IntDirectedGraph g) {
+        this.g = g;
+        super.setGraph(g);
+    }
+
+    @Test
+    public void testAddOppositeEdge() {
+        g.addEdge(1, 2);
+        assertFalse(g.existsEdge(2, 1));
+        assertTrue(g.addEdge(2, 1));
+        assertEquals(2, g.countEdges());
+        assertEquals(1, g.countNeighbors(1));
+        assertFalse(g.removeEdge(3, 1));
+    }
+
+    @Test
+    public void testGetDegrees() {
+        g.addEdge(1, 3);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        assertEquals(2, g.getInDegree(3));
+        assertEquals(1, g.getOutDegree(3));
+        assertEquals(-1, g.getInDegree(5));
+        assertEquals(-1, g.getOutDegree(5));
+    }
+
+    @Test
+    public void testGetInAndOutVertices() {
+        g.addEdge(1, 3);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        int[] in = g.getInVertices(3);
+        Arrays.sort(in);
+        assertArrayEquals(new int[] {1, 2}, in);
+        assertArrayEquals(new int[] {4}, g.getOutVertices(3));
+        assertNull(g.getInVertices(5));
+    }
+
+    @Test
+    public void testForEachInAndOutVertex() {
+        g.addEdge(1, 3);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        int[] sum = new int[1];
+        assertTrue(g.forEachInVertex(3, v -> sum[0] += v));
+        assertEquals(3, sum[0]);
+        assertTrue(g.forEachOutVertex(3, v -> sum[0] += v));
+        assertEquals(7, sum[0]);
+        assertFalse(g.forEachOutVertex(5, v -> sum[0] += v));
+    }
+
+    @Test
+    public void testPathFollowsDirection() {
+        g.addEdge(1, 2);
+        g.addEdge(3, 2);
+        assertEquals(0, g.getPath(1, 3).length);
+    }
+
+    @Test
+    public void testRemoveMiddleVertex() {
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(4, 1);
+        g.addEdge(4, 2);
+        g.removeVertex(2);
+        assertEquals(2, g.countEdges());
+        assertEquals(0, g.getOutDegree(1));
+        assertEquals(1, g.getInDegree(1));
+        assertEquals(1, g.getOutDegree(4));
+        assertTrue(g.existsEdge(4, 1));
+        assertFalse(g.existsEdge(1, 4));
+    }
+}
@@ -0,0 +1,51 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import org.simplegraph.IntDirectedWeightedGraph;
+
+public abstract class TestIntDirectedWeightedGraph extends TestIntWeightedEdgesGraph {
+    public IntDirectedWeightedGraph g;
+
+    public void setGraph(IntDirectedWeightedGraph g) {
+        this.g = g;
+        super.setGraph(g);
+    }
+
+    @Test
+    public void testAddOppositeEdge() {
+        g.addEdge(1, 2, 1.d);
+        assertFalse(g.existsEdge(2, 1));
+        assertTrue(g.addEdge(2, 1, 2.d));
+        assertEquals(2, g.countEdges());
+        assertEquals(1.d, g.getWeight(1, 2));
+        assertEquals(2.d, g.getWeight(2, 1));
+    }
+
+    @Test
+    public void testGetDegrees() {
+        g.addEdge(1, 3, 1.d);
+        g.addEdge(2, 3, 1.d);
+        g.addEdge(3, 4, 1.d);
+        assertEquals(2, g.getInDegree(3));
+        assertEquals(1, g.getOutDegree(3));
+        assertArrayEquals(new int[] {4}, g.getOutVertices(3));
+    }
+
+    @Test
+    public void testForEachOutEdgeSkipsInEdges() {
+        g.addEdge(1, 2, 2.d);
+        g.addEdge(3, 1, 3.d);
+        double[] sum = new double[1];
+        assertTrue(g.forEachOutEdge(1, (v, weight) -> sum[0] += weight));
+        assertEquals(2.d, sum[0]);
+    }
+
+    @Test
+    public void testShortestPathFollowsDirection() {
+        g.addEdge(1, 2, 1.d);
+        g.addEdge(3, 2, 1.d);
+        assertEquals(0, g.getShortestPath(1, 3).length);
+    }
+}
@@ -0,0 +1,199 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.simplegraph.IntGraph;
+
+public abstract class TestIntEdgesGraph {
+    public IntGraph g;
+
+    public void setGraph(IntGraph g) {
+        this.g = g;
+    }
+
+    // Every test leaves the maintained counters consistent with the edges
+    @AfterEach
+    public void checkCounters() {
+        if (g instanceof SelfCheckingGraph) {
+            assertTrue(((SelfCheckingGraph) g).checkCounters());
+        }
+    }
+
+    @Test
+    public void testAddVertex() {
+        int size = g.countVertices();
+        assertTrue(g.addVertex(1));
+        assertEquals(size + 1, g.countVertices());
+        assertFalse(g.addVertex(1));
+        assertEquals(size + 1, g.countVertices());
+    }
+
+    // Every int is a valid vertex, -1 and 0 included
+    @Test
+    public void testAddAnyInt() {
+        int[] vertices = {0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 42};
+        for (int v : vertices) {
+            assertTrue(g.addVertex(v));
+        }
+
+        for (int v : vertices) {
+            assertTrue(g.containsVertex(v));
+        }
+
+        assertFalse(g.containsVertex(1));
+        int[] sorted = g.getVertices();
+        Arrays.sort(sorted);
+        Arrays.sort(vertices);
+        assertArrayEquals(vertices, sorted);
+    }
+
+    @Test
+    public void testAddLargeNumberOfVertices() {
+        for (int i = 0; i != 1000; i++) {
+            g.addVertex(i * 7919);
+        }
+
+        assertEquals(1000, g.countVertices());
+        for (int i = 0; i != 1000; i++) {
+            assertTrue(g.containsVertex(i * 7919));
+        }
+    }
+
+    @Test
+    public void testRemoveLargeNumberOfVertices() {
+        for (int i = 0; i != 100; i++) {
+            g.addVertex(i);
+        }
+
+        for (int i = 0; i != 50; i++) {
+            assertTrue(g.removeVertex(i * 2));
+        }
+
+        assertEquals(50, g.countVertices());
+        assertFalse(g.containsVertex(0));
+        assertTrue(g.containsVertex(1));
+        assertFalse(g.removeVertex(0));
+    }
+
+    @Test
+    public void testAddEdge() {
+        assertTrue(g.addEdge(1, 2));
+        assertTrue(g.existsEdge(1, 2));
+        assertFalse(g.addEdge(1, 2));
+        assertEquals(1, g.countEdges());
+        assertEquals(2, g.countVertices());
+    }
+
+    @Test
+    public void testAddEdgeBetweenSameVertex() {
+        assertFalse(g.addEdge(1, 1));
+        assertFalse(g.containsVertex(1));
+    }
+
+    @Test
+    public void testNotExistsEdge() {
+        g.addVertex(1);
+        g.addVertex(2);
+        assertFalse(g.existsEdge(1, 2));
+        assertFalse(g.existsEdge(1, 3));
+    }
+
+    @Test
+    public void testRemoveEdge() {
+        g.addEdge(1, 2);
+        assertTrue(g.removeEdge(1, 2));
+        assertFalse(g.existsEdge(1, 2));
+        assertFalse(g.removeEdge(1, 2));
+        assertEquals(0, g.countEdges());
+    }
+
+    @Test
+    public void testRemoveVertexWithEdges() {
+        for (int i = 0; i != 100; i++) {
+            g.addEdge(i, (i * 31) % 100);
+            g.addEdge(i, (i + 1) % 100);
+        }
+
+        for (int v : g.getVertices()) {
+            g.removeVertex(v);
+        }
+
+        assertEquals(0, g.countEdges());
+        assertEquals(0, g.countVertices());
+    }
+
+    @Test
+    public void testRemoveVertexAndAddItAgain() {
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.removeVertex(2);
+        g.addVertex(4);
+        g.addVertex(2);
+        assertFalse(g.existsEdge(1, 2));
+        assertFalse(g.existsEdge(2, 3));
+        assertEquals(0, g.countEdges());
+        assertEquals(0, g.countNeighbors(2));
+    }
+
+    @Test
+    public void testGetNeighbors() {
+        g.addEdge(1, 2);
+        g.addEdge(3, 1);
+        g.addVertex(4);
+        int[] neighbors = g.getNeighbors(1);
+        Arrays.sort(neighbors);
+        assertArrayEquals(new int[] {2, 3}, neighbors);
+        assertEquals(2, g.countNeighbors(1));
+        assertEquals(0, g.getNeighbors(4).length);
+        assertNull(g.getNeighbors(5));
+        assertEquals(-1, g.countNeighbors(5));
+    }
+
+    @Test
+    public void testForEachNeighbor() {
+        g.addEdge(1, 2);
+        g.addEdge(3, 1);
+        int[] sum = new int[1];
+        assertTrue(g.forEachNeighbor(1, v -> sum[0] += v));
+        assertEquals(5, sum[0]);
+        assertFalse(g.forEachNeighbor(4, v -> sum[0] += v));
+    }
+
+    @Test
+    public void testGetPath() {
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        assertArrayEquals(new int[] {1, 2, 3, 4}, g.getPath(1, 4));
+        assertTrue(g.existsPath(1, 4));
+    }
+
+    @Test
+    public void testPathDoesNotExists() {
+        g.addEdge(1, 2);
+        g.addEdge(3, 4);
+        assertEquals(0, g.getPath(1, 4).length);
+        assertFalse(g.existsPath(1, 4));
+    }
+
+    @Test
+    public void testGetPathBetweenNonExistentVertices() {
+        assertNull(g.getPath(1, 2));
+        g.addVertex(1);
+        assertNull(g.getPath(1, 1));
+    }
+
+    @Test
+    public void testGrow() {
+        for (int i = 0; i != 100; i++) {
+            g.addEdge(i, i + 1);
+        }
+
+        assertEquals(100, g.countEdges());
+        assertEquals(101, g.getPath(0, 100).length);
+    }
+}
@@ -0,0 +1,31 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public abstract class TestIntUndirectedGraph extends TestIntEdgesGraph {
+    // The graph is undirected, so a,b is the same as b,a
+    @Test
+    public void testExistsOppositeEdge() {
+        g.addEdge(1, 2);
+        assertTrue(g.existsEdge(2, 1));
+        assertFalse(g.addEdge(2, 1));
+        assertTrue(g.removeEdge(2, 1));
+        assertFalse(g.existsEdge(1, 2));
+    }
+
+    @Test
+    public void testRemoveMiddleVertex() {
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(4, 1);
+        g.addEdge(2, 4);
+        g.removeVertex(2);
+        assertEquals(2, g.countEdges());
+        assertEquals(1, g.countNeighbors(1));
+        assertEquals(2, g.countNeighbors(4));
+        assertTrue(g.existsEdge(1, 4));
+        assertFalse(g.existsEdge(1, 3));
+    }
+}
@@ -0,0 +1,149 @@
+package org.simplegraph.impl;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.simplegraph.IntWeightedGraph;
+
+public abstract class TestIntWeightedEdgesGraph {
+    public IntWeightedGraph g;
+
+    public void setGraph(IntWeightedGraph g) {
+        this.g = g;
+    }
+
+    // Every test leaves the maintained counters consistent with the edges
+    @AfterEach
+    public void checkCounters() {
+        if (g instanceof SelfCheckingGraph) {
+            assertTrue(((SelfCheckingGraph) g).checkCounters());
+        }
+    }
+
+    @Test
+    public void testAddEdge() {
+        assertTrue(g.addEdge(1, 2, 2.5d));
+        assertTrue(g.existsEdge(1, 2));
+        assertEquals(2.5d, g.getWeight(1, 2));
+        assertEquals(1, g.countEdges());
+    }
+
+    @Test
+    public void testAddNaNEdge() {
+        assertFalse(g.addEdge(1, 2, Double.NaN));
+        assertFalse(g.containsVertex(1));
+    }
+
+    @Test
+    public void testAddEdgeBetweenSameVertex() {
+        assertFalse(g.addEdge(1, 1, 1.d));
+    }
+
+    @Test
+    public void testUpdateEdge() {
+        g.addEdge(1, 2, 1.d);
+        assertFalse(g.addEdge(1, 2, 1.d));
+        assertTrue(g.addEdge(1, 2, 3.d));
+        assertEquals(3.d, g.getWeight(1, 2));
+        assertEquals(1, g.countEdges());
+    }
+
+    @Test
+    public void testGetMissingWeight() {
+        g.addVertex(1);
+        g.addVertex(2);
+        assertTrue(Double.isNaN(g.getWeight(1, 2)));
+        assertTrue(Double.isNaN(g.getWeight(1, 3)));
+    }
+
+    @Test
+    public void testRemoveEdge() {
+        g.addEdge(1, 2, 1.d);
+        assertTrue(g.removeEdge(1, 2));
+        assertFalse(g.existsEdge(1, 2));
+        assertEquals(0, g.countEdges());
+    }
+
+    @Test
+    public void testRemoveVertexWithEdges() {
+        for (int i = 0; i != 100; i++) {
+            g.addEdge(i, (i * 31) % 100, i);
+            g.addEdge(i, (i + 1) % 100, i);
+        }
+
+        for (int v : g.getVertices()) {
+            g.removeVertex(v);
+        }
+
+        assertEquals(0, g.countEdges());
+        assertEquals(0, g.countVertices());
+    }
+
+    @Test
+    public void testForEachOutEdge() {
+        g.addEdge(1, 2, 2.d);
+        g.addEdge(1, 3, 3.d);
+        double[] sums = new double[2];
+        assertTrue(g.forEachOutEdge(1, (v, weight) -> {
+            sums[0] += v;
+            sums[1] += weight;
+        }));
+        assertEquals(5.d, sums[0]);
+        assertEquals(5.d, sums[1]);
+        assertFalse(g.forEachOutEdge(4, (v, weight) -> sums[0] += v));
+    }
+
+    @Test
+    public void testGetShortestPath() {
+        g.addEdge(1, 2, 10.d);
+        g.addEdge(1, 3, 50.d);
+        g.addEdge(2, 4, 10.d);
+        g.addEdge(3, 4, 50.d);
+        assertArrayEquals(new int[] {1, 2, 4}, g.getShortestPath(1, 4));
+        assertEquals(20.d, g.getMinimumDistance(1, 4));
+    }
+
+    @Test
+    public void testGetShortestPathNegativeWeight() {
+        g.addEdge(1, 2, 10.d);
+        g.addEdge(1, 3, 50.d);
+        g.addEdge(2, 4, -10.d);
+        g.addEdge(3, 4, -200.d);
+        assertNull(g.getShortestPath(1, 4));
+        assertTrue(Double.isNaN(g.getMinimumDistance(1, 4)));
+    }
+
+    @Test
+    public void testShortestPathDoesNotExists() {
+        g.addEdge(1, 2, 1.d);
+        g.addEdge(3, 4, 1.d);
+        assertEquals(0, g.getShortestPath(1, 4).length);
+        assertTrue(Double.isNaN(g.getMinimumDistance(1, 4)));
+        assertNull(g.getShortestPath(1, 5));
+    }
+
+    @Test
+    public void testGetShortestPathOnLargeGraph() {
+        // A ring where the long way round is cheaper
+        for (int i = 0; i != 100; i++) {
+            g.addEdge(i, (i + 1) % 100, 1.d);
+        }
+
+        g.addEdge(0, 50, 1000.d);
+        assertEquals(50.d, g.getMinimumDistance(0, 50));
+        assertEquals(51, g.getShortestPath(0, 50).length);
+    }
+
+    @Test
+    public void testGetNeighbors() {
+        g.addEdge(1, 2, 1.d);
+        g.addEdge(3, 1, 1.d);
+        int[] neighbors = g.getNeighbors(1);
+        Arrays.sort(neighbors);
+        assertArrayEquals(new int[] {2, 3}, neighbors);
+        assertNull(g.getNeighbors(4));
+    }
+}
@@ -0,0 +1,83 @@
+package org.simplegraph.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestMappedDirectedWeightedGraph {
+    private Path path;
+    private MappedDirectedWeightedGraph<String> g;
+
+    @BeforeEach
+    public void init() throws IOException {
+        DirectedWeightedSparseGraph<String> graph = new DirectedWeightedSparseGraph<String>();
+        graph.addEdge("A", "B", 10.d);
+        graph.addEdge("A", "C", 50.d);
+        graph.addEdge("B", "D", 10.d);
+        graph.addEdge("C", "D", 50.d);
+        graph.addEdge("D", "A", 1.d);
+        graph.addVertex("E");
+
+        path = Files.createTempFile("simplegraph", ".graph");
+        MappedDirectedWeightedGraph.write(graph, path);
+        g = new MappedDirectedWeightedGraph<String>(path);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testCounts() {
+        assertEquals(5, g.countVertices());
+        assertEquals(5, g.countEdges());
+        assertEquals(2, g.getOutDegree("A"));
+        assertEquals(2, g.getInDegree("D"));
+        assertEquals(3, g.countNeighbors("A"));
+        assertEquals(0, g.countNeighbors("E"));
+        assertEquals(-1, g.countNeighbors("F"));
+    }
+
+    @Test
+    public void testEdges() {
+        assertTrue(g.existsEdge("D", "A"));
+        assertFalse(g.existsEdge("A", "D"));
+        assertEquals(50.d, (double) g.getWeight("C", "D"));
+        assertNull(g.getWeight("D", "C"));
+        assertEquals(2, g.getInVertices("D").size());
+        assertTrue(g.getInVertices("D").contains("B"));
+        assertTrue(g.getInVertices("D").contains("C"));
+    }
+
+    @Test
+    public void testPaths() {
+        assertArrayEquals(new String[] { "B", "D", "A" }, g.getPath("B", "A").toArray());
+        assertTrue(g.getPath("A", "E").isEmpty());
+        assertArrayEquals(new String[] { "A", "B", "D" }, g.getShortestPath("A", "D").toArray());
+        assertEquals(20.d, (double) g.getMinimumDistance("A", "D"));
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        MappedDirectedWeightedGraph<String> reopened = new MappedDirectedWeightedGraph<String>(path);
+        assertEquals(g.getVertices(), reopened.getVertices());
+        assertEquals(1.d, (double) reopened.getWeight("D", "A"));
+    }
+
+    @Test
+    public void testOpenInvalidFile() throws IOException {
+        Files.write(path, new byte[] { 1, 2, 3 });
+        assertThrows(IOException.class, () -> new MappedDirectedWeightedGraph<String>(path));
+    }
+
+    @Test
+    public void testCannotBeModified() {
+        assertThrows(UnsupportedOperationException.class, () -> g.addEdge("A", "E", 1.d));
+    }
+}
@@ -0,0 +1,120 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TestMemoryFootprint {
+    private static void assertConsistent(MemoryFootprint footprint) {
+        assertTrue(footprint.getVertexTable() >= 0);
+        assertTrue(footprint.getAdjacency() >= 0);
+        assertTrue(footprint.getWeights() >= 0);
+        assertTrue(footprint.getUnusedCapacity() >= 0);
+        assertTrue(footprint.getBoxedObjects() >= 0);
+        assertEquals(footprint.getVertexTable() + footprint.getAdjacency() + footprint.getWeights()
+            + footprint.getUnusedCapacity() + footprint.getBoxedObjects(), footprint.getTotal());
+    }
+
+    @Test
+    public void testDenseUnusedCapacity() {
+        WeightedDoubleDenseGraph<Integer> g = new WeightedDoubleDenseGraph<Integer>(10);
+        for (int i = 0; i != 4; i++) {
+            g.addEdge(i, i + 1, 1.d);
+        }
+
+        MemoryFootprint before = g.memoryFootprint();
+        assertConsistent(before);
+        // 5 * 5 doubles and the array header, the other cells are unused
+        assertEquals(16 + 5 * 5 * 8, before.getWeights());
+        assertEquals(5 * MemoryFootprint.BOXED_INTEGER, before.getBoxedObjects());
+
+        // Filling the matrix doubles its size
+        for (int i = 4; i != 10; i++) {
+            g.addEdge(i, i + 1, 1.d);
+        }
+
+        MemoryFootprint grown = g.memoryFootprint();
+        assertConsistent(grown);
+        assertEquals(16 + 11 * 11 * 8, grown.getWeights());
+        assertTrue(grown.getUnusedCapacity() > before.getUnusedCapacity());
+    }
+
+    @Test
+    public void testBoxedWeights() {
+        DirectedWeightedSparseGraph<String> g = new DirectedWeightedSparseGraph<String>();
+        g.addEdge("A", "B", 1.d);
+        g.addEdge("B", "C", 2.d);
+        g.addEdge("C", "A", 3.d);
+
+        MemoryFootprint footprint = g.memoryFootprint();
+        assertConsistent(footprint);
+        assertEquals(3 * MemoryFootprint.BOXED_INTEGER + 3 * MemoryFootprint.BOXED_DOUBLE,
+            footprint.getBoxedObjects());
+        assertEquals(0, footprint.getWeights());
+
+        // The weights of an undirected edge are shared by both its entries
+        WeightedSparseGraph<String> u = new WeightedSparseGraph<String>();
+        u.addEdge("A", "B", 1.d);
+        assertEquals(2 * MemoryFootprint.BOXED_INTEGER + MemoryFootprint.BOXED_DOUBLE,
+            u.memoryFootprint().getBoxedObjects());
+    }
+
+    @Test
+    public void testEveryFamily() {
+        DenseGraph<Integer> dense = new DenseGraph<Integer>();
+        BitsetDenseGraph<Integer> bitset = new BitsetDenseGraph<Integer>();
+        DirectedDenseGraph<Integer> directed = new DirectedDenseGraph<Integer>();
+        WeightedFloatDenseGraph<Integer> floats = new WeightedFloatDenseGraph<Integer>();
+        WeightedTiledDenseGraph<Integer> tiled = new WeightedTiledDenseGraph<Integer>();
+        OpenHashSparseGraph<Integer> openHash = new OpenHashSparseGraph<Integer>();
+        IntSparseGraph ints = new IntSparseGraph();
+        IntDirectedWeightedDenseGraph intDense = new IntDirectedWeightedDenseGraph();
+        for (int i = 0; i != 100; i++) {
+            dense.addEdge(i, (i * 7) % 100);
+            bitset.addEdge(i, (i * 7) % 100);
+            directed.addEdge(i, (i * 7) % 100);
+            floats.addEdge(i, (i * 7) % 100, 1.d);
+            tiled.addEdge(i, (i * 7) % 100, 1.d);
+            openHash.addEdge(i, (i * 7) % 100);
+            ints.addEdge(i, (i * 7) % 100);
+            intDense.addEdge(i, (i * 7) % 100, 1.d);
+        }
+
+        assertConsistent(dense.memoryFootprint());
+        assertConsistent(bitset.memoryFootprint());
+        assertConsistent(directed.memoryFootprint());
+        assertConsistent(floats.memoryFootprint());
+        assertConsistent(tiled.memoryFootprint());
+        assertConsistent(openHash.memoryFootprint());
+        assertConsistent(ints.memoryFootprint());
+        assertConsistent(intDense.memoryFootprint());
+        assertConsistent(dense.freeze().memoryFootprint());
+        assertConsistent(new CompressedGraph<Integer>(dense).memoryFootprint());
+
+        // A bit per cell is smaller than a reference per cell
+        assertTrue(bitset.memoryFootprint().getTotal() < dense.memoryFootprint().getTotal());
+        assertEquals(0, ints.memoryFootprint().getBoxedObjects());
+        assertTrue(floats.memoryFootprint().getWeights() > 0);
+        assertTrue(tiled.memoryFootprint().getWeights() > 0);
+    }
+
+    @Test
+    public void testRecommend() {
+        assertEquals(OpenHashSparseGraph.class, MemoryFootprint.recommend(1000, 2000, false, false));
+        assertEquals(BitsetDenseGraph.class, MemoryFootprint.recommend(1000, 200000, false, false));
+        assertEquals(DirectedBitsetDenseGraph.class, MemoryFootprint.recommend(1000, 200000, true, false));
+        assertEquals(DirectedWeightedSparseGraph.class, MemoryFootprint.recommend(10000, 20000, true, true));
+        assertEquals(DirectedWeightedDoubleDenseGraph.class, MemoryFootprint.recommend(500, 100000, true, true));
+        assertEquals(WeightedOpenHashSparseGraph.class, MemoryFootprint.recommend(10000, 20000, false, true));
+    }
+
+    // The float variants are only recommended when the weights can be rounded
+    @Test
+    public void testRecommendSinglePrecision() {
+        assertEquals(DirectedWeightedFloatDenseGraph.class, MemoryFootprint.recommend(500, 100000, true, true, true));
+        assertEquals(WeightedFloatDenseGraph.class, MemoryFootprint.recommend(500, 100000, false, true, true));
+        assertEquals(WeightedFloatOpenHashSparseGraph.class, MemoryFootprint.recommend(10000, 20000, false, true, true));
+        assertEquals(DirectedWeightedSparseGraph.class, MemoryFootprint.recommend(10000, 20000, true, true, true));
+        assertEquals(BitsetDenseGraph.class, MemoryFootprint.recommend(1000, 200000, false, false, true));
+        assertEquals(WeightedDoubleDenseGraph.class, MemoryFootprint.recommend(500, 100000, false, true));
+    }
+}
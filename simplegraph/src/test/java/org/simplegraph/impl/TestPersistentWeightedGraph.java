@@ -0,0 +1,124 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TestPersistentWeightedGraph {
+    @Test
+    public void testVersionsAreIndependent() {
+        PersistentWeightedGraph<String> g1 = PersistentWeightedGraph.<String>empty()
+            .withEdge("A", "B", 1.d)
+            .withEdge("B", "C", 2.d);
+        PersistentWeightedGraph<String> g2 = g1.withEdge("A", "C", 5.d);
+        PersistentWeightedGraph<String> g3 = g2.withoutVertex("B");
+
+        assertEquals(3, g1.countVertices());
+        assertEquals(2, g1.countEdges());
+        assertFalse(g1.existsEdge("C", "A"));
+        assertEquals(3, g2.countEdges());
+        assertEquals(5.d, (double) g2.getWeight("C", "A"));
+        assertEquals(2, g3.countVertices());
+        assertEquals(1, g3.countEdges());
+        assertArrayEquals(new String[] { "A" }, g3.getNeighbors("C").toArray());
+        assertNull(g3.getNeighbors("B"));
+        assertEquals(2, g2.countNeighbors("B"));
+    }
+
+    @Test
+    public void testUnchangedVersionIsReused() {
+        PersistentWeightedGraph<String> g = PersistentWeightedGraph.<String>empty().withEdge("A", "B", 1.d);
+        assertSame(g, g.withEdge("B", "A", 1.d));
+        assertSame(g, g.withEdge("A", "A", 1.d));
+        assertSame(g, g.withVertex("A"));
+        assertSame(g, g.withoutEdge("A", "C"));
+        assertSame(g, g.withoutVertex("C"));
+
+        PersistentWeightedGraph<String> h = g.withEdge("A", "B", 3.d);
+        assertNotSame(g, h);
+        assertEquals(1, h.countEdges());
+        assertEquals(3.d, (double) h.getWeight("B", "A"));
+        assertEquals(1.d, (double) g.getWeight("B", "A"));
+    }
+
+    @Test
+    public void testHashCollisions() {
+        // "Aa" and "BB" have the same hash code
+        PersistentWeightedGraph<String> g = PersistentWeightedGraph.<String>empty()
+            .withEdge("Aa", "BB", 1.d)
+            .withEdge("BB", "C", 2.d);
+        assertTrue(g.existsEdge("BB", "Aa"));
+        assertEquals(3, g.countVertices());
+
+        PersistentWeightedGraph<String> h = g.withoutVertex("Aa");
+        assertFalse(h.containsVertex("Aa"));
+        assertTrue(h.containsVertex("BB"));
+        assertTrue(g.containsVertex("Aa"));
+        assertEquals(1, h.countEdges());
+    }
+
+    @Test
+    public void testManyVersions() {
+        Random random = new Random(42);
+        PersistentWeightedGraph<Integer> g = PersistentWeightedGraph.<Integer>empty();
+        WeightedSparseGraph<Integer> expected = new WeightedSparseGraph<Integer>();
+        for (int i = 0; i != 5000; i++) {
+            int v1 = random.nextInt(300);
+            int v2 = random.nextInt(300);
+            if (i % 10 == 0) {
+                g = g.withoutVertex(v1);
+                expected.removeVertex(v1);
+            } else if (i % 3 == 0) {
+                g = g.withoutEdge(v1, v2);
+                expected.removeEdge(v1, v2);
+            } else {
+                // withEdge replaces the weight of an existing edge
+                g = g.withEdge(v1, v2, i);
+                expected.removeEdge(v1, v2);
+                expected.addEdge(v1, v2, (double) i);
+            }
+        }
+
+        assertEquals(expected.countVertices(), g.countVertices());
+        assertEquals(expected.countEdges(), g.countEdges());
+        for (Integer v : expected.getVertices()) {
+            assertEquals(expected.countNeighbors(v), g.countNeighbors(v));
+            for (Integer u : expected.getNeighbors(v)) {
+                assertEquals(expected.getWeight(v, u), g.getWeight(v, u));
+            }
+        }
+    }
+
+    @Test
+    public void testFromSparseGraph() {
+        WeightedSparseGraph<String> g = new WeightedSparseGraph<String>();
+        g.addEdge("A", "B", 10.d);
+        g.addEdge("A", "C", 50.d);
+        g.addEdge("B", "D", 10.d);
+        g.addEdge("C", "D", 50.d);
+        g.addVertex("E");
+
+        PersistentWeightedGraph<String> p = g.toPersistent();
+        g.removeVertex("B");
+        assertEquals(5, p.countVertices());
+        assertEquals(4, p.countEdges());
+        assertArrayEquals(new String[] { "A", "B", "D" }, p.getShortestPath("A", "D").toArray());
+        assertEquals(20.d, (double) p.getMinimumDistance("A", "D"));
+        assertEquals(100.d, (double) p.withoutEdge("B", "D").getMinimumDistance("A", "D"));
+        assertFalse(p.existsPath("A", "E"));
+        assertThrows(UnsupportedOperationException.class, () -> p.addEdge("A", "E", 1.d));
+        assertThrows(UnsupportedOperationException.class, () -> p.removeVertex("A"));
+    }
+
+    @Test
+    public void testNaNWeightIsRejected() {
+        PersistentWeightedGraph<String> g = PersistentWeightedGraph.<String>empty().withEdge("A", "B", 1.d);
+        assertSame(g, g.withEdge("A", "C", Double.NaN));
+        assertSame(g, g.withEdge("A", "B", Double.NaN));
+        assertEquals(1, g.countEdges());
+        assertFalse(g.containsVertex("C"));
+        assertEquals(1.d, (double) g.getWeight("A", "B"));
+    }
+}
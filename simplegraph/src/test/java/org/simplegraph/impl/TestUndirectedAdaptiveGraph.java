@@ -0,0 +1,58 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TestUndirectedAdaptiveGraph extends TestUndirectedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new AdaptiveGraph<String>());
+    }
+
+    @Test
+    public void testMigration() {
+        AdaptiveGraph<Integer> g = new AdaptiveGraph<Integer>(0.5, 0.25);
+        // Complete graph on 40 vertices
+        for (int i = 0; i != 40; i++) {
+            for (int j = i + 1; j != 40; j++) {
+                g.addEdge(i, j);
+            }
+        }
+
+        assertTrue(g.isDense());
+        assertEquals(780, g.countEdges());
+        assertTrue(g.existsEdge(39, 0));
+
+        // Between the two thresholds the layout does not change
+        for (int j = 1; j != 40; j++) {
+            g.removeVertex(j * 100);
+            g.removeEdge(0, j);
+        }
+        assertTrue(g.isDense());
+        assertEquals(741, g.countEdges());
+        assertEquals(0, g.countNeighbors(0));
+
+        g.removeVertex(1);
+        g.removeVertex(2);
+        for (int i = 3; i != 40; i++) {
+            for (int j = i + 1; j != 40; j++) {
+                if ((i + j) % 4 != 0) {
+                    g.removeEdge(i, j);
+                }
+            }
+        }
+
+        assertFalse(g.isDense());
+        assertEquals(38, g.countVertices());
+        assertEquals(g.freeze().countEdges(), g.countEdges());
+        assertTrue(g.existsEdge(3, 5));
+        assertFalse(g.existsEdge(3, 4));
+    }
+
+    @Test
+    public void testInvalidThresholds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveGraph<String>(0.1, 0.2));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveGraph<String>(2, 0.2));
+    }
+}
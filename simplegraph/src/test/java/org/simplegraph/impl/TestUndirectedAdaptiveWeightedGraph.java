@@ -0,0 +1,76 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TestUndirectedAdaptiveWeightedGraph extends TestWeightedEdgesGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new AdaptiveWeightedGraph<String>());
+    }
+
+    @Test
+    public void testMigrationKeepsWeights() {
+        AdaptiveWeightedGraph<Integer> g = new AdaptiveWeightedGraph<Integer>();
+        for (int i = 0; i != 40; i++) {
+            for (int j = i + 1; j != 40; j++) {
+                g.addEdge(i, j, (double) (i + j));
+            }
+        }
+
+        assertTrue(g.isDense());
+        assertEquals(45.d, (double) g.getWeight(20, 25));
+
+        g.addEdge(20, 25, 1.d);
+        assertEquals(1.d, (double) g.getWeight(25, 20));
+        assertEquals(780, g.countEdges());
+
+        for (int i = 0; i != 100; i++) {
+            g.addVertex(1000 + i);
+            g.addVertex(2000 + i);
+        }
+
+        assertFalse(g.isDense());
+        assertEquals(1.d, (double) g.getWeight(25, 20));
+        assertEquals(3.d, (double) g.getMinimumDistance(0, 3));
+        assertFalse(g.addEdge(0, 1, Double.NaN));
+    }
+
+    // Both layouts give the same distances, null ones included
+    @Test
+    public void testMinimumDistanceAcrossMigration() {
+        AdaptiveWeightedGraph<Integer> g = new AdaptiveWeightedGraph<Integer>(0.5, 0.2);
+        for (int i = 0; i != 31; i++) {
+            g.addEdge(i, i + 1, 1.d);
+        }
+        g.addVertex(99);
+
+        assertFalse(g.isDense());
+        checkDistances(g);
+
+        for (int i = 0; i != 32; i++) {
+            for (int j = i + 2; j < 32; j++) {
+                g.addEdge(i, j, 100.d);
+            }
+        }
+
+        assertTrue(g.isDense());
+        checkDistances(g);
+
+        for (int i = 0; i != 60; i++) {
+            g.addVertex(1000 + i);
+        }
+
+        assertFalse(g.isDense());
+        checkDistances(g);
+        assertNull(g.getMinimumDistance(0, 1000));
+    }
+
+    private static void checkDistances(AdaptiveWeightedGraph<Integer> g) {
+        assertEquals(31.d, (double) g.getMinimumDistance(0, 31));
+        assertNull(g.getMinimumDistance(0, 99));
+        assertNull(g.getMinimumDistance(5, 5));
+        assertNull(g.getMinimumDistance(0, 500));
+    }
+}
@@ -0,0 +1,42 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestUndirectedBitsetDenseGraph extends TestUndirectedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new BitsetDenseGraph<String>());
+    }
+
+    @Test
+    public void testRemoveVertexAndAddItAgain() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.removeVertex("B");
+        g.addVertex("D");
+        g.addVertex("B");
+        assertFalse(g.existsEdge("A", "B"));
+        assertFalse(g.existsEdge("C", "B"));
+        assertEquals(0, g.countEdges());
+        g.addEdge("C", "B");
+        assertArrayEquals(new String[] { "C", "B" }, g.getPath("C", "B").toArray());
+    }
+
+    @Test
+    public void testCopy() {
+        BitsetDenseGraph<String> g1 = new BitsetDenseGraph<String>();
+        for (int i = 0; i != 100; i++) {
+            g1.addEdge(String.valueOf(i), String.valueOf(i + 1));
+        }
+
+        BitsetDenseGraph<String> g2 = new BitsetDenseGraph<String>(g1);
+        g2.removeEdge("0", "1");
+        assertTrue(g1.existsEdge("1", "0"));
+        assertFalse(g2.existsEdge("1", "0"));
+        assertEquals(100, g1.countEdges());
+        assertEquals(99, g2.countEdges());
+        assertEquals(100, g2.getPath("1", "100").size());
+    }
+}
@@ -1,10 +1,28 @@
 package org.simplegraph.impl;
 
+import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class TestUndirectedDenseGraph extends TestUndirectedGraph {
     @BeforeEach
     public void init() {
         setGraph(new DenseGraph<String>());
     }
+
+    @Test
+    public void testCopy() {
+        DenseGraph<String> g1 = new DenseGraph<String>();
+        g1.addEdge("A", "B");
+        g1.addEdge("B", "C");
+        DenseGraph<String> g2 = new DenseGraph<String>(g1);
+        g2.removeEdge("A", "B");
+        g2.addEdge("C", "D");
+        assertTrue(g1.existsEdge("B", "A"));
+        assertFalse(g1.containsVertex("D"));
+        assertFalse(g2.existsEdge("B", "A"));
+        assertTrue(g2.existsEdge("C", "B"));
+        assertEquals(2, g2.countEdges());
+        assertTrue(g2.checkCounters());
+    }
 }
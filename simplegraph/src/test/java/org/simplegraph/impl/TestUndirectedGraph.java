@@ -33,4 +33,44 @@ public abstract class TestUndirectedGraph extends TestEdgesGraph {
         g.addEdge("A", "B");
         assertTrue(g.removeEdge("B", "A"));
     }
+
+    @Test
+    public void testRemoveMiddleVertex() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        g.addEdge("D", "A");
+        g.addEdge("B", "D");
+        g.removeVertex("B");
+        assertEquals(2, g.countEdges());
+        assertEquals(1, g.countNeighbors("A"));
+        assertEquals(2, g.countNeighbors("D"));
+        assertTrue(g.existsEdge("A", "D"));
+        assertFalse(g.existsEdge("A", "C"));
+        assertFalse(g.existsEdge("A", "B"));
+    }
+
+    @Test
+    public void testInducedBy() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        Graph<String> s = g.inducedBy(v -> !v.equals("C"));
+        assertEquals(3, s.countVertices());
+        assertEquals(1, s.countEdges());
+        assertTrue(s.existsEdge("B", "A"));
+        assertEquals(0, s.countNeighbors("D"));
+        assertFalse(s.existsPath("A", "D"));
+        assertTrue(g.existsPath("A", "D"));
+    }
+
+    @Test
+    public void testEdgeFiltered() {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        Graph<String> s = g.edgeFiltered((v1, v2) -> !v1.equals("A") && !v2.equals("A"));
+        assertEquals(1, s.countEdges());
+        assertFalse(s.existsEdge("B", "A"));
+        assertArrayEquals(new String[] { "C" }, s.getNeighbors("B").toArray());
+    }
 }
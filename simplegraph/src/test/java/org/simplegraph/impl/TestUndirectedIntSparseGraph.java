@@ -0,0 +1,28 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TestUndirectedIntSparseGraph extends TestIntUndirectedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new IntSparseGraph());
+    }
+
+    @Test
+    public void testCopy() {
+        IntSparseGraph graph = new IntSparseGraph();
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+
+        IntSparseGraph gCopy = new IntSparseGraph(graph);
+        assertTrue(gCopy.existsEdge(1, 2));
+        assertTrue(gCopy.existsEdge(3, 2));
+
+        gCopy.removeEdge(1, 2);
+        assertFalse(gCopy.existsEdge(1, 2));
+        assertTrue(graph.existsEdge(1, 2));
+        assertTrue(gCopy.checkCounters());
+    }
+}
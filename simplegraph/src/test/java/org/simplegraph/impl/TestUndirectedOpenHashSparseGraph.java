@@ -0,0 +1,66 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TestUndirectedOpenHashSparseGraph extends TestUndirectedGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new OpenHashSparseGraph<String>());
+    }
+
+    @Test
+    public void testCopy() {
+        OpenHashSparseGraph<String> g = new OpenHashSparseGraph<String>();
+        g.addEdge("Vertex1", "Vertex2");
+        g.addEdge("Vertex2", "Vertex3");
+
+        OpenHashSparseGraph<String> gCopy = new OpenHashSparseGraph<String>(g);
+        assertTrue(gCopy.existsEdge("Vertex1", "Vertex2"));
+        assertTrue(gCopy.existsEdge("Vertex3", "Vertex2"));
+
+        gCopy.removeEdge("Vertex1", "Vertex2");
+        assertFalse(gCopy.existsEdge("Vertex1", "Vertex2"));
+        assertTrue(g.existsEdge("Vertex1", "Vertex2"));
+    }
+
+    @Test
+    public void testRemoveVertexAndAddItAgain() {
+        OpenHashSparseGraph<String> g = new OpenHashSparseGraph<String>();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.removeVertex("B");
+        g.addVertex("D");
+        g.addVertex("B");
+        assertFalse(g.existsEdge("A", "B"));
+        assertFalse(g.existsEdge("C", "B"));
+        assertEquals(0, g.countEdges());
+        g.addEdge("C", "B");
+        assertArrayEquals(new String[] { "C", "B" }, g.getPath("C", "B").toArray());
+    }
+
+    @Test
+    public void testHighDegreeVertex() {
+        // Past the inline size the neighbors are hashed
+        OpenHashSparseGraph<Integer> g = new OpenHashSparseGraph<Integer>();
+        for (int i = 1; i != 500; i++) {
+            g.addEdge(0, i);
+        }
+
+        for (int i = 1; i < 500; i += 2) {
+            assertTrue(g.removeEdge(i, 0));
+        }
+
+        assertEquals(249, g.countNeighbors(0));
+        assertEquals(249, g.countEdges());
+        for (int i = 1; i != 500; i++) {
+            assertEquals(i % 2 == 0, g.existsEdge(0, i));
+            assertEquals(i % 2 == 0, g.existsEdge(i, 0));
+        }
+
+        assertTrue(g.removeVertex(0));
+        assertEquals(0, g.countEdges());
+        assertEquals(0, g.countNeighbors(2));
+    }
+}
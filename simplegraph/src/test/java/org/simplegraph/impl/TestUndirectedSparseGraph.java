@@ -25,4 +25,70 @@ public class TestUndirectedSparseGraph extends TestUndirectedGraph {
         assertFalse(gCopy.existsEdge("Vertex1", "Vertex2"));
         assertTrue(g.existsEdge("Vertex1", "Vertex2"));
     }
+
+    @Test
+    public void testRemoveVertexAndAddItAgain() {
+        SparseGraph<String> g = new SparseGraph<String>();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.removeVertex("B");
+        g.addVertex("D");
+        g.addVertex("B");
+        assertFalse(g.existsEdge("A", "B"));
+        assertFalse(g.existsEdge("C", "B"));
+        assertEquals(0, g.countEdges());
+        g.addEdge("C", "B");
+        assertArrayEquals(new String[] { "C", "B" }, g.getPath("C", "B").toArray());
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        SparseGraph<String> g = new SparseGraph<String>();
+        g.addEdge("A", "B");
+        SparseGraph<String> copy = new SparseGraph<String>(g);
+        g.addEdge("B", "C");
+        copy.addEdge("A", "D");
+
+        assertFalse(copy.containsVertex("C"));
+        assertFalse(g.containsVertex("D"));
+        assertEquals(1, g.countNeighbors("A"));
+        assertEquals(2, copy.countNeighbors("A"));
+
+        // Copies of copies work the same way
+        SparseGraph<String> second = new SparseGraph<String>(copy);
+        second.removeVertex("A");
+        assertTrue(copy.existsEdge("D", "A"));
+        assertEquals(0, second.countEdges());
+        assertTrue(second.checkCounters());
+    }
+
+    // Copying only reads the source, which gives up its maps on its next change
+    @Test
+    public void testCopyDoesNotWriteSource() {
+        SparseGraph<String> g = new SparseGraph<String>();
+        g.addEdge("A", "B");
+        SparseGraph<String> copy = new SparseGraph<String>(g);
+        assertFalse(g.sharedEdges);
+        assertNull(g.ownedMaps);
+
+        g.addEdge("A", "C");
+        assertTrue(g.checkCounters());
+        assertFalse(copy.containsVertex("C"));
+        assertEquals(1, copy.countNeighbors("A"));
+    }
+
+    // The maps of the removed vertices are not kept by ownedMaps
+    @Test
+    public void testRemovedMapsAreDisowned() {
+        SparseGraph<String> g = new SparseGraph<String>();
+        g.addEdge("A", "B");
+        SparseGraph<String> copy = new SparseGraph<String>(g);
+        copy.addEdge("C", "D");
+        copy.addEdge("A", "C");
+        int owned = copy.ownedMaps.size();
+        copy.removeVertex("D");
+        copy.removeVertex("C");
+        assertEquals(owned - 2, copy.ownedMaps.size());
+        assertTrue(copy.checkCounters());
+    }
 }
@@ -0,0 +1,24 @@
+package org.simplegraph.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestUndirectedWeightedDoubleDenseGraph extends TestWeightedEdgesGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new WeightedDoubleDenseGraph<String>());
+    }
+
+    // 46341 * 46341 cells wrap around as an int
+    @Test
+    public void testMatrixTooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> new WeightedDoubleDenseGraph<String>(46341));
+
+        WeightedDoubleDenseGraph<String> g = new WeightedDoubleDenseGraph<String>();
+        g.addEdge("A", "B", 1.d);
+        assertThrows(IllegalArgumentException.class, () -> g.grow(46341));
+        assertTrue(g.existsEdge("A", "B"));
+        assertTrue(g.checkCounters());
+    }
+}
@@ -0,0 +1,15 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+
+public class TestUndirectedWeightedFloatDenseGraph extends TestWeightedEdgesGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new WeightedFloatDenseGraph<String>());
+    }
+
+    @Override
+    protected boolean roundsWeightsToFloat() {
+        return true;
+    }
+}
@@ -0,0 +1,15 @@
+package org.simplegraph.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+
+public class TestUndirectedWeightedFloatOpenHashSparseGraph extends TestWeightedEdgesGraph {
+    @BeforeEach
+    public void init() {
+        setGraph(new WeightedFloatOpenHashSparseGraph<String>());
+    }
+
+    @Override
+    protected boolean roundsWeightsToFloat() {
+        return true;
+    }
+}
@@ -1,11 +1,23 @@
 package org.simplegraph.impl;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import org.simplegraph.WeightedGraph;
+import org.simplegraph.util.Algorithms;
+import org.simplegraph.util.DaryHeap;
+import org.simplegraph.util.Heuristic;
+import org.simplegraph.util.IndexedPriorityQueue;
+import org.simplegraph.util.PairingHeap;
+import org.simplegraph.util.RadixHeap;
 
 public abstract class TestWeightedEdgesGraph {
     static public WeightedGraph<String> g;
@@ -14,6 +26,31 @@ public abstract class TestWeightedEdgesGraph {
         this.g = g;
     }
 
+    /**
+     * Does the graph under test store the weights as floats.
+     * @return true if the weights are rounded to the nearest float
+     */
+    protected boolean roundsWeightsToFloat() {
+        return false;
+    }
+
+    // Every test leaves the maintained counters consistent with the edges
+    @AfterEach
+    public void checkCounters() {
+        if (g instanceof SelfCheckingGraph) {
+            assertTrue(((SelfCheckingGraph) g).checkCounters());
+        }
+    }
+
+    // Weights are kept as doubles or rounded to the nearest float
+    @Test
+    public void testWeightPrecision() {
+        g.addEdge("A", "B", 0.1d);
+        double expected = roundsWeightsToFloat() ? (double) 0.1f : 0.1d;
+        assertEquals(expected, (double) g.getWeight("A", "B"));
+        assertEquals(expected, g.getWeightAsDouble("A", "B"));
+    }
+
 	@Test
 	public void testAddVertex() {
         int size = g.countVertices();
@@ -258,6 +295,14 @@ public abstract class TestWeightedEdgesGraph {
         assertEquals(1.d, (double) g.getWeight("A", "B"));
     }
 
+    @Test
+    public void testGetWeightAsDouble() {
+        g.addEdge("A", "B", 2.5d);
+        g.addVertex("C");
+        assertEquals(2.5d, g.getWeightAsDouble("A", "B"));
+        assertTrue(Double.isNaN(g.getWeightAsDouble("A", "C")));
+    }
+
     @Test
     public void testGetShortestPath() {
         g.addEdge("A", "B", 10.d);
@@ -268,6 +313,150 @@ public abstract class TestWeightedEdgesGraph {
         assertArrayEquals(new String[] { "A", "B", "D" }, path.toArray());
     }
 
+    @Test
+    public void testGetShortestPathWithEachQueue() {
+        // Integer weights, so that the radix heap accepts them
+        for (int i = 0; i != 6; i++) {
+            for (int j = 0; j != 6; j++) {
+                String v = i + "," + j;
+                if (i != 5) {
+                    g.addEdge(v, (i + 1) + "," + j, (double) ((i * 7 + j * 3) % 5 + 1));
+                }
+
+                if (j != 5) {
+                    g.addEdge(v, i + "," + (j + 1), (double) ((i * 3 + j * 7) % 4 + 1));
+                }
+            }
+        }
+
+        double expected = distance(g.getShortestPath("0,0", "5,5"));
+        List<IntFunction<IndexedPriorityQueue>> queues = Arrays.<IntFunction<IndexedPriorityQueue>>asList(
+            DaryHeap::new, n -> new DaryHeap(2, n), PairingHeap::new, RadixHeap::new);
+        for (IntFunction<IndexedPriorityQueue> queue : queues) {
+            List<String> path = Algorithms.getShortestPath(g, "0,0", "5,5", queue);
+            assertEquals("0,0", path.get(0));
+            assertEquals("5,5", path.get(path.size() - 1));
+            assertEquals(expected, distance(path));
+        }
+    }
+
+    /**
+     * Compare the paths given by a function with the ones of Dijkstra's
+     * algorithm, between random vertices of a random graph.
+     * @param seed  seed of the graph and of the vertices
+     * @param paths gives the path between a source and a destination
+     */
+    private void checkMatchesDijkstra(long seed, BiFunction<String, String, List<String>> paths) {
+        Random random = new Random(seed);
+        addRandomEdges(random);
+
+        for (int i = 0; i != 40; i++) {
+            String source = "v" + random.nextInt(40);
+            String destination = "v" + random.nextInt(40);
+            List<String> expected = Algorithms.getShortestPath(g, source, destination);
+            List<String> path = paths.apply(source, destination);
+            if (expected == null || expected.isEmpty()) {
+                assertEquals(expected, path);
+                assertNull(g.getMinimumDistance(source, destination));
+                continue;
+            }
+
+            assertEquals(source, path.get(0));
+            assertEquals(destination, path.get(path.size() - 1));
+            assertEquals(distance(expected), distance(path));
+            assertEquals(distance(expected), (double) g.getMinimumDistance(source, destination));
+        }
+    }
+
+    @Test
+    public void testGetShortestPathMatchesAlgorithms() {
+        checkMatchesDijkstra(42, g::getShortestPath);
+    }
+
+    @Test
+    public void testGetBidirectionalShortestPath() {
+        checkMatchesDijkstra(7, (source, destination) ->
+            Algorithms.getBidirectionalShortestPath(g, source, destination));
+    }
+
+    @Test
+    public void testGetBidirectionalShortestPathNoPath() {
+        g.addEdge("A", "B", 1.d);
+        g.addEdge("C", "D", 1.d);
+        assertTrue(Algorithms.getBidirectionalShortestPath(g, "A", "D").isEmpty());
+        assertNull(Algorithms.getBidirectionalShortestPath(g, "A", "A"));
+        assertNull(Algorithms.getBidirectionalShortestPath(g, "A", "E"));
+    }
+
+    @Test
+    public void testGetBidirectionalShortestPathNegativeWeight() {
+        g.addEdge("A", "B", 10.d);
+        g.addEdge("B", "C", -10.d);
+        g.addEdge("C", "D", 10.d);
+        assertNull(Algorithms.getBidirectionalShortestPath(g, "A", "D"));
+    }
+
+    @Test
+    public void testGetAStarShortestPath() {
+        // Grid with unit steps, no edge is shorter than the straight line
+        Random random = new Random(3);
+        for (int i = 0; i != 8; i++) {
+            for (int j = 0; j != 8; j++) {
+                String v = i + "," + j;
+                if (i != 7) {
+                    double weight = 1 + random.nextInt(4) / 2.d;
+                    g.addEdge(v, (i + 1) + "," + j, weight);
+                    g.addEdge((i + 1) + "," + j, v, weight);
+                }
+
+                if (j != 7) {
+                    double weight = 1 + random.nextInt(4) / 2.d;
+                    g.addEdge(v, i + "," + (j + 1), weight);
+                    g.addEdge(i + "," + (j + 1), v, weight);
+                }
+            }
+        }
+
+        Heuristic<String> h = Heuristic.euclidean(
+            v -> Integer.parseInt(v.split(",")[0]), v -> Integer.parseInt(v.split(",")[1]));
+        assertTrue(h.isConsistent(g, "7,7"));
+        String[][] queries = { { "0,0", "7,7" }, { "7,0", "0,7" }, { "3,4", "5,1" } };
+        for (String[] query : queries) {
+            List<String> path = Algorithms.getAStarShortestPath(g, query[0], query[1], h);
+            assertEquals(query[0], path.get(0));
+            assertEquals(query[1], path.get(path.size() - 1));
+            assertEquals(distance(Algorithms.getShortestPath(g, query[0], query[1])), distance(path));
+        }
+
+        g.addVertex("far");
+        assertTrue(Algorithms.getAStarShortestPath(g, "0,0", "far", Heuristic.zero()).isEmpty());
+        assertNull(Algorithms.getAStarShortestPath(g, "0,0", "0,0", Heuristic.zero()));
+    }
+
+    private void addRandomEdges(Random random) {
+        for (int i = 0; i != 40; i++) {
+            for (int j = 0; j != 4; j++) {
+                int k = random.nextInt(40);
+                if (k != i) {
+                    g.addEdge("v" + i, "v" + k, (double) (random.nextInt(20) + 1));
+                }
+            }
+        }
+
+        // Moves or kills the slots of the dense graphs
+        g.removeVertex("v7");
+        g.removeVertex("v23");
+    }
+
+    private double distance(List<String> path) {
+        double total = 0;
+        for (int k = 1; k < path.size(); k++) {
+            total += g.getWeight(path.get(k - 1), path.get(k));
+        }
+
+        return total;
+    }
+
     @Test
     public void testGetShortestPathNegativeWeight() {
         g.addEdge("A", "B", 10.d);
@@ -279,6 +468,16 @@ public abstract class TestWeightedEdgesGraph {
         assertNull(path);
     }
 
+    // Every graph returns null when there is no distance to give
+    @Test
+    public void testGetMinimumDistanceNoPath() {
+        g.addEdge("A", "B", 10.d);
+        g.addEdge("C", "D", 10.d);
+        assertNull(g.getMinimumDistance("A", "D"));
+        assertNull(g.getMinimumDistance("A", "A"));
+        assertNull(g.getMinimumDistance("A", "E"));
+    }
+
     @Test
     public void testGetMinimumDistance() {
         g.addEdge("A", "B", 10.d);
@@ -287,4 +486,16 @@ public abstract class TestWeightedEdgesGraph {
         g.addEdge("C", "D", 200.d);
         assertEquals(30.d, (double)g.getMinimumDistance("A", "D"));
     }
+
+    @Test
+    public void testForEachOutEdge() {
+        g.addEdge("A", "B", 2.d);
+        g.addEdge("A", "C", 3.d);
+        HashMap<String, Double> edges = new HashMap<String, Double>();
+        assertTrue(g.forEachOutEdge("A", edges::put));
+        assertEquals(2, edges.size());
+        assertEquals(2.d, (double) edges.get("B"));
+        assertEquals(3.d, (double) edges.get("C"));
+        assertFalse(g.forEachOutEdge("D", edges::put));
+    }
 }
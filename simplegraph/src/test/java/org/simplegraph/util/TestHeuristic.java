@@ -0,0 +1,49 @@
+package org.simplegraph.util;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import org.simplegraph.impl.WeightedSparseGraph;
+
+public class TestHeuristic {
+    @Test
+    public void testEuclidean() {
+        HashMap<String, double[]> points = new HashMap<String, double[]>();
+        points.put("A", new double[] { 0, 0 });
+        points.put("B", new double[] { 3, 4 });
+        Heuristic<String> h = Heuristic.euclidean(v -> points.get(v)[0], v -> points.get(v)[1]);
+        assertEquals(5, h.estimate("A", "B"), 1e-12);
+        assertEquals(0, h.estimate("B", "B"));
+    }
+
+    @Test
+    public void testHaversine() {
+        HashMap<String, double[]> cities = new HashMap<String, double[]>();
+        cities.put("Rome", new double[] { 41.9028, 12.4964 });
+        cities.put("Paris", new double[] { 48.8566, 2.3522 });
+        Heuristic<String> h = Heuristic.haversine(v -> cities.get(v)[0], v -> cities.get(v)[1], 6371.0088);
+        assertEquals(1105.8, h.estimate("Rome", "Paris"), 1);
+        assertEquals(h.estimate("Paris", "Rome"), h.estimate("Rome", "Paris"), 1e-9);
+        assertEquals(0, h.estimate("Rome", "Rome"));
+    }
+
+    @Test
+    public void testIsConsistent() {
+        WeightedSparseGraph<Integer> g = new WeightedSparseGraph<Integer>();
+        g.addEdge(0, 1, 1.d);
+        g.addEdge(1, 2, 1.d);
+        g.addEdge(0, 2, 3.d);
+
+        // Distance on the line of the vertices
+        Heuristic<Integer> line = (v, destination) -> Math.abs(v - destination);
+        assertTrue(line.isConsistent(g, 2));
+        assertTrue(Heuristic.<Integer>zero().isConsistent(g, 2));
+
+        // Overestimates the edges of length 1
+        Heuristic<Integer> doubled = (v, destination) -> 2 * Math.abs(v - destination);
+        assertFalse(doubled.isConsistent(g, 2));
+        assertFalse(line.isConsistent(g, 3));
+    }
+}
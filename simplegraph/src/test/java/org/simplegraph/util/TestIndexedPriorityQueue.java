@@ -0,0 +1,87 @@
+package org.simplegraph.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TestIndexedPriorityQueue {
+    // Insert, decrease and poll random integer priorities, the polled ones
+    // must not decrease, as in Dijkstra's algorithm
+    private void checkQueue(IndexedPriorityQueue queue, int capacity) {
+        Random random = new Random(7);
+        double[] expected = new double[capacity];
+        Arrays.fill(expected, -1);
+        double last = 0;
+        int polled = 0;
+        for (int step = 0; step != 20000; step++) {
+            int id = random.nextInt(capacity);
+            int action = random.nextInt(3);
+            if (action == 0 && expected[id] == -1) {
+                expected[id] = last + random.nextInt(1000);
+                queue.insert(id, expected[id]);
+            } else if (action == 1 && queue.contains(id)) {
+                double priority = Math.max(last, expected[id] - random.nextInt(100));
+                expected[id] = priority;
+                queue.decreaseKey(id, priority);
+            } else if (action == 2 && !queue.isEmpty()) {
+                int min = queue.pollMin();
+                assertTrue(queue.getPriority(min) >= last);
+                for (int i = 0; i != capacity; i++) {
+                    if (queue.contains(i)) {
+                        assertTrue(expected[i] >= expected[min]);
+                    }
+                }
+
+                last = expected[min];
+                // Let the id be inserted again later
+                expected[min] = -1;
+                polled++;
+            }
+        }
+
+        assertTrue(polled > 1000);
+        int size = queue.size();
+        while (!queue.isEmpty()) {
+            int min = queue.pollMin();
+            assertTrue(queue.getPriority(min) >= last);
+            last = queue.getPriority(min);
+            size--;
+        }
+
+        assertEquals(0, size);
+    }
+
+    @Test
+    public void testDaryHeap() {
+        checkQueue(new DaryHeap(50), 50);
+        checkQueue(new DaryHeap(2, 50), 50);
+        checkQueue(new DaryHeap(8, 1), 50);
+    }
+
+    @Test
+    public void testPairingHeap() {
+        checkQueue(new PairingHeap(50), 50);
+        checkQueue(new PairingHeap(1), 50);
+    }
+
+    @Test
+    public void testRadixHeap() {
+        checkQueue(new RadixHeap(50), 50);
+        checkQueue(new RadixHeap(1), 50);
+    }
+
+    @Test
+    public void testRadixHeapRejectsInvalidPriorities() {
+        RadixHeap queue = new RadixHeap(4);
+        queue.insert(0, 5);
+        queue.insert(1, 10);
+        assertEquals(0, queue.pollMin());
+        assertThrows(IllegalArgumentException.class, () -> queue.insert(2, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> queue.insert(2, 4));
+        queue.decreaseKey(1, 5);
+        assertEquals(1, queue.pollMin());
+        assertEquals(5.d, queue.getPriority(1));
+    }
+}
@@ -0,0 +1,158 @@
+package org.simplegraph.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import org.simplegraph.WeightedGraph;
+import org.simplegraph.impl.DirectedWeightedSparseGraph;
+import org.simplegraph.impl.WeightedSparseGraph;
+
+public class TestLandmarks {
+    private static void addRandomEdges(WeightedGraph<Integer> g, Random random) {
+        for (int i = 0; i != 200; i++) {
+            for (int j = 0; j != 3; j++) {
+                int k = random.nextInt(200);
+                if (k != i) {
+                    g.addEdge(i, k, (double) (random.nextInt(50) + 1));
+                }
+            }
+        }
+    }
+
+    // Compare the distances found with the landmarks to the ones of
+    // Dijkstra's algorithm, from every source to a few destinations
+    private static void checkQueries(WeightedGraph<Integer> g, Landmarks<Integer> landmarks) {
+        for (int t = 0; t < 200; t += 37) {
+            assertTrue(landmarks.isConsistent(g, t));
+            for (int s = 0; s != 200; s++) {
+                if (s == t) {
+                    assertNull(landmarks.getShortestPath(g, s, t));
+                    continue;
+                }
+
+                Map<Integer, Double> distances = Algorithms.getDistances(g, s);
+                Double distance = landmarks.getMinimumDistance(g, s, t);
+                if (distances.containsKey(t)) {
+                    assertTrue(landmarks.estimate(s, t) <= distances.get(t));
+                    assertEquals(distances.get(t), distance, 1e-9);
+                } else {
+                    assertNull(distance);
+                    assertTrue(landmarks.getShortestPath(g, s, t).isEmpty());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDirected() {
+        DirectedWeightedSparseGraph<Integer> g = new DirectedWeightedSparseGraph<Integer>();
+        addRandomEdges(g, new Random(11));
+        Landmarks<Integer> landmarks = Landmarks.build(g, 8);
+        assertEquals(8, landmarks.getLandmarks().size());
+        assertEquals(8, landmarks.getLandmarks().stream().distinct().count());
+        checkQueries(g, landmarks);
+    }
+
+    // Counts the visits of the edges of the vertices
+    private static class CountingGraph extends DirectedWeightedSparseGraph<Integer> {
+        int outVisits;
+        int inVisits;
+
+        @Override
+        public boolean forEachOutEdge(Integer vertex, ObjDoubleConsumer<? super Integer> action) {
+            outVisits++;
+            return super.forEachOutEdge(vertex, action);
+        }
+
+        @Override
+        public boolean forEachInVertex(Integer vertex, Consumer<? super Integer> action) {
+            inVisits++;
+            return super.forEachInVertex(vertex, action);
+        }
+    }
+
+    // build() reads the edges of each vertex twice, whatever the number of
+    // landmarks, and the queries don't check the bounds against the graph
+    @Test
+    public void testBuildReadsEdgesOnce() {
+        CountingGraph g = new CountingGraph();
+        addRandomEdges(g, new Random(11));
+        Landmarks<Integer> landmarks = Landmarks.build(g, 8);
+        assertEquals(2 * g.countVertices(), g.outVisits);
+        assertEquals(0, g.inVisits);
+
+        g.outVisits = 0;
+        Integer next = g.getOutVertices(0).get(0);
+        assertNotNull(landmarks.getShortestPath(g, 0, next));
+        assertTrue(g.outVisits < g.countVertices());
+        assertEquals(0, g.inVisits);
+    }
+
+    @Test
+    public void testUndirected() {
+        WeightedSparseGraph<Integer> g = new WeightedSparseGraph<Integer>();
+        addRandomEdges(g, new Random(5));
+        checkQueries(g, Landmarks.build(g, 4));
+    }
+
+    @Test
+    public void testDisconnected() {
+        DirectedWeightedSparseGraph<Integer> g = new DirectedWeightedSparseGraph<Integer>();
+        g.addEdge(0, 1, 1.d);
+        g.addEdge(1, 2, 1.d);
+        g.addEdge(3, 4, 1.d);
+        Landmarks<Integer> landmarks = Landmarks.build(g, 2);
+        assertEquals(Double.POSITIVE_INFINITY, landmarks.estimate(0, 4));
+        assertTrue(landmarks.getShortestPath(g, 0, 4).isEmpty());
+        assertNull(landmarks.getMinimumDistance(g, 0, 4));
+        assertEquals(2.d, (double) landmarks.getMinimumDistance(g, 0, 2));
+        assertNull(landmarks.getShortestPath(g, 0, 5));
+    }
+
+    @Test
+    public void testBuild() {
+        WeightedSparseGraph<Integer> g = new WeightedSparseGraph<Integer>();
+        assertEquals(0, Landmarks.build(g, 4).getLandmarks().size());
+        g.addEdge(0, 1, 1.d);
+        assertEquals(2, Landmarks.build(g, 4).getLandmarks().size());
+        assertNull(Landmarks.build(g, -1));
+        g.addEdge(1, 2, -1.d);
+        assertNull(Landmarks.build(g, 1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSerialization() throws Exception {
+        DirectedWeightedSparseGraph<Integer> g = new DirectedWeightedSparseGraph<Integer>();
+        addRandomEdges(g, new Random(3));
+        Landmarks<Integer> landmarks = Landmarks.build(g, 4);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(landmarks);
+        }
+
+        Landmarks<Integer> read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (Landmarks<Integer>) in.readObject();
+        }
+
+        assertEquals(landmarks.getLandmarks(), read.getLandmarks());
+        for (int v = 0; v < 200; v += 7) {
+            assertEquals(landmarks.estimate(v, 42), read.estimate(v, 42));
+        }
+
+        List<Integer> path = read.getShortestPath(g, 0, 42);
+        assertEquals(landmarks.getShortestPath(g, 0, 42), path);
+    }
+}